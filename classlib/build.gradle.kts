@@ -60,8 +60,18 @@ tasks {
         mainClass = "org.teavm.classlib.impl.currency.CurrenciesGenerator"
         args(inputFile.asFile.absolutePath, outputFile.get().asFile.absolutePath)
     }
+    val generateClassSnapshot by registering(JavaExec::class) {
+        val outputFile = generatedClassesDir.map { it.file("META-INF/teavm/classes.teavm-snapshot") }
+        val classesDirs = sourceSets.main.get().output.classesDirs
+        classpath(sourceSets.main.get().runtimeClasspath, sourceSets.main.get().compileClasspath)
+        outputs.file(outputFile)
+        inputs.files(sourceSets.main.get().runtimeClasspath)
+        dependsOn(compileJava)
+        mainClass = "org.teavm.classlib.impl.ClassSnapshotGenerator"
+        args(listOf(outputFile.get().asFile.absolutePath) + classesDirs.files.map { it.absolutePath })
+    }
     jar {
-        dependsOn(generateTzCache, generateIso4217)
+        dependsOn(generateTzCache, generateIso4217, generateClassSnapshot)
         from(generatedClassesDir)
         exclude("html/**")
         exclude("org/teavm/classlib/impl/tz/tzdata*.zip")
@@ -73,7 +83,7 @@ tasks {
         exclude("**/iso*.csv")
     }
     withType<ShadowJar> {
-        dependsOn(generateTzCache, generateIso4217)
+        dependsOn(generateTzCache, generateIso4217, generateClassSnapshot)
         from(generatedClassesDir)
         exclude("html/**")
         exclude("org/teavm/classlib/impl/tz/tzdata*.zip")
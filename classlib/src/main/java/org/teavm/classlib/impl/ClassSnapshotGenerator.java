@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.teavm.cache.ClassSnapshotWriter;
+import org.teavm.cache.SnapshotClassReaderSource;
+import org.teavm.model.PreOptimizingClassHolderSource;
+import org.teavm.model.ReferenceCache;
+import org.teavm.parsing.ClasspathResourceProvider;
+import org.teavm.parsing.RenamingResourceMapper;
+import org.teavm.parsing.resource.MapperClassHolderSource;
+import org.teavm.parsing.resource.ResourceClassHolderMapper;
+
+/**
+ * Parses all classes from given directories the same way the compiler does and stores them into a snapshot,
+ * which is shipped with class library, so that compiler does not have to parse class library on every run.
+ * First argument is the output file, the rest are directories with class files.
+ */
+public final class ClassSnapshotGenerator {
+    private ClassSnapshotGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        var referenceCache = new ReferenceCache();
+        try (var resourceProvider = new ClasspathResourceProvider(ClassSnapshotGenerator.class.getClassLoader())) {
+            var rawMapper = new ResourceClassHolderMapper(resourceProvider, referenceCache);
+            var mapper = new RenamingResourceMapper(resourceProvider, referenceCache, rawMapper);
+            var classSource = new PreOptimizingClassHolderSource(new MapperClassHolderSource(mapper));
+            var writer = new ClassSnapshotWriter(referenceCache,
+                    SnapshotClassReaderSource.propertiesChecksum(resourceProvider));
+            var addedClasses = new HashSet<String>();
+
+            for (int i = 1; i < args.length; ++i) {
+                for (var resourceName : listClassFiles(new File(args[i]).toPath())) {
+                    var originalName = resourceName.substring(0, resourceName.length() - ".class".length())
+                            .replace('/', '.');
+                    var cls = classSource.get(mapper.mapClassName(originalName));
+                    var resource = resourceProvider.getResource(resourceName);
+                    if (cls == null || resource == null || !addedClasses.add(cls.getName())) {
+                        continue;
+                    }
+                    long checksum;
+                    try (var input = resource.open()) {
+                        checksum = SnapshotClassReaderSource.checksum(input);
+                    }
+                    writer.add(cls, resourceName, checksum);
+                }
+            }
+
+            var outputFile = new File(args[0]);
+            outputFile.getParentFile().mkdirs();
+            try (var output = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+                writer.write(output);
+            }
+        }
+    }
+
+    private static List<String> listClassFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (var files = Files.walk(directory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().endsWith(".class"))
+                    .filter(file -> !file.getFileName().toString().endsWith("-info.class"))
+                    .map(file -> directory.relativize(file).toString().replace(File.separatorChar, '/'))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
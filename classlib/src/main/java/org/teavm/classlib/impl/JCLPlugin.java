@@ -26,6 +26,7 @@ import org.teavm.classlib.impl.currency.CurrencyHelper;
 import org.teavm.classlib.impl.lambda.LambdaMetafactorySubstitutor;
 import org.teavm.classlib.impl.record.ObjectMethodsSubstitutor;
 import org.teavm.classlib.impl.reflection.ReflectionTransformer;
+import org.teavm.classlib.impl.regex.RegexTransformer;
 import org.teavm.classlib.impl.string.DefaultStringTransformer;
 import org.teavm.classlib.impl.string.JSStringConstructorGenerator;
 import org.teavm.classlib.impl.string.JSStringInjector;
@@ -154,6 +155,7 @@ public class JCLPlugin implements TeaVMPlugin {
 
         host.add(new NumericClassTransformer());
         host.add(new SystemClassTransformer());
+        host.add(new PrimitiveCollectionTransformer());
 
         host.add(new PlatformMarkerSupport(host.getPlatformTags()));
 
@@ -175,6 +177,8 @@ public class JCLPlugin implements TeaVMPlugin {
         installMetadata(host.getService(MetadataRegistration.class));
         host.add(new DeclaringClassDependencyListener());
         applyTimeZoneDetection(host);
+        applyOpenAddressing(host);
+        applyConstantPatterns(host);
 
         var js = host.getExtension(TeaVMJavaScriptHost.class);
         if (js != null) {
@@ -195,6 +199,22 @@ public class JCLPlugin implements TeaVMPlugin {
         }
     }
 
+    private void applyOpenAddressing(TeaVMHost host) {
+        boolean openAddressing = Boolean.parseBoolean(
+                host.getProperties().getProperty("java.util.HashMap.openAddressing", "false"));
+        if (openAddressing) {
+            host.add(new OpenHashMapTransformer());
+        }
+    }
+
+    private void applyConstantPatterns(TeaVMHost host) {
+        boolean precompile = Boolean.parseBoolean(
+                host.getProperties().getProperty("java.util.regex.Pattern.precompile", "false"));
+        if (precompile) {
+            host.add(new RegexTransformer());
+        }
+    }
+
     private void installMetadata(MetadataRegistration reg) {
         reg.register(new MethodReference(DateTimeZoneProvider.class, "getResource", ResourceMap.class),
                 new TimeZoneGenerator());
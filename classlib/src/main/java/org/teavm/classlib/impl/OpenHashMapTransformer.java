@@ -0,0 +1,101 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.impl;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.teavm.model.BasicBlock;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassHolderTransformer;
+import org.teavm.model.ClassHolderTransformerContext;
+import org.teavm.model.Instruction;
+import org.teavm.model.MethodHolder;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Program;
+import org.teavm.model.Variable;
+import org.teavm.model.instructions.AssignInstruction;
+import org.teavm.model.instructions.ConstructInstruction;
+import org.teavm.model.instructions.InvocationType;
+import org.teavm.model.instructions.InvokeInstruction;
+
+/**
+ * Replaces construction of {@code java.util.HashMap} with construction of open-addressing
+ * {@code java.util.OpenHashMap}. Only {@code new HashMap(...)} expressions are affected, so subclasses
+ * of {@code HashMap} (including {@code LinkedHashMap}) keep chained implementation.
+ */
+public class OpenHashMapTransformer implements ClassHolderTransformer {
+    private static final String HASH_MAP = "java.util.HashMap";
+    private static final String OPEN_HASH_MAP = "java.util.OpenHashMap";
+
+    @Override
+    public void transformClass(ClassHolder cls, ClassHolderTransformerContext context) {
+        if (cls.getName().equals(OPEN_HASH_MAP)) {
+            return;
+        }
+        for (MethodHolder method : cls.getMethods()) {
+            if (method.getProgram() != null) {
+                transformProgram(method.getProgram());
+            }
+        }
+    }
+
+    private void transformProgram(Program program) {
+        Set<Variable> instances = new HashSet<>();
+        for (BasicBlock block : program.getBasicBlocks()) {
+            for (Instruction insn : block) {
+                if (insn instanceof ConstructInstruction) {
+                    var construct = (ConstructInstruction) insn;
+                    if (construct.getType().equals(HASH_MAP)) {
+                        construct.setType(OPEN_HASH_MAP);
+                        instances.add(construct.getReceiver());
+                    }
+                }
+            }
+        }
+        if (instances.isEmpty()) {
+            return;
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (BasicBlock block : program.getBasicBlocks()) {
+                for (Instruction insn : block) {
+                    if (insn instanceof AssignInstruction) {
+                        var assign = (AssignInstruction) insn;
+                        if (instances.contains(assign.getAssignee()) && instances.add(assign.getReceiver())) {
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        for (BasicBlock block : program.getBasicBlocks()) {
+            for (Instruction insn : block) {
+                if (!(insn instanceof InvokeInstruction)) {
+                    continue;
+                }
+                var invoke = (InvokeInstruction) insn;
+                MethodReference method = invoke.getMethod();
+                if (invoke.getType() == InvocationType.SPECIAL && method.getClassName().equals(HASH_MAP)
+                        && method.getName().equals("<init>") && instances.contains(invoke.getInstance())) {
+                    invoke.setMethod(new MethodReference(OPEN_HASH_MAP, method.getDescriptor()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,491 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.teavm.model.BasicBlock;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassHolderTransformer;
+import org.teavm.model.ClassHolderTransformerContext;
+import org.teavm.model.Incoming;
+import org.teavm.model.Instruction;
+import org.teavm.model.MethodDescriptor;
+import org.teavm.model.MethodHolder;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Phi;
+import org.teavm.model.Program;
+import org.teavm.model.ValueType;
+import org.teavm.model.Variable;
+import org.teavm.model.instructions.AssignInstruction;
+import org.teavm.model.instructions.CastInstruction;
+import org.teavm.model.instructions.ConstructInstruction;
+import org.teavm.model.instructions.InvocationType;
+import org.teavm.model.instructions.InvokeInstruction;
+import org.teavm.model.instructions.NullCheckInstruction;
+import org.teavm.model.util.UsageExtractor;
+
+/**
+ * <p>Replaces local {@code HashMap} and {@code ArrayList} instances that are provably used with boxed
+ * {@code int} keys or elements only by instances of primitive-specialized {@code IntHashMap}
+ * and {@code IntArrayList}, so that keys and elements are not boxed.</p>
+ *
+ * <p>A collection qualifies when it is created in the method, never escapes it (i.e. it's not stored anywhere,
+ * not passed to other methods and not returned) and the only operations performed on it are those known
+ * by this transformer. Every key or element passed to the collection must be a result of
+ * {@code Integer.valueOf(int)}, in this case unboxed value is passed to specialized collection directly.
+ * Elements read from {@code ArrayList} are not boxed either when they are only unboxed back by
+ * {@code intValue()}.</p>
+ *
+ * <p>Specialized list has to box an element again each time it's read, so two reads of the same element
+ * above the {@code Integer} cache range would give different objects. To keep identity of elements,
+ * list is only specialized when every element it returns is unboxed back, for example
+ * {@code list.get(0) == list.get(0)} keeps list unspecialized. Map keys are never returned,
+ * and map values are stored as is.</p>
+ *
+ * <p>This is done before dependency analysis rather than in optimizer, since specialized classes must be
+ * reachable by dependency analyzer.</p>
+ */
+public class PrimitiveCollectionTransformer implements ClassHolderTransformer {
+    private static final MethodReference INTEGER_VALUE_OF = new MethodReference(Integer.class, "valueOf",
+            int.class, Integer.class);
+    private static final MethodReference INT_VALUE = new MethodReference(Integer.class, "intValue", int.class);
+    private static final ValueType INTEGER_TYPE = ValueType.object("java.lang.Integer");
+    private static final MethodDescriptor LIST_GET = MethodDescriptor.parse("get(I)Ljava/lang/Object;");
+    private static final MethodDescriptor LIST_GET_INT = MethodDescriptor.parse("getInt(I)I");
+    private static final CollectionKind[] KINDS = { createMapKind(), createListKind() };
+
+    private static CollectionKind createMapKind() {
+        var kind = new CollectionKind("java.util.IntHashMap",
+                Set.of("java.util.HashMap", "java.util.OpenHashMap"),
+                Set.of("java.util.Map", "java.util.AbstractMap", "java.util.HashMap", "java.util.OpenHashMap"));
+        kind.constructor("()V");
+        kind.constructor("(I)V");
+        kind.constructor("(IF)V");
+        kind.method("get(Ljava/lang/Object;)Ljava/lang/Object;", "get(I)Ljava/lang/Object;", 0);
+        kind.method("getOrDefault(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;",
+                "getOrDefault(ILjava/lang/Object;)Ljava/lang/Object;", 0);
+        kind.method("containsKey(Ljava/lang/Object;)Z", "containsKey(I)Z", 0);
+        kind.method("put(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;",
+                "put(ILjava/lang/Object;)Ljava/lang/Object;", 0);
+        kind.method("putIfAbsent(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;",
+                "putIfAbsent(ILjava/lang/Object;)Ljava/lang/Object;", 0);
+        kind.method("remove(Ljava/lang/Object;)Ljava/lang/Object;", "remove(I)Ljava/lang/Object;", 0);
+        kind.method("size()I", "size()I", -1);
+        kind.method("isEmpty()Z", "isEmpty()Z", -1);
+        kind.method("clear()V", "clear()V", -1);
+        return kind;
+    }
+
+    private static CollectionKind createListKind() {
+        var kind = new CollectionKind("java.util.IntArrayList", Set.of("java.util.ArrayList"),
+                Set.of("java.util.Collection", "java.util.List", "java.util.AbstractCollection",
+                        "java.util.AbstractList", "java.util.ArrayList"));
+        kind.constructor("()V");
+        kind.constructor("(I)V");
+        kind.method("get(I)Ljava/lang/Object;", "get(I)Ljava/lang/Object;", -1);
+        kind.method("set(ILjava/lang/Object;)Ljava/lang/Object;", "set(II)Ljava/lang/Object;", 1);
+        kind.elementReader("get(I)Ljava/lang/Object;");
+        kind.elementReader("set(ILjava/lang/Object;)Ljava/lang/Object;");
+        kind.method("add(Ljava/lang/Object;)Z", "add(I)Z", 0);
+        kind.method("add(ILjava/lang/Object;)V", "add(II)V", 1);
+        kind.method("contains(Ljava/lang/Object;)Z", "contains(I)Z", 0);
+        kind.method("indexOf(Ljava/lang/Object;)I", "indexOf(I)I", 0);
+        kind.method("size()I", "size()I", -1);
+        kind.method("isEmpty()Z", "isEmpty()Z", -1);
+        kind.method("clear()V", "clear()V", -1);
+        return kind;
+    }
+
+    @Override
+    public void transformClass(ClassHolder cls, ClassHolderTransformerContext context) {
+        for (MethodHolder method : cls.getMethods()) {
+            if (method.getProgram() != null) {
+                new ProgramTransformation(method.getProgram()).apply();
+            }
+        }
+    }
+
+    static class ProgramTransformation {
+        private Program program;
+        private List<List<Instruction>> usages = new ArrayList<>();
+        private List<List<Phi>> phiUsages = new ArrayList<>();
+        private Variable[] unboxedValues;
+        private boolean changed;
+
+        ProgramTransformation(Program program) {
+            this.program = program;
+        }
+
+        void apply() {
+            List<ConstructInstruction> candidates = new ArrayList<>();
+            for (BasicBlock block : program.getBasicBlocks()) {
+                for (Instruction insn : block) {
+                    if (insn instanceof ConstructInstruction) {
+                        var construct = (ConstructInstruction) insn;
+                        if (kindOf(construct.getType()) != null) {
+                            candidates.add(construct);
+                        }
+                    }
+                }
+            }
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            collectUsages();
+            for (ConstructInstruction construct : candidates) {
+                CollectionKind kind = kindOf(construct.getType());
+                Set<Variable> instances = collectInstances(construct.getReceiver());
+                if (instances != null && isSpecializable(kind, construct.getType(), instances)) {
+                    specialize(kind, construct, instances);
+                }
+            }
+
+            if (changed) {
+                removeUnusedBoxing();
+            }
+        }
+
+        private static CollectionKind kindOf(String className) {
+            for (CollectionKind kind : KINDS) {
+                if (kind.constructedClasses.contains(className)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+
+        private void collectUsages() {
+            unboxedValues = new Variable[program.variableCount()];
+            for (int i = 0; i < program.variableCount(); ++i) {
+                usages.add(new ArrayList<>());
+                phiUsages.add(new ArrayList<>());
+            }
+            var usageExtractor = new UsageExtractor();
+            for (BasicBlock block : program.getBasicBlocks()) {
+                for (Phi phi : block.getPhis()) {
+                    for (Incoming incoming : phi.getIncomings()) {
+                        phiUsages.get(incoming.getValue().getIndex()).add(phi);
+                    }
+                }
+                for (Instruction insn : block) {
+                    insn.acceptVisitor(usageExtractor);
+                    for (Variable var : usageExtractor.getUsedVariables()) {
+                        usages.get(var.getIndex()).add(insn);
+                    }
+                    if (insn instanceof InvokeInstruction) {
+                        var invoke = (InvokeInstruction) insn;
+                        if (invoke.getMethod().equals(INTEGER_VALUE_OF) && invoke.getReceiver() != null) {
+                            unboxedValues[invoke.getReceiver().getIndex()] = invoke.getArguments().get(0);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Collects all variables that hold the instance, i.e. copies of original variable
+         * and phis that merge only such copies. Returns {@code null} when instance is merged with some
+         * other value.
+         */
+        private Set<Variable> collectInstances(Variable root) {
+            Set<Variable> instances = new HashSet<>();
+            List<Variable> queue = new ArrayList<>();
+            instances.add(root);
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                Variable var = queue.remove(queue.size() - 1);
+                for (Instruction usage : usages.get(var.getIndex())) {
+                    Variable copy = null;
+                    if (usage instanceof AssignInstruction) {
+                        copy = ((AssignInstruction) usage).getReceiver();
+                    } else if (usage instanceof NullCheckInstruction) {
+                        copy = ((NullCheckInstruction) usage).getReceiver();
+                    }
+                    if (copy != null && instances.add(copy)) {
+                        queue.add(copy);
+                    }
+                }
+                for (Phi phi : phiUsages.get(var.getIndex())) {
+                    if (instances.contains(phi.getReceiver())) {
+                        continue;
+                    }
+                    for (Incoming incoming : phi.getIncomings()) {
+                        if (!isCopyOf(incoming.getValue(), instances, new HashSet<>())) {
+                            return null;
+                        }
+                    }
+                    instances.add(phi.getReceiver());
+                    queue.add(phi.getReceiver());
+                }
+            }
+            return instances;
+        }
+
+        private boolean isCopyOf(Variable var, Set<Variable> instances, Set<Variable> visited) {
+            if (instances.contains(var)) {
+                return true;
+            }
+            if (!visited.add(var)) {
+                // a loop of phis, it does not introduce any new value
+                return true;
+            }
+            for (BasicBlock block : program.getBasicBlocks()) {
+                for (Phi phi : block.getPhis()) {
+                    if (phi.getReceiver() == var) {
+                        for (Incoming incoming : phi.getIncomings()) {
+                            if (!isCopyOf(incoming.getValue(), instances, visited)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }
+                for (Instruction insn : block) {
+                    if (insn instanceof AssignInstruction && ((AssignInstruction) insn).getReceiver() == var) {
+                        return isCopyOf(((AssignInstruction) insn).getAssignee(), instances, visited);
+                    }
+                    if (insn instanceof NullCheckInstruction && ((NullCheckInstruction) insn).getReceiver() == var) {
+                        return isCopyOf(((NullCheckInstruction) insn).getValue(), instances, visited);
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean isSpecializable(CollectionKind kind, String className, Set<Variable> instances) {
+            boolean initialized = false;
+            for (Variable var : instances) {
+                for (Instruction usage : usages.get(var.getIndex())) {
+                    if (usage instanceof AssignInstruction || usage instanceof NullCheckInstruction) {
+                        continue;
+                    }
+                    if (!(usage instanceof InvokeInstruction)) {
+                        return false;
+                    }
+                    var invoke = (InvokeInstruction) usage;
+                    if (!instances.contains(invoke.getInstance())) {
+                        return false;
+                    }
+                    for (Variable argument : invoke.getArguments()) {
+                        if (instances.contains(argument)) {
+                            return false;
+                        }
+                    }
+                    MethodReference method = invoke.getMethod();
+                    if (invoke.getType() == InvocationType.SPECIAL) {
+                        if (initialized || !method.getClassName().equals(className)
+                                || !kind.constructors.contains(method.getDescriptor())) {
+                            return false;
+                        }
+                        initialized = true;
+                        continue;
+                    }
+                    if (!kind.ownerClasses.contains(method.getClassName())) {
+                        return false;
+                    }
+                    Specialization specialization = kind.methods.get(method.getDescriptor());
+                    if (specialization == null) {
+                        return false;
+                    }
+                    if (specialization.boxedArgument >= 0) {
+                        Variable argument = invoke.getArguments().get(specialization.boxedArgument);
+                        if (unboxedValues[argument.getIndex()] == null) {
+                            return false;
+                        }
+                    }
+                    if (kind.elementReaders.contains(method.getDescriptor()) && invoke.getReceiver() != null
+                            && !isOnlyUnboxed(invoke.getReceiver())) {
+                        // specialized list boxes element again on each read, so the program must not be able
+                        // to compare identities of elements
+                        return false;
+                    }
+                }
+            }
+            return initialized;
+        }
+
+        private void specialize(CollectionKind kind, ConstructInstruction construct, Set<Variable> instances) {
+            changed = true;
+            construct.setType(kind.replacement);
+            for (Variable var : instances) {
+                for (Instruction usage : usages.get(var.getIndex())) {
+                    if (!(usage instanceof InvokeInstruction)) {
+                        continue;
+                    }
+                    var invoke = (InvokeInstruction) usage;
+                    MethodDescriptor descriptor = invoke.getMethod().getDescriptor();
+                    if (invoke.getType() == InvocationType.SPECIAL) {
+                        invoke.setMethod(new MethodReference(kind.replacement, descriptor));
+                        continue;
+                    }
+                    Specialization specialization = kind.methods.get(descriptor);
+                    invoke.setType(InvocationType.VIRTUAL);
+                    invoke.setMethod(new MethodReference(kind.replacement, specialization.target));
+                    if (specialization.boxedArgument >= 0) {
+                        int index = specialization.boxedArgument;
+                        invoke.replaceArguments(argument -> argument == invoke.getArguments().get(index)
+                                ? unboxedValues[argument.getIndex()]
+                                : argument);
+                    }
+                    if (descriptor.equals(LIST_GET) && invoke.getReceiver() != null) {
+                        tryUnboxResult(kind, invoke);
+                    }
+                }
+            }
+        }
+
+        /**
+         * If the only thing program does with a boxed element is unboxing it back, reads unboxed element
+         * instead.
+         */
+        private void tryUnboxResult(CollectionKind kind, InvokeInstruction invoke) {
+            if (!isOnlyUnboxed(invoke.getReceiver())) {
+                return;
+            }
+            List<CastInstruction> casts = new ArrayList<>();
+            List<InvokeInstruction> unboxings = new ArrayList<>();
+            for (Instruction usage : usages.get(invoke.getReceiver().getIndex())) {
+                var cast = (CastInstruction) usage;
+                for (Instruction castUsage : usages.get(cast.getReceiver().getIndex())) {
+                    unboxings.add((InvokeInstruction) castUsage);
+                }
+                casts.add(cast);
+            }
+
+            invoke.setMethod(new MethodReference(kind.replacement, LIST_GET_INT));
+            for (CastInstruction cast : casts) {
+                var copy = new AssignInstruction();
+                copy.setAssignee(cast.getValue());
+                copy.setReceiver(cast.getReceiver());
+                copy.setLocation(cast.getLocation());
+                cast.replace(copy);
+            }
+            for (InvokeInstruction unboxing : unboxings) {
+                if (unboxing.getReceiver() == null) {
+                    unboxing.delete();
+                } else {
+                    var copy = new AssignInstruction();
+                    copy.setAssignee(unboxing.getInstance());
+                    copy.setReceiver(unboxing.getReceiver());
+                    copy.setLocation(unboxing.getLocation());
+                    unboxing.replace(copy);
+                }
+            }
+        }
+
+        /**
+         * Checks whether boxed element is only cast to {@code Integer} and unboxed by {@code intValue()}.
+         */
+        private boolean isOnlyUnboxed(Variable value) {
+            if (!phiUsages.get(value.getIndex()).isEmpty()) {
+                return false;
+            }
+            for (Instruction usage : usages.get(value.getIndex())) {
+                if (!(usage instanceof CastInstruction)) {
+                    return false;
+                }
+                var cast = (CastInstruction) usage;
+                if (!cast.getTargetType().equals(INTEGER_TYPE)
+                        || !phiUsages.get(cast.getReceiver().getIndex()).isEmpty()) {
+                    return false;
+                }
+                for (Instruction castUsage : usages.get(cast.getReceiver().getIndex())) {
+                    if (!(castUsage instanceof InvokeInstruction)) {
+                        return false;
+                    }
+                    var unboxing = (InvokeInstruction) castUsage;
+                    if (!unboxing.getMethod().equals(INT_VALUE) || unboxing.getInstance() != cast.getReceiver()) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private void removeUnusedBoxing() {
+            boolean[] used = new boolean[program.variableCount()];
+            var usageExtractor = new UsageExtractor();
+            for (BasicBlock block : program.getBasicBlocks()) {
+                for (Phi phi : block.getPhis()) {
+                    for (Incoming incoming : phi.getIncomings()) {
+                        used[incoming.getValue().getIndex()] = true;
+                    }
+                }
+                for (Instruction insn : block) {
+                    insn.acceptVisitor(usageExtractor);
+                    for (Variable var : usageExtractor.getUsedVariables()) {
+                        used[var.getIndex()] = true;
+                    }
+                }
+            }
+            for (BasicBlock block : program.getBasicBlocks()) {
+                for (Instruction insn : block) {
+                    if (insn instanceof InvokeInstruction) {
+                        var invoke = (InvokeInstruction) insn;
+                        if (invoke.getMethod().equals(INTEGER_VALUE_OF) && invoke.getReceiver() != null
+                                && !used[invoke.getReceiver().getIndex()]) {
+                            insn.delete();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    static class CollectionKind {
+        final String replacement;
+        final Set<String> constructedClasses;
+        final Set<String> ownerClasses;
+        final Set<MethodDescriptor> constructors = new HashSet<>();
+        final Map<MethodDescriptor, Specialization> methods = new HashMap<>();
+        final Set<MethodDescriptor> elementReaders = new HashSet<>();
+
+        CollectionKind(String replacement, Set<String> constructedClasses, Set<String> ownerClasses) {
+            this.replacement = replacement;
+            this.constructedClasses = constructedClasses;
+            this.ownerClasses = ownerClasses;
+        }
+
+        void constructor(String descriptor) {
+            constructors.add(MethodDescriptor.parse("<init>" + descriptor));
+        }
+
+        void method(String descriptor, String target, int boxedArgument) {
+            methods.put(MethodDescriptor.parse(descriptor),
+                    new Specialization(MethodDescriptor.parse(target), boxedArgument));
+        }
+
+        void elementReader(String descriptor) {
+            elementReaders.add(MethodDescriptor.parse(descriptor));
+        }
+    }
+
+    static class Specialization {
+        final MethodDescriptor target;
+        final int boxedArgument;
+
+        Specialization(MethodDescriptor target, int boxedArgument) {
+            this.target = target;
+            this.boxedArgument = boxedArgument;
+        }
+    }
+}
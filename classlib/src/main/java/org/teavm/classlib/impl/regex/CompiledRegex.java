@@ -0,0 +1,63 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.impl.regex;
+
+import java.util.regex.Pattern;
+
+/**
+ * <p>Runs automata produced by {@link RegexDfaCompiler} at build time. Automaton is encoded as a string
+ * which is a sequence of state records, the first record describes initial state. Every record starts
+ * with a character that is non-zero for accepting states, followed by the number of transitions
+ * and by transitions themselves. Each transition takes three characters: lower and upper bounds
+ * of a character range and offset of a record that describes target state. Transitions are sorted by
+ * their ranges.</p>
+ *
+ * <p>Automaton operates on UTF-16 code units, while regular expressions operate on code points,
+ * so when input contains surrogate characters, matching falls back to {@link Pattern}.</p>
+ */
+public final class CompiledRegex {
+    private CompiledRegex() {
+    }
+
+    public static boolean matches(String automaton, String regex, CharSequence input) {
+        var string = input.toString();
+        int length = string.length();
+        int state = 0;
+        for (int i = 0; i < length; ++i) {
+            char c = string.charAt(i);
+            if (Character.isSurrogate(c)) {
+                return Pattern.matches(regex, string);
+            }
+            int ptr = state + 2;
+            int end = ptr + automaton.charAt(state + 1) * 3;
+            state = -1;
+            while (ptr < end) {
+                if (c < automaton.charAt(ptr)) {
+                    break;
+                }
+                if (c <= automaton.charAt(ptr + 1)) {
+                    state = automaton.charAt(ptr + 2);
+                    break;
+                }
+                ptr += 3;
+            }
+            if (state < 0) {
+                return false;
+            }
+        }
+        return automaton.charAt(state) != 0;
+    }
+}
@@ -0,0 +1,594 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.impl.regex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * <p>Compiles regular expressions into deterministic finite automata at build time. Only a subset
+ * of regular expressions is supported: literals, character classes, predefined classes ({@code \d}, {@code \w},
+ * {@code \s} and their negations), {@code .}, groups, alternation and greedy or reluctant quantifiers.
+ * This is enough to decide whether the whole input matches an expression, which is what
+ * {@code String.matches} does. Anchors, back references, lookarounds, possessive quantifiers, inline flags
+ * and so on are not supported, in this case compiler gives up and returns {@code null}.</p>
+ *
+ * <p>Automaton is encoded as a string, see {@link CompiledRegex} for format description.</p>
+ */
+public final class RegexDfaCompiler {
+    private static final int MAX_DFA_STATES = 256;
+    private static final int MAX_NFA_STATES = 4096;
+    private static final int MAX_REPETITIONS = 256;
+    private static final int MAX_CHAR = 0xFFFF;
+    private static final int[] DIGIT = { '0', '9' };
+    private static final int[] WORD = { '0', '9', 'A', 'Z', '_', '_', 'a', 'z' };
+    private static final int[] SPACE = { '\t', '\r', ' ', ' ' };
+    private static final int[] LINE_TERMINATORS = { '\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029 };
+    private final String pattern;
+    private int index;
+    private List<NfaState> nfa = new ArrayList<>();
+
+    private RegexDfaCompiler(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public static String compile(String pattern) {
+        try {
+            Pattern.compile(pattern);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+        for (int i = 0; i < pattern.length(); ++i) {
+            if (Character.isSurrogate(pattern.charAt(i))) {
+                return null;
+            }
+        }
+        try {
+            return new RegexDfaCompiler(pattern).compile();
+        } catch (UnsupportedRegexException e) {
+            return null;
+        }
+    }
+
+    private String compile() {
+        var root = parseAlternatives();
+        if (index < pattern.length()) {
+            throw new UnsupportedRegexException();
+        }
+        int start = newState();
+        int end = build(root, start);
+        return encode(buildDfa(start, end));
+    }
+
+    private Node parseAlternatives() {
+        var alternatives = new ArrayList<Node>();
+        alternatives.add(parseSequence());
+        while (index < pattern.length() && pattern.charAt(index) == '|') {
+            ++index;
+            alternatives.add(parseSequence());
+        }
+        return alternatives.size() == 1 ? alternatives.get(0) : new AlternativesNode(alternatives);
+    }
+
+    private Node parseSequence() {
+        var items = new ArrayList<Node>();
+        while (index < pattern.length()) {
+            char c = pattern.charAt(index);
+            if (c == '|' || c == ')') {
+                break;
+            }
+            items.add(parseQuantifier(parseAtom()));
+        }
+        return items.size() == 1 ? items.get(0) : new SequenceNode(items);
+    }
+
+    private Node parseAtom() {
+        char c = pattern.charAt(index++);
+        switch (c) {
+            case '(': {
+                if (index < pattern.length() && pattern.charAt(index) == '?') {
+                    if (index + 1 >= pattern.length() || pattern.charAt(index + 1) != ':') {
+                        throw new UnsupportedRegexException();
+                    }
+                    index += 2;
+                }
+                var result = parseAlternatives();
+                if (index >= pattern.length() || pattern.charAt(index) != ')') {
+                    throw new UnsupportedRegexException();
+                }
+                ++index;
+                return result;
+            }
+            case '[':
+                return new CharsNode(parseClass());
+            case '.':
+                return new CharsNode(complement(LINE_TERMINATORS));
+            case '\\':
+                return new CharsNode(parseEscape());
+            case '^':
+            case '$':
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                throw new UnsupportedRegexException();
+            default:
+                return new CharsNode(single(c));
+        }
+    }
+
+    private Node parseQuantifier(Node node) {
+        if (index >= pattern.length()) {
+            return node;
+        }
+        int min;
+        int max;
+        switch (pattern.charAt(index)) {
+            case '*':
+                min = 0;
+                max = -1;
+                break;
+            case '+':
+                min = 1;
+                max = -1;
+                break;
+            case '?':
+                min = 0;
+                max = 1;
+                break;
+            case '{':
+                ++index;
+                min = parseNumber();
+                if (index < pattern.length() && pattern.charAt(index) == ',') {
+                    ++index;
+                    max = index < pattern.length() && pattern.charAt(index) != '}' ? parseNumber() : -1;
+                } else {
+                    max = min;
+                }
+                if (index >= pattern.length() || pattern.charAt(index) != '}') {
+                    throw new UnsupportedRegexException();
+                }
+                break;
+            default:
+                return node;
+        }
+        ++index;
+        if (index < pattern.length()) {
+            // possessive quantifiers may make whole match fail, reluctant ones are same as greedy for us
+            if (pattern.charAt(index) == '+') {
+                throw new UnsupportedRegexException();
+            } else if (pattern.charAt(index) == '?') {
+                ++index;
+            }
+        }
+        if (min > MAX_REPETITIONS || max > MAX_REPETITIONS || (max >= 0 && max < min)) {
+            throw new UnsupportedRegexException();
+        }
+        return new RepeatNode(node, min, max);
+    }
+
+    private int parseNumber() {
+        int start = index;
+        int result = 0;
+        while (index < pattern.length() && index - start < 6) {
+            char c = pattern.charAt(index);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            result = result * 10 + (c - '0');
+            ++index;
+        }
+        if (index == start || index - start >= 6) {
+            throw new UnsupportedRegexException();
+        }
+        return result;
+    }
+
+    private int[] parseClass() {
+        boolean negative = false;
+        if (index < pattern.length() && pattern.charAt(index) == '^') {
+            negative = true;
+            ++index;
+        }
+        if (index < pattern.length() && pattern.charAt(index) == ']') {
+            throw new UnsupportedRegexException();
+        }
+        int[] result = new int[0];
+        while (true) {
+            if (index >= pattern.length()) {
+                throw new UnsupportedRegexException();
+            }
+            char c = pattern.charAt(index);
+            if (c == ']') {
+                ++index;
+                break;
+            }
+            if (c == '[' || (c == '&' && index + 1 < pattern.length() && pattern.charAt(index + 1) == '&')) {
+                throw new UnsupportedRegexException();
+            }
+            if (c == '\\' && index + 1 < pattern.length() && isClassEscape(pattern.charAt(index + 1))) {
+                ++index;
+                result = union(result, parseEscape());
+                if (isRange()) {
+                    throw new UnsupportedRegexException();
+                }
+                continue;
+            }
+            int low = parseClassChar();
+            int high = low;
+            if (isRange()) {
+                ++index;
+                high = parseClassChar();
+                if (high < low) {
+                    throw new UnsupportedRegexException();
+                }
+            }
+            result = union(result, new int[] { low, high });
+        }
+        return negative ? complement(result) : result;
+    }
+
+    private boolean isRange() {
+        return index + 1 < pattern.length() && pattern.charAt(index) == '-' && pattern.charAt(index + 1) != ']';
+    }
+
+    private int parseClassChar() {
+        char c = pattern.charAt(index++);
+        if (c == '[') {
+            throw new UnsupportedRegexException();
+        }
+        if (c != '\\') {
+            return c;
+        }
+        if (index < pattern.length() && isClassEscape(pattern.charAt(index))) {
+            // predefined classes can't be bounds of a range
+            throw new UnsupportedRegexException();
+        }
+        return parseEscape()[0];
+    }
+
+    private static boolean isClassEscape(char c) {
+        switch (c) {
+            case 'd':
+            case 'D':
+            case 'w':
+            case 'W':
+            case 's':
+            case 'S':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private int[] parseEscape() {
+        if (index >= pattern.length()) {
+            throw new UnsupportedRegexException();
+        }
+        char c = pattern.charAt(index++);
+        switch (c) {
+            case 'd':
+                return DIGIT;
+            case 'D':
+                return complement(DIGIT);
+            case 'w':
+                return WORD;
+            case 'W':
+                return complement(WORD);
+            case 's':
+                return SPACE;
+            case 'S':
+                return complement(SPACE);
+            case 't':
+                return single('\t');
+            case 'n':
+                return single('\n');
+            case 'r':
+                return single('\r');
+            case 'f':
+                return single('\f');
+            case 'a':
+                return single(7);
+            case 'e':
+                return single(27);
+            case 'x':
+                return single(parseHex(2));
+            case 'u':
+                return single(parseHex(4));
+            default:
+                if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                    throw new UnsupportedRegexException();
+                }
+                return single(c);
+        }
+    }
+
+    private int parseHex(int length) {
+        if (index + length > pattern.length()) {
+            throw new UnsupportedRegexException();
+        }
+        int result = 0;
+        for (int i = 0; i < length; ++i) {
+            int digit = Character.digit(pattern.charAt(index++), 16);
+            if (digit < 0) {
+                throw new UnsupportedRegexException();
+            }
+            result = result * 16 + digit;
+        }
+        if (Character.isSurrogate((char) result)) {
+            throw new UnsupportedRegexException();
+        }
+        return result;
+    }
+
+    private int newState() {
+        if (nfa.size() >= MAX_NFA_STATES) {
+            throw new UnsupportedRegexException();
+        }
+        nfa.add(new NfaState());
+        return nfa.size() - 1;
+    }
+
+    private int build(Node node, int from) {
+        if (node instanceof CharsNode) {
+            int state = newState();
+            nfa.get(from).epsilon.add(state);
+            int target = newState();
+            nfa.get(state).chars = ((CharsNode) node).chars;
+            nfa.get(state).target = target;
+            return target;
+        } else if (node instanceof SequenceNode) {
+            for (var item : ((SequenceNode) node).items) {
+                from = build(item, from);
+            }
+            return from;
+        } else if (node instanceof AlternativesNode) {
+            int end = newState();
+            for (var alternative : ((AlternativesNode) node).alternatives) {
+                int start = newState();
+                nfa.get(from).epsilon.add(start);
+                nfa.get(build(alternative, start)).epsilon.add(end);
+            }
+            return end;
+        } else {
+            var repeat = (RepeatNode) node;
+            for (int i = 0; i < repeat.min; ++i) {
+                from = build(repeat.node, from);
+            }
+            if (repeat.max < 0) {
+                int loop = newState();
+                nfa.get(from).epsilon.add(loop);
+                nfa.get(build(repeat.node, loop)).epsilon.add(loop);
+                return loop;
+            }
+            int end = newState();
+            for (int i = repeat.min; i < repeat.max; ++i) {
+                nfa.get(from).epsilon.add(end);
+                from = build(repeat.node, from);
+            }
+            nfa.get(from).epsilon.add(end);
+            return end;
+        }
+    }
+
+    private List<DfaState> buildDfa(int start, int end) {
+        var points = new TreeSet<Integer>();
+        points.add(0);
+        for (var state : nfa) {
+            if (state.chars != null) {
+                for (int i = 0; i < state.chars.length; i += 2) {
+                    points.add(state.chars[i]);
+                    if (state.chars[i + 1] < MAX_CHAR) {
+                        points.add(state.chars[i + 1] + 1);
+                    }
+                }
+            }
+        }
+        int[] bounds = points.stream().mapToInt(Integer::intValue).toArray();
+
+        var states = new ArrayList<DfaState>();
+        var stateIndexes = new HashMap<BitSet, Integer>();
+        var initial = new BitSet();
+        closure(initial, start);
+        states.add(new DfaState(initial));
+        stateIndexes.put(initial, 0);
+        for (int i = 0; i < states.size(); ++i) {
+            var state = states.get(i);
+            state.accepting = state.nfaStates.get(end);
+            int previousTarget = -1;
+            for (int j = 0; j < bounds.length; ++j) {
+                var next = new BitSet();
+                for (int s = state.nfaStates.nextSetBit(0); s >= 0; s = state.nfaStates.nextSetBit(s + 1)) {
+                    var nfaState = nfa.get(s);
+                    if (nfaState.chars != null && contains(nfaState.chars, bounds[j])) {
+                        closure(next, nfaState.target);
+                    }
+                }
+                if (next.isEmpty()) {
+                    previousTarget = -1;
+                    continue;
+                }
+                int target = stateIndexes.computeIfAbsent(next, k -> {
+                    states.add(new DfaState(k));
+                    return states.size() - 1;
+                });
+                if (states.size() > MAX_DFA_STATES) {
+                    throw new UnsupportedRegexException();
+                }
+                int high = j + 1 < bounds.length ? bounds[j + 1] - 1 : MAX_CHAR;
+                if (target == previousTarget) {
+                    state.transitions.get(state.transitions.size() - 1)[1] = high;
+                } else {
+                    state.transitions.add(new int[] { bounds[j], high, target });
+                }
+                previousTarget = target;
+            }
+        }
+        return states;
+    }
+
+    private void closure(BitSet set, int state) {
+        if (set.get(state)) {
+            return;
+        }
+        set.set(state);
+        for (int next : nfa.get(state).epsilon) {
+            closure(set, next);
+        }
+    }
+
+    private static String encode(List<DfaState> states) {
+        int[] offsets = new int[states.size()];
+        int offset = 0;
+        for (int i = 0; i < states.size(); ++i) {
+            offsets[i] = offset;
+            offset += 2 + states.get(i).transitions.size() * 3;
+        }
+        if (offset > MAX_CHAR) {
+            throw new UnsupportedRegexException();
+        }
+        var sb = new StringBuilder(offset);
+        for (var state : states) {
+            sb.append((char) (state.accepting ? 1 : 0)).append((char) state.transitions.size());
+            for (int[] transition : state.transitions) {
+                sb.append((char) transition[0]).append((char) transition[1]).append((char) offsets[transition[2]]);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int[] single(int c) {
+        return new int[] { c, c };
+    }
+
+    private static boolean contains(int[] ranges, int c) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (c >= ranges[i] && c <= ranges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        var ranges = new ArrayList<int[]>();
+        for (int i = 0; i < a.length; i += 2) {
+            ranges.add(new int[] { a[i], a[i + 1] });
+        }
+        for (int i = 0; i < b.length; i += 2) {
+            ranges.add(new int[] { b[i], b[i + 1] });
+        }
+        ranges.sort((x, y) -> Integer.compare(x[0], y[0]));
+        var merged = new ArrayList<int[]>();
+        for (int[] range : ranges) {
+            int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range[0] <= last[1] + 1) {
+                last[1] = Math.max(last[1], range[1]);
+            } else {
+                merged.add(range);
+            }
+        }
+        int[] result = new int[merged.size() * 2];
+        for (int i = 0; i < merged.size(); ++i) {
+            result[i * 2] = merged.get(i)[0];
+            result[i * 2 + 1] = merged.get(i)[1];
+        }
+        return result;
+    }
+
+    private static int[] complement(int[] ranges) {
+        var result = new ArrayList<Integer>();
+        int next = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                result.add(next);
+                result.add(ranges[i] - 1);
+            }
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= MAX_CHAR) {
+            result.add(next);
+            result.add(MAX_CHAR);
+        }
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private abstract static class Node {
+    }
+
+    private static class CharsNode extends Node {
+        final int[] chars;
+
+        CharsNode(int[] chars) {
+            this.chars = chars;
+        }
+    }
+
+    private static class SequenceNode extends Node {
+        final List<Node> items;
+
+        SequenceNode(List<Node> items) {
+            this.items = items;
+        }
+    }
+
+    private static class AlternativesNode extends Node {
+        final List<Node> alternatives;
+
+        AlternativesNode(List<Node> alternatives) {
+            this.alternatives = alternatives;
+        }
+    }
+
+    private static class RepeatNode extends Node {
+        final Node node;
+        final int min;
+        final int max;
+
+        RepeatNode(Node node, int min, int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+    }
+
+    private static class NfaState {
+        final List<Integer> epsilon = new ArrayList<>();
+        int[] chars;
+        int target;
+    }
+
+    private static class DfaState {
+        final BitSet nfaStates;
+        final List<int[]> transitions = new ArrayList<>();
+        boolean accepting;
+
+        DfaState(BitSet nfaStates) {
+            this.nfaStates = nfaStates;
+        }
+    }
+
+    private static class UnsupportedRegexException extends RuntimeException {
+        UnsupportedRegexException() {
+            super(null, null, false, false);
+        }
+    }
+}
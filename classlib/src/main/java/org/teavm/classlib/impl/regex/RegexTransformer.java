@@ -0,0 +1,337 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.impl.regex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.teavm.model.AccessLevel;
+import org.teavm.model.BasicBlock;
+import org.teavm.model.ClassHierarchy;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassHolderTransformer;
+import org.teavm.model.ClassHolderTransformerContext;
+import org.teavm.model.ElementModifier;
+import org.teavm.model.FieldHolder;
+import org.teavm.model.Instruction;
+import org.teavm.model.MethodDescriptor;
+import org.teavm.model.MethodHolder;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Program;
+import org.teavm.model.ValueType;
+import org.teavm.model.Variable;
+import org.teavm.model.emit.ProgramEmitter;
+import org.teavm.model.instructions.AssignInstruction;
+import org.teavm.model.instructions.IntegerConstantInstruction;
+import org.teavm.model.instructions.InvocationType;
+import org.teavm.model.instructions.InvokeInstruction;
+import org.teavm.model.instructions.NullCheckInstruction;
+import org.teavm.model.instructions.StringConstantInstruction;
+
+/**
+ * <p>Takes care of regular expressions that are string constants, so that they are not parsed
+ * by {@code Pattern} every time they are used.</p>
+ *
+ * <p>{@code String.matches} and {@code Pattern.matches} are replaced by {@link CompiledRegex#matches},
+ * which runs an automaton produced by {@link RegexDfaCompiler} at build time. When expression is not supported
+ * by compiler, as well as for {@code Pattern.compile} and for {@code String.split}, {@code String.replaceAll}
+ * and {@code String.replaceFirst}, expression is compiled by {@code Pattern} only once, on first use,
+ * and stored in a static field of the class where it is used.</p>
+ *
+ * <p>Since transformer adds fields and methods to user classes, which are visible to reflection, it only runs
+ * when {@code java.util.regex.Pattern.precompile} property is set.</p>
+ */
+public class RegexTransformer implements ClassHolderTransformer {
+    private static final String PATTERN = "java.util.regex.Pattern";
+    private static final String MATCHER = "java.util.regex.Matcher";
+    private static final ValueType PATTERN_TYPE = ValueType.object(PATTERN);
+    private static final ValueType MATCHER_TYPE = ValueType.object(MATCHER);
+    private static final ValueType STRING_TYPE = ValueType.object("java.lang.String");
+    private static final ValueType CHAR_SEQUENCE_TYPE = ValueType.object("java.lang.CharSequence");
+    private static final MethodDescriptor STRING_MATCHES = MethodDescriptor.parse(
+            "matches(Ljava/lang/String;)Z");
+    private static final MethodDescriptor STRING_SPLIT = MethodDescriptor.parse(
+            "split(Ljava/lang/String;)[Ljava/lang/String;");
+    private static final MethodDescriptor STRING_SPLIT_LIMIT = MethodDescriptor.parse(
+            "split(Ljava/lang/String;I)[Ljava/lang/String;");
+    private static final MethodDescriptor STRING_REPLACE_ALL = MethodDescriptor.parse(
+            "replaceAll(Ljava/lang/String;Ljava/lang/String;)Ljava/lang/String;");
+    private static final MethodDescriptor STRING_REPLACE_FIRST = MethodDescriptor.parse(
+            "replaceFirst(Ljava/lang/String;Ljava/lang/String;)Ljava/lang/String;");
+    private static final MethodDescriptor PATTERN_MATCHES = MethodDescriptor.parse(
+            "matches(Ljava/lang/String;Ljava/lang/CharSequence;)Z");
+    private static final MethodDescriptor PATTERN_COMPILE = MethodDescriptor.parse(
+            "compile(Ljava/lang/String;)Ljava/util/regex/Pattern;");
+    private static final MethodDescriptor PATTERN_COMPILE_FLAGS = MethodDescriptor.parse(
+            "compile(Ljava/lang/String;I)Ljava/util/regex/Pattern;");
+    private static final MethodReference PATTERN_MATCHER = new MethodReference(PATTERN, "matcher",
+            CHAR_SEQUENCE_TYPE, MATCHER_TYPE);
+    private static final MethodReference PATTERN_SPLIT = new MethodReference(PATTERN, "split",
+            CHAR_SEQUENCE_TYPE, ValueType.arrayOf(STRING_TYPE));
+    private static final MethodReference PATTERN_SPLIT_LIMIT = new MethodReference(PATTERN, "split",
+            CHAR_SEQUENCE_TYPE, ValueType.INTEGER, ValueType.arrayOf(STRING_TYPE));
+    private static final MethodReference MATCHER_MATCHES = new MethodReference(MATCHER, "matches",
+            ValueType.BOOLEAN);
+    private static final MethodReference MATCHER_REPLACE_ALL = new MethodReference(MATCHER, "replaceAll",
+            STRING_TYPE, STRING_TYPE);
+    private static final MethodReference MATCHER_REPLACE_FIRST = new MethodReference(MATCHER, "replaceFirst",
+            STRING_TYPE, STRING_TYPE);
+    private static final MethodReference COMPILED_MATCHES = new MethodReference(CompiledRegex.class, "matches",
+            String.class, String.class, CharSequence.class, boolean.class);
+
+    @Override
+    public void transformClass(ClassHolder cls, ClassHolderTransformerContext context) {
+        if (cls.getName().equals(CompiledRegex.class.getName())) {
+            return;
+        }
+        var transformation = new ClassTransformation(cls, context.getHierarchy());
+        for (MethodHolder method : cls.getMethods()) {
+            if (method.getProgram() != null) {
+                // caching pattern in static initializer makes no sense, since it runs only once
+                boolean canCache = !cls.hasModifier(ElementModifier.INTERFACE)
+                        && !method.getName().equals("<clinit>");
+                transformation.transformProgram(method.getProgram(), canCache);
+            }
+        }
+        transformation.complete();
+    }
+
+    static class ClassTransformation {
+        private ClassHolder cls;
+        private ClassHierarchy hierarchy;
+        private Map<String, MethodReference> cachedPatterns = new HashMap<>();
+        private List<MethodHolder> newMethods = new ArrayList<>();
+        private Program program;
+        private Object[] constants;
+
+        ClassTransformation(ClassHolder cls, ClassHierarchy hierarchy) {
+            this.cls = cls;
+            this.hierarchy = hierarchy;
+        }
+
+        void transformProgram(Program program, boolean canCache) {
+            this.program = program;
+            var invocations = new ArrayList<InvokeInstruction>();
+            for (BasicBlock block : program.getBasicBlocks()) {
+                for (Instruction insn : block) {
+                    if (insn instanceof InvokeInstruction && isRegexMethod(((InvokeInstruction) insn).getMethod())) {
+                        invocations.add((InvokeInstruction) insn);
+                    }
+                }
+            }
+            if (invocations.isEmpty()) {
+                return;
+            }
+
+            findConstants();
+            for (InvokeInstruction invoke : invocations) {
+                transformInvocation(invoke, canCache);
+            }
+            constants = null;
+            this.program = null;
+        }
+
+        void complete() {
+            for (MethodHolder method : newMethods) {
+                cls.addMethod(method);
+            }
+        }
+
+        private static boolean isRegexMethod(MethodReference method) {
+            var desc = method.getDescriptor();
+            switch (method.getClassName()) {
+                case "java.lang.String":
+                    return desc.equals(STRING_MATCHES) || desc.equals(STRING_SPLIT) || desc.equals(STRING_SPLIT_LIMIT)
+                            || desc.equals(STRING_REPLACE_ALL) || desc.equals(STRING_REPLACE_FIRST);
+                case PATTERN:
+                    return desc.equals(PATTERN_MATCHES) || desc.equals(PATTERN_COMPILE)
+                            || desc.equals(PATTERN_COMPILE_FLAGS);
+                default:
+                    return false;
+            }
+        }
+
+        private void findConstants() {
+            constants = new Object[program.variableCount()];
+            var copies = new Variable[program.variableCount()];
+            for (BasicBlock block : program.getBasicBlocks()) {
+                for (Instruction insn : block) {
+                    if (insn instanceof StringConstantInstruction) {
+                        var constant = (StringConstantInstruction) insn;
+                        constants[constant.getReceiver().getIndex()] = constant.getConstant();
+                    } else if (insn instanceof IntegerConstantInstruction) {
+                        var constant = (IntegerConstantInstruction) insn;
+                        constants[constant.getReceiver().getIndex()] = constant.getConstant();
+                    } else if (insn instanceof AssignInstruction) {
+                        var assign = (AssignInstruction) insn;
+                        copies[assign.getReceiver().getIndex()] = assign.getAssignee();
+                    }
+                }
+            }
+            for (int i = 0; i < copies.length; ++i) {
+                var source = copies[i];
+                int steps = 0;
+                while (source != null && copies[source.getIndex()] != null && steps++ < copies.length) {
+                    source = copies[source.getIndex()];
+                }
+                if (source != null) {
+                    constants[i] = constants[source.getIndex()];
+                }
+            }
+        }
+
+        private void transformInvocation(InvokeInstruction invoke, boolean canCache) {
+            var desc = invoke.getMethod().getDescriptor();
+            var arguments = invoke.getArguments();
+            if (!(constants[arguments.get(0).getIndex()] instanceof String)) {
+                return;
+            }
+            var regex = (String) constants[arguments.get(0).getIndex()];
+            boolean isString = invoke.getMethod().getClassName().equals("java.lang.String");
+
+            if (desc.equals(STRING_MATCHES) || desc.equals(PATTERN_MATCHES)) {
+                var automaton = RegexDfaCompiler.compile(regex);
+                if (automaton == null && !canCache) {
+                    return;
+                }
+                var input = isString ? nullCheck(invoke, invoke.getInstance()) : arguments.get(1);
+                if (automaton != null) {
+                    var automatonVar = stringConstant(invoke, automaton);
+                    replace(invoke, COMPILED_MATCHES, null, automatonVar, arguments.get(0), input);
+                } else {
+                    var pattern = cachedPattern(invoke, regex, 0);
+                    var matcher = insert(invoke, PATTERN_MATCHER, pattern, input);
+                    replace(invoke, MATCHER_MATCHES, matcher);
+                }
+                return;
+            }
+
+            if (!canCache) {
+                return;
+            }
+            if (desc.equals(PATTERN_COMPILE) || desc.equals(PATTERN_COMPILE_FLAGS)) {
+                int flags = 0;
+                if (desc.equals(PATTERN_COMPILE_FLAGS)) {
+                    if (!(constants[arguments.get(1).getIndex()] instanceof Integer)) {
+                        return;
+                    }
+                    flags = (Integer) constants[arguments.get(1).getIndex()];
+                }
+                var pattern = cachedPattern(invoke, regex, flags);
+                var assign = new AssignInstruction();
+                assign.setAssignee(pattern);
+                assign.setReceiver(invoke.getReceiver());
+                assign.setLocation(invoke.getLocation());
+                invoke.replace(assign);
+                return;
+            }
+
+            var input = nullCheck(invoke, invoke.getInstance());
+            var pattern = cachedPattern(invoke, regex, 0);
+            if (desc.equals(STRING_SPLIT)) {
+                replace(invoke, PATTERN_SPLIT, pattern, input);
+            } else if (desc.equals(STRING_SPLIT_LIMIT)) {
+                replace(invoke, PATTERN_SPLIT_LIMIT, pattern, input, arguments.get(1));
+            } else {
+                var matcher = insert(invoke, PATTERN_MATCHER, pattern, input);
+                replace(invoke, desc.equals(STRING_REPLACE_ALL) ? MATCHER_REPLACE_ALL : MATCHER_REPLACE_FIRST,
+                        matcher, arguments.get(1));
+            }
+        }
+
+        private Variable nullCheck(Instruction position, Variable value) {
+            var nullCheck = new NullCheckInstruction();
+            nullCheck.setValue(value);
+            nullCheck.setReceiver(program.createVariable());
+            nullCheck.setLocation(position.getLocation());
+            position.insertPrevious(nullCheck);
+            return nullCheck.getReceiver();
+        }
+
+        private Variable stringConstant(Instruction position, String value) {
+            var constant = new StringConstantInstruction();
+            constant.setConstant(value);
+            constant.setReceiver(program.createVariable());
+            constant.setLocation(position.getLocation());
+            position.insertPrevious(constant);
+            return constant.getReceiver();
+        }
+
+        private Variable insert(Instruction position, MethodReference method, Variable instance,
+                Variable... arguments) {
+            var invoke = createInvoke(position, method, instance, arguments);
+            invoke.setReceiver(program.createVariable());
+            position.insertPrevious(invoke);
+            return invoke.getReceiver();
+        }
+
+        private void replace(InvokeInstruction position, MethodReference method, Variable instance,
+                Variable... arguments) {
+            var invoke = createInvoke(position, method, instance, arguments);
+            invoke.setReceiver(position.getReceiver());
+            position.replace(invoke);
+        }
+
+        private static InvokeInstruction createInvoke(Instruction position, MethodReference method,
+                Variable instance, Variable... arguments) {
+            var invoke = new InvokeInstruction();
+            invoke.setType(instance != null ? InvocationType.VIRTUAL : InvocationType.SPECIAL);
+            invoke.setMethod(method);
+            invoke.setInstance(instance);
+            invoke.setArguments(arguments);
+            invoke.setLocation(position.getLocation());
+            return invoke;
+        }
+
+        private Variable cachedPattern(Instruction position, String regex, int flags) {
+            var method = cachedPatterns.computeIfAbsent(flags + ":" + regex,
+                    k -> createCachedPattern(regex, flags));
+            return insert(position, method, null);
+        }
+
+        private MethodReference createCachedPattern(String regex, int flags) {
+            int index = cachedPatterns.size();
+            String fieldName;
+            String methodName;
+            do {
+                fieldName = "$pattern$" + index;
+                methodName = "$getPattern$" + index;
+                ++index;
+            } while (cls.getField(fieldName) != null
+                    || cls.getMethod(new MethodDescriptor(methodName, PATTERN_TYPE)) != null);
+
+            var field = new FieldHolder(fieldName);
+            field.setType(PATTERN_TYPE);
+            field.setLevel(AccessLevel.PRIVATE);
+            field.getModifiers().add(ElementModifier.STATIC);
+            cls.addField(field);
+
+            var method = new MethodHolder(methodName, PATTERN_TYPE);
+            method.setLevel(AccessLevel.PRIVATE);
+            method.getModifiers().add(ElementModifier.STATIC);
+            var pe = ProgramEmitter.create(method, hierarchy);
+            var name = fieldName;
+            pe.when(pe.getField(cls.getName(), name, PATTERN_TYPE).isNull()).thenDo(() -> {
+                var pattern = pe.invoke(PATTERN, "compile", PATTERN_TYPE, pe.constant(regex), pe.constant(flags));
+                pe.setField(cls.getName(), name, pattern);
+            });
+            pe.getField(cls.getName(), fieldName, PATTERN_TYPE).returnValue();
+            newMethods.add(method);
+            return new MethodReference(cls.getName(), method.getDescriptor());
+        }
+    }
+}
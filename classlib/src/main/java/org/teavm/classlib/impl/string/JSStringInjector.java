@@ -38,12 +38,15 @@ public class JSStringInjector implements Injector, Function<ProviderContext, Inj
             case "fastCharArray":
             case "nativeString":
             case "substringJS":
+            case "concatJS":
             case "toLowerCaseJS":
             case "toUpperCaseJS":
             case "intern":
             case "stripJS":
             case "stripLeadingJS":
             case "stripTrailingJS":
+            case "decodeBytesJS":
+            case "encodeUtf8JS":
                 return this;
         }
         return null;
@@ -82,6 +85,9 @@ public class JSStringInjector implements Injector, Function<ProviderContext, Inj
             case "substringJS":
                 substringJS(context);
                 break;
+            case "concatJS":
+                concatJS(context);
+                break;
             case "toLowerCaseJS":
                 toLowerCaseJS(context);
                 break;
@@ -100,6 +106,12 @@ public class JSStringInjector implements Injector, Function<ProviderContext, Inj
             case "stripTrailingJS":
                 stripTrailingJS(context);
                 break;
+            case "decodeBytesJS":
+                decodeBytesJS(context);
+                break;
+            case "encodeUtf8JS":
+                encodeUtf8JS(context);
+                break;
         }
     }
 
@@ -180,6 +192,35 @@ public class JSStringInjector implements Injector, Function<ProviderContext, Inj
         writer.append(")");
     }
 
+    private void concatJS(InjectorContext context) {
+        var writer = context.getWriter();
+        writer.append("(");
+        context.writeExpr(context.getArgument(0));
+        writer.ws().append("+").ws();
+        context.writeExpr(context.getArgument(1));
+        writer.append(")");
+    }
+
+    private void decodeBytesJS(InjectorContext context) {
+        var writer = context.getWriter();
+        writer.appendFunction("$rt_decodeBytes").append("(");
+        context.writeExpr(context.getArgument(0));
+        writer.append(".data,").ws();
+        context.writeExpr(context.getArgument(1));
+        writer.append(",").ws();
+        context.writeExpr(context.getArgument(2));
+        writer.append(",").ws();
+        context.writeExpr(context.getArgument(3));
+        writer.append(")");
+    }
+
+    private void encodeUtf8JS(InjectorContext context) {
+        var writer = context.getWriter();
+        writer.appendFunction("$rt_encodeUtf8").append("(");
+        context.writeExpr(context.getArgument(0));
+        writer.append(")");
+    }
+
     private void fastCharArray(InjectorContext context) {
         var writer = context.getWriter();
         writer.appendFunction("$rt_fastStringToCharArray").append("(");
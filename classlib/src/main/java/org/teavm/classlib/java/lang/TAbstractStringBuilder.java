@@ -29,9 +29,18 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
         static final FloatAnalyzer.Result floatAnalysisResult = new FloatAnalyzer.Result();
     }
 
+    private static final int SEGMENT_SIZE = 8192;
     char[] buffer;
     private int length;
 
+    // Content of the builder is segments followed by first `length` characters of `buffer`. Once buffer grows
+    // large, it's sealed into a segment, so that appending never copies whole content to a larger array.
+    // Operations that require random access merge everything back into the buffer.
+    private TString[] segments;
+    private int segmentCount;
+    private int segmentsLength;
+    private int sealThreshold = SEGMENT_SIZE;
+
     public TAbstractStringBuilder() {
         this(16);
     }
@@ -57,10 +66,16 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     protected TAbstractStringBuilder append(String string) {
-        return insert(length, string);
+        if (string != null && string.length() >= SEGMENT_SIZE) {
+            sealBuffer();
+            addSegment((TString) (Object) string);
+            return this;
+        }
+        return insert(length(), string);
     }
 
     protected TAbstractStringBuilder insert(int index, String string) {
+        index = bufferIndex(index);
         if (index < 0 || index > length) {
             throw new TStringIndexOutOfBoundsException();
         }
@@ -69,7 +84,7 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
         } else if (string.isEmpty()) {
             return this;
         }
-        ensureCapacity(length + string.length());
+        ensureBufferCapacity(length + string.length());
         for (int i = length - 1; i >= index; --i) {
             buffer[i + string.length()] = buffer[i];
         }
@@ -90,10 +105,11 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     TAbstractStringBuilder append(int value, int radix) {
-        return insert(length, value, radix);
+        return insert(length(), value, radix);
     }
 
     TAbstractStringBuilder insert(int target, int value, int radix) {
+        target = bufferIndex(target);
         boolean positive = true;
         if (value < 0) {
             positive = false;
@@ -135,7 +151,7 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     protected TAbstractStringBuilder append(long value) {
-        return insert(length, value);
+        return insert(length(), value);
     }
 
     protected TAbstractStringBuilder insert(int target, long value) {
@@ -143,6 +159,7 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     protected TAbstractStringBuilder insert(int target, long value, int radix) {
+        target = bufferIndex(target);
         boolean positive = true;
         if (value < 0) {
             positive = false;
@@ -185,10 +202,11 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
 
 
     protected TAbstractStringBuilder append(float value) {
-        return insert(length, value);
+        return insert(length(), value);
     }
 
     protected TAbstractStringBuilder insert(int target, float value) {
+        target = bufferIndex(target);
         if (value == 0) {
             if (1 / value == Float.POSITIVE_INFINITY) {
                 insertSpace(target, target + 3);
@@ -323,10 +341,11 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     protected TAbstractStringBuilder append(double value) {
-        return insert(length, value);
+        return insert(length(), value);
     }
 
     protected TAbstractStringBuilder insert(int target, double value) {
+        target = bufferIndex(target);
         if (value == 0) {
             if (1 / value == Double.POSITIVE_INFINITY) {
                 insertSpace(target, target + 3);
@@ -508,10 +527,11 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     protected TAbstractStringBuilder append(char c) {
-        return insert(length, c);
+        return insert(length(), c);
     }
 
     protected TAbstractStringBuilder insert(int index, char c) {
+        index = bufferIndex(index);
         insertSpace(index, index + 1);
         buffer[index++] = c;
         return this;
@@ -521,14 +541,15 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
         if (codePoint < TCharacter.MIN_SUPPLEMENTARY_CODE_POINT) {
             return append((char) codePoint);
         }
-        ensureCapacity(length + 2);
+        bufferIndex(length());
+        ensureBufferCapacity(length + 2);
         buffer[length++] = TCharacter.highSurrogate(codePoint);
         buffer[length++] = TCharacter.lowSurrogate(codePoint);
         return this;
     }
 
     protected TAbstractStringBuilder append(TObject obj) {
-        return insert(length, obj);
+        return insert(length(), obj);
     }
 
     protected TAbstractStringBuilder insert(int index, TObject obj) {
@@ -536,7 +557,7 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     protected TAbstractStringBuilder append(boolean b) {
-        return insert(length, b);
+        return insert(length(), b);
     }
 
     protected TAbstractStringBuilder insert(int index, boolean b) {
@@ -544,6 +565,10 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     public void ensureCapacity(int capacity) {
+        ensureBufferCapacity(capacity - segmentsLength);
+    }
+
+    private void ensureBufferCapacity(int capacity) {
         if (buffer.length >= capacity) {
             return;
         }
@@ -560,21 +585,99 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     public int capacity() {
-        return buffer.length;
+        return segmentsLength + buffer.length;
     }
 
     @Override
     public String toString() {
-        return new String(buffer, 0, length);
+        if (segmentCount == 0) {
+            return new String(buffer, 0, length);
+        }
+        if (length == 0 && segmentCount == 1) {
+            return (String) (Object) segments[0];
+        }
+        sealBuffer();
+        var result = TString.join(segments, segmentCount, segmentsLength);
+        // keep the result, so that subsequent calls return it without copying
+        segments[0] = result;
+        for (int i = 1; i < segmentCount; ++i) {
+            segments[i] = null;
+        }
+        segmentCount = 1;
+        return (String) (Object) result;
     }
 
     @Override
     public int length() {
-        return length;
+        return segmentsLength + length;
+    }
+
+    /**
+     * Converts index in the whole content to index in buffer. Appending to the end of content does not require
+     * merging segments, in this case buffer is sealed when it grows large. Otherwise, segments are merged.
+     */
+    private int bufferIndex(int index) {
+        if (segmentCount == 0 && length < sealThreshold) {
+            return index;
+        }
+        if (index == length()) {
+            if (length >= sealThreshold) {
+                sealBuffer();
+            }
+            return length;
+        }
+        flatten();
+        return index;
+    }
+
+    private void sealBuffer() {
+        if (length == 0) {
+            return;
+        }
+        addSegment(new TString(buffer, 0, length));
+        length = 0;
+        sealThreshold = SEGMENT_SIZE;
+        if (buffer.length > SEGMENT_SIZE * 2) {
+            buffer = new char[SEGMENT_SIZE * 2];
+        }
+    }
+
+    private void addSegment(TString segment) {
+        if (segments == null) {
+            segments = new TString[4];
+        } else if (segmentCount == segments.length) {
+            segments = TArrays.copyOf(segments, segmentCount * 2);
+        }
+        segments[segmentCount++] = segment;
+        segmentsLength += segment.length();
+    }
+
+    private void flatten() {
+        if (segmentCount == 0) {
+            return;
+        }
+        int newLength = segmentsLength + length;
+        var newBuffer = new char[Math.max(newLength + newLength / 2, buffer.length)];
+        int offset = 0;
+        for (int i = 0; i < segmentCount; ++i) {
+            var segment = segments[i];
+            segment.getChars(0, segment.length(), newBuffer, offset);
+            offset += segment.length();
+        }
+        System.arraycopy(buffer, 0, newBuffer, offset, length);
+        buffer = newBuffer;
+        length = newLength;
+        segments = null;
+        segmentCount = 0;
+        segmentsLength = 0;
+        // merged content will be sealed again only after it grows twice, so that mixing appends
+        // with random access operations does not merge and seal whole content each time
+        sealThreshold = Math.max(SEGMENT_SIZE, newLength * 2);
     }
 
     @Override
     public char charAt(int index) {
+        flatten();
         if (index < 0 || index >= length) {
             throw new TIndexOutOfBoundsException();
         }
@@ -583,17 +686,24 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
 
     @Override
     public boolean isEmpty() {
-        return length == 0;
+        return length() == 0;
     }
 
     protected TAbstractStringBuilder append(TCharSequence s, int start, int end) {
-        return insert(length, s, start, end);
+        return insert(length(), s, start, end);
     }
 
     protected TAbstractStringBuilder insert(int index, TCharSequence s, int start, int end) {
         if (start > end || end > s.length() || start < 0) {
             throw new TIndexOutOfBoundsException();
         }
+        if (s == this) {
+            // content of this builder is moved or sealed into a segment below, so characters are read from a copy
+            s = substring(start, end);
+            end -= start;
+            start = 0;
+        }
+        index = bufferIndex(index);
         insertSpace(index, index + end - start);
         for (int i = start; i < end; ++i) {
             buffer[index++] = s.charAt(i);
@@ -614,7 +724,7 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     protected TAbstractStringBuilder append(char[] chars, int offset, int len) {
-        return insert(length, chars, offset, len);
+        return insert(length(), chars, offset, len);
     }
 
     protected TAbstractStringBuilder insert(int index, char[] chars) {
@@ -622,6 +732,7 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     protected TAbstractStringBuilder insert(int index, char[] chars, int offset, int len) {
+        index = bufferIndex(index);
         insertSpace(index, index + len);
         len += offset;
         while (offset < len) {
@@ -640,6 +751,7 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        flatten();
         if (srcBegin > srcEnd) {
             throw new IndexOutOfBoundsException("Index out of bounds");
         }
@@ -649,10 +761,12 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     public void setLength(int newLength) {
+        flatten();
         length = newLength;
     }
 
     public TAbstractStringBuilder deleteCharAt(int index) {
+        flatten();
         if (index < 0 || index >= length) {
             throw new TStringIndexOutOfBoundsException();
         }
@@ -664,6 +778,7 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     public TAbstractStringBuilder delete(int start, int end) {
+        flatten();
         if (start < 0 || start > end || start > length) {
             throw new TStringIndexOutOfBoundsException();
         }
@@ -682,6 +797,7 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     public TAbstractStringBuilder replace(int start, int end, TString str) {
+        flatten();
         if (start < 0 || start > end || start > length) {
             throw new TStringIndexOutOfBoundsException();
         }
@@ -702,7 +818,7 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
 
     private void insertSpace(int start, int end) {
         int sz = length - start;
-        ensureCapacity(length + end - start);
+        ensureBufferCapacity(length + end - start);
         for (int i = sz - 1; i >= 0; --i) {
             buffer[end + i] = buffer[start + i];
         }
@@ -714,6 +830,7 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     public int indexOf(TString str, int fromIndex) {
+        flatten();
         int sz = length - str.length();
         outer: for (int i = fromIndex; i <= sz; ++i) {
             for (int j = 0; j < str.length(); ++j) {
@@ -727,10 +844,12 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     public int lastIndexOf(TString str) {
+        flatten();
         return lastIndexOf(str, length);
     }
 
     public int lastIndexOf(TString str, int fromIndex) {
+        flatten();
         fromIndex = Math.min(fromIndex, length - str.length());
         outer: for (int i = fromIndex; i >= 0; --i) {
             for (int j = 0; j < str.length(); ++j) {
@@ -744,6 +863,7 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     public TAbstractStringBuilder reverse() {
+        flatten();
         int half = length / 2;
         for (int i = 0; i < half; ++i) {
             char tmp = buffer[i];
@@ -754,6 +874,7 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     public TString substring(int from, int to) {
+        flatten();
         if (from > to || from < 0 || to > length) {
             throw new TIndexOutOfBoundsException();
         }
@@ -761,10 +882,12 @@ class TAbstractStringBuilder implements TSerializable, TCharSequence {
     }
 
     public TString substring(int from) {
+        flatten();
         return substring(from, length);
     }
 
     public void setCharAt(int index, char ch) {
+        flatten();
         if (index > length) {
             throw new TIndexOutOfBoundsException();
         }
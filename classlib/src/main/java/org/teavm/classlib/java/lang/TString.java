@@ -126,6 +126,17 @@ public class TString extends TObject implements TSerializable, TComparable<TStri
     }
 
     private void initWithBytes(byte[] bytes, int offset, int length, TCharset charset) {
+        if (PlatformDetector.isJavaScript()) {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            var encoding = nativeEncoding(charset);
+            if (encoding != 0) {
+                var nativeString = decodeBytesJS(bytes, offset, length, encoding);
+                if (nativeString != null) {
+                    borrowChars(new TString(nativeString));
+                    return;
+                }
+            }
+        }
         TCharBuffer buffer = charset.decode(TByteBuffer.wrap(bytes, offset, length));
         char[] characters;
         if (buffer.hasArray() && buffer.position() == 0 && buffer.limit() == buffer.capacity()) {
@@ -137,12 +148,30 @@ public class TString extends TObject implements TSerializable, TComparable<TStri
         takeCharArray(characters);
     }
 
+    private static int nativeEncoding(TCharset charset) {
+        switch (charset.name()) {
+            case "UTF-8":
+                return 1;
+            case "UTF-16LE":
+                return 2;
+            case "UTF-16BE":
+                return 3;
+            case "ISO-8859-1":
+                return 4;
+            default:
+                return 0;
+        }
+    }
+
+    @NoSideEffects
+    private static native Object decodeBytesJS(byte[] bytes, int offset, int length, int encoding);
+
     public TString(TStringBuffer sb) {
-        initWithCharArray(sb.buffer, 0, sb.length());
+        borrowChars((TString) (Object) sb.toString());
     }
 
     public TString(TStringBuilder sb) {
-        initWithCharArray(sb.buffer, 0, sb.length());
+        borrowChars((TString) (Object) sb.toString());
     }
 
     private TString(int length) {
@@ -463,6 +492,9 @@ public class TString extends TObject implements TSerializable, TComparable<TStri
         if (isEmpty()) {
             return str;
         }
+        if (PlatformDetector.isJavaScript()) {
+            return new TString(concatJS(nativeString(), str.nativeString()));
+        }
 
         var buffer = new char[length() + str.length()];
         int index = 0;
@@ -475,6 +507,32 @@ public class TString extends TObject implements TSerializable, TComparable<TStri
         return TString.fromArray(buffer);
     }
 
+    @NoSideEffects
+    private native static Object concatJS(Object a, Object b);
+
+    /**
+     * Concatenates first {@code count} strings of {@code parts}, which have {@code length} characters in total.
+     * On JavaScript relies on native concatenation, that usually does not copy characters until they are
+     * accessed. On other platforms allocates result array once and copies characters of parts there.
+     */
+    static TString join(TString[] parts, int count, int length) {
+        if (PlatformDetector.isJavaScript()) {
+            var result = parts[0].nativeString();
+            for (int i = 1; i < count; ++i) {
+                result = concatJS(result, parts[i].nativeString());
+            }
+            return new TString(result);
+        }
+        var chars = new char[length];
+        int offset = 0;
+        for (int i = 0; i < count; ++i) {
+            var part = parts[i];
+            part.getChars(0, part.length(), chars, offset);
+            offset += part.length();
+        }
+        return fromArray(chars);
+    }
+
     public TString replace(char oldChar, char newChar) {
         if (oldChar == newChar) {
             return this;
@@ -714,6 +772,12 @@ public class TString extends TObject implements TSerializable, TComparable<TStri
     }
 
     public byte[] getBytes(TCharset charset) {
+        if (PlatformDetector.isJavaScript() && charset.name().equals("UTF-8")) {
+            var result = encodeUtf8JS(nativeString());
+            if (result != null) {
+                return result;
+            }
+        }
         TByteBuffer buffer = charset.encode(TCharBuffer.wrap(fastCharArray()));
         if (buffer.hasArray() && buffer.position() == 0 && buffer.limit() == buffer.capacity()) {
             return buffer.array();
@@ -724,6 +788,9 @@ public class TString extends TObject implements TSerializable, TComparable<TStri
         }
     }
 
+    @NoSideEffects
+    private static native byte[] encodeUtf8JS(Object nativeString);
+
     @NoSideEffects
     private native char[] fastCharArray();
 
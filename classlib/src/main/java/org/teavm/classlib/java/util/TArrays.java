@@ -19,10 +19,14 @@ import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.Objects;
 import java.util.RandomAccess;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
 import java.util.function.IntFunction;
 import java.util.function.IntToDoubleFunction;
 import java.util.function.IntToLongFunction;
 import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
 import org.teavm.classlib.java.lang.TIllegalArgumentException;
 import org.teavm.classlib.java.lang.TMath;
 import org.teavm.classlib.java.lang.TObject;
@@ -478,455 +482,84 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new IllegalArgumentException();
         }
-        int[] subarray = new int[toIndex - fromIndex];
-        for (int i = fromIndex; i < toIndex; ++i) {
-            subarray[i - fromIndex] = a[i];
-        }
-        sort(subarray);
-        for (int i = fromIndex; i < toIndex; ++i) {
-            a[i] = subarray[i - fromIndex];
-        }
+        checkInBounds(a.length, fromIndex, toIndex);
+        TDualPivotQuicksort.sort(a, fromIndex, toIndex);
     }
 
     public static void sort(int[] a) {
-        if (a.length == 0) {
-            return;
-        }
-        int[] first = a;
-        int[] second = new int[a.length];
-        int chunkSize = 1;
-        while (chunkSize < a.length) {
-            for (int i = 0; i < first.length; i += chunkSize * 2) {
-                merge(first, second, i, Math.min(first.length, i + chunkSize),
-                        Math.min(first.length, i + 2 * chunkSize));
-            }
-            int[] tmp = first;
-            first = second;
-            second = tmp;
-            chunkSize *= 2;
-        }
-        if (first != a) {
-            for (int i = 0; i < first.length; ++i) {
-                second[i] = first[i];
-            }
-        }
-    }
-
-    private static void merge(int[] a, int[] b, int from, int split, int to) {
-        int index = from;
-        int from2 = split;
-        while (true) {
-            if (from == split) {
-                while (from2 < to) {
-                    b[index++] = a[from2++];
-                }
-                break;
-            } else if (from2 == to) {
-                while (from < split) {
-                    b[index++] = a[from++];
-                }
-                break;
-            }
-            int p = a[from];
-            int q = a[from2];
-            if (p <= q) {
-                b[index++] = p;
-                ++from;
-            } else {
-                b[index++] = q;
-                ++from2;
-            }
-        }
+        TDualPivotQuicksort.sort(a, 0, a.length);
     }
 
     public static void sort(long[] a, int fromIndex, int toIndex) {
         if (fromIndex > toIndex) {
             throw new IllegalArgumentException();
         }
-        long[] subarray = new long[toIndex - fromIndex];
-        for (int i = fromIndex; i < toIndex; ++i) {
-            subarray[i - fromIndex] = a[i];
-        }
-        sort(subarray);
-        for (int i = fromIndex; i < toIndex; ++i) {
-            a[i] = subarray[i - fromIndex];
-        }
+        checkInBounds(a.length, fromIndex, toIndex);
+        TDualPivotQuicksort.sort(a, fromIndex, toIndex);
     }
 
     public static void sort(long[] a) {
-        if (a.length == 0) {
-            return;
-        }
-        long[] first = a;
-        long[] second = new long[a.length];
-        int chunkSize = 1;
-        while (chunkSize < a.length) {
-            for (int i = 0; i < first.length; i += chunkSize * 2) {
-                merge(first, second, i, Math.min(first.length, i + chunkSize),
-                        Math.min(first.length, i + 2 * chunkSize));
-            }
-            long[] tmp = first;
-            first = second;
-            second = tmp;
-            chunkSize *= 2;
-        }
-        if (first != a) {
-            for (int i = 0; i < first.length; ++i) {
-                second[i] = first[i];
-            }
-        }
-    }
-
-    private static void merge(long[] a, long[] b, int from, int split, int to) {
-        int index = from;
-        int from2 = split;
-        while (true) {
-            if (from == split) {
-                while (from2 < to) {
-                    b[index++] = a[from2++];
-                }
-                break;
-            } else if (from2 == to) {
-                while (from < split) {
-                    b[index++] = a[from++];
-                }
-                break;
-            }
-            long p = a[from];
-            long q = a[from2];
-            if (p <= q) {
-                b[index++] = p;
-                ++from;
-            } else {
-                b[index++] = q;
-                ++from2;
-            }
-        }
+        TDualPivotQuicksort.sort(a, 0, a.length);
     }
 
     public static void sort(short[] a, int fromIndex, int toIndex) {
         if (fromIndex > toIndex) {
             throw new IllegalArgumentException();
         }
-        short[] subarray = new short[toIndex - fromIndex];
-        for (int i = fromIndex; i < toIndex; ++i) {
-            subarray[i - fromIndex] = a[i];
-        }
-        sort(subarray);
-        for (int i = fromIndex; i < toIndex; ++i) {
-            a[i] = subarray[i - fromIndex];
-        }
+        checkInBounds(a.length, fromIndex, toIndex);
+        TDualPivotQuicksort.sort(a, fromIndex, toIndex);
     }
 
     public static void sort(short[] a) {
-        if (a.length == 0) {
-            return;
-        }
-        short[] first = a;
-        short[] second = new short[a.length];
-        int chunkSize = 1;
-        while (chunkSize < a.length) {
-            for (int i = 0; i < first.length; i += chunkSize * 2) {
-                merge(first, second, i, Math.min(first.length, i + chunkSize),
-                        Math.min(first.length, i + 2 * chunkSize));
-            }
-            short[] tmp = first;
-            first = second;
-            second = tmp;
-            chunkSize *= 2;
-        }
-        if (first != a) {
-            for (int i = 0; i < first.length; ++i) {
-                second[i] = first[i];
-            }
-        }
-    }
-
-    private static void merge(short[] a, short[] b, int from, int split, int to) {
-        int index = from;
-        int from2 = split;
-        while (true) {
-            if (from == split) {
-                while (from2 < to) {
-                    b[index++] = a[from2++];
-                }
-                break;
-            } else if (from2 == to) {
-                while (from < split) {
-                    b[index++] = a[from++];
-                }
-                break;
-            }
-            short p = a[from];
-            short q = a[from2];
-            if (p <= q) {
-                b[index++] = p;
-                ++from;
-            } else {
-                b[index++] = q;
-                ++from2;
-            }
-        }
+        TDualPivotQuicksort.sort(a, 0, a.length);
     }
 
     public static void sort(char[] a, int fromIndex, int toIndex) {
         if (fromIndex > toIndex) {
             throw new IllegalArgumentException();
         }
-        char[] subarray = new char[toIndex - fromIndex];
-        for (int i = fromIndex; i < toIndex; ++i) {
-            subarray[i - fromIndex] = a[i];
-        }
-        sort(subarray);
-        for (int i = fromIndex; i < toIndex; ++i) {
-            a[i] = subarray[i - fromIndex];
-        }
+        checkInBounds(a.length, fromIndex, toIndex);
+        TDualPivotQuicksort.sort(a, fromIndex, toIndex);
     }
 
     public static void sort(char[] a) {
-        if (a.length == 0) {
-            return;
-        }
-        char[] first = a;
-        char[] second = new char[a.length];
-        int chunkSize = 1;
-        while (chunkSize < a.length) {
-            for (int i = 0; i < first.length; i += chunkSize * 2) {
-                merge(first, second, i, Math.min(first.length, i + chunkSize),
-                        Math.min(first.length, i + 2 * chunkSize));
-            }
-            char[] tmp = first;
-            first = second;
-            second = tmp;
-            chunkSize *= 2;
-        }
-        if (first != a) {
-            for (int i = 0; i < first.length; ++i) {
-                second[i] = first[i];
-            }
-        }
-    }
-
-    private static void merge(char[] a, char[] b, int from, int split, int to) {
-        int index = from;
-        int from2 = split;
-        while (true) {
-            if (from == split) {
-                while (from2 < to) {
-                    b[index++] = a[from2++];
-                }
-                break;
-            } else if (from2 == to) {
-                while (from < split) {
-                    b[index++] = a[from++];
-                }
-                break;
-            }
-            char p = a[from];
-            char q = a[from2];
-            if (p <= q) {
-                b[index++] = p;
-                ++from;
-            } else {
-                b[index++] = q;
-                ++from2;
-            }
-        }
+        TDualPivotQuicksort.sort(a, 0, a.length);
     }
 
     public static void sort(byte[] a, int fromIndex, int toIndex) {
         if (fromIndex > toIndex) {
             throw new IllegalArgumentException();
         }
-        byte[] subarray = new byte[toIndex - fromIndex];
-        for (int i = fromIndex; i < toIndex; ++i) {
-            subarray[i - fromIndex] = a[i];
-        }
-        sort(subarray);
-        for (int i = fromIndex; i < toIndex; ++i) {
-            a[i] = subarray[i - fromIndex];
-        }
+        checkInBounds(a.length, fromIndex, toIndex);
+        TDualPivotQuicksort.sort(a, fromIndex, toIndex);
     }
 
     public static void sort(byte[] a) {
-        if (a.length == 0) {
-            return;
-        }
-        byte[] first = a;
-        byte[] second = new byte[a.length];
-        int chunkSize = 1;
-        while (chunkSize < a.length) {
-            for (int i = 0; i < first.length; i += chunkSize * 2) {
-                merge(first, second, i, Math.min(first.length, i + chunkSize),
-                        Math.min(first.length, i + 2 * chunkSize));
-            }
-            byte[] tmp = first;
-            first = second;
-            second = tmp;
-            chunkSize *= 2;
-        }
-        if (first != a) {
-            for (int i = 0; i < first.length; ++i) {
-                second[i] = first[i];
-            }
-        }
-    }
-
-    private static void merge(byte[] a, byte[] b, int from, int split, int to) {
-        int index = from;
-        int from2 = split;
-        while (true) {
-            if (from == split) {
-                while (from2 < to) {
-                    b[index++] = a[from2++];
-                }
-                break;
-            } else if (from2 == to) {
-                while (from < split) {
-                    b[index++] = a[from++];
-                }
-                break;
-            }
-            byte p = a[from];
-            byte q = a[from2];
-            if (p <= q) {
-                b[index++] = p;
-                ++from;
-            } else {
-                b[index++] = q;
-                ++from2;
-            }
-        }
+        TDualPivotQuicksort.sort(a, 0, a.length);
     }
 
     public static void sort(float[] a, int fromIndex, int toIndex) {
         if (fromIndex > toIndex) {
             throw new IllegalArgumentException();
         }
-        float[] subarray = new float[toIndex - fromIndex];
-        for (int i = fromIndex; i < toIndex; ++i) {
-            subarray[i - fromIndex] = a[i];
-        }
-        sort(subarray);
-        for (int i = fromIndex; i < toIndex; ++i) {
-            a[i] = subarray[i - fromIndex];
-        }
+        checkInBounds(a.length, fromIndex, toIndex);
+        TDualPivotQuicksort.sort(a, fromIndex, toIndex);
     }
 
     public static void sort(float[] a) {
-        if (a.length == 0) {
-            return;
-        }
-        float[] first = a;
-        float[] second = new float[a.length];
-        int chunkSize = 1;
-        while (chunkSize < a.length) {
-            for (int i = 0; i < first.length; i += chunkSize * 2) {
-                merge(first, second, i, Math.min(first.length, i + chunkSize),
-                        Math.min(first.length, i + 2 * chunkSize));
-            }
-            float[] tmp = first;
-            first = second;
-            second = tmp;
-            chunkSize *= 2;
-        }
-        if (first != a) {
-            for (int i = 0; i < first.length; ++i) {
-                second[i] = first[i];
-            }
-        }
-    }
-
-    private static void merge(float[] a, float[] b, int from, int split, int to) {
-        int index = from;
-        int from2 = split;
-        while (true) {
-            if (from == split) {
-                while (from2 < to) {
-                    b[index++] = a[from2++];
-                }
-                break;
-            } else if (from2 == to) {
-                while (from < split) {
-                    b[index++] = a[from++];
-                }
-                break;
-            }
-            float p = a[from];
-            float q = a[from2];
-            if (Float.compare(p, q) <= 0) {
-                b[index++] = p;
-                ++from;
-            } else {
-                b[index++] = q;
-                ++from2;
-            }
-        }
+        TDualPivotQuicksort.sort(a, 0, a.length);
     }
 
     public static void sort(double[] a, int fromIndex, int toIndex) {
         if (fromIndex > toIndex) {
             throw new IllegalArgumentException();
         }
-        double[] subarray = new double[toIndex - fromIndex];
-        for (int i = fromIndex; i < toIndex; ++i) {
-            subarray[i - fromIndex] = a[i];
-        }
-        sort(subarray);
-        for (int i = fromIndex; i < toIndex; ++i) {
-            a[i] = subarray[i - fromIndex];
-        }
+        checkInBounds(a.length, fromIndex, toIndex);
+        TDualPivotQuicksort.sort(a, fromIndex, toIndex);
     }
 
     public static void sort(double[] a) {
-        if (a.length == 0) {
-            return;
-        }
-        double[] first = a;
-        double[] second = new double[a.length];
-        int chunkSize = 1;
-        while (chunkSize < a.length) {
-            for (int i = 0; i < first.length; i += chunkSize * 2) {
-                merge(first, second, i, Math.min(first.length, i + chunkSize),
-                        Math.min(first.length, i + 2 * chunkSize));
-            }
-            double[] tmp = first;
-            first = second;
-            second = tmp;
-            chunkSize *= 2;
-        }
-        if (first != a) {
-            for (int i = 0; i < first.length; ++i) {
-                second[i] = first[i];
-            }
-        }
-    }
-
-    private static void merge(double[] a, double[] b, int from, int split, int to) {
-        int index = from;
-        int from2 = split;
-        while (true) {
-            if (from == split) {
-                while (from2 < to) {
-                    b[index++] = a[from2++];
-                }
-                break;
-            } else if (from2 == to) {
-                while (from < split) {
-                    b[index++] = a[from++];
-                }
-                break;
-            }
-            double p = a[from];
-            double q = a[from2];
-            if (Double.compare(p, q) <= 0) {
-                b[index++] = p;
-                ++from;
-            } else {
-                b[index++] = q;
-                ++from2;
-            }
-        }
+        TDualPivotQuicksort.sort(a, 0, a.length);
     }
 
     public static void sort(Object[] a) {
@@ -1953,6 +1586,174 @@ public class TArrays extends TObject {
         }
     }
 
+    public static void parallelSort(byte[] a) {
+        sort(a);
+    }
+
+    public static void parallelSort(byte[] a, int fromIndex, int toIndex) {
+        sort(a, fromIndex, toIndex);
+    }
+
+    public static void parallelSort(char[] a) {
+        sort(a);
+    }
+
+    public static void parallelSort(char[] a, int fromIndex, int toIndex) {
+        sort(a, fromIndex, toIndex);
+    }
+
+    public static void parallelSort(short[] a) {
+        sort(a);
+    }
+
+    public static void parallelSort(short[] a, int fromIndex, int toIndex) {
+        sort(a, fromIndex, toIndex);
+    }
+
+    public static void parallelSort(int[] a) {
+        sort(a);
+    }
+
+    public static void parallelSort(int[] a, int fromIndex, int toIndex) {
+        sort(a, fromIndex, toIndex);
+    }
+
+    public static void parallelSort(long[] a) {
+        sort(a);
+    }
+
+    public static void parallelSort(long[] a, int fromIndex, int toIndex) {
+        sort(a, fromIndex, toIndex);
+    }
+
+    public static void parallelSort(float[] a) {
+        sort(a);
+    }
+
+    public static void parallelSort(float[] a, int fromIndex, int toIndex) {
+        sort(a, fromIndex, toIndex);
+    }
+
+    public static void parallelSort(double[] a) {
+        sort(a);
+    }
+
+    public static void parallelSort(double[] a, int fromIndex, int toIndex) {
+        sort(a, fromIndex, toIndex);
+    }
+
+    public static <T extends Comparable<? super T>> void parallelSort(T[] a) {
+        sort(a);
+    }
+
+    public static <T extends Comparable<? super T>> void parallelSort(T[] a, int fromIndex, int toIndex) {
+        sort(a, fromIndex, toIndex);
+    }
+
+    public static <T> void parallelSort(T[] a, TComparator<? super T> c) {
+        sort(a, c);
+    }
+
+    public static <T> void parallelSort(T[] a, int fromIndex, int toIndex, TComparator<? super T> c) {
+        sort(a, fromIndex, toIndex, c);
+    }
+
+    public static <T> void parallelPrefix(T[] array, BinaryOperator<T> op) {
+        parallelPrefix(array, 0, array.length, op);
+    }
+
+    public static <T> void parallelPrefix(T[] array, int fromIndex, int toIndex, BinaryOperator<T> op) {
+        Objects.requireNonNull(op);
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException();
+        }
+        checkInBounds(array.length, fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        T acc = array[fromIndex];
+        for (int i = fromIndex + 1; i < toIndex; ++i) {
+            acc = op.apply(acc, array[i]);
+            array[i] = acc;
+        }
+    }
+
+    public static void parallelPrefix(int[] array, IntBinaryOperator op) {
+        parallelPrefix(array, 0, array.length, op);
+    }
+
+    public static void parallelPrefix(int[] array, int fromIndex, int toIndex, IntBinaryOperator op) {
+        Objects.requireNonNull(op);
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException();
+        }
+        checkInBounds(array.length, fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        int acc = array[fromIndex];
+        for (int i = fromIndex + 1; i < toIndex; ++i) {
+            acc = op.applyAsInt(acc, array[i]);
+            array[i] = acc;
+        }
+    }
+
+    public static void parallelPrefix(long[] array, LongBinaryOperator op) {
+        parallelPrefix(array, 0, array.length, op);
+    }
+
+    public static void parallelPrefix(long[] array, int fromIndex, int toIndex, LongBinaryOperator op) {
+        Objects.requireNonNull(op);
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException();
+        }
+        checkInBounds(array.length, fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        long acc = array[fromIndex];
+        for (int i = fromIndex + 1; i < toIndex; ++i) {
+            acc = op.applyAsLong(acc, array[i]);
+            array[i] = acc;
+        }
+    }
+
+    public static void parallelPrefix(double[] array, DoubleBinaryOperator op) {
+        parallelPrefix(array, 0, array.length, op);
+    }
+
+    public static void parallelPrefix(double[] array, int fromIndex, int toIndex, DoubleBinaryOperator op) {
+        Objects.requireNonNull(op);
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException();
+        }
+        checkInBounds(array.length, fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        double acc = array[fromIndex];
+        for (int i = fromIndex + 1; i < toIndex; ++i) {
+            acc = op.applyAsDouble(acc, array[i]);
+            array[i] = acc;
+        }
+    }
+
+    public static <T> void parallelSetAll(T[] array, IntFunction<? extends T> generator) {
+        setAll(array, generator);
+    }
+
+    public static void parallelSetAll(int[] array, IntUnaryOperator generator) {
+        setAll(array, generator);
+    }
+
+    public static void parallelSetAll(long[] array, IntToLongFunction generator) {
+        setAll(array, generator);
+    }
+
+    public static void parallelSetAll(double[] array, IntToDoubleFunction generator) {
+        setAll(array, generator);
+    }
+
     private static void checkInBounds(int length, int startInclusive, int endExclusive) {
         if (startInclusive < 0 || endExclusive < startInclusive || endExclusive > length) {
             throw new ArrayIndexOutOfBoundsException();
@@ -0,0 +1,1469 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util;
+
+/**
+ * <p>In-place sorting of primitive arrays. Uses dual-pivot quicksort, as described by Vladimir Yaroslavskiy,
+ * for {@code int}, {@code long}, {@code float} and {@code double} arrays and counting sort for large
+ * {@code byte}, {@code short} and {@code char} arrays, so no temporary arrays proportional to input are
+ * allocated.</p>
+ *
+ * <p>Small ranges are sorted by insertion sort. Since stack is quite limited in JavaScript, recursion depth
+ * is bounded, and when a range reaches the bound, it is sorted by heap sort.</p>
+ */
+final class TDualPivotQuicksort {
+    private static final int INSERTION_SORT_THRESHOLD = 47;
+    private static final int COUNTING_SORT_THRESHOLD_FOR_BYTE = 64;
+    private static final int COUNTING_SORT_THRESHOLD_FOR_SHORT_OR_CHAR = 3200;
+
+    private TDualPivotQuicksort() {
+    }
+
+    static void sort(int[] a, int fromIndex, int toIndex) {
+        sort(a, fromIndex, toIndex - 1, maxDepth(toIndex - fromIndex));
+    }
+
+    static void sort(long[] a, int fromIndex, int toIndex) {
+        sort(a, fromIndex, toIndex - 1, maxDepth(toIndex - fromIndex));
+    }
+
+    static void sort(short[] a, int fromIndex, int toIndex) {
+        if (toIndex - fromIndex > COUNTING_SORT_THRESHOLD_FOR_SHORT_OR_CHAR) {
+            int[] count = new int[1 << 16];
+            for (int i = fromIndex; i < toIndex; ++i) {
+                count[a[i] - Short.MIN_VALUE]++;
+            }
+            int k = toIndex;
+            for (int i = count.length - 1; i >= 0 && k > fromIndex; --i) {
+                short value = (short) (i + Short.MIN_VALUE);
+                for (int s = count[i]; s > 0; --s) {
+                    a[--k] = value;
+                }
+            }
+        } else {
+            sort(a, fromIndex, toIndex - 1, maxDepth(toIndex - fromIndex));
+        }
+    }
+
+    static void sort(char[] a, int fromIndex, int toIndex) {
+        if (toIndex - fromIndex > COUNTING_SORT_THRESHOLD_FOR_SHORT_OR_CHAR) {
+            int[] count = new int[1 << 16];
+            for (int i = fromIndex; i < toIndex; ++i) {
+                count[a[i]]++;
+            }
+            int k = toIndex;
+            for (int i = count.length - 1; i >= 0 && k > fromIndex; --i) {
+                char value = (char) i;
+                for (int s = count[i]; s > 0; --s) {
+                    a[--k] = value;
+                }
+            }
+        } else {
+            sort(a, fromIndex, toIndex - 1, maxDepth(toIndex - fromIndex));
+        }
+    }
+
+    static void sort(byte[] a, int fromIndex, int toIndex) {
+        if (toIndex - fromIndex > COUNTING_SORT_THRESHOLD_FOR_BYTE) {
+            int[] count = new int[1 << 8];
+            for (int i = fromIndex; i < toIndex; ++i) {
+                count[a[i] - Byte.MIN_VALUE]++;
+            }
+            int k = toIndex;
+            for (int i = count.length - 1; i >= 0 && k > fromIndex; --i) {
+                byte value = (byte) (i + Byte.MIN_VALUE);
+                for (int s = count[i]; s > 0; --s) {
+                    a[--k] = value;
+                }
+            }
+        } else {
+            for (int i = fromIndex + 1; i < toIndex; ++i) {
+                byte ai = a[i];
+                int j = i - 1;
+                while (j >= fromIndex && ai < a[j]) {
+                    a[j + 1] = a[j];
+                    --j;
+                }
+                a[j + 1] = ai;
+            }
+        }
+    }
+
+    static void sort(float[] a, int fromIndex, int toIndex) {
+        // NaNs go to the end, negative zeros are replaced by positive ones and restored after sorting,
+        // so that ordinary comparison operators can be used by the main loop
+        int right = toIndex - 1;
+        while (right >= fromIndex && Float.isNaN(a[right])) {
+            --right;
+        }
+        int negativeZeroCount = 0;
+        for (int k = right; k >= fromIndex; --k) {
+            float ak = a[k];
+            if (ak != ak) {
+                a[k] = a[right];
+                a[right--] = ak;
+            } else if (ak == 0 && Float.floatToRawIntBits(ak) < 0) {
+                a[k] = 0f;
+                negativeZeroCount++;
+            }
+        }
+        sort(a, fromIndex, right, maxDepth(right - fromIndex + 1));
+        if (negativeZeroCount == 0) {
+            return;
+        }
+        int low = fromIndex;
+        int high = right;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (a[middle] < 0f) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        while (negativeZeroCount-- > 0) {
+            a[low++] = -0f;
+        }
+    }
+
+    static void sort(double[] a, int fromIndex, int toIndex) {
+        int right = toIndex - 1;
+        while (right >= fromIndex && Double.isNaN(a[right])) {
+            --right;
+        }
+        int negativeZeroCount = 0;
+        for (int k = right; k >= fromIndex; --k) {
+            double ak = a[k];
+            if (ak != ak) {
+                a[k] = a[right];
+                a[right--] = ak;
+            } else if (ak == 0 && Double.doubleToRawLongBits(ak) < 0) {
+                a[k] = 0.0;
+                negativeZeroCount++;
+            }
+        }
+        sort(a, fromIndex, right, maxDepth(right - fromIndex + 1));
+        if (negativeZeroCount == 0) {
+            return;
+        }
+        int low = fromIndex;
+        int high = right;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (a[middle] < 0.0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        while (negativeZeroCount-- > 0) {
+            a[low++] = -0.0;
+        }
+    }
+
+    private static int maxDepth(int length) {
+        int depth = 0;
+        while (length > INSERTION_SORT_THRESHOLD) {
+            length >>>= 1;
+            depth++;
+        }
+        return depth * 2 + 2;
+    }
+
+    private static void sort(int[] a, int left, int right, int depth) {
+        while (true) {
+            int length = right - left + 1;
+            if (length < INSERTION_SORT_THRESHOLD) {
+                insertionSort(a, left, right);
+                return;
+            }
+            if (depth-- == 0) {
+                heapSort(a, left, right);
+                return;
+            }
+
+            int seventh = (length >> 3) + (length >> 6) + 1;
+            int e3 = (left + right) >>> 1;
+            int e2 = e3 - seventh;
+            int e1 = e2 - seventh;
+            int e4 = e3 + seventh;
+            int e5 = e4 + seventh;
+            insertionSort(a, e1, e2, e3, e4, e5);
+
+            int less = left;
+            int great = right;
+            if (a[e1] != a[e2] && a[e2] != a[e3] && a[e3] != a[e4] && a[e4] != a[e5]) {
+                int pivot1 = a[e2];
+                int pivot2 = a[e4];
+                a[e2] = a[left];
+                a[e4] = a[right];
+                while (a[++less] < pivot1) {
+                    // skip elements that are already in place
+                }
+                while (a[--great] > pivot2) {
+                    // skip elements that are already in place
+                }
+
+                outer:
+                for (int k = less - 1; ++k <= great;) {
+                    int ak = a[k];
+                    if (ak < pivot1) {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    } else if (ak > pivot2) {
+                        while (a[great] > pivot2) {
+                            if (great-- == k) {
+                                break outer;
+                            }
+                        }
+                        if (a[great] < pivot1) {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        } else {
+                            a[k] = a[great];
+                        }
+                        a[great--] = ak;
+                    }
+                }
+
+                a[left] = a[less - 1];
+                a[less - 1] = pivot1;
+                a[right] = a[great + 1];
+                a[great + 1] = pivot2;
+                sort(a, left, less - 2, depth);
+                sort(a, great + 2, right, depth);
+
+                if (less < e1 && e5 < great) {
+                    while (a[less] == pivot1) {
+                        ++less;
+                    }
+                    while (a[great] == pivot2) {
+                        --great;
+                    }
+                    outer:
+                    for (int k = less - 1; ++k <= great;) {
+                        int ak = a[k];
+                        if (ak == pivot1) {
+                            a[k] = a[less];
+                            a[less++] = ak;
+                        } else if (ak == pivot2) {
+                            while (a[great] == pivot2) {
+                                if (great-- == k) {
+                                    break outer;
+                                }
+                            }
+                            if (a[great] == pivot1) {
+                                a[k] = a[less];
+                                a[less++] = a[great];
+                            } else {
+                                a[k] = a[great];
+                            }
+                            a[great--] = ak;
+                        }
+                    }
+                }
+                left = less;
+                right = great;
+            } else {
+                int pivot = a[e3];
+                for (int k = less; k <= great; ++k) {
+                    if (a[k] == pivot) {
+                        continue;
+                    }
+                    int ak = a[k];
+                    if (ak < pivot) {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    } else {
+                        while (a[great] > pivot) {
+                            --great;
+                        }
+                        if (a[great] < pivot) {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        } else {
+                            a[k] = pivot;
+                        }
+                        a[great--] = ak;
+                    }
+                }
+                sort(a, left, less - 1, depth);
+                left = great + 1;
+            }
+        }
+    }
+
+    private static void insertionSort(int[] a, int left, int right) {
+        for (int i = left + 1; i <= right; ++i) {
+            int ai = a[i];
+            int j = i - 1;
+            while (j >= left && ai < a[j]) {
+                a[j + 1] = a[j];
+                --j;
+            }
+            a[j + 1] = ai;
+        }
+    }
+
+    private static void insertionSort(int[] a, int e1, int e2, int e3, int e4, int e5) {
+        if (a[e2] < a[e1]) {
+            int t = a[e2];
+            a[e2] = a[e1];
+            a[e1] = t;
+        }
+        if (a[e3] < a[e2]) {
+            int t = a[e3];
+            a[e3] = a[e2];
+            a[e2] = t;
+            if (t < a[e1]) {
+                a[e2] = a[e1];
+                a[e1] = t;
+            }
+        }
+        if (a[e4] < a[e3]) {
+            int t = a[e4];
+            a[e4] = a[e3];
+            a[e3] = t;
+            if (t < a[e2]) {
+                a[e3] = a[e2];
+                a[e2] = t;
+                if (t < a[e1]) {
+                    a[e2] = a[e1];
+                    a[e1] = t;
+                }
+            }
+        }
+        if (a[e5] < a[e4]) {
+            int t = a[e5];
+            a[e5] = a[e4];
+            a[e4] = t;
+            if (t < a[e3]) {
+                a[e4] = a[e3];
+                a[e3] = t;
+                if (t < a[e2]) {
+                    a[e3] = a[e2];
+                    a[e2] = t;
+                    if (t < a[e1]) {
+                        a[e2] = a[e1];
+                        a[e1] = t;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void heapSort(int[] a, int left, int right) {
+        int size = right - left + 1;
+        for (int i = size / 2 - 1; i >= 0; --i) {
+            siftDown(a, left, i, size);
+        }
+        for (int i = size - 1; i > 0; --i) {
+            int t = a[left];
+            a[left] = a[left + i];
+            a[left + i] = t;
+            siftDown(a, left, 0, i);
+        }
+    }
+
+    private static void siftDown(int[] a, int offset, int index, int size) {
+        int value = a[offset + index];
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && a[offset + child] < a[offset + child + 1]) {
+                child++;
+            }
+            if (a[offset + child] <= value) {
+                break;
+            }
+            a[offset + index] = a[offset + child];
+            index = child;
+        }
+        a[offset + index] = value;
+    }
+
+    private static void sort(long[] a, int left, int right, int depth) {
+        while (true) {
+            int length = right - left + 1;
+            if (length < INSERTION_SORT_THRESHOLD) {
+                insertionSort(a, left, right);
+                return;
+            }
+            if (depth-- == 0) {
+                heapSort(a, left, right);
+                return;
+            }
+
+            int seventh = (length >> 3) + (length >> 6) + 1;
+            int e3 = (left + right) >>> 1;
+            int e2 = e3 - seventh;
+            int e1 = e2 - seventh;
+            int e4 = e3 + seventh;
+            int e5 = e4 + seventh;
+            insertionSort(a, e1, e2, e3, e4, e5);
+
+            int less = left;
+            int great = right;
+            if (a[e1] != a[e2] && a[e2] != a[e3] && a[e3] != a[e4] && a[e4] != a[e5]) {
+                long pivot1 = a[e2];
+                long pivot2 = a[e4];
+                a[e2] = a[left];
+                a[e4] = a[right];
+                while (a[++less] < pivot1) {
+                    // skip elements that are already in place
+                }
+                while (a[--great] > pivot2) {
+                    // skip elements that are already in place
+                }
+
+                outer:
+                for (int k = less - 1; ++k <= great;) {
+                    long ak = a[k];
+                    if (ak < pivot1) {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    } else if (ak > pivot2) {
+                        while (a[great] > pivot2) {
+                            if (great-- == k) {
+                                break outer;
+                            }
+                        }
+                        if (a[great] < pivot1) {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        } else {
+                            a[k] = a[great];
+                        }
+                        a[great--] = ak;
+                    }
+                }
+
+                a[left] = a[less - 1];
+                a[less - 1] = pivot1;
+                a[right] = a[great + 1];
+                a[great + 1] = pivot2;
+                sort(a, left, less - 2, depth);
+                sort(a, great + 2, right, depth);
+
+                if (less < e1 && e5 < great) {
+                    while (a[less] == pivot1) {
+                        ++less;
+                    }
+                    while (a[great] == pivot2) {
+                        --great;
+                    }
+                    outer:
+                    for (int k = less - 1; ++k <= great;) {
+                        long ak = a[k];
+                        if (ak == pivot1) {
+                            a[k] = a[less];
+                            a[less++] = ak;
+                        } else if (ak == pivot2) {
+                            while (a[great] == pivot2) {
+                                if (great-- == k) {
+                                    break outer;
+                                }
+                            }
+                            if (a[great] == pivot1) {
+                                a[k] = a[less];
+                                a[less++] = a[great];
+                            } else {
+                                a[k] = a[great];
+                            }
+                            a[great--] = ak;
+                        }
+                    }
+                }
+                left = less;
+                right = great;
+            } else {
+                long pivot = a[e3];
+                for (int k = less; k <= great; ++k) {
+                    if (a[k] == pivot) {
+                        continue;
+                    }
+                    long ak = a[k];
+                    if (ak < pivot) {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    } else {
+                        while (a[great] > pivot) {
+                            --great;
+                        }
+                        if (a[great] < pivot) {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        } else {
+                            a[k] = pivot;
+                        }
+                        a[great--] = ak;
+                    }
+                }
+                sort(a, left, less - 1, depth);
+                left = great + 1;
+            }
+        }
+    }
+
+    private static void insertionSort(long[] a, int left, int right) {
+        for (int i = left + 1; i <= right; ++i) {
+            long ai = a[i];
+            int j = i - 1;
+            while (j >= left && ai < a[j]) {
+                a[j + 1] = a[j];
+                --j;
+            }
+            a[j + 1] = ai;
+        }
+    }
+
+    private static void insertionSort(long[] a, int e1, int e2, int e3, int e4, int e5) {
+        if (a[e2] < a[e1]) {
+            long t = a[e2];
+            a[e2] = a[e1];
+            a[e1] = t;
+        }
+        if (a[e3] < a[e2]) {
+            long t = a[e3];
+            a[e3] = a[e2];
+            a[e2] = t;
+            if (t < a[e1]) {
+                a[e2] = a[e1];
+                a[e1] = t;
+            }
+        }
+        if (a[e4] < a[e3]) {
+            long t = a[e4];
+            a[e4] = a[e3];
+            a[e3] = t;
+            if (t < a[e2]) {
+                a[e3] = a[e2];
+                a[e2] = t;
+                if (t < a[e1]) {
+                    a[e2] = a[e1];
+                    a[e1] = t;
+                }
+            }
+        }
+        if (a[e5] < a[e4]) {
+            long t = a[e5];
+            a[e5] = a[e4];
+            a[e4] = t;
+            if (t < a[e3]) {
+                a[e4] = a[e3];
+                a[e3] = t;
+                if (t < a[e2]) {
+                    a[e3] = a[e2];
+                    a[e2] = t;
+                    if (t < a[e1]) {
+                        a[e2] = a[e1];
+                        a[e1] = t;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void heapSort(long[] a, int left, int right) {
+        int size = right - left + 1;
+        for (int i = size / 2 - 1; i >= 0; --i) {
+            siftDown(a, left, i, size);
+        }
+        for (int i = size - 1; i > 0; --i) {
+            long t = a[left];
+            a[left] = a[left + i];
+            a[left + i] = t;
+            siftDown(a, left, 0, i);
+        }
+    }
+
+    private static void siftDown(long[] a, int offset, int index, int size) {
+        long value = a[offset + index];
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && a[offset + child] < a[offset + child + 1]) {
+                child++;
+            }
+            if (a[offset + child] <= value) {
+                break;
+            }
+            a[offset + index] = a[offset + child];
+            index = child;
+        }
+        a[offset + index] = value;
+    }
+
+    private static void sort(short[] a, int left, int right, int depth) {
+        while (true) {
+            int length = right - left + 1;
+            if (length < INSERTION_SORT_THRESHOLD) {
+                insertionSort(a, left, right);
+                return;
+            }
+            if (depth-- == 0) {
+                heapSort(a, left, right);
+                return;
+            }
+
+            int seventh = (length >> 3) + (length >> 6) + 1;
+            int e3 = (left + right) >>> 1;
+            int e2 = e3 - seventh;
+            int e1 = e2 - seventh;
+            int e4 = e3 + seventh;
+            int e5 = e4 + seventh;
+            insertionSort(a, e1, e2, e3, e4, e5);
+
+            int less = left;
+            int great = right;
+            if (a[e1] != a[e2] && a[e2] != a[e3] && a[e3] != a[e4] && a[e4] != a[e5]) {
+                short pivot1 = a[e2];
+                short pivot2 = a[e4];
+                a[e2] = a[left];
+                a[e4] = a[right];
+                while (a[++less] < pivot1) {
+                    // skip elements that are already in place
+                }
+                while (a[--great] > pivot2) {
+                    // skip elements that are already in place
+                }
+
+                outer:
+                for (int k = less - 1; ++k <= great;) {
+                    short ak = a[k];
+                    if (ak < pivot1) {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    } else if (ak > pivot2) {
+                        while (a[great] > pivot2) {
+                            if (great-- == k) {
+                                break outer;
+                            }
+                        }
+                        if (a[great] < pivot1) {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        } else {
+                            a[k] = a[great];
+                        }
+                        a[great--] = ak;
+                    }
+                }
+
+                a[left] = a[less - 1];
+                a[less - 1] = pivot1;
+                a[right] = a[great + 1];
+                a[great + 1] = pivot2;
+                sort(a, left, less - 2, depth);
+                sort(a, great + 2, right, depth);
+
+                if (less < e1 && e5 < great) {
+                    while (a[less] == pivot1) {
+                        ++less;
+                    }
+                    while (a[great] == pivot2) {
+                        --great;
+                    }
+                    outer:
+                    for (int k = less - 1; ++k <= great;) {
+                        short ak = a[k];
+                        if (ak == pivot1) {
+                            a[k] = a[less];
+                            a[less++] = ak;
+                        } else if (ak == pivot2) {
+                            while (a[great] == pivot2) {
+                                if (great-- == k) {
+                                    break outer;
+                                }
+                            }
+                            if (a[great] == pivot1) {
+                                a[k] = a[less];
+                                a[less++] = a[great];
+                            } else {
+                                a[k] = a[great];
+                            }
+                            a[great--] = ak;
+                        }
+                    }
+                }
+                left = less;
+                right = great;
+            } else {
+                short pivot = a[e3];
+                for (int k = less; k <= great; ++k) {
+                    if (a[k] == pivot) {
+                        continue;
+                    }
+                    short ak = a[k];
+                    if (ak < pivot) {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    } else {
+                        while (a[great] > pivot) {
+                            --great;
+                        }
+                        if (a[great] < pivot) {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        } else {
+                            a[k] = pivot;
+                        }
+                        a[great--] = ak;
+                    }
+                }
+                sort(a, left, less - 1, depth);
+                left = great + 1;
+            }
+        }
+    }
+
+    private static void insertionSort(short[] a, int left, int right) {
+        for (int i = left + 1; i <= right; ++i) {
+            short ai = a[i];
+            int j = i - 1;
+            while (j >= left && ai < a[j]) {
+                a[j + 1] = a[j];
+                --j;
+            }
+            a[j + 1] = ai;
+        }
+    }
+
+    private static void insertionSort(short[] a, int e1, int e2, int e3, int e4, int e5) {
+        if (a[e2] < a[e1]) {
+            short t = a[e2];
+            a[e2] = a[e1];
+            a[e1] = t;
+        }
+        if (a[e3] < a[e2]) {
+            short t = a[e3];
+            a[e3] = a[e2];
+            a[e2] = t;
+            if (t < a[e1]) {
+                a[e2] = a[e1];
+                a[e1] = t;
+            }
+        }
+        if (a[e4] < a[e3]) {
+            short t = a[e4];
+            a[e4] = a[e3];
+            a[e3] = t;
+            if (t < a[e2]) {
+                a[e3] = a[e2];
+                a[e2] = t;
+                if (t < a[e1]) {
+                    a[e2] = a[e1];
+                    a[e1] = t;
+                }
+            }
+        }
+        if (a[e5] < a[e4]) {
+            short t = a[e5];
+            a[e5] = a[e4];
+            a[e4] = t;
+            if (t < a[e3]) {
+                a[e4] = a[e3];
+                a[e3] = t;
+                if (t < a[e2]) {
+                    a[e3] = a[e2];
+                    a[e2] = t;
+                    if (t < a[e1]) {
+                        a[e2] = a[e1];
+                        a[e1] = t;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void heapSort(short[] a, int left, int right) {
+        int size = right - left + 1;
+        for (int i = size / 2 - 1; i >= 0; --i) {
+            siftDown(a, left, i, size);
+        }
+        for (int i = size - 1; i > 0; --i) {
+            short t = a[left];
+            a[left] = a[left + i];
+            a[left + i] = t;
+            siftDown(a, left, 0, i);
+        }
+    }
+
+    private static void siftDown(short[] a, int offset, int index, int size) {
+        short value = a[offset + index];
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && a[offset + child] < a[offset + child + 1]) {
+                child++;
+            }
+            if (a[offset + child] <= value) {
+                break;
+            }
+            a[offset + index] = a[offset + child];
+            index = child;
+        }
+        a[offset + index] = value;
+    }
+
+    private static void sort(char[] a, int left, int right, int depth) {
+        while (true) {
+            int length = right - left + 1;
+            if (length < INSERTION_SORT_THRESHOLD) {
+                insertionSort(a, left, right);
+                return;
+            }
+            if (depth-- == 0) {
+                heapSort(a, left, right);
+                return;
+            }
+
+            int seventh = (length >> 3) + (length >> 6) + 1;
+            int e3 = (left + right) >>> 1;
+            int e2 = e3 - seventh;
+            int e1 = e2 - seventh;
+            int e4 = e3 + seventh;
+            int e5 = e4 + seventh;
+            insertionSort(a, e1, e2, e3, e4, e5);
+
+            int less = left;
+            int great = right;
+            if (a[e1] != a[e2] && a[e2] != a[e3] && a[e3] != a[e4] && a[e4] != a[e5]) {
+                char pivot1 = a[e2];
+                char pivot2 = a[e4];
+                a[e2] = a[left];
+                a[e4] = a[right];
+                while (a[++less] < pivot1) {
+                    // skip elements that are already in place
+                }
+                while (a[--great] > pivot2) {
+                    // skip elements that are already in place
+                }
+
+                outer:
+                for (int k = less - 1; ++k <= great;) {
+                    char ak = a[k];
+                    if (ak < pivot1) {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    } else if (ak > pivot2) {
+                        while (a[great] > pivot2) {
+                            if (great-- == k) {
+                                break outer;
+                            }
+                        }
+                        if (a[great] < pivot1) {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        } else {
+                            a[k] = a[great];
+                        }
+                        a[great--] = ak;
+                    }
+                }
+
+                a[left] = a[less - 1];
+                a[less - 1] = pivot1;
+                a[right] = a[great + 1];
+                a[great + 1] = pivot2;
+                sort(a, left, less - 2, depth);
+                sort(a, great + 2, right, depth);
+
+                if (less < e1 && e5 < great) {
+                    while (a[less] == pivot1) {
+                        ++less;
+                    }
+                    while (a[great] == pivot2) {
+                        --great;
+                    }
+                    outer:
+                    for (int k = less - 1; ++k <= great;) {
+                        char ak = a[k];
+                        if (ak == pivot1) {
+                            a[k] = a[less];
+                            a[less++] = ak;
+                        } else if (ak == pivot2) {
+                            while (a[great] == pivot2) {
+                                if (great-- == k) {
+                                    break outer;
+                                }
+                            }
+                            if (a[great] == pivot1) {
+                                a[k] = a[less];
+                                a[less++] = a[great];
+                            } else {
+                                a[k] = a[great];
+                            }
+                            a[great--] = ak;
+                        }
+                    }
+                }
+                left = less;
+                right = great;
+            } else {
+                char pivot = a[e3];
+                for (int k = less; k <= great; ++k) {
+                    if (a[k] == pivot) {
+                        continue;
+                    }
+                    char ak = a[k];
+                    if (ak < pivot) {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    } else {
+                        while (a[great] > pivot) {
+                            --great;
+                        }
+                        if (a[great] < pivot) {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        } else {
+                            a[k] = pivot;
+                        }
+                        a[great--] = ak;
+                    }
+                }
+                sort(a, left, less - 1, depth);
+                left = great + 1;
+            }
+        }
+    }
+
+    private static void insertionSort(char[] a, int left, int right) {
+        for (int i = left + 1; i <= right; ++i) {
+            char ai = a[i];
+            int j = i - 1;
+            while (j >= left && ai < a[j]) {
+                a[j + 1] = a[j];
+                --j;
+            }
+            a[j + 1] = ai;
+        }
+    }
+
+    private static void insertionSort(char[] a, int e1, int e2, int e3, int e4, int e5) {
+        if (a[e2] < a[e1]) {
+            char t = a[e2];
+            a[e2] = a[e1];
+            a[e1] = t;
+        }
+        if (a[e3] < a[e2]) {
+            char t = a[e3];
+            a[e3] = a[e2];
+            a[e2] = t;
+            if (t < a[e1]) {
+                a[e2] = a[e1];
+                a[e1] = t;
+            }
+        }
+        if (a[e4] < a[e3]) {
+            char t = a[e4];
+            a[e4] = a[e3];
+            a[e3] = t;
+            if (t < a[e2]) {
+                a[e3] = a[e2];
+                a[e2] = t;
+                if (t < a[e1]) {
+                    a[e2] = a[e1];
+                    a[e1] = t;
+                }
+            }
+        }
+        if (a[e5] < a[e4]) {
+            char t = a[e5];
+            a[e5] = a[e4];
+            a[e4] = t;
+            if (t < a[e3]) {
+                a[e4] = a[e3];
+                a[e3] = t;
+                if (t < a[e2]) {
+                    a[e3] = a[e2];
+                    a[e2] = t;
+                    if (t < a[e1]) {
+                        a[e2] = a[e1];
+                        a[e1] = t;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void heapSort(char[] a, int left, int right) {
+        int size = right - left + 1;
+        for (int i = size / 2 - 1; i >= 0; --i) {
+            siftDown(a, left, i, size);
+        }
+        for (int i = size - 1; i > 0; --i) {
+            char t = a[left];
+            a[left] = a[left + i];
+            a[left + i] = t;
+            siftDown(a, left, 0, i);
+        }
+    }
+
+    private static void siftDown(char[] a, int offset, int index, int size) {
+        char value = a[offset + index];
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && a[offset + child] < a[offset + child + 1]) {
+                child++;
+            }
+            if (a[offset + child] <= value) {
+                break;
+            }
+            a[offset + index] = a[offset + child];
+            index = child;
+        }
+        a[offset + index] = value;
+    }
+
+    private static void sort(float[] a, int left, int right, int depth) {
+        while (true) {
+            int length = right - left + 1;
+            if (length < INSERTION_SORT_THRESHOLD) {
+                insertionSort(a, left, right);
+                return;
+            }
+            if (depth-- == 0) {
+                heapSort(a, left, right);
+                return;
+            }
+
+            int seventh = (length >> 3) + (length >> 6) + 1;
+            int e3 = (left + right) >>> 1;
+            int e2 = e3 - seventh;
+            int e1 = e2 - seventh;
+            int e4 = e3 + seventh;
+            int e5 = e4 + seventh;
+            insertionSort(a, e1, e2, e3, e4, e5);
+
+            int less = left;
+            int great = right;
+            if (a[e1] != a[e2] && a[e2] != a[e3] && a[e3] != a[e4] && a[e4] != a[e5]) {
+                float pivot1 = a[e2];
+                float pivot2 = a[e4];
+                a[e2] = a[left];
+                a[e4] = a[right];
+                while (a[++less] < pivot1) {
+                    // skip elements that are already in place
+                }
+                while (a[--great] > pivot2) {
+                    // skip elements that are already in place
+                }
+
+                outer:
+                for (int k = less - 1; ++k <= great;) {
+                    float ak = a[k];
+                    if (ak < pivot1) {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    } else if (ak > pivot2) {
+                        while (a[great] > pivot2) {
+                            if (great-- == k) {
+                                break outer;
+                            }
+                        }
+                        if (a[great] < pivot1) {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        } else {
+                            a[k] = a[great];
+                        }
+                        a[great--] = ak;
+                    }
+                }
+
+                a[left] = a[less - 1];
+                a[less - 1] = pivot1;
+                a[right] = a[great + 1];
+                a[great + 1] = pivot2;
+                sort(a, left, less - 2, depth);
+                sort(a, great + 2, right, depth);
+
+                if (less < e1 && e5 < great) {
+                    while (a[less] == pivot1) {
+                        ++less;
+                    }
+                    while (a[great] == pivot2) {
+                        --great;
+                    }
+                    outer:
+                    for (int k = less - 1; ++k <= great;) {
+                        float ak = a[k];
+                        if (ak == pivot1) {
+                            a[k] = a[less];
+                            a[less++] = ak;
+                        } else if (ak == pivot2) {
+                            while (a[great] == pivot2) {
+                                if (great-- == k) {
+                                    break outer;
+                                }
+                            }
+                            if (a[great] == pivot1) {
+                                a[k] = a[less];
+                                a[less++] = a[great];
+                            } else {
+                                a[k] = a[great];
+                            }
+                            a[great--] = ak;
+                        }
+                    }
+                }
+                left = less;
+                right = great;
+            } else {
+                float pivot = a[e3];
+                for (int k = less; k <= great; ++k) {
+                    if (a[k] == pivot) {
+                        continue;
+                    }
+                    float ak = a[k];
+                    if (ak < pivot) {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    } else {
+                        while (a[great] > pivot) {
+                            --great;
+                        }
+                        if (a[great] < pivot) {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        } else {
+                            a[k] = pivot;
+                        }
+                        a[great--] = ak;
+                    }
+                }
+                sort(a, left, less - 1, depth);
+                left = great + 1;
+            }
+        }
+    }
+
+    private static void insertionSort(float[] a, int left, int right) {
+        for (int i = left + 1; i <= right; ++i) {
+            float ai = a[i];
+            int j = i - 1;
+            while (j >= left && ai < a[j]) {
+                a[j + 1] = a[j];
+                --j;
+            }
+            a[j + 1] = ai;
+        }
+    }
+
+    private static void insertionSort(float[] a, int e1, int e2, int e3, int e4, int e5) {
+        if (a[e2] < a[e1]) {
+            float t = a[e2];
+            a[e2] = a[e1];
+            a[e1] = t;
+        }
+        if (a[e3] < a[e2]) {
+            float t = a[e3];
+            a[e3] = a[e2];
+            a[e2] = t;
+            if (t < a[e1]) {
+                a[e2] = a[e1];
+                a[e1] = t;
+            }
+        }
+        if (a[e4] < a[e3]) {
+            float t = a[e4];
+            a[e4] = a[e3];
+            a[e3] = t;
+            if (t < a[e2]) {
+                a[e3] = a[e2];
+                a[e2] = t;
+                if (t < a[e1]) {
+                    a[e2] = a[e1];
+                    a[e1] = t;
+                }
+            }
+        }
+        if (a[e5] < a[e4]) {
+            float t = a[e5];
+            a[e5] = a[e4];
+            a[e4] = t;
+            if (t < a[e3]) {
+                a[e4] = a[e3];
+                a[e3] = t;
+                if (t < a[e2]) {
+                    a[e3] = a[e2];
+                    a[e2] = t;
+                    if (t < a[e1]) {
+                        a[e2] = a[e1];
+                        a[e1] = t;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void heapSort(float[] a, int left, int right) {
+        int size = right - left + 1;
+        for (int i = size / 2 - 1; i >= 0; --i) {
+            siftDown(a, left, i, size);
+        }
+        for (int i = size - 1; i > 0; --i) {
+            float t = a[left];
+            a[left] = a[left + i];
+            a[left + i] = t;
+            siftDown(a, left, 0, i);
+        }
+    }
+
+    private static void siftDown(float[] a, int offset, int index, int size) {
+        float value = a[offset + index];
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && a[offset + child] < a[offset + child + 1]) {
+                child++;
+            }
+            if (a[offset + child] <= value) {
+                break;
+            }
+            a[offset + index] = a[offset + child];
+            index = child;
+        }
+        a[offset + index] = value;
+    }
+
+    private static void sort(double[] a, int left, int right, int depth) {
+        while (true) {
+            int length = right - left + 1;
+            if (length < INSERTION_SORT_THRESHOLD) {
+                insertionSort(a, left, right);
+                return;
+            }
+            if (depth-- == 0) {
+                heapSort(a, left, right);
+                return;
+            }
+
+            int seventh = (length >> 3) + (length >> 6) + 1;
+            int e3 = (left + right) >>> 1;
+            int e2 = e3 - seventh;
+            int e1 = e2 - seventh;
+            int e4 = e3 + seventh;
+            int e5 = e4 + seventh;
+            insertionSort(a, e1, e2, e3, e4, e5);
+
+            int less = left;
+            int great = right;
+            if (a[e1] != a[e2] && a[e2] != a[e3] && a[e3] != a[e4] && a[e4] != a[e5]) {
+                double pivot1 = a[e2];
+                double pivot2 = a[e4];
+                a[e2] = a[left];
+                a[e4] = a[right];
+                while (a[++less] < pivot1) {
+                    // skip elements that are already in place
+                }
+                while (a[--great] > pivot2) {
+                    // skip elements that are already in place
+                }
+
+                outer:
+                for (int k = less - 1; ++k <= great;) {
+                    double ak = a[k];
+                    if (ak < pivot1) {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    } else if (ak > pivot2) {
+                        while (a[great] > pivot2) {
+                            if (great-- == k) {
+                                break outer;
+                            }
+                        }
+                        if (a[great] < pivot1) {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        } else {
+                            a[k] = a[great];
+                        }
+                        a[great--] = ak;
+                    }
+                }
+
+                a[left] = a[less - 1];
+                a[less - 1] = pivot1;
+                a[right] = a[great + 1];
+                a[great + 1] = pivot2;
+                sort(a, left, less - 2, depth);
+                sort(a, great + 2, right, depth);
+
+                if (less < e1 && e5 < great) {
+                    while (a[less] == pivot1) {
+                        ++less;
+                    }
+                    while (a[great] == pivot2) {
+                        --great;
+                    }
+                    outer:
+                    for (int k = less - 1; ++k <= great;) {
+                        double ak = a[k];
+                        if (ak == pivot1) {
+                            a[k] = a[less];
+                            a[less++] = ak;
+                        } else if (ak == pivot2) {
+                            while (a[great] == pivot2) {
+                                if (great-- == k) {
+                                    break outer;
+                                }
+                            }
+                            if (a[great] == pivot1) {
+                                a[k] = a[less];
+                                a[less++] = a[great];
+                            } else {
+                                a[k] = a[great];
+                            }
+                            a[great--] = ak;
+                        }
+                    }
+                }
+                left = less;
+                right = great;
+            } else {
+                double pivot = a[e3];
+                for (int k = less; k <= great; ++k) {
+                    if (a[k] == pivot) {
+                        continue;
+                    }
+                    double ak = a[k];
+                    if (ak < pivot) {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    } else {
+                        while (a[great] > pivot) {
+                            --great;
+                        }
+                        if (a[great] < pivot) {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        } else {
+                            a[k] = pivot;
+                        }
+                        a[great--] = ak;
+                    }
+                }
+                sort(a, left, less - 1, depth);
+                left = great + 1;
+            }
+        }
+    }
+
+    private static void insertionSort(double[] a, int left, int right) {
+        for (int i = left + 1; i <= right; ++i) {
+            double ai = a[i];
+            int j = i - 1;
+            while (j >= left && ai < a[j]) {
+                a[j + 1] = a[j];
+                --j;
+            }
+            a[j + 1] = ai;
+        }
+    }
+
+    private static void insertionSort(double[] a, int e1, int e2, int e3, int e4, int e5) {
+        if (a[e2] < a[e1]) {
+            double t = a[e2];
+            a[e2] = a[e1];
+            a[e1] = t;
+        }
+        if (a[e3] < a[e2]) {
+            double t = a[e3];
+            a[e3] = a[e2];
+            a[e2] = t;
+            if (t < a[e1]) {
+                a[e2] = a[e1];
+                a[e1] = t;
+            }
+        }
+        if (a[e4] < a[e3]) {
+            double t = a[e4];
+            a[e4] = a[e3];
+            a[e3] = t;
+            if (t < a[e2]) {
+                a[e3] = a[e2];
+                a[e2] = t;
+                if (t < a[e1]) {
+                    a[e2] = a[e1];
+                    a[e1] = t;
+                }
+            }
+        }
+        if (a[e5] < a[e4]) {
+            double t = a[e5];
+            a[e5] = a[e4];
+            a[e4] = t;
+            if (t < a[e3]) {
+                a[e4] = a[e3];
+                a[e3] = t;
+                if (t < a[e2]) {
+                    a[e3] = a[e2];
+                    a[e2] = t;
+                    if (t < a[e1]) {
+                        a[e2] = a[e1];
+                        a[e1] = t;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void heapSort(double[] a, int left, int right) {
+        int size = right - left + 1;
+        for (int i = size / 2 - 1; i >= 0; --i) {
+            siftDown(a, left, i, size);
+        }
+        for (int i = size - 1; i > 0; --i) {
+            double t = a[left];
+            a[left] = a[left + i];
+            a[left + i] = t;
+            siftDown(a, left, 0, i);
+        }
+    }
+
+    private static void siftDown(double[] a, int offset, int index, int size) {
+        double value = a[offset + index];
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && a[offset + child] < a[offset + child + 1]) {
+                child++;
+            }
+            if (a[offset + child] <= value) {
+                break;
+            }
+            a[offset + index] = a[offset + child];
+            index = child;
+        }
+        a[offset + index] = value;
+    }
+}
@@ -252,7 +252,7 @@ public class THashMap<K, V> extends TAbstractMap<K, V> implements TCloneable, TS
         this(capacity, DEFAULT_LOAD_FACTOR);
     }
 
-    private static int calculateCapacity(int x) {
+    static int calculateCapacity(int x) {
         if (x >= 1 << 30) {
             return 1 << 30;
         }
@@ -281,12 +281,20 @@ public class THashMap<K, V> extends TAbstractMap<K, V> implements TCloneable, TS
      *                less or equal to zero.
      */
     public THashMap(int capacity, float loadFactor) {
+        this(capacity, loadFactor, true);
+    }
+
+    /**
+     * Constructs a new {@code HashMap}, optionally leaving hash table unallocated. This is intended for subclasses
+     * that keep their entries in a different storage and don't need {@link #elementData}.
+     */
+    THashMap(int capacity, float loadFactor, boolean allocateTable) {
         if (capacity >= 0 && loadFactor > 0) {
-            capacity = calculateCapacity(capacity);
-            elementCount = 0;
-            elementData = newElementArray(capacity);
             this.loadFactor = loadFactor;
-            computeThreshold();
+            if (allocateTable) {
+                elementData = newElementArray(calculateCapacity(capacity));
+                computeThreshold();
+            }
         } else {
             throw new TIllegalArgumentException();
         }
@@ -0,0 +1,113 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util;
+
+import java.util.Arrays;
+import org.teavm.classlib.java.lang.TIndexOutOfBoundsException;
+
+/**
+ * Replacement of {@code ArrayList<Integer>} that stores unboxed elements. Instances of this class are created
+ * by {@code PrimitiveCollectionTransformer} in place of local {@code ArrayList} instances that never escape
+ * the method they are created in and only receive elements produced by {@code Integer.valueOf(int)}.
+ * Methods mirror {@code ArrayList} methods, but take {@code int} where original methods take an element.
+ */
+public final class TIntArrayList {
+    private int[] array;
+    private int size;
+
+    public TIntArrayList() {
+        this(10);
+    }
+
+    public TIntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        array = new int[initialCapacity];
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (array.length < minCapacity) {
+            int newLength = array.length < Integer.MAX_VALUE / 2
+                    ? Math.max(minCapacity, Math.max(array.length * 2, 5))
+                    : Integer.MAX_VALUE;
+            array = Arrays.copyOf(array, newLength);
+        }
+    }
+
+    public Object get(int index) {
+        return Integer.valueOf(getInt(index));
+    }
+
+    public int getInt(int index) {
+        checkIndex(index);
+        return array[index];
+    }
+
+    public Object set(int index, int element) {
+        checkIndex(index);
+        int old = array[index];
+        array[index] = element;
+        return Integer.valueOf(old);
+    }
+
+    public boolean add(int element) {
+        ensureCapacity(size + 1);
+        array[size++] = element;
+        return true;
+    }
+
+    public void add(int index, int element) {
+        if (index < 0 || index > size) {
+            throw new TIndexOutOfBoundsException();
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = element;
+        ++size;
+    }
+
+    public boolean contains(int element) {
+        return indexOf(element) >= 0;
+    }
+
+    public int indexOf(int element) {
+        for (int i = 0; i < size; ++i) {
+            if (array[i] == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new TIndexOutOfBoundsException();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util;
+
+import java.util.Arrays;
+
+/**
+ * Replacement of {@code HashMap<Integer, V>} that stores unboxed keys in an open-addressing table.
+ * Instances of this class are created by {@code PrimitiveCollectionTransformer} in place of local
+ * {@code HashMap} instances that never escape the method they are created in and are only accessed
+ * with keys produced by {@code Integer.valueOf(int)}. Methods mirror {@code HashMap} methods,
+ * but take {@code int} where original methods take a key.
+ */
+public final class TIntHashMap {
+    private static final int DEFAULT_SIZE = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    private static final float MAX_LOAD_FACTOR = 0.75f;
+    private final float loadFactor;
+    // zero marks empty slot in table, so entry with zero key is kept aside
+    private int[] keys;
+    private Object[] values;
+    private boolean hasZeroKey;
+    private Object zeroKeyValue;
+    private int size;
+    private int threshold;
+
+    public TIntHashMap() {
+        this(DEFAULT_SIZE);
+    }
+
+    public TIntHashMap(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public TIntHashMap(int capacity, float loadFactor) {
+        if (capacity < 0 || !(loadFactor > 0)) {
+            throw new IllegalArgumentException();
+        }
+        this.loadFactor = Math.min(loadFactor, MAX_LOAD_FACTOR);
+        allocate(THashMap.calculateCapacity((int) Math.min(Math.ceil(capacity / (double) this.loadFactor),
+                1 << 30)));
+    }
+
+    private void allocate(int length) {
+        keys = new int[length];
+        values = new Object[length];
+        threshold = Math.min((int) (length * loadFactor), length - 1);
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (true) {
+            int candidate = keys[index];
+            if (candidate == key) {
+                return index;
+            }
+            if (candidate == 0) {
+                return -1;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public Object get(int key) {
+        if (key == 0) {
+            return zeroKeyValue;
+        }
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    public Object getOrDefault(int key, Object defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroKeyValue : defaultValue;
+        }
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    public Object put(int key, Object value) {
+        return put(key, value, false);
+    }
+
+    public Object putIfAbsent(int key, Object value) {
+        return put(key, value, true);
+    }
+
+    private Object put(int key, Object value, boolean onlyIfAbsent) {
+        if (key == 0) {
+            Object result = zeroKeyValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                ++size;
+            }
+            if (!onlyIfAbsent || result == null) {
+                zeroKeyValue = value;
+            }
+            return result;
+        }
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (true) {
+            int candidate = keys[index];
+            if (candidate == key) {
+                Object result = values[index];
+                if (!onlyIfAbsent || result == null) {
+                    values[index] = value;
+                }
+                return result;
+            }
+            if (candidate == 0) {
+                break;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) {
+            rehash();
+        }
+        return null;
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int index = hash(key) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    public Object remove(int key) {
+        if (key == 0) {
+            Object result = zeroKeyValue;
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroKeyValue = null;
+                --size;
+            }
+            return result;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        Object result = values[index];
+        --size;
+
+        int mask = keys.length - 1;
+        int last = index;
+        int current = index;
+        while (true) {
+            current = (current + 1) & mask;
+            int candidate = keys[current];
+            if (candidate == 0) {
+                break;
+            }
+            int home = hash(candidate) & mask;
+            boolean movable = last <= current
+                    ? home <= last || home > current
+                    : home <= last && home > current;
+            if (movable) {
+                keys[last] = candidate;
+                values[last] = values[current];
+                last = current;
+            }
+        }
+        keys[last] = 0;
+        values[last] = null;
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            size = 0;
+            Arrays.fill(keys, 0);
+            Arrays.fill(values, null);
+            hasZeroKey = false;
+            zeroKeyValue = null;
+        }
+    }
+}
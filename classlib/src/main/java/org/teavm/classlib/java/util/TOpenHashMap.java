@@ -0,0 +1,532 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import org.teavm.classlib.java.lang.TIllegalStateException;
+import org.teavm.classlib.java.lang.TObject;
+import org.teavm.interop.Rename;
+
+/**
+ * <p>Implementation of {@code HashMap} that keeps keys, values and hash codes in parallel arrays and resolves
+ * collisions by linear probing. Unlike chained {@link THashMap}, it does not allocate an object per entry,
+ * and lookups scan adjacent array elements instead of following links.</p>
+ *
+ * <p>Removal uses backward shift instead of tombstones, i.e. entries that follow removed one in the same
+ * probe sequence are moved back, so that table never degrades after many removals.</p>
+ *
+ * <p>This class is never referenced directly. When {@code java.util.HashMap.openAddressing} property is set,
+ * {@code OpenHashMapTransformer} replaces construction of {@code HashMap} with construction of this class.</p>
+ */
+public class TOpenHashMap<K, V> extends THashMap<K, V> {
+    private static final int DEFAULT_SIZE = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    private static final float MAX_LOAD_FACTOR = 0.75f;
+    private static final Object NULL_KEY = new Object();
+    private transient Object[] keys;
+    private transient Object[] values;
+    private transient int[] hashes;
+
+    public TOpenHashMap() {
+        this(DEFAULT_SIZE);
+    }
+
+    public TOpenHashMap(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public TOpenHashMap(int capacity, float loadFactor) {
+        super(capacity, loadFactor, false);
+        allocate(tableSize(capacity));
+    }
+
+    public TOpenHashMap(TMap<? extends K, ? extends V> map) {
+        this(map.size());
+        putAllImpl(map);
+    }
+
+    private static int tableSize(int capacity) {
+        return calculateCapacity((int) Math.min(Math.ceil(capacity / (double) MAX_LOAD_FACTOR), 1 << 30));
+    }
+
+    private void allocate(int length) {
+        keys = new Object[length];
+        values = new Object[length];
+        hashes = new int[length];
+        threshold = Math.min((int) (length * Math.min(loadFactor, MAX_LOAD_FACTOR)), length - 1);
+    }
+
+    private static Object maskNull(Object key) {
+        return key != null ? key : NULL_KEY;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K unmaskNull(Object key) {
+        return key != NULL_KEY ? (K) key : null;
+    }
+
+    private static int hash(Object key) {
+        int h = key == NULL_KEY ? 0 : key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(Object key) {
+        key = maskNull(key);
+        int hash = hash(key);
+        int mask = keys.length - 1;
+        int index = hash & mask;
+        while (true) {
+            Object candidate = keys[index];
+            if (candidate == null) {
+                return -1;
+            }
+            if (candidate == key || (hashes[index] == hash && key != NULL_KEY && candidate != NULL_KEY
+                    && key.equals(candidate))) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return (V) values[index];
+    }
+
+    @Override
+    public void clear() {
+        if (elementCount > 0) {
+            elementCount = 0;
+            Arrays.fill(keys, null);
+            Arrays.fill(values, null);
+            modCount++;
+        }
+    }
+
+    @Rename("clone")
+    @Override
+    public TObject clone0() {
+        // super.clone() would call clone of THashMap, which rebuilds table that this class does not have
+        var map = new TOpenHashMap<K, V>(0, loadFactor);
+        map.keys = keys.clone();
+        map.values = values.clone();
+        map.hashes = hashes.clone();
+        map.elementCount = elementCount;
+        map.threshold = threshold;
+        return map;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < keys.length; ++i) {
+            if (keys[i] != null && TObjects.equals(value, values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? valueAt(index) : null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Object maskedKey = maskNull(key);
+        int hash = hash(maskedKey);
+        int mask = keys.length - 1;
+        int index = hash & mask;
+        while (true) {
+            Object candidate = keys[index];
+            if (candidate == null) {
+                break;
+            }
+            if (candidate == maskedKey || (hashes[index] == hash && maskedKey != NULL_KEY
+                    && candidate != NULL_KEY && maskedKey.equals(candidate))) {
+                V result = valueAt(index);
+                values[index] = value;
+                return result;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = maskedKey;
+        values[index] = value;
+        hashes[index] = hash;
+        modCount++;
+        if (++elementCount > threshold) {
+            rehash();
+        }
+        return null;
+    }
+
+    @Override
+    void putAllImpl(TMap<? extends K, ? extends V> map) {
+        int capacity = elementCount + map.size();
+        if (capacity > threshold) {
+            rehash(capacity);
+        }
+        for (var it = map.entrySet().iterator(); it.hasNext();) {
+            TMap.Entry<? extends K, ? extends V> entry = it.next();
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    void rehash(int capacity) {
+        int length = tableSize(capacity);
+        if (length <= keys.length) {
+            length = keys.length << 1;
+        }
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(length);
+        int mask = length - 1;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] != null) {
+                int index = oldHashes[i] & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+                hashes[index] = oldHashes[i];
+            }
+        }
+    }
+
+    @Override
+    void rehash() {
+        rehash(keys.length);
+    }
+
+    @Override
+    public V remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V result = valueAt(index);
+        removeAt(index, null);
+        return result;
+    }
+
+    private void removeAt(int index, OpenMapIterator<?> iterator) {
+        modCount++;
+        elementCount--;
+        int mask = keys.length - 1;
+        int last = index;
+        int current = index;
+        while (true) {
+            current = (current + 1) & mask;
+            Object key = keys[current];
+            if (key == null) {
+                break;
+            }
+            int home = hashes[current] & mask;
+            // entry can be moved to the freed slot only if its home slot is not located
+            // between the freed slot and its current position
+            boolean movable = last <= current
+                    ? home <= last || home > current
+                    : home <= last && home > current;
+            if (!movable) {
+                continue;
+            }
+            if (iterator != null && current < last) {
+                // entry wraps around from the beginning of the table to its end, which is already
+                // visited by iterator, so we should let iterator report this entry later
+                iterator.addWrapped(key);
+            }
+            keys[last] = key;
+            values[last] = values[current];
+            hashes[last] = hashes[current];
+            last = current;
+        }
+        keys[last] = null;
+        values[last] = null;
+    }
+
+    @Override
+    public TSet<TMap.Entry<K, V>> entrySet() {
+        return new TAbstractSet<TMap.Entry<K, V>>() {
+            @Override public int size() {
+                return elementCount;
+            }
+            @Override public void clear() {
+                TOpenHashMap.this.clear();
+            }
+            @Override public boolean contains(Object object) {
+                if (object instanceof TMap.Entry) {
+                    var entry = (TMap.Entry<?, ?>) object;
+                    int index = indexOf(entry.getKey());
+                    return index >= 0 && TObjects.equals(values[index], entry.getValue());
+                }
+                return false;
+            }
+            @Override public boolean remove(Object object) {
+                if (object instanceof TMap.Entry) {
+                    var entry = (TMap.Entry<?, ?>) object;
+                    int index = indexOf(entry.getKey());
+                    if (index >= 0 && TObjects.equals(values[index], entry.getValue())) {
+                        removeAt(index, null);
+                        return true;
+                    }
+                }
+                return false;
+            }
+            @Override public TIterator<TMap.Entry<K, V>> iterator() {
+                return new OpenMapIterator<>() {
+                    @Override
+                    TMap.Entry<K, V> get(int index) {
+                        return new OpenEntry(index);
+                    }
+                };
+            }
+            @Override public void forEach(Consumer<? super TMap.Entry<K, V>> action) {
+                forEachSlot((index, key) -> action.accept(new OpenEntry(index)));
+            }
+        };
+    }
+
+    @Override
+    public TSet<K> keySet() {
+        if (cachedKeySet == null) {
+            cachedKeySet = new TAbstractSet<K>() {
+                @Override public boolean contains(Object object) {
+                    return containsKey(object);
+                }
+                @Override public int size() {
+                    return elementCount;
+                }
+                @Override public void clear() {
+                    TOpenHashMap.this.clear();
+                }
+                @Override public boolean remove(Object key) {
+                    int index = indexOf(key);
+                    if (index < 0) {
+                        return false;
+                    }
+                    removeAt(index, null);
+                    return true;
+                }
+                @Override public TIterator<K> iterator() {
+                    return new OpenMapIterator<>() {
+                        @Override
+                        K get(int index) {
+                            return unmaskNull(keys[index]);
+                        }
+                    };
+                }
+                @Override public void forEach(Consumer<? super K> action) {
+                    forEachSlot((index, key) -> action.accept(key));
+                }
+            };
+        }
+        return cachedKeySet;
+    }
+
+    @Override
+    public TCollection<V> values() {
+        if (cachedValues == null) {
+            cachedValues = new TAbstractCollection<V>() {
+                @Override public boolean contains(Object object) {
+                    return containsValue(object);
+                }
+                @Override public int size() {
+                    return elementCount;
+                }
+                @Override public void clear() {
+                    TOpenHashMap.this.clear();
+                }
+                @Override public TIterator<V> iterator() {
+                    return new OpenMapIterator<>() {
+                        @Override
+                        V get(int index) {
+                            return valueAt(index);
+                        }
+                    };
+                }
+                @Override public void forEach(Consumer<? super V> action) {
+                    forEachSlot((index, key) -> action.accept(valueAt(index)));
+                }
+            };
+        }
+        return cachedValues;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEachSlot((index, key) -> action.accept(key, valueAt(index)));
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        forEachSlot((index, key) -> values[index] = function.apply(key, valueAt(index)));
+    }
+
+    private void forEachSlot(SlotConsumer<K> action) {
+        if (elementCount > 0) {
+            int prevModCount = modCount;
+            Object[] keys = this.keys;
+            for (int i = keys.length - 1; i >= 0; --i) {
+                Object key = keys[i];
+                if (key != null) {
+                    action.accept(i, unmaskNull(key));
+                    if (prevModCount != modCount) {
+                        throw new TConcurrentModificationException();
+                    }
+                }
+            }
+        }
+    }
+
+    private interface SlotConsumer<K> {
+        void accept(int index, K key);
+    }
+
+    private final class OpenEntry implements TMap.Entry<K, V> {
+        private final Object key;
+        private int index;
+
+        OpenEntry(int index) {
+            this.key = keys[index];
+            this.index = index;
+        }
+
+        private int index() {
+            if (keys[index] != key) {
+                // entry was moved by rehashing or by removal of other entry
+                index = indexOf(unmaskNull(key));
+                if (index < 0) {
+                    throw new TIllegalStateException();
+                }
+            }
+            return index;
+        }
+
+        @Override
+        public K getKey() {
+            return unmaskNull(key);
+        }
+
+        @Override
+        public V getValue() {
+            return valueAt(index());
+        }
+
+        @Override
+        public V setValue(V value) {
+            int index = index();
+            V result = valueAt(index);
+            values[index] = value;
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object instanceof TMap.Entry) {
+                TMap.Entry<?, ?> entry = (TMap.Entry<?, ?>) object;
+                return TObjects.equals(getKey(), entry.getKey()) && TObjects.equals(getValue(), entry.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return TObjects.hashCode(getKey()) ^ TObjects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    /**
+     * Iterates over table from its end to its beginning. This direction guarantees that backward shift performed
+     * by {@link #remove()} only moves entries that were not visited yet into slots that were not visited yet,
+     * except for entries that wrap around the end of the table. Such entries are collected
+     * and reported after the whole table is traversed.
+     */
+    private abstract class OpenMapIterator<T> implements TIterator<T> {
+        private int position = keys.length;
+        private int current = -1;
+        private int remaining = elementCount;
+        private int expectedModCount = modCount;
+        private TArrayList<Object> wrapped;
+        private boolean fromWrapped;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public T next() {
+            if (expectedModCount != modCount) {
+                throw new TConcurrentModificationException();
+            }
+            if (remaining == 0) {
+                throw new TNoSuchElementException();
+            }
+            remaining--;
+            while (position > 0) {
+                if (keys[--position] != null) {
+                    current = position;
+                    return get(current);
+                }
+            }
+            fromWrapped = true;
+            current = indexOf(unmaskNull(wrapped.remove(wrapped.size() - 1)));
+            return get(current);
+        }
+
+        abstract T get(int index);
+
+        void addWrapped(Object key) {
+            if (wrapped == null) {
+                wrapped = new TArrayList<>(2);
+            }
+            wrapped.add(key);
+        }
+
+        @Override
+        public void remove() {
+            if (expectedModCount != modCount) {
+                throw new TConcurrentModificationException();
+            }
+            if (current < 0) {
+                throw new TIllegalStateException();
+            }
+            removeAt(current, fromWrapped ? null : this);
+            current = -1;
+            expectedModCount = modCount;
+        }
+    }
+}
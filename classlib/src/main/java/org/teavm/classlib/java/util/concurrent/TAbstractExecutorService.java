@@ -0,0 +1,137 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.teavm.classlib.java.lang.TRunnable;
+
+public abstract class TAbstractExecutorService implements TExecutorService {
+    protected <T> TRunnableFuture<T> newTaskFor(TRunnable runnable, T value) {
+        return new TFutureTask<>(runnable, value);
+    }
+
+    protected <T> TRunnableFuture<T> newTaskFor(TCallable<T> callable) {
+        return new TFutureTask<>(callable);
+    }
+
+    @Override
+    public TFuture<?> submit(TRunnable task) {
+        TRunnableFuture<Void> future = newTaskFor(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> TFuture<T> submit(TRunnable task, T result) {
+        TRunnableFuture<T> future = newTaskFor(task, result);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> TFuture<T> submit(TCallable<T> task) {
+        TRunnableFuture<T> future = newTaskFor(task);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> List<TFuture<T>> invokeAll(Collection<? extends TCallable<T>> tasks) throws InterruptedException {
+        List<TFuture<T>> futures = new ArrayList<>(tasks.size());
+        for (TCallable<T> task : tasks) {
+            futures.add(submit(task));
+        }
+        for (TFuture<T> future : futures) {
+            try {
+                future.get();
+            } catch (TExecutionException | TCancellationException e) {
+                // result is reported through future
+            }
+        }
+        return futures;
+    }
+
+    @Override
+    public <T> List<TFuture<T>> invokeAll(Collection<? extends TCallable<T>> tasks, long timeout, TTimeUnit unit)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+        List<TFuture<T>> futures = new ArrayList<>(tasks.size());
+        for (TCallable<T> task : tasks) {
+            futures.add(submit(task));
+        }
+        for (TFuture<T> future : futures) {
+            try {
+                future.get(deadline - System.currentTimeMillis(), TTimeUnit.MILLISECONDS);
+            } catch (TExecutionException | TCancellationException e) {
+                // result is reported through future
+            } catch (TTimeoutException e) {
+                for (TFuture<T> f : futures) {
+                    f.cancel(true);
+                }
+                break;
+            }
+        }
+        return futures;
+    }
+
+    @Override
+    public <T> T invokeAny(Collection<? extends TCallable<T>> tasks) throws InterruptedException,
+            TExecutionException {
+        try {
+            return doInvokeAny(tasks, Long.MAX_VALUE);
+        } catch (TTimeoutException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public <T> T invokeAny(Collection<? extends TCallable<T>> tasks, long timeout, TTimeUnit unit)
+            throws InterruptedException, TExecutionException, TTimeoutException {
+        return doInvokeAny(tasks, System.currentTimeMillis() + unit.toMillis(timeout));
+    }
+
+    private <T> T doInvokeAny(Collection<? extends TCallable<T>> tasks, long deadline)
+            throws InterruptedException, TExecutionException, TTimeoutException {
+        if (tasks.isEmpty()) {
+            throw new IllegalArgumentException();
+        }
+        List<TFuture<T>> futures = new ArrayList<>(tasks.size());
+        for (TCallable<T> task : tasks) {
+            futures.add(submit(task));
+        }
+        try {
+            TExecutionException lastException = null;
+            for (TFuture<T> future : futures) {
+                try {
+                    return deadline == Long.MAX_VALUE
+                            ? future.get()
+                            : future.get(deadline - System.currentTimeMillis(), TTimeUnit.MILLISECONDS);
+                } catch (TExecutionException e) {
+                    lastException = e;
+                } catch (TCancellationException e) {
+                    lastException = new TExecutionException(e);
+                }
+            }
+            throw lastException;
+        } finally {
+            for (TFuture<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -15,14 +15,6 @@
  */
 package org.teavm.classlib.java.util.concurrent;
 
-import org.teavm.classlib.java.lang.TException;
-import org.teavm.classlib.java.lang.TObject;
-
-/**
- *
- * @author Alexey Andreev
- * @param <V>
- */
-public interface TCallable<V extends TObject> {
-    V call() throws TException;
+public interface TCallable<V> {
+    V call() throws Exception;
 }
@@ -0,0 +1,1186 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.teavm.classlib.java.lang.TRunnable;
+
+/**
+ * <p>Completable future for cooperative threads. Dependent stages are kept in a stack of completions that is
+ * processed when the future completes. Synchronous stages run right in the thread that completes the source,
+ * and a chain of stages is processed by a loop rather than by recursion, so a long pipeline neither spawns
+ * fibers nor grows the call stack. Only asynchronous stages go to an executor, by default to
+ * {@link TForkJoinPool#commonPool()}, which drains all of them in a single worker fiber unless it blocks.</p>
+ *
+ * <p>Timeouts are registered in {@link TTimerQueue}, so any number of them occupies a single platform timer.</p>
+ */
+public class TCompletableFuture<T> implements TFuture<T>, TCompletionStage<T> {
+    private static final Object NIL = new Object();
+    private static final int SYNC = 0;
+    private static final int ASYNC = 1;
+    private static final int NESTED = 2;
+
+    // null when not completed, NIL for null value, Failure for exceptional completion
+    private Object result;
+    private Completion stack;
+    private int waiterCount;
+
+    public TCompletableFuture() {
+    }
+
+    private TCompletableFuture(Object result) {
+        this.result = result;
+    }
+
+    public static <U> TCompletableFuture<U> supplyAsync(Supplier<U> supplier) {
+        return supplyAsync(supplier, TForkJoinPool.commonPool());
+    }
+
+    public static <U> TCompletableFuture<U> supplyAsync(Supplier<U> supplier, TExecutor executor) {
+        Objects.requireNonNull(supplier);
+        Objects.requireNonNull(executor);
+        var d = new TCompletableFuture<U>();
+        executor.execute(() -> {
+            if (d.result == null) {
+                try {
+                    d.completeValue(supplier.get());
+                } catch (Throwable e) {
+                    d.completeThrowable(e);
+                }
+            }
+            d.postComplete();
+        });
+        return d;
+    }
+
+    public static TCompletableFuture<Void> runAsync(TRunnable runnable) {
+        return runAsync(runnable, TForkJoinPool.commonPool());
+    }
+
+    public static TCompletableFuture<Void> runAsync(TRunnable runnable, TExecutor executor) {
+        Objects.requireNonNull(runnable);
+        return supplyAsync(() -> {
+            runnable.run();
+            return null;
+        }, executor);
+    }
+
+    public static <U> TCompletableFuture<U> completedFuture(U value) {
+        return new TCompletableFuture<>(value == null ? NIL : value);
+    }
+
+    public static <U> TCompletionStage<U> completedStage(U value) {
+        return completedFuture(value);
+    }
+
+    public static <U> TCompletableFuture<U> failedFuture(Throwable ex) {
+        return new TCompletableFuture<>(new Failure(Objects.requireNonNull(ex)));
+    }
+
+    public static <U> TCompletionStage<U> failedStage(Throwable ex) {
+        return failedFuture(ex);
+    }
+
+    public static TCompletableFuture<Void> allOf(TCompletableFuture<?>... cfs) {
+        var d = new TCompletableFuture<Void>();
+        if (cfs.length == 0) {
+            d.result = NIL;
+            return d;
+        }
+        var state = new AllOfState(d, cfs);
+        for (var cf : cfs) {
+            cf.unipush(new AllOfCompletion(state));
+        }
+        return d;
+    }
+
+    public static TCompletableFuture<Object> anyOf(TCompletableFuture<?>... cfs) {
+        var d = new TCompletableFuture<Object>();
+        for (var cf : cfs) {
+            if (cf.result != null) {
+                d.result = encodeRelay(cf.result);
+                return d;
+            }
+        }
+        for (var cf : cfs) {
+            cf.push(new AnyOfCompletion(d, cf));
+        }
+        return d;
+    }
+
+    public static TExecutor delayedExecutor(long delay, TTimeUnit unit) {
+        return delayedExecutor(delay, unit, TForkJoinPool.commonPool());
+    }
+
+    public static TExecutor delayedExecutor(long delay, TTimeUnit unit, TExecutor executor) {
+        Objects.requireNonNull(unit);
+        Objects.requireNonNull(executor);
+        long delayMillis = unit.toMillis(delay);
+        return command -> {
+            Objects.requireNonNull(command);
+            TTimerQueue.schedule(() -> executor.execute(command), System.currentTimeMillis() + delayMillis);
+        };
+    }
+
+    public <U> TCompletableFuture<U> newIncompleteFuture() {
+        return new TCompletableFuture<>();
+    }
+
+    public TExecutor defaultExecutor() {
+        return TForkJoinPool.commonPool();
+    }
+
+    public TCompletableFuture<T> copy() {
+        return uniWhenCompleteStage(null, (t, e) -> { });
+    }
+
+    public boolean complete(T value) {
+        boolean triggered = completeValue(value);
+        postComplete();
+        return triggered;
+    }
+
+    public boolean completeExceptionally(Throwable ex) {
+        boolean triggered = completeRelay(new Failure(Objects.requireNonNull(ex)));
+        postComplete();
+        return triggered;
+    }
+
+    public TCompletableFuture<T> completeAsync(Supplier<? extends T> supplier) {
+        return completeAsync(supplier, defaultExecutor());
+    }
+
+    public TCompletableFuture<T> completeAsync(Supplier<? extends T> supplier, TExecutor executor) {
+        Objects.requireNonNull(supplier);
+        Objects.requireNonNull(executor);
+        executor.execute(() -> {
+            if (result == null) {
+                try {
+                    completeValue(supplier.get());
+                } catch (Throwable e) {
+                    completeThrowable(e);
+                }
+            }
+            postComplete();
+        });
+        return this;
+    }
+
+    public TCompletableFuture<T> orTimeout(long timeout, TTimeUnit unit) {
+        Objects.requireNonNull(unit);
+        if (result == null) {
+            scheduleTimeout(() -> completeExceptionally(new TTimeoutException()), timeout, unit);
+        }
+        return this;
+    }
+
+    public TCompletableFuture<T> completeOnTimeout(T value, long timeout, TTimeUnit unit) {
+        Objects.requireNonNull(unit);
+        if (result == null) {
+            scheduleTimeout(() -> complete(value), timeout, unit);
+        }
+        return this;
+    }
+
+    private void scheduleTimeout(TRunnable action, long timeout, TTimeUnit unit) {
+        // timeout completes future in a worker, since dependent actions are allowed to block
+        TExecutor executor = TForkJoinPool.commonPool();
+        var timer = TTimerQueue.schedule(() -> executor.execute(action),
+                System.currentTimeMillis() + unit.toMillis(timeout));
+        push(new TimerCancellation(timer));
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = completeRelay(new Failure(new TCancellationException()));
+        postComplete();
+        return cancelled || isCancelled();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return result instanceof Failure && ((Failure) result).exception instanceof TCancellationException;
+    }
+
+    @Override
+    public boolean isDone() {
+        return result != null;
+    }
+
+    public boolean isCompletedExceptionally() {
+        return result instanceof Failure;
+    }
+
+    public void obtrudeValue(T value) {
+        result = value == null ? NIL : value;
+        postComplete();
+    }
+
+    public void obtrudeException(Throwable ex) {
+        result = new Failure(Objects.requireNonNull(ex));
+        postComplete();
+    }
+
+    public int getNumberOfDependents() {
+        int count = 0;
+        for (Completion c = stack; c != null; c = c.next) {
+            ++count;
+        }
+        return count;
+    }
+
+    @Override
+    public T get() throws InterruptedException, TExecutionException {
+        if (result == null) {
+            synchronized (this) {
+                waiterCount++;
+                TFiberExecutorService.compensateBlockedWorker();
+                try {
+                    while (result == null) {
+                        wait();
+                    }
+                } finally {
+                    waiterCount--;
+                }
+            }
+        }
+        return reportGet(result);
+    }
+
+    @Override
+    public T get(long timeout, TTimeUnit unit) throws InterruptedException, TExecutionException,
+            TTimeoutException {
+        if (result == null) {
+            long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+            synchronized (this) {
+                waiterCount++;
+                TFiberExecutorService.compensateBlockedWorker();
+                try {
+                    while (result == null) {
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0) {
+                            throw new TTimeoutException();
+                        }
+                        wait(remaining);
+                    }
+                } finally {
+                    waiterCount--;
+                }
+            }
+        }
+        return reportGet(result);
+    }
+
+    public T join() {
+        if (result == null) {
+            synchronized (this) {
+                waiterCount++;
+                TFiberExecutorService.compensateBlockedWorker();
+                try {
+                    while (result == null) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            // join is not interruptible
+                        }
+                    }
+                } finally {
+                    waiterCount--;
+                }
+            }
+        }
+        return reportJoin(result);
+    }
+
+    public T getNow(T valueIfAbsent) {
+        return result == null ? valueIfAbsent : reportJoin(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T reportGet(Object r) throws TExecutionException {
+        if (r instanceof Failure) {
+            Throwable x = ((Failure) r).exception;
+            if (x instanceof TCancellationException) {
+                throw (TCancellationException) x;
+            }
+            if (x instanceof TCompletionException && x.getCause() != null) {
+                x = x.getCause();
+            }
+            throw new TExecutionException(x);
+        }
+        return r == NIL ? null : (T) r;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T reportJoin(Object r) {
+        if (r instanceof Failure) {
+            Throwable x = ((Failure) r).exception;
+            if (x instanceof TCancellationException) {
+                throw (TCancellationException) x;
+            }
+            if (x instanceof TCompletionException) {
+                throw (TCompletionException) x;
+            }
+            throw new TCompletionException(x);
+        }
+        return r == NIL ? null : (T) r;
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> thenApply(Function<? super T, ? extends U> fn) {
+        return uniApplyStage(null, fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> thenApplyAsync(Function<? super T, ? extends U> fn) {
+        return uniApplyStage(defaultExecutor(), fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> thenApplyAsync(Function<? super T, ? extends U> fn, TExecutor executor) {
+        return uniApplyStage(Objects.requireNonNull(executor), fn);
+    }
+
+    private <U> TCompletableFuture<U> uniApplyStage(TExecutor executor, Function<? super T, ? extends U> fn) {
+        Objects.requireNonNull(fn);
+        TCompletableFuture<U> d = newIncompleteFuture();
+        unipush(new UniCompletion<T, U>(executor, d, this) {
+            @Override
+            void run(TCompletableFuture<U> d, Object r) {
+                d.completeValue(fn.apply(unwrap(r)));
+            }
+        });
+        return d;
+    }
+
+    @Override
+    public TCompletableFuture<Void> thenAccept(Consumer<? super T> action) {
+        return uniAcceptStage(null, action);
+    }
+
+    @Override
+    public TCompletableFuture<Void> thenAcceptAsync(Consumer<? super T> action) {
+        return uniAcceptStage(defaultExecutor(), action);
+    }
+
+    @Override
+    public TCompletableFuture<Void> thenAcceptAsync(Consumer<? super T> action, TExecutor executor) {
+        return uniAcceptStage(Objects.requireNonNull(executor), action);
+    }
+
+    private TCompletableFuture<Void> uniAcceptStage(TExecutor executor, Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        TCompletableFuture<Void> d = newIncompleteFuture();
+        unipush(new UniCompletion<T, Void>(executor, d, this) {
+            @Override
+            void run(TCompletableFuture<Void> d, Object r) {
+                action.accept(unwrap(r));
+                d.completeValue(null);
+            }
+        });
+        return d;
+    }
+
+    @Override
+    public TCompletableFuture<Void> thenRun(TRunnable action) {
+        return uniRunStage(null, action);
+    }
+
+    @Override
+    public TCompletableFuture<Void> thenRunAsync(TRunnable action) {
+        return uniRunStage(defaultExecutor(), action);
+    }
+
+    @Override
+    public TCompletableFuture<Void> thenRunAsync(TRunnable action, TExecutor executor) {
+        return uniRunStage(Objects.requireNonNull(executor), action);
+    }
+
+    private TCompletableFuture<Void> uniRunStage(TExecutor executor, TRunnable action) {
+        Objects.requireNonNull(action);
+        TCompletableFuture<Void> d = newIncompleteFuture();
+        unipush(new UniCompletion<T, Void>(executor, d, this) {
+            @Override
+            void run(TCompletableFuture<Void> d, Object r) {
+                action.run();
+                d.completeValue(null);
+            }
+        });
+        return d;
+    }
+
+    @Override
+    public <U, V> TCompletableFuture<V> thenCombine(TCompletionStage<? extends U> other,
+            BiFunction<? super T, ? super U, ? extends V> fn) {
+        return biApplyStage(null, other, fn);
+    }
+
+    @Override
+    public <U, V> TCompletableFuture<V> thenCombineAsync(TCompletionStage<? extends U> other,
+            BiFunction<? super T, ? super U, ? extends V> fn) {
+        return biApplyStage(defaultExecutor(), other, fn);
+    }
+
+    @Override
+    public <U, V> TCompletableFuture<V> thenCombineAsync(TCompletionStage<? extends U> other,
+            BiFunction<? super T, ? super U, ? extends V> fn, TExecutor executor) {
+        return biApplyStage(Objects.requireNonNull(executor), other, fn);
+    }
+
+    private <U, V> TCompletableFuture<V> biApplyStage(TExecutor executor, TCompletionStage<? extends U> other,
+            BiFunction<? super T, ? super U, ? extends V> fn) {
+        Objects.requireNonNull(fn);
+        TCompletableFuture<V> d = newIncompleteFuture();
+        bipush(new BiCompletion<T, V>(executor, d, this, other.toCompletableFuture()) {
+            @Override
+            void run(TCompletableFuture<V> d, Object r, Object s) {
+                d.completeValue(fn.apply(unwrap(r), unwrap(s)));
+            }
+        });
+        return d;
+    }
+
+    @Override
+    public <U> TCompletableFuture<Void> thenAcceptBoth(TCompletionStage<? extends U> other,
+            BiConsumer<? super T, ? super U> action) {
+        return biAcceptStage(null, other, action);
+    }
+
+    @Override
+    public <U> TCompletableFuture<Void> thenAcceptBothAsync(TCompletionStage<? extends U> other,
+            BiConsumer<? super T, ? super U> action) {
+        return biAcceptStage(defaultExecutor(), other, action);
+    }
+
+    @Override
+    public <U> TCompletableFuture<Void> thenAcceptBothAsync(TCompletionStage<? extends U> other,
+            BiConsumer<? super T, ? super U> action, TExecutor executor) {
+        return biAcceptStage(Objects.requireNonNull(executor), other, action);
+    }
+
+    private <U> TCompletableFuture<Void> biAcceptStage(TExecutor executor, TCompletionStage<? extends U> other,
+            BiConsumer<? super T, ? super U> action) {
+        Objects.requireNonNull(action);
+        TCompletableFuture<Void> d = newIncompleteFuture();
+        bipush(new BiCompletion<T, Void>(executor, d, this, other.toCompletableFuture()) {
+            @Override
+            void run(TCompletableFuture<Void> d, Object r, Object s) {
+                action.accept(unwrap(r), unwrap(s));
+                d.completeValue(null);
+            }
+        });
+        return d;
+    }
+
+    @Override
+    public TCompletableFuture<Void> runAfterBoth(TCompletionStage<?> other, TRunnable action) {
+        return biRunStage(null, other, action);
+    }
+
+    @Override
+    public TCompletableFuture<Void> runAfterBothAsync(TCompletionStage<?> other, TRunnable action) {
+        return biRunStage(defaultExecutor(), other, action);
+    }
+
+    @Override
+    public TCompletableFuture<Void> runAfterBothAsync(TCompletionStage<?> other, TRunnable action,
+            TExecutor executor) {
+        return biRunStage(Objects.requireNonNull(executor), other, action);
+    }
+
+    private TCompletableFuture<Void> biRunStage(TExecutor executor, TCompletionStage<?> other, TRunnable action) {
+        Objects.requireNonNull(action);
+        TCompletableFuture<Void> d = newIncompleteFuture();
+        bipush(new BiCompletion<T, Void>(executor, d, this, other.toCompletableFuture()) {
+            @Override
+            void run(TCompletableFuture<Void> d, Object r, Object s) {
+                action.run();
+                d.completeValue(null);
+            }
+        });
+        return d;
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> applyToEither(TCompletionStage<? extends T> other,
+            Function<? super T, U> fn) {
+        return orApplyStage(null, other, fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> applyToEitherAsync(TCompletionStage<? extends T> other,
+            Function<? super T, U> fn) {
+        return orApplyStage(defaultExecutor(), other, fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> applyToEitherAsync(TCompletionStage<? extends T> other,
+            Function<? super T, U> fn, TExecutor executor) {
+        return orApplyStage(Objects.requireNonNull(executor), other, fn);
+    }
+
+    private <U> TCompletableFuture<U> orApplyStage(TExecutor executor, TCompletionStage<? extends T> other,
+            Function<? super T, U> fn) {
+        Objects.requireNonNull(fn);
+        TCompletableFuture<U> d = newIncompleteFuture();
+        orpush(new OrCompletion<U>(executor, d, this, other.toCompletableFuture()) {
+            @Override
+            void run(TCompletableFuture<U> d, Object r) {
+                d.completeValue(fn.apply(unwrap(r)));
+            }
+        });
+        return d;
+    }
+
+    @Override
+    public TCompletableFuture<Void> acceptEither(TCompletionStage<? extends T> other, Consumer<? super T> action) {
+        return orAcceptStage(null, other, action);
+    }
+
+    @Override
+    public TCompletableFuture<Void> acceptEitherAsync(TCompletionStage<? extends T> other,
+            Consumer<? super T> action) {
+        return orAcceptStage(defaultExecutor(), other, action);
+    }
+
+    @Override
+    public TCompletableFuture<Void> acceptEitherAsync(TCompletionStage<? extends T> other,
+            Consumer<? super T> action, TExecutor executor) {
+        return orAcceptStage(Objects.requireNonNull(executor), other, action);
+    }
+
+    private TCompletableFuture<Void> orAcceptStage(TExecutor executor, TCompletionStage<? extends T> other,
+            Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        TCompletableFuture<Void> d = newIncompleteFuture();
+        orpush(new OrCompletion<Void>(executor, d, this, other.toCompletableFuture()) {
+            @Override
+            void run(TCompletableFuture<Void> d, Object r) {
+                action.accept(unwrap(r));
+                d.completeValue(null);
+            }
+        });
+        return d;
+    }
+
+    @Override
+    public TCompletableFuture<Void> runAfterEither(TCompletionStage<?> other, TRunnable action) {
+        return orRunStage(null, other, action);
+    }
+
+    @Override
+    public TCompletableFuture<Void> runAfterEitherAsync(TCompletionStage<?> other, TRunnable action) {
+        return orRunStage(defaultExecutor(), other, action);
+    }
+
+    @Override
+    public TCompletableFuture<Void> runAfterEitherAsync(TCompletionStage<?> other, TRunnable action,
+            TExecutor executor) {
+        return orRunStage(Objects.requireNonNull(executor), other, action);
+    }
+
+    private TCompletableFuture<Void> orRunStage(TExecutor executor, TCompletionStage<?> other, TRunnable action) {
+        Objects.requireNonNull(action);
+        TCompletableFuture<Void> d = newIncompleteFuture();
+        orpush(new OrCompletion<Void>(executor, d, this, other.toCompletableFuture()) {
+            @Override
+            void run(TCompletableFuture<Void> d, Object r) {
+                action.run();
+                d.completeValue(null);
+            }
+        });
+        return d;
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> thenCompose(Function<? super T, ? extends TCompletionStage<U>> fn) {
+        return uniComposeStage(null, fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> thenComposeAsync(Function<? super T, ? extends TCompletionStage<U>> fn) {
+        return uniComposeStage(defaultExecutor(), fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> thenComposeAsync(Function<? super T, ? extends TCompletionStage<U>> fn,
+            TExecutor executor) {
+        return uniComposeStage(Objects.requireNonNull(executor), fn);
+    }
+
+    private <U> TCompletableFuture<U> uniComposeStage(TExecutor executor,
+            Function<? super T, ? extends TCompletionStage<U>> fn) {
+        Objects.requireNonNull(fn);
+        TCompletableFuture<U> d = newIncompleteFuture();
+        unipush(new UniCompletion<T, U>(executor, d, this) {
+            @Override
+            void run(TCompletableFuture<U> d, Object r) {
+                TCompletableFuture<U> g = fn.apply(unwrap(r)).toCompletableFuture();
+                if (g.result != null) {
+                    d.completeRelay(encodeRelay(g.result));
+                } else {
+                    g.unipush(new RelayCompletion<>(d, g));
+                }
+            }
+        });
+        return d;
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> handle(BiFunction<? super T, Throwable, ? extends U> fn) {
+        return uniHandleStage(null, fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> handleAsync(BiFunction<? super T, Throwable, ? extends U> fn) {
+        return uniHandleStage(defaultExecutor(), fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> handleAsync(BiFunction<? super T, Throwable, ? extends U> fn,
+            TExecutor executor) {
+        return uniHandleStage(Objects.requireNonNull(executor), fn);
+    }
+
+    private <U> TCompletableFuture<U> uniHandleStage(TExecutor executor,
+            BiFunction<? super T, Throwable, ? extends U> fn) {
+        Objects.requireNonNull(fn);
+        TCompletableFuture<U> d = newIncompleteFuture();
+        unipush(new UniCompletion<T, U>(executor, d, this) {
+            @Override
+            boolean acceptsFailure() {
+                return true;
+            }
+
+            @Override
+            void run(TCompletableFuture<U> d, Object r) {
+                if (r instanceof Failure) {
+                    d.completeValue(fn.apply(null, ((Failure) r).exception));
+                } else {
+                    d.completeValue(fn.apply(unwrap(r), null));
+                }
+            }
+        });
+        return d;
+    }
+
+    @Override
+    public TCompletableFuture<T> whenComplete(BiConsumer<? super T, ? super Throwable> action) {
+        return uniWhenCompleteStage(null, action);
+    }
+
+    @Override
+    public TCompletableFuture<T> whenCompleteAsync(BiConsumer<? super T, ? super Throwable> action) {
+        return uniWhenCompleteStage(defaultExecutor(), action);
+    }
+
+    @Override
+    public TCompletableFuture<T> whenCompleteAsync(BiConsumer<? super T, ? super Throwable> action,
+            TExecutor executor) {
+        return uniWhenCompleteStage(Objects.requireNonNull(executor), action);
+    }
+
+    private TCompletableFuture<T> uniWhenCompleteStage(TExecutor executor,
+            BiConsumer<? super T, ? super Throwable> action) {
+        Objects.requireNonNull(action);
+        TCompletableFuture<T> d = newIncompleteFuture();
+        unipush(new UniCompletion<T, T>(executor, d, this) {
+            @Override
+            boolean acceptsFailure() {
+                return true;
+            }
+
+            @Override
+            void run(TCompletableFuture<T> d, Object r) {
+                Throwable x = r instanceof Failure ? ((Failure) r).exception : null;
+                try {
+                    action.accept(x == null ? unwrap(r) : null, x);
+                } catch (Throwable e) {
+                    if (x == null) {
+                        d.completeThrowable(e);
+                        return;
+                    }
+                    if (x != e) {
+                        x.addSuppressed(e);
+                    }
+                }
+                d.completeRelay(encodeRelay(r));
+            }
+        });
+        return d;
+    }
+
+    @Override
+    public TCompletableFuture<T> exceptionally(Function<Throwable, ? extends T> fn) {
+        Objects.requireNonNull(fn);
+        TCompletableFuture<T> d = newIncompleteFuture();
+        unipush(new UniCompletion<T, T>(null, d, this) {
+            @Override
+            boolean acceptsFailure() {
+                return true;
+            }
+
+            @Override
+            void run(TCompletableFuture<T> d, Object r) {
+                if (r instanceof Failure) {
+                    d.completeValue(fn.apply(((Failure) r).exception));
+                } else {
+                    d.completeRelay(r);
+                }
+            }
+        });
+        return d;
+    }
+
+    @Override
+    public TCompletableFuture<T> toCompletableFuture() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        String status;
+        if (result == null) {
+            int count = getNumberOfDependents();
+            status = count == 0 ? "[Incomplete]" : "[Not completed, " + count + " dependents]";
+        } else if (result instanceof Failure) {
+            status = "[Completed exceptionally: " + ((Failure) result).exception + "]";
+        } else {
+            status = "[Completed normally]";
+        }
+        return super.toString() + status;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <U> U unwrap(Object r) {
+        return r == NIL ? null : (U) r;
+    }
+
+    private static Object encodeRelay(Object r) {
+        if (r instanceof Failure) {
+            Throwable x = ((Failure) r).exception;
+            if (!(x instanceof TCompletionException)) {
+                return new Failure(new TCompletionException(x));
+            }
+        }
+        return r;
+    }
+
+    boolean completeValue(T value) {
+        return completeRelay(value == null ? NIL : value);
+    }
+
+    boolean completeThrowable(Throwable x) {
+        return completeRelay(new Failure(x instanceof TCompletionException ? x : new TCompletionException(x)));
+    }
+
+    private boolean completeRelay(Object r) {
+        if (result != null) {
+            return false;
+        }
+        result = r;
+        if (waiterCount > 0) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+        return true;
+    }
+
+    private void push(Completion c) {
+        c.next = stack;
+        stack = c;
+    }
+
+    private void unipush(Completion c) {
+        if (result != null) {
+            c.fire(SYNC);
+        } else {
+            push(c);
+        }
+    }
+
+    private void bipush(BiCompletion<?, ?> c) {
+        if (result == null) {
+            push(c);
+        } else if (c.snd.result == null) {
+            c.snd.push(c);
+        } else {
+            c.fire(SYNC);
+        }
+    }
+
+    private void orpush(OrCompletion<?> c) {
+        if (result != null || c.snd.result != null) {
+            c.fire(SYNC);
+        } else {
+            push(c);
+            c.snd.push(new CoCompletion(c));
+        }
+    }
+
+    /**
+     * Fires dependent stages. Instead of completing their own dependents recursively, fired stages return
+     * dependent future, and dependents of that future are processed by this loop.
+     */
+    private void postComplete() {
+        TCompletableFuture<?> f = this;
+        TCompletableFuture<?>[] pending = null;
+        int pendingCount = 0;
+        while (true) {
+            Completion c = f.stack;
+            f.stack = null;
+            // completions are pushed to stack, so reverse it to fire them in order of registration
+            Completion reversed = null;
+            while (c != null) {
+                Completion next = c.next;
+                c.next = reversed;
+                reversed = c;
+                c = next;
+            }
+            while (reversed != null) {
+                Completion next = reversed.next;
+                reversed.next = null;
+                TCompletableFuture<?> d = reversed.fire(NESTED);
+                if (d != null && d.stack != null) {
+                    if (pending == null) {
+                        pending = new TCompletableFuture<?>[4];
+                    } else if (pendingCount == pending.length) {
+                        var newPending = new TCompletableFuture<?>[pendingCount * 2];
+                        System.arraycopy(pending, 0, newPending, 0, pendingCount);
+                        pending = newPending;
+                    }
+                    pending[pendingCount++] = d;
+                }
+                reversed = next;
+            }
+            if (f.stack != null) {
+                // some dependents were added by actions of fired stages
+                continue;
+            }
+            if (pendingCount == 0) {
+                break;
+            }
+            f = pending[--pendingCount];
+            pending[pendingCount] = null;
+        }
+    }
+
+    private TCompletableFuture<?> postFire(int mode) {
+        if (result == null || stack == null) {
+            return null;
+        }
+        if (mode == NESTED) {
+            return this;
+        }
+        postComplete();
+        return null;
+    }
+
+    static final class Failure {
+        final Throwable exception;
+
+        Failure(Throwable exception) {
+            this.exception = exception;
+        }
+    }
+
+    abstract static class Completion implements TRunnable {
+        Completion next;
+
+        /**
+         * Performs action if sources are complete.
+         *
+         * @return future that got completed and whose dependents should be fired by caller, when
+         * called in nested mode.
+         */
+        abstract TCompletableFuture<?> fire(int mode);
+
+        @Override
+        public final void run() {
+            fire(ASYNC);
+        }
+    }
+
+    abstract static class ClaimingCompletion<V> extends Completion {
+        TExecutor executor;
+        TCompletableFuture<V> dep;
+        private boolean claimed;
+
+        ClaimingCompletion(TExecutor executor, TCompletableFuture<V> dep) {
+            this.executor = executor;
+            this.dep = dep;
+        }
+
+        final boolean claim(int mode) {
+            if (mode == ASYNC) {
+                return true;
+            }
+            if (claimed) {
+                return false;
+            }
+            claimed = true;
+            if (executor == null) {
+                return true;
+            }
+            executor.execute(this);
+            return false;
+        }
+
+        final TCompletableFuture<?> complete(int mode) {
+            TCompletableFuture<V> d = dep;
+            dep = null;
+            executor = null;
+            return d.postFire(mode);
+        }
+    }
+
+    abstract static class UniCompletion<T, V> extends ClaimingCompletion<V> {
+        private TCompletableFuture<T> src;
+
+        UniCompletion(TExecutor executor, TCompletableFuture<V> dep, TCompletableFuture<T> src) {
+            super(executor, dep);
+            this.src = src;
+        }
+
+        boolean acceptsFailure() {
+            return false;
+        }
+
+        abstract void run(TCompletableFuture<V> d, Object r);
+
+        @Override
+        final TCompletableFuture<?> fire(int mode) {
+            TCompletableFuture<V> d = dep;
+            if (d == null || src.result == null) {
+                return null;
+            }
+            if (d.result == null) {
+                Object r = src.result;
+                if (r instanceof Failure && !acceptsFailure()) {
+                    d.completeRelay(encodeRelay(r));
+                } else {
+                    if (!claim(mode)) {
+                        return null;
+                    }
+                    try {
+                        run(d, r);
+                    } catch (Throwable e) {
+                        d.completeThrowable(e);
+                    }
+                }
+            }
+            src = null;
+            return complete(mode);
+        }
+    }
+
+    abstract static class BiCompletion<T, V> extends ClaimingCompletion<V> {
+        private TCompletableFuture<T> src;
+        TCompletableFuture<?> snd;
+
+        BiCompletion(TExecutor executor, TCompletableFuture<V> dep, TCompletableFuture<T> src,
+                TCompletableFuture<?> snd) {
+            super(executor, dep);
+            this.src = src;
+            this.snd = snd;
+        }
+
+        abstract void run(TCompletableFuture<V> d, Object r, Object s);
+
+        @Override
+        final TCompletableFuture<?> fire(int mode) {
+            TCompletableFuture<V> d = dep;
+            if (d == null || src.result == null) {
+                return null;
+            }
+            if (snd.result == null) {
+                // first source is complete, now wait for the second one
+                snd.push(this);
+                return null;
+            }
+            if (d.result == null) {
+                Object r = src.result;
+                Object s = snd.result;
+                if (r instanceof Failure) {
+                    d.completeRelay(encodeRelay(r));
+                } else if (s instanceof Failure) {
+                    d.completeRelay(encodeRelay(s));
+                } else {
+                    if (!claim(mode)) {
+                        return null;
+                    }
+                    try {
+                        run(d, r, s);
+                    } catch (Throwable e) {
+                        d.completeThrowable(e);
+                    }
+                }
+            }
+            src = null;
+            snd = null;
+            return complete(mode);
+        }
+    }
+
+    abstract static class OrCompletion<V> extends ClaimingCompletion<V> {
+        private TCompletableFuture<?> src;
+        TCompletableFuture<?> snd;
+
+        OrCompletion(TExecutor executor, TCompletableFuture<V> dep, TCompletableFuture<?> src,
+                TCompletableFuture<?> snd) {
+            super(executor, dep);
+            this.src = src;
+            this.snd = snd;
+        }
+
+        abstract void run(TCompletableFuture<V> d, Object r);
+
+        @Override
+        final TCompletableFuture<?> fire(int mode) {
+            TCompletableFuture<V> d = dep;
+            if (d == null) {
+                return null;
+            }
+            Object r = src.result != null ? src.result : snd.result;
+            if (r == null) {
+                return null;
+            }
+            if (d.result == null) {
+                if (r instanceof Failure) {
+                    d.completeRelay(encodeRelay(r));
+                } else {
+                    if (!claim(mode)) {
+                        return null;
+                    }
+                    try {
+                        run(d, r);
+                    } catch (Throwable e) {
+                        d.completeThrowable(e);
+                    }
+                }
+            }
+            src = null;
+            snd = null;
+            return complete(mode);
+        }
+    }
+
+    static final class CoCompletion extends Completion {
+        private final Completion base;
+
+        CoCompletion(Completion base) {
+            this.base = base;
+        }
+
+        @Override
+        TCompletableFuture<?> fire(int mode) {
+            return base.fire(mode);
+        }
+    }
+
+    static final class RelayCompletion<V> extends Completion {
+        private final TCompletableFuture<V> dep;
+        private final TCompletableFuture<V> src;
+
+        RelayCompletion(TCompletableFuture<V> dep, TCompletableFuture<V> src) {
+            this.dep = dep;
+            this.src = src;
+        }
+
+        @Override
+        TCompletableFuture<?> fire(int mode) {
+            if (!dep.completeRelay(encodeRelay(src.result))) {
+                return null;
+            }
+            return dep.postFire(mode);
+        }
+    }
+
+    static final class AllOfState {
+        final TCompletableFuture<Void> dep;
+        final TCompletableFuture<?>[] sources;
+        int remaining;
+
+        AllOfState(TCompletableFuture<Void> dep, TCompletableFuture<?>[] sources) {
+            this.dep = dep;
+            this.sources = sources;
+            remaining = sources.length;
+        }
+    }
+
+    static final class AllOfCompletion extends Completion {
+        private final AllOfState state;
+
+        AllOfCompletion(AllOfState state) {
+            this.state = state;
+        }
+
+        @Override
+        TCompletableFuture<?> fire(int mode) {
+            if (--state.remaining > 0) {
+                return null;
+            }
+            TCompletableFuture<Void> d = state.dep;
+            Object r = NIL;
+            for (var source : state.sources) {
+                if (source.result instanceof Failure) {
+                    r = encodeRelay(source.result);
+                    break;
+                }
+            }
+            d.completeRelay(r);
+            return d.postFire(mode);
+        }
+    }
+
+    static final class AnyOfCompletion extends Completion {
+        private final TCompletableFuture<Object> dep;
+        private final TCompletableFuture<?> src;
+
+        AnyOfCompletion(TCompletableFuture<Object> dep, TCompletableFuture<?> src) {
+            this.dep = dep;
+            this.src = src;
+        }
+
+        @Override
+        TCompletableFuture<?> fire(int mode) {
+            if (!dep.completeRelay(encodeRelay(src.result))) {
+                return null;
+            }
+            return dep.postFire(mode);
+        }
+    }
+
+    static final class TimerCancellation extends Completion {
+        private final TTimerQueue.Timer timer;
+
+        TimerCancellation(TTimerQueue.Timer timer) {
+            this.timer = timer;
+        }
+
+        @Override
+        TCompletableFuture<?> fire(int mode) {
+            timer.cancel();
+            return null;
+        }
+    }
+}
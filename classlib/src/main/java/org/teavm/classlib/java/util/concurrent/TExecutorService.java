@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import java.util.Collection;
+import java.util.List;
+import org.teavm.classlib.java.lang.TRunnable;
+
+public interface TExecutorService extends TExecutor {
+    void shutdown();
+
+    List<TRunnable> shutdownNow();
+
+    boolean isShutdown();
+
+    boolean isTerminated();
+
+    boolean awaitTermination(long timeout, TTimeUnit unit) throws InterruptedException;
+
+    <T> TFuture<T> submit(TCallable<T> task);
+
+    <T> TFuture<T> submit(TRunnable task, T result);
+
+    TFuture<?> submit(TRunnable task);
+
+    <T> List<TFuture<T>> invokeAll(Collection<? extends TCallable<T>> tasks) throws InterruptedException;
+
+    <T> List<TFuture<T>> invokeAll(Collection<? extends TCallable<T>> tasks, long timeout, TTimeUnit unit)
+            throws InterruptedException;
+
+    <T> T invokeAny(Collection<? extends TCallable<T>> tasks) throws InterruptedException, TExecutionException;
+
+    <T> T invokeAny(Collection<? extends TCallable<T>> tasks, long timeout, TTimeUnit unit)
+            throws InterruptedException, TExecutionException, TTimeoutException;
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import org.teavm.classlib.java.lang.TRunnable;
+import org.teavm.classlib.java.lang.TThread;
+
+public final class TExecutors {
+    private static int poolCount;
+
+    private TExecutors() {
+    }
+
+    public static TExecutorService newFixedThreadPool(int nThreads) {
+        return new TFiberExecutorService(nThreads, defaultThreadFactory());
+    }
+
+    public static TExecutorService newFixedThreadPool(int nThreads, TThreadFactory threadFactory) {
+        return new TFiberExecutorService(nThreads, threadFactory);
+    }
+
+    public static TExecutorService newCachedThreadPool() {
+        return new TFiberExecutorService(Integer.MAX_VALUE, defaultThreadFactory());
+    }
+
+    public static TExecutorService newCachedThreadPool(TThreadFactory threadFactory) {
+        return new TFiberExecutorService(Integer.MAX_VALUE, threadFactory);
+    }
+
+    public static TExecutorService newSingleThreadExecutor() {
+        return new TFiberExecutorService(1, defaultThreadFactory());
+    }
+
+    public static TExecutorService newSingleThreadExecutor(TThreadFactory threadFactory) {
+        return new TFiberExecutorService(1, threadFactory);
+    }
+
+    public static TExecutorService newWorkStealingPool() {
+        return new TForkJoinPool();
+    }
+
+    public static TExecutorService newWorkStealingPool(int parallelism) {
+        return new TForkJoinPool(parallelism);
+    }
+
+    public static TScheduledExecutorService newScheduledThreadPool(int corePoolSize) {
+        return new TFiberExecutorService(Math.max(1, corePoolSize), defaultThreadFactory());
+    }
+
+    public static TScheduledExecutorService newScheduledThreadPool(int corePoolSize, TThreadFactory threadFactory) {
+        return new TFiberExecutorService(Math.max(1, corePoolSize), threadFactory);
+    }
+
+    public static TScheduledExecutorService newSingleThreadScheduledExecutor() {
+        return new TFiberExecutorService(1, defaultThreadFactory());
+    }
+
+    public static TScheduledExecutorService newSingleThreadScheduledExecutor(TThreadFactory threadFactory) {
+        return new TFiberExecutorService(1, threadFactory);
+    }
+
+    public static TThreadFactory defaultThreadFactory() {
+        String prefix = "pool-" + ++poolCount + "-thread-";
+        int[] threadCount = new int[1];
+        return r -> new TThread(r, prefix + ++threadCount[0]);
+    }
+
+    public static <T> TCallable<T> callable(TRunnable task, T result) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        return () -> {
+            task.run();
+            return result;
+        };
+    }
+
+    public static TCallable<Object> callable(TRunnable task) {
+        return callable(task, null);
+    }
+}
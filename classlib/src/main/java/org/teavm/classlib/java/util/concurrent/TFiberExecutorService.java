@@ -0,0 +1,324 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.teavm.classlib.java.lang.TRunnable;
+import org.teavm.classlib.java.lang.TThread;
+
+/**
+ * <p>Executor service on top of cooperative threads (fibers). Tasks are put into a queue that is drained by
+ * worker threads. Since only one thread runs at a time, a new worker is only started when there are no workers
+ * or when all of them are blocked in their tasks, so a burst of short tasks is executed by a single fiber,
+ * no matter how many workers the pool is allowed to have.</p>
+ *
+ * <p>A worker that submits a task keeps running, so it does not start another worker. If it then waits
+ * for a future, the future calls {@link #compensateBlockedWorker()}, which starts another worker to drain
+ * the queue. Otherwise a task that waits for a task submitted to its own pool would never be resumed.
+ * Blocking in other ways, like {@link Object#wait()} on user objects, is not compensated.</p>
+ *
+ * <p>Delayed and periodic tasks wait in {@link TTimerQueue} and get to the queue when they are due.</p>
+ */
+class TFiberExecutorService extends TAbstractExecutorService implements TScheduledExecutorService {
+    private static final Map<TThread, Worker> workersByThread = new HashMap<>();
+    private final int maxWorkers;
+    private final TThreadFactory threadFactory;
+    private final ArrayDeque<TRunnable> queue = new ArrayDeque<>();
+    private final List<Worker> workers = new ArrayList<>();
+    private final Set<ScheduledTask<?>> scheduledTasks = new HashSet<>();
+    private int busyWorkers;
+    private boolean shutdown;
+    private final Object terminationLock = new Object();
+    private int terminationWaiters;
+
+    TFiberExecutorService(int maxWorkers, TThreadFactory threadFactory) {
+        if (maxWorkers <= 0) {
+            throw new IllegalArgumentException();
+        }
+        if (threadFactory == null) {
+            throw new NullPointerException();
+        }
+        this.maxWorkers = maxWorkers;
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public void execute(TRunnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        if (shutdown) {
+            throw new TRejectedExecutionException();
+        }
+        enqueue(command);
+    }
+
+    private void enqueue(TRunnable command) {
+        queue.add(command);
+        if (workers.size() < maxWorkers && (workers.isEmpty()
+                || busyWorkers == workers.size() && !isWorker(TThread.currentThread()))) {
+            startWorker();
+        }
+    }
+
+    private boolean isWorker(TThread thread) {
+        for (Worker worker : workers) {
+            if (worker.thread == thread) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void startWorker() {
+        var worker = new Worker();
+        worker.thread = threadFactory.newThread(worker);
+        workers.add(worker);
+        workersByThread.put(worker.thread, worker);
+        worker.thread.start();
+    }
+
+    /**
+     * Called by futures before the current thread starts waiting. If the current thread is a worker of some
+     * executor and all workers of that executor are busy, starts another worker, so that tasks that wait
+     * in the queue, including the one the current thread waits for, still get executed.
+     */
+    static void compensateBlockedWorker() {
+        if (workersByThread.isEmpty()) {
+            return;
+        }
+        var worker = workersByThread.get(TThread.currentThread());
+        if (worker != null) {
+            worker.blocked();
+        }
+    }
+
+    private void workerExited(Worker worker) {
+        workers.remove(worker);
+        workersByThread.remove(worker.thread);
+        if (!queue.isEmpty() && (workers.isEmpty() || busyWorkers == workers.size())) {
+            startWorker();
+        } else {
+            checkTermination();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (ScheduledTask<?> task : new ArrayList<>(scheduledTasks)) {
+            if (task.period != 0) {
+                task.cancel(false);
+            }
+        }
+        checkTermination();
+    }
+
+    @Override
+    public List<TRunnable> shutdownNow() {
+        shutdown = true;
+        List<TRunnable> result = new ArrayList<>(queue);
+        queue.clear();
+        for (ScheduledTask<?> task : new ArrayList<>(scheduledTasks)) {
+            if (!result.contains(task)) {
+                result.add(task);
+            }
+            task.cancel(false);
+        }
+        for (Worker worker : workers) {
+            worker.thread.interrupt();
+        }
+        checkTermination();
+        return result;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && workers.isEmpty() && queue.isEmpty() && scheduledTasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TTimeUnit unit) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+        synchronized (terminationLock) {
+            terminationWaiters++;
+            try {
+                while (!isTerminated()) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    terminationLock.wait(remaining);
+                }
+            } finally {
+                terminationWaiters--;
+            }
+        }
+        return true;
+    }
+
+    private void checkTermination() {
+        if (terminationWaiters > 0 && isTerminated()) {
+            synchronized (terminationLock) {
+                terminationLock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public TScheduledFuture<?> schedule(TRunnable command, long delay, TTimeUnit unit) {
+        return schedule(new ScheduledTask<>(TExecutors.callable(command, null), delay, 0, unit));
+    }
+
+    @Override
+    public <V> TScheduledFuture<V> schedule(TCallable<V> callable, long delay, TTimeUnit unit) {
+        return schedule(new ScheduledTask<>(callable, delay, 0, unit));
+    }
+
+    @Override
+    public TScheduledFuture<?> scheduleAtFixedRate(TRunnable command, long initialDelay, long period,
+            TTimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException();
+        }
+        return schedule(new ScheduledTask<>(TExecutors.callable(command, null), initialDelay, period, unit));
+    }
+
+    @Override
+    public TScheduledFuture<?> scheduleWithFixedDelay(TRunnable command, long initialDelay, long delay,
+            TTimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException();
+        }
+        return schedule(new ScheduledTask<>(TExecutors.callable(command, null), initialDelay, -delay, unit));
+    }
+
+    private <V> TScheduledFuture<V> schedule(ScheduledTask<V> task) {
+        if (shutdown) {
+            throw new TRejectedExecutionException();
+        }
+        scheduledTasks.add(task);
+        task.arm();
+        return task;
+    }
+
+    class Worker implements TRunnable {
+        TThread thread;
+
+        void blocked() {
+            // the current worker is about to be suspended and all other busy workers are already suspended,
+            // since only one thread runs at a time
+            if (!queue.isEmpty() && busyWorkers == workers.size() && workers.size() < maxWorkers) {
+                startWorker();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    TRunnable task = queue.poll();
+                    if (task == null) {
+                        break;
+                    }
+                    busyWorkers++;
+                    try {
+                        task.run();
+                    } finally {
+                        busyWorkers--;
+                    }
+                }
+            } finally {
+                workerExited(this);
+            }
+        }
+    }
+
+    class ScheduledTask<V> extends TFutureTask<V> implements TScheduledFuture<V> {
+        private long time;
+        // positive for fixed rate, negative for fixed delay, zero for one-shot tasks
+        final long period;
+        private TTimerQueue.Timer timer;
+
+        ScheduledTask(TCallable<V> callable, long delay, long period, TTimeUnit unit) {
+            super(callable);
+            time = System.currentTimeMillis() + Math.max(0, unit.toMillis(delay));
+            this.period = unit.toMillis(period);
+        }
+
+        void arm() {
+            timer = TTimerQueue.schedule(this::dispatch, time);
+        }
+
+        private void dispatch() {
+            timer = null;
+            if (!isDone()) {
+                enqueue(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (period == 0) {
+                super.run();
+            } else if (runAndReset()) {
+                if (shutdown) {
+                    cancel(false);
+                } else {
+                    time = period > 0 ? time + period : System.currentTimeMillis() - period;
+                    arm();
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && timer != null) {
+                timer.cancel();
+                timer = null;
+            }
+            return cancelled;
+        }
+
+        @Override
+        protected void done() {
+            scheduledTasks.remove(this);
+            checkTermination();
+        }
+
+        @Override
+        public long getDelay(TTimeUnit unit) {
+            return unit.convert(time - System.currentTimeMillis(), TTimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(TDelayed o) {
+            return Long.compare(getDelay(TTimeUnit.MILLISECONDS), o.getDelay(TTimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import java.util.List;
+import org.teavm.classlib.java.lang.TRunnable;
+import org.teavm.classlib.java.lang.TThread;
+
+/**
+ * <p>Fork/join pool on top of cooperative threads. Neither JavaScript nor WebAssembly GC heap can be
+ * shared with Web Workers, so there is no way to run tasks in parallel. A forked task is executed by the thread
+ * that forks it, which gives the same results as a pool with parallelism of one.</p>
+ *
+ * <p>Tasks submitted from outside, as well as plain runnables and callables, are executed asynchronously
+ * by worker fibers. Another worker is only started when all existing ones are busy. A worker counts as
+ * blocked only when it waits for a future ({@code get()} or {@code join()}). In that case the pool
+ * starts another worker, so a task can wait for a task it submitted to this pool. A worker blocked
+ * in any other way, for example in {@link Object#wait()}, is not replaced.</p>
+ */
+public class TForkJoinPool extends TAbstractExecutorService {
+    private static int poolCount;
+    private static final TForkJoinPool COMMON = new TForkJoinPool(1, "ForkJoinPool.commonPool-worker-");
+    private final int parallelism;
+    private final TFiberExecutorService executor;
+
+    public TForkJoinPool() {
+        this(1);
+    }
+
+    public TForkJoinPool(int parallelism) {
+        this(parallelism, "ForkJoinPool-" + ++poolCount + "-worker-");
+    }
+
+    private TForkJoinPool(int parallelism, String namePrefix) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.parallelism = parallelism;
+        int[] workerCount = new int[1];
+        executor = new TFiberExecutorService(Integer.MAX_VALUE, r -> {
+            var thread = new TThread(r, namePrefix + ++workerCount[0]);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static TForkJoinPool commonPool() {
+        return COMMON;
+    }
+
+    public static int getCommonPoolParallelism() {
+        return COMMON.parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getPoolSize() {
+        return 0;
+    }
+
+    public int getActiveThreadCount() {
+        return 0;
+    }
+
+    public boolean isQuiescent() {
+        return true;
+    }
+
+    public <T> T invoke(TForkJoinTask<T> task) {
+        checkNotShutdown();
+        return task.invoke();
+    }
+
+    public void execute(TForkJoinTask<?> task) {
+        checkNotShutdown();
+        executor.execute(task::doExec);
+    }
+
+    @Override
+    public void execute(TRunnable command) {
+        executor.execute(command);
+    }
+
+    public <T> TForkJoinTask<T> submit(TForkJoinTask<T> task) {
+        execute(task);
+        return task;
+    }
+
+    @Override
+    public <T> TForkJoinTask<T> submit(TCallable<T> task) {
+        return submit(TForkJoinTask.adapt(task));
+    }
+
+    @Override
+    public <T> TForkJoinTask<T> submit(TRunnable task, T result) {
+        return submit(TForkJoinTask.adapt(task, result));
+    }
+
+    @Override
+    public TForkJoinTask<?> submit(TRunnable task) {
+        return submit(TForkJoinTask.adapt(task));
+    }
+
+    @Override
+    public void shutdown() {
+        if (this != COMMON) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public List<TRunnable> shutdownNow() {
+        if (this != COMMON) {
+            return executor.shutdownNow();
+        }
+        return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return executor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TTimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    private void checkNotShutdown() {
+        if (executor.isShutdown()) {
+            throw new TRejectedExecutionException();
+        }
+    }
+}
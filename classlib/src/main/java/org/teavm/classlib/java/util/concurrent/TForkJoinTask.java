@@ -0,0 +1,342 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import java.util.Collection;
+import org.teavm.classlib.java.lang.TRunnable;
+import org.teavm.classlib.java.lang.TThread;
+
+public abstract class TForkJoinTask<V> implements TFuture<V> {
+    private static final int NEW = 0;
+    private static final int NORMAL = 1;
+    private static final int CANCELLED = 2;
+    private static final int EXCEPTIONAL = 3;
+    private int status;
+    private boolean running;
+    private Throwable exception;
+    private int waiterCount;
+
+    public final TForkJoinTask<V> fork() {
+        // forked subtasks are usually joined right away, so instead of passing task to another worker,
+        // execute it right away
+        doExec();
+        return this;
+    }
+
+    public final V join() {
+        awaitDone();
+        reportException();
+        return getRawResult();
+    }
+
+    public final V invoke() {
+        return join();
+    }
+
+    public final void quietlyJoin() {
+        awaitDone();
+    }
+
+    public final void quietlyInvoke() {
+        awaitDone();
+    }
+
+    @Override
+    public final V get() throws InterruptedException, TExecutionException {
+        doExec();
+        if (status == NEW) {
+            synchronized (this) {
+                waiterCount++;
+                TFiberExecutorService.compensateBlockedWorker();
+                try {
+                    while (status == NEW) {
+                        wait();
+                    }
+                } finally {
+                    waiterCount--;
+                }
+            }
+        }
+        return reportForGet();
+    }
+
+    @Override
+    public final V get(long timeout, TTimeUnit unit) throws InterruptedException, TExecutionException,
+            TTimeoutException {
+        doExec();
+        if (status == NEW) {
+            long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+            synchronized (this) {
+                waiterCount++;
+                TFiberExecutorService.compensateBlockedWorker();
+                try {
+                    while (status == NEW) {
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0) {
+                            throw new TTimeoutException();
+                        }
+                        wait(remaining);
+                    }
+                } finally {
+                    waiterCount--;
+                }
+            }
+        }
+        return reportForGet();
+    }
+
+    private V reportForGet() throws TExecutionException {
+        if (status == CANCELLED) {
+            throw new TCancellationException();
+        }
+        if (status == EXCEPTIONAL) {
+            throw new TExecutionException(exception);
+        }
+        return getRawResult();
+    }
+
+    public static void invokeAll(TForkJoinTask<?> t1, TForkJoinTask<?> t2) {
+        t1.doExec();
+        t2.doExec();
+        t1.awaitDone();
+        t2.awaitDone();
+        t1.reportException();
+        t2.reportException();
+    }
+
+    public static void invokeAll(TForkJoinTask<?>... tasks) {
+        for (var task : tasks) {
+            task.doExec();
+        }
+        for (var task : tasks) {
+            task.awaitDone();
+        }
+        for (var task : tasks) {
+            task.reportException();
+        }
+    }
+
+    public static <T extends TForkJoinTask<?>> Collection<T> invokeAll(Collection<T> tasks) {
+        for (TForkJoinTask<?> task : tasks) {
+            task.doExec();
+        }
+        for (TForkJoinTask<?> task : tasks) {
+            task.awaitDone();
+        }
+        for (TForkJoinTask<?> task : tasks) {
+            task.reportException();
+        }
+        return tasks;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (status == NEW) {
+            finish(CANCELLED);
+        }
+        return status == CANCELLED;
+    }
+
+    @Override
+    public final boolean isDone() {
+        return status != NEW;
+    }
+
+    @Override
+    public final boolean isCancelled() {
+        return status == CANCELLED;
+    }
+
+    public final boolean isCompletedAbnormally() {
+        return status == CANCELLED || status == EXCEPTIONAL;
+    }
+
+    public final boolean isCompletedNormally() {
+        return status == NORMAL;
+    }
+
+    public final Throwable getException() {
+        switch (status) {
+            case CANCELLED:
+                return new TCancellationException();
+            case EXCEPTIONAL:
+                return exception;
+            default:
+                return null;
+        }
+    }
+
+    public void complete(V value) {
+        setRawResult(value);
+        finish(NORMAL);
+    }
+
+    public void completeExceptionally(Throwable ex) {
+        if (status == NEW) {
+            exception = ex;
+            finish(EXCEPTIONAL);
+        }
+    }
+
+    public final void quietlyComplete() {
+        finish(NORMAL);
+    }
+
+    public void reinitialize() {
+        status = NEW;
+        exception = null;
+    }
+
+    public final boolean tryUnfork() {
+        return false;
+    }
+
+    public static TForkJoinPool getPool() {
+        return TForkJoinPool.commonPool();
+    }
+
+    public static boolean inForkJoinPool() {
+        return false;
+    }
+
+    public static TForkJoinTask<?> adapt(TRunnable runnable) {
+        return new AdaptedCallable<>(TExecutors.callable(runnable, null));
+    }
+
+    public static <T> TForkJoinTask<T> adapt(TRunnable runnable, T result) {
+        return new AdaptedCallable<>(TExecutors.callable(runnable, result));
+    }
+
+    public static <T> TForkJoinTask<T> adapt(TCallable<? extends T> callable) {
+        return new AdaptedCallable<>(callable);
+    }
+
+    public abstract V getRawResult();
+
+    protected abstract void setRawResult(V value);
+
+    protected abstract boolean exec();
+
+    final void doExec() {
+        if (status != NEW || running) {
+            return;
+        }
+        running = true;
+        boolean completed;
+        try {
+            completed = exec();
+        } catch (Throwable e) {
+            completeExceptionally(e);
+            return;
+        } finally {
+            running = false;
+        }
+        if (completed) {
+            finish(NORMAL);
+        }
+    }
+
+    private void awaitDone() {
+        doExec();
+        if (status != NEW) {
+            return;
+        }
+        // task is either running in another thread or waits to be completed explicitly,
+        // join is not interruptible, so remember interruption and restore it afterwards
+        boolean interrupted = false;
+        synchronized (this) {
+            waiterCount++;
+            TFiberExecutorService.compensateBlockedWorker();
+            try {
+                while (status == NEW) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                waiterCount--;
+            }
+        }
+        if (interrupted) {
+            TThread.currentThread().interrupt();
+        }
+    }
+
+    private void finish(int newStatus) {
+        if (status != NEW) {
+            return;
+        }
+        status = newStatus;
+        if (waiterCount > 0) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    private void reportException() {
+        switch (status) {
+            case CANCELLED:
+                throw new TCancellationException();
+            case EXCEPTIONAL:
+                if (exception instanceof RuntimeException) {
+                    throw (RuntimeException) exception;
+                }
+                if (exception instanceof Error) {
+                    throw (Error) exception;
+                }
+                throw new RuntimeException(exception);
+            default:
+                break;
+        }
+    }
+
+    static final class AdaptedCallable<T> extends TForkJoinTask<T> {
+        private final TCallable<? extends T> callable;
+        private T result;
+
+        AdaptedCallable(TCallable<? extends T> callable) {
+            if (callable == null) {
+                throw new NullPointerException();
+            }
+            this.callable = callable;
+        }
+
+        @Override
+        public T getRawResult() {
+            return result;
+        }
+
+        @Override
+        protected void setRawResult(T value) {
+            result = value;
+        }
+
+        @Override
+        protected boolean exec() {
+            try {
+                result = callable.call();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import org.teavm.classlib.java.lang.TRunnable;
+import org.teavm.classlib.java.lang.TThread;
+
+public class TFutureTask<V> implements TRunnableFuture<V> {
+    private static final int NEW = 0;
+    private static final int NORMAL = 1;
+    private static final int EXCEPTIONAL = 2;
+    private static final int CANCELLED = 3;
+    private TCallable<V> callable;
+    private int state;
+    private Object outcome;
+    private TThread runner;
+    private int waiterCount;
+
+    public TFutureTask(TCallable<V> callable) {
+        if (callable == null) {
+            throw new NullPointerException();
+        }
+        this.callable = callable;
+    }
+
+    public TFutureTask(TRunnable runnable, V result) {
+        this(TExecutors.callable(runnable, result));
+    }
+
+    @Override
+    public void run() {
+        if (state != NEW || runner != null) {
+            return;
+        }
+        runner = TThread.currentThread();
+        try {
+            V result;
+            try {
+                result = callable.call();
+            } catch (Throwable e) {
+                setException(e);
+                return;
+            }
+            set(result);
+        } finally {
+            runner = null;
+        }
+    }
+
+    protected boolean runAndReset() {
+        if (state != NEW || runner != null) {
+            return false;
+        }
+        runner = TThread.currentThread();
+        try {
+            callable.call();
+        } catch (Throwable e) {
+            setException(e);
+        } finally {
+            runner = null;
+        }
+        return state == NEW;
+    }
+
+    protected void set(V v) {
+        if (state == NEW) {
+            outcome = v;
+            finish(NORMAL);
+        }
+    }
+
+    protected void setException(Throwable t) {
+        if (state == NEW) {
+            outcome = t;
+            finish(EXCEPTIONAL);
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (state != NEW) {
+            return false;
+        }
+        if (mayInterruptIfRunning && runner != null) {
+            runner.interrupt();
+        }
+        finish(CANCELLED);
+        return true;
+    }
+
+    protected void done() {
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return state == CANCELLED;
+    }
+
+    @Override
+    public boolean isDone() {
+        return state != NEW;
+    }
+
+    @Override
+    public V get() throws InterruptedException, TExecutionException {
+        if (state == NEW) {
+            synchronized (this) {
+                waiterCount++;
+                TFiberExecutorService.compensateBlockedWorker();
+                try {
+                    while (state == NEW) {
+                        wait();
+                    }
+                } finally {
+                    waiterCount--;
+                }
+            }
+        }
+        return report();
+    }
+
+    @Override
+    public V get(long timeout, TTimeUnit unit) throws InterruptedException, TExecutionException,
+            TTimeoutException {
+        if (state == NEW) {
+            long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+            synchronized (this) {
+                waiterCount++;
+                TFiberExecutorService.compensateBlockedWorker();
+                try {
+                    while (state == NEW) {
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0) {
+                            throw new TTimeoutException();
+                        }
+                        wait(remaining);
+                    }
+                } finally {
+                    waiterCount--;
+                }
+            }
+        }
+        return report();
+    }
+
+    @SuppressWarnings("unchecked")
+    private V report() throws TExecutionException {
+        switch (state) {
+            case NORMAL:
+                return (V) outcome;
+            case CANCELLED:
+                throw new TCancellationException();
+            default:
+                throw new TExecutionException((Throwable) outcome);
+        }
+    }
+
+    private void finish(int newState) {
+        state = newState;
+        callable = null;
+        if (waiterCount > 0) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+        done();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import java.util.PriorityQueue;
+import org.teavm.classlib.PlatformDetector;
+import org.teavm.classlib.java.lang.TRunnable;
+import org.teavm.classlib.java.lang.TThread;
+import org.teavm.platform.Platform;
+import org.teavm.platform.PlatformRunnable;
+import org.teavm.runtime.EventQueue;
+
+/**
+ * <p>Keeps delayed actions of executors and completable futures in a single priority queue, so that only
+ * the earliest of them occupies a platform timer. This way thousands of pending timeouts or scheduled tasks
+ * cost as much as one timer, and re-arming happens only when the earliest deadline changes.</p>
+ *
+ * <p>Due actions are invoked by a short-lived thread started from the timer event. They should not block,
+ * since they delay the actions that follow them. Normally they just pass a task to an executor.</p>
+ */
+final class TTimerQueue {
+    private static final PriorityQueue<Timer> queue = new PriorityQueue<>();
+    private static long nextSequence;
+    private static Tick tick;
+
+    private TTimerQueue() {
+    }
+
+    static Timer schedule(TRunnable action, long time) {
+        var timer = new Timer(action, time, nextSequence++);
+        queue.add(timer);
+        if (queue.peek() == timer) {
+            arm();
+        }
+        return timer;
+    }
+
+    private static void arm() {
+        Timer head = queue.peek();
+        if (tick != null) {
+            if (head != null && tick.time == head.time) {
+                return;
+            }
+            tick.cancel();
+            tick = null;
+        }
+        if (head != null) {
+            tick = new Tick(head.time);
+        }
+    }
+
+    private static void fire() {
+        tick = null;
+        long now = System.currentTimeMillis();
+        while (!queue.isEmpty() && queue.peek().time <= now) {
+            Timer timer = queue.poll();
+            timer.action.run();
+        }
+        arm();
+    }
+
+    static final class Timer implements Comparable<Timer> {
+        final TRunnable action;
+        final long time;
+        private final long sequence;
+
+        Timer(TRunnable action, long time, long sequence) {
+            this.action = action;
+            this.time = time;
+            this.sequence = sequence;
+        }
+
+        void cancel() {
+            boolean wasHead = queue.peek() == this;
+            if (queue.remove(this) && wasHead) {
+                arm();
+            }
+        }
+
+        @Override
+        public int compareTo(Timer o) {
+            int result = Long.compare(time, o.time);
+            return result != 0 ? result : Long.compare(sequence, o.sequence);
+        }
+    }
+
+    static final class Tick implements EventQueue.Event, PlatformRunnable {
+        final long time;
+        private final int id;
+        private boolean cancelled;
+
+        Tick(long time) {
+            this.time = time;
+            if (PlatformDetector.isLowLevel() || PlatformDetector.isWebAssemblyGC()) {
+                id = EventQueue.offer(this, time);
+            } else {
+                long delay = Math.max(0, time - System.currentTimeMillis());
+                id = Platform.schedule(this, (int) Math.min(delay, Integer.MAX_VALUE));
+            }
+        }
+
+        void cancel() {
+            // a killed event may still come on some platforms, so ignore it explicitly
+            cancelled = true;
+            if (PlatformDetector.isLowLevel() || PlatformDetector.isWebAssemblyGC()) {
+                EventQueue.kill(id);
+            } else {
+                Platform.killSchedule(id);
+            }
+        }
+
+        @Override
+        public void run() {
+            // events come outside of any thread, while actions may start workers and wake up threads
+            // that wait for futures, so they are run in a separate thread, like TTimer does
+            new TThread(() -> {
+                if (!cancelled) {
+                    fire();
+                }
+            }).start();
+        }
+    }
+}
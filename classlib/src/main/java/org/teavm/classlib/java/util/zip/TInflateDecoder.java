@@ -0,0 +1,705 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.zip;
+
+import java.util.Arrays;
+
+/**
+ * <p>Streaming decoder of deflate format (RFC 1951), optionally wrapped in zlib format (RFC 1950).</p>
+ *
+ * <p>Huffman codes are decoded by a lookup table indexed by the next few bits of input, only codes longer
+ * than the table index are decoded bit by bit, which is rare, since long codes are assigned to rare symbols.
+ * Input bits are kept in a 32-bit buffer, which is refilled by whole bytes. Decoder can stop at any point
+ * when it runs out of input or output space and resume after the next call.</p>
+ */
+final class TInflateDecoder {
+    private static final int WINDOW_SIZE = 1 << 15;
+    private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+    private static final int ADLER_BASE = 65521;
+    // largest n such that 255 * n * (n + 1) / 2 + (n + 1) * (ADLER_BASE - 1) fits into signed int
+    private static final int ADLER_CHUNK = 3854;
+    private static final int LITERAL_ROOT_BITS = 10;
+    private static final int DISTANCE_ROOT_BITS = 8;
+    private static final int CODE_LENGTH_ROOT_BITS = 7;
+    private static final int MAX_BITS = 15;
+
+    private static final int HEADER = 0;
+    private static final int DICTIONARY_ID = 1;
+    private static final int DICTIONARY = 2;
+    private static final int BLOCK = 3;
+    private static final int STORED = 4;
+    private static final int COPY_STORED = 5;
+    private static final int TABLE = 6;
+    private static final int CODE_LENGTHS = 7;
+    private static final int LENGTHS = 8;
+    private static final int CODES = 9;
+    private static final int DISTANCE = 10;
+    private static final int DISTANCE_BITS = 11;
+    private static final int COPY = 12;
+    private static final int CHECK = 13;
+    private static final int DONE = 14;
+
+    private static final int[] LENGTH_BASE = { 3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43, 51,
+            59, 67, 83, 99, 115, 131, 163, 195, 227, 258 };
+    private static final int[] LENGTH_EXTRA = { 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4,
+            4, 5, 5, 5, 5, 0 };
+    private static final int[] DISTANCE_BASE = { 1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257, 385,
+            513, 769, 1025, 1537, 2049, 3073, 4097, 6145, 8193, 12289, 16385, 24577 };
+    private static final int[] DISTANCE_EXTRA = { 0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9,
+            10, 10, 11, 11, 12, 12, 13, 13 };
+    private static final int[] CODE_LENGTH_ORDER = { 16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1,
+            15 };
+    private static Huffman fixedLiterals;
+    private static Huffman fixedDistances;
+
+    private final boolean nowrap;
+    private int mode;
+    private boolean lastBlock;
+
+    private byte[] input = new byte[0];
+    private int inputStart;
+    private int inputPos;
+    private int inputEnd;
+    private int bitBuffer;
+    private int bitCount;
+    long totalIn;
+    long totalOut;
+
+    private final byte[] window = new byte[WINDOW_SIZE];
+    private int windowPos;
+    private int historySize;
+
+    private int adlerLow = 1;
+    private int adlerHigh;
+    private int dictionaryId;
+
+    private int storedRemaining;
+    private int literalCount;
+    private int distanceCount;
+    private int codeLengthCount;
+    private int lengthIndex;
+    private final byte[] lengths = new byte[286 + 30];
+    private final Huffman codeLengthTree = new Huffman(CODE_LENGTH_ROOT_BITS, 19);
+    private final Huffman dynamicLiterals = new Huffman(LITERAL_ROOT_BITS, 288);
+    private final Huffman dynamicDistances = new Huffman(DISTANCE_ROOT_BITS, 32);
+    private Huffman literals;
+    private Huffman distances;
+    private int copyLength;
+    private int copyDistance;
+    private int distanceExtra;
+    private int adlerStart;
+    private boolean outputFull;
+
+    TInflateDecoder(boolean nowrap) {
+        this.nowrap = nowrap;
+        reset();
+    }
+
+    void reset() {
+        mode = nowrap ? BLOCK : HEADER;
+        lastBlock = false;
+        input = new byte[0];
+        inputStart = 0;
+        inputPos = 0;
+        inputEnd = 0;
+        bitBuffer = 0;
+        bitCount = 0;
+        totalIn = 0;
+        totalOut = 0;
+        windowPos = 0;
+        historySize = 0;
+        adlerLow = 1;
+        adlerHigh = 0;
+        dictionaryId = 0;
+    }
+
+    void setInput(byte[] buf, int off, int len) {
+        input = buf;
+        inputStart = off;
+        inputPos = off;
+        inputEnd = off + len;
+    }
+
+    int getRemaining() {
+        return inputEnd - inputPos;
+    }
+
+    boolean finished() {
+        return mode == DONE;
+    }
+
+    boolean needsDictionary() {
+        return mode == DICTIONARY;
+    }
+
+    int getAdler() {
+        return mode == DICTIONARY ? dictionaryId : (adlerHigh << 16) | adlerLow;
+    }
+
+    void setDictionary(byte[] buf, int off, int len) {
+        if (mode == DICTIONARY) {
+            int savedLow = adlerLow;
+            int savedHigh = adlerHigh;
+            adlerLow = 1;
+            adlerHigh = 0;
+            updateAdler(buf, off, len);
+            int adler = (adlerHigh << 16) | adlerLow;
+            adlerLow = savedLow;
+            adlerHigh = savedHigh;
+            if (adler != dictionaryId) {
+                throw new IllegalArgumentException("Wrong dictionary");
+            }
+            mode = BLOCK;
+        } else if (!nowrap || mode != BLOCK || totalOut != 0) {
+            throw new IllegalArgumentException();
+        }
+        appendToWindow(buf, off, len);
+    }
+
+    int inflate(byte[] out, int off, int len) throws TDataFormatException {
+        adlerStart = off;
+        outputFull = false;
+        int outPos = decode(out, off, off + len);
+        if (outputFull) {
+            returnUnusedBytes();
+        }
+        if (!nowrap) {
+            updateAdler(out, adlerStart, outPos - adlerStart);
+        }
+        int produced = outPos - off;
+        appendToWindow(out, off, produced);
+        totalOut += produced;
+        return produced;
+    }
+
+    private int decode(byte[] out, int outStart, int outEnd) throws TDataFormatException {
+        int outPos = outStart;
+        loop:
+        while (true) {
+            switch (mode) {
+                case HEADER: {
+                    if (!need(16)) {
+                        break loop;
+                    }
+                    int header = ((bitBuffer & 0xFF) << 8) | ((bitBuffer >>> 8) & 0xFF);
+                    if (header % 31 != 0) {
+                        throw new TDataFormatException("incorrect header check");
+                    }
+                    if ((header & 0x0F00) != 0x0800) {
+                        throw new TDataFormatException("unknown compression method");
+                    }
+                    if ((header >>> 12) > 7) {
+                        throw new TDataFormatException("invalid window size");
+                    }
+                    dropBits(16);
+                    mode = (header & 0x20) != 0 ? DICTIONARY_ID : BLOCK;
+                    break;
+                }
+                case DICTIONARY_ID:
+                    if (!need(32)) {
+                        break loop;
+                    }
+                    dictionaryId = Integer.reverseBytes(bitBuffer);
+                    bitBuffer = 0;
+                    bitCount = 0;
+                    mode = DICTIONARY;
+                    break;
+                case DICTIONARY:
+                    break loop;
+                case BLOCK:
+                    if (lastBlock) {
+                        mode = nowrap ? DONE : CHECK;
+                        break;
+                    }
+                    if (!need(3)) {
+                        break loop;
+                    }
+                    lastBlock = (bitBuffer & 1) != 0;
+                    switch ((bitBuffer >>> 1) & 3) {
+                        case 0:
+                            mode = STORED;
+                            break;
+                        case 1:
+                            ensureFixedTables();
+                            literals = fixedLiterals;
+                            distances = fixedDistances;
+                            mode = CODES;
+                            break;
+                        case 2:
+                            mode = TABLE;
+                            break;
+                        default:
+                            throw new TDataFormatException("invalid block type");
+                    }
+                    dropBits(3);
+                    break;
+                case STORED: {
+                    dropBits(bitCount & 7);
+                    if (!need(32)) {
+                        break loop;
+                    }
+                    int length = bitBuffer & 0xFFFF;
+                    if (length != (~bitBuffer >>> 16)) {
+                        throw new TDataFormatException("invalid stored block lengths");
+                    }
+                    bitBuffer = 0;
+                    bitCount = 0;
+                    storedRemaining = length;
+                    mode = COPY_STORED;
+                    break;
+                }
+                case COPY_STORED: {
+                    int count = Math.min(storedRemaining, Math.min(inputEnd - inputPos, outEnd - outPos));
+                    System.arraycopy(input, inputPos, out, outPos, count);
+                    inputPos += count;
+                    totalIn += count;
+                    outPos += count;
+                    storedRemaining -= count;
+                    if (storedRemaining > 0) {
+                        break loop;
+                    }
+                    mode = BLOCK;
+                    break;
+                }
+                case TABLE:
+                    if (!need(14)) {
+                        break loop;
+                    }
+                    literalCount = (bitBuffer & 31) + 257;
+                    distanceCount = ((bitBuffer >>> 5) & 31) + 1;
+                    codeLengthCount = ((bitBuffer >>> 10) & 15) + 4;
+                    dropBits(14);
+                    if (literalCount > 286 || distanceCount > 30) {
+                        throw new TDataFormatException("too many length or distance symbols");
+                    }
+                    Arrays.fill(lengths, (byte) 0);
+                    lengthIndex = 0;
+                    mode = CODE_LENGTHS;
+                    break;
+                case CODE_LENGTHS:
+                    while (lengthIndex < codeLengthCount) {
+                        if (!need(3)) {
+                            break loop;
+                        }
+                        lengths[CODE_LENGTH_ORDER[lengthIndex++]] = (byte) (bitBuffer & 7);
+                        dropBits(3);
+                    }
+                    if (codeLengthTree.build(lengths, 0, 19) != 0) {
+                        throw new TDataFormatException("invalid code lengths set");
+                    }
+                    Arrays.fill(lengths, 0, 19, (byte) 0);
+                    lengthIndex = 0;
+                    mode = LENGTHS;
+                    break;
+                case LENGTHS:
+                    if (!readLengths()) {
+                        break loop;
+                    }
+                    buildDynamicTables();
+                    mode = CODES;
+                    break;
+                case CODES:
+                    while (true) {
+                        // make sure buffer holds the longest length code along with its extra bits
+                        if (bitCount < MAX_BITS + 5) {
+                            fill();
+                        }
+                        int entry = peek(literals);
+                        if (entry < 0) {
+                            if (entry == -1) {
+                                break loop;
+                            }
+                            throw new TDataFormatException("invalid literal/length code");
+                        }
+                        int symbol = entry >>> 4;
+                        int codeLength = entry & 15;
+                        if (symbol < 256) {
+                            if (outPos == outEnd) {
+                                outputFull = true;
+                                break loop;
+                            }
+                            bitBuffer >>>= codeLength;
+                            bitCount -= codeLength;
+                            out[outPos++] = (byte) symbol;
+                            continue;
+                        }
+                        if (symbol == 256) {
+                            dropBits(codeLength);
+                            mode = BLOCK;
+                            break;
+                        }
+                        symbol -= 257;
+                        if (symbol >= 29) {
+                            throw new TDataFormatException("invalid literal/length code");
+                        }
+                        int extra = LENGTH_EXTRA[symbol];
+                        if (codeLength + extra > bitCount) {
+                            break loop;
+                        }
+                        bitBuffer >>>= codeLength;
+                        copyLength = LENGTH_BASE[symbol] + (bitBuffer & ((1 << extra) - 1));
+                        bitBuffer >>>= extra;
+                        bitCount -= codeLength + extra;
+                        mode = DISTANCE;
+                        break;
+                    }
+                    break;
+                case DISTANCE: {
+                    if (bitCount < MAX_BITS) {
+                        fill();
+                    }
+                    int entry = peek(distances);
+                    if (entry < 0) {
+                        if (entry == -1) {
+                            break loop;
+                        }
+                        throw new TDataFormatException("invalid distance code");
+                    }
+                    int symbol = entry >>> 4;
+                    int codeLength = entry & 15;
+                    if (symbol >= 30) {
+                        throw new TDataFormatException("invalid distance code");
+                    }
+                    dropBits(codeLength);
+                    copyDistance = DISTANCE_BASE[symbol];
+                    distanceExtra = DISTANCE_EXTRA[symbol];
+                    mode = DISTANCE_BITS;
+                    break;
+                }
+                case DISTANCE_BITS:
+                    // code and extra bits take up to 28 bits, which buffer can't always hold at once,
+                    // so read them separately
+                    if (!need(distanceExtra)) {
+                        break loop;
+                    }
+                    copyDistance += bitBuffer & ((1 << distanceExtra) - 1);
+                    dropBits(distanceExtra);
+                    if (copyDistance > Math.min(WINDOW_SIZE, historySize + outPos - outStart)) {
+                        throw new TDataFormatException("invalid distance too far back");
+                    }
+                    mode = COPY;
+                    break;
+                case COPY:
+                    outPos = copy(out, outStart, outPos, outEnd);
+                    if (copyLength > 0) {
+                        outputFull = true;
+                        break loop;
+                    }
+                    mode = CODES;
+                    break;
+                case CHECK: {
+                    dropBits(bitCount & 7);
+                    if (!need(32)) {
+                        break loop;
+                    }
+                    updateAdler(out, adlerStart, outPos - adlerStart);
+                    adlerStart = outPos;
+                    if (Integer.reverseBytes(bitBuffer) != ((adlerHigh << 16) | adlerLow)) {
+                        throw new TDataFormatException("incorrect data check");
+                    }
+                    bitBuffer = 0;
+                    bitCount = 0;
+                    mode = DONE;
+                    break;
+                }
+                case DONE:
+                    returnUnusedBytes();
+                    bitBuffer = 0;
+                    bitCount = 0;
+                    break loop;
+            }
+        }
+        return outPos;
+    }
+
+    private int copy(byte[] out, int outStart, int outPos, int outEnd) {
+        int count = Math.min(copyLength, outEnd - outPos);
+        copyLength -= count;
+        int distance = copyDistance;
+        int end = outPos + count;
+        int source = outPos - distance;
+        if (source < outStart) {
+            int windowIndex = (windowPos + source - outStart) & WINDOW_MASK;
+            while (source < outStart && outPos < end) {
+                out[outPos++] = window[windowIndex];
+                windowIndex = (windowIndex + 1) & WINDOW_MASK;
+                source++;
+            }
+        }
+        if (outPos == end) {
+            return outPos;
+        }
+        if (distance >= end - outPos) {
+            System.arraycopy(out, outPos - distance, out, outPos, end - outPos);
+            outPos = end;
+        } else {
+            while (outPos < end) {
+                out[outPos] = out[outPos - distance];
+                outPos++;
+            }
+        }
+        return outPos;
+    }
+
+    private boolean readLengths() throws TDataFormatException {
+        int total = literalCount + distanceCount;
+        while (lengthIndex < total) {
+            fill();
+            int entry = peek(codeLengthTree);
+            if (entry < 0) {
+                if (entry == -1) {
+                    return false;
+                }
+                throw new TDataFormatException("invalid code lengths set");
+            }
+            int symbol = entry >>> 4;
+            int codeLength = entry & 15;
+            if (symbol < 16) {
+                dropBits(codeLength);
+                lengths[lengthIndex++] = (byte) symbol;
+                continue;
+            }
+            int extra;
+            int base;
+            switch (symbol) {
+                case 16:
+                    extra = 2;
+                    base = 3;
+                    break;
+                case 17:
+                    extra = 3;
+                    base = 3;
+                    break;
+                default:
+                    extra = 7;
+                    base = 11;
+                    break;
+            }
+            if (codeLength + extra > bitCount) {
+                return false;
+            }
+            dropBits(codeLength);
+            int repeat = base + (bitBuffer & ((1 << extra) - 1));
+            dropBits(extra);
+            byte value = 0;
+            if (symbol == 16) {
+                if (lengthIndex == 0) {
+                    throw new TDataFormatException("invalid bit length repeat");
+                }
+                value = lengths[lengthIndex - 1];
+            }
+            if (lengthIndex + repeat > total) {
+                throw new TDataFormatException("invalid bit length repeat");
+            }
+            Arrays.fill(lengths, lengthIndex, lengthIndex + repeat, value);
+            lengthIndex += repeat;
+        }
+        return true;
+    }
+
+    private void buildDynamicTables() throws TDataFormatException {
+        if (lengths[256] == 0) {
+            throw new TDataFormatException("invalid code -- missing end-of-block");
+        }
+        int result = dynamicLiterals.build(lengths, 0, literalCount);
+        if (result < 0 || (result > 0 && dynamicLiterals.maxLength > 1)) {
+            throw new TDataFormatException("invalid literal/lengths set");
+        }
+        result = dynamicDistances.build(lengths, literalCount, distanceCount);
+        if (result < 0 || (result > 0 && dynamicDistances.maxLength > 1)) {
+            throw new TDataFormatException("invalid distances set");
+        }
+        literals = dynamicLiterals;
+        distances = dynamicDistances;
+    }
+
+    private static void ensureFixedTables() {
+        if (fixedLiterals == null) {
+            var lengths = new byte[288];
+            Arrays.fill(lengths, 0, 144, (byte) 8);
+            Arrays.fill(lengths, 144, 256, (byte) 9);
+            Arrays.fill(lengths, 256, 280, (byte) 7);
+            Arrays.fill(lengths, 280, 288, (byte) 8);
+            fixedLiterals = new Huffman(LITERAL_ROOT_BITS, 288);
+            fixedLiterals.build(lengths, 0, 288);
+            Arrays.fill(lengths, 0, 32, (byte) 5);
+            fixedDistances = new Huffman(DISTANCE_ROOT_BITS, 32);
+            fixedDistances.build(lengths, 0, 32);
+        }
+    }
+
+    /**
+     * Returns symbol and length of the next code packed as {@code symbol << 4 | length}, -1 when there's
+     * not enough bits in buffer to decode the code and -2 when bits don't form a valid code.
+     */
+    private int peek(Huffman tree) {
+        int entry = tree.table[bitBuffer & tree.mask];
+        int length = entry & 15;
+        if (length != 0) {
+            return length <= bitCount ? entry : -1;
+        }
+        int code = 0;
+        int first = 0;
+        int index = 0;
+        for (int i = 1; i <= MAX_BITS; ++i) {
+            if (i > bitCount) {
+                return -1;
+            }
+            code |= (bitBuffer >>> (i - 1)) & 1;
+            int count = tree.counts[i];
+            if (code - first < count) {
+                return (tree.symbols[index + code - first] << 4) | i;
+            }
+            index += count;
+            first = (first + count) << 1;
+            code <<= 1;
+        }
+        return -2;
+    }
+
+    private boolean need(int bits) {
+        if (bitCount < bits) {
+            fill();
+        }
+        return bitCount >= bits;
+    }
+
+    private void fill() {
+        while (bitCount <= 24 && inputPos < inputEnd) {
+            bitBuffer |= (input[inputPos++] & 0xFF) << bitCount;
+            bitCount += 8;
+            totalIn++;
+        }
+    }
+
+    /**
+     * Gives back whole bytes that were read ahead, so that input stays available to the caller both
+     * when decoder waits for output space and after the end of stream. When decoder stops because of lack
+     * of input, all buffered bits belong to the current code and must be kept.
+     */
+    private void returnUnusedBytes() {
+        int unused = Math.min(bitCount >>> 3, inputPos - inputStart);
+        if (unused > 0) {
+            inputPos -= unused;
+            totalIn -= unused;
+            bitCount -= unused * 8;
+            bitBuffer &= (1 << bitCount) - 1;
+        }
+    }
+
+    private void dropBits(int bits) {
+        bitBuffer >>>= bits;
+        bitCount -= bits;
+    }
+
+    private void appendToWindow(byte[] data, int off, int len) {
+        historySize = Math.min(WINDOW_SIZE, historySize + len);
+        if (len > WINDOW_SIZE) {
+            off += len - WINDOW_SIZE;
+            len = WINDOW_SIZE;
+        }
+        int first = Math.min(len, WINDOW_SIZE - windowPos);
+        System.arraycopy(data, off, window, windowPos, first);
+        System.arraycopy(data, off + first, window, 0, len - first);
+        windowPos = (windowPos + len) & WINDOW_MASK;
+    }
+
+    private void updateAdler(byte[] data, int off, int len) {
+        int low = adlerLow;
+        int high = adlerHigh;
+        while (len > 0) {
+            int chunk = Math.min(len, ADLER_CHUNK);
+            len -= chunk;
+            while (chunk-- > 0) {
+                low += data[off++] & 0xFF;
+                high += low;
+            }
+            low %= ADLER_BASE;
+            high %= ADLER_BASE;
+        }
+        adlerLow = low;
+        adlerHigh = high;
+    }
+
+    private static final class Huffman {
+        final int mask;
+        final int[] table;
+        final short[] counts = new short[MAX_BITS + 1];
+        final short[] symbols;
+        private final int rootBits;
+        private final int[] nextCode = new int[MAX_BITS + 1];
+        int maxLength;
+
+        Huffman(int rootBits, int maxSymbols) {
+            this.rootBits = rootBits;
+            mask = (1 << rootBits) - 1;
+            table = new int[1 << rootBits];
+            symbols = new short[maxSymbols];
+        }
+
+        /**
+         * Builds decoding table from code lengths. Returns negative value when lengths are over-subscribed,
+         * zero when they form a complete code and number of missing codes (in units of longest possible code)
+         * when code is incomplete.
+         */
+        int build(byte[] lengths, int offset, int count) {
+            Arrays.fill(counts, (short) 0);
+            for (int i = 0; i < count; ++i) {
+                counts[lengths[offset + i]]++;
+            }
+            counts[0] = 0;
+            maxLength = 0;
+            int left = 1;
+            for (int i = 1; i <= MAX_BITS; ++i) {
+                left <<= 1;
+                left -= counts[i];
+                if (left < 0) {
+                    return -1;
+                }
+                if (counts[i] != 0) {
+                    maxLength = i;
+                }
+            }
+
+            int code = 0;
+            for (int i = 1; i <= MAX_BITS; ++i) {
+                code = (code + counts[i - 1]) << 1;
+                nextCode[i] = code;
+            }
+            int[] symbolOffsets = new int[MAX_BITS + 2];
+            for (int i = 1; i <= MAX_BITS; ++i) {
+                symbolOffsets[i + 1] = symbolOffsets[i] + counts[i];
+            }
+
+            Arrays.fill(table, 0);
+            for (int i = 0; i < count; ++i) {
+                int length = lengths[offset + i];
+                if (length == 0) {
+                    continue;
+                }
+                symbols[symbolOffsets[length]++] = (short) i;
+                int reversed = Integer.reverse(nextCode[length]++) >>> (32 - length);
+                if (length <= rootBits) {
+                    int entry = (i << 4) | length;
+                    for (int j = reversed; j < table.length; j += 1 << length) {
+                        table[j] = entry;
+                    }
+                }
+            }
+            return left;
+        }
+    }
+}
@@ -16,82 +16,51 @@
 
 package org.teavm.classlib.java.util.zip;
 
-import com.jcraft.jzlib.GZIPException;
-import com.jcraft.jzlib.Inflater;
-import com.jcraft.jzlib.JZlib;
-import java.util.Arrays;
 import org.teavm.classlib.java.lang.TAutoCloseable;
 
 public class TInflater implements TAutoCloseable {
-    private boolean finished;
-    private boolean nowrap;
-    int inLength;
-    int inRead;
-    private boolean needsDictionary;
-    private Inflater impl;
+    private TInflateDecoder decoder;
 
     public TInflater() {
         this(false);
     }
 
     public TInflater(boolean noHeader) {
-        nowrap = noHeader;
-        try {
-            impl = new Inflater(noHeader);
-        } catch (GZIPException e) {
-            // Do nothing
-        }
+        decoder = new TInflateDecoder(noHeader);
     }
 
     public void end() {
-        inRead = 0;
-        inLength = 0;
-        impl = null;
+        decoder = null;
     }
 
     public boolean finished() {
-        return finished;
+        return decoder != null && decoder.finished();
     }
 
     public int getAdler() {
-        if (impl == null) {
-            throw new IllegalStateException();
-        }
-        return (int) impl.getAdler();
+        return ensureDecoder().getAdler();
     }
 
-    private native int getAdlerImpl(long handle);
-
     public long getBytesRead() {
-        if (impl == null) {
-            throw new IllegalStateException();
-        }
-        return impl.getTotalIn();
+        return ensureDecoder().totalIn;
     }
 
     public long getBytesWritten() {
-        if (impl == null) {
-            throw new IllegalStateException();
-        }
-        return impl.getTotalOut();
+        return ensureDecoder().totalOut;
     }
 
     public int getRemaining() {
-        return inLength - inRead;
+        return decoder != null ? decoder.getRemaining() : 0;
     }
 
     public int getTotalIn() {
         return (int) getBytesRead();
     }
 
-    private native long getTotalInImpl(long handle);
-
     public int getTotalOut() {
         return (int) getBytesWritten();
     }
 
-    private native long getTotalOutImpl(long handle);
-
     public int inflate(byte[] buf) throws TDataFormatException {
         return inflate(buf, 0, buf.length);
     }
@@ -101,96 +70,59 @@ public class TInflater implements TAutoCloseable {
         if (off > buf.length || nbytes < 0 || off < 0 || buf.length - off < nbytes) {
             throw new ArrayIndexOutOfBoundsException();
         }
-
-        if (impl == null) {
-            throw new IllegalStateException();
-        }
-
-        long lastInSize = impl.total_in;
-        long lastOutSize = impl.total_out;
-        boolean neededDict = needsDictionary;
-        needsDictionary = false;
-        impl.setOutput(buf, off, nbytes);
-
-        int errCode = impl.inflate(0);
-        switch (errCode) {
-            case JZlib.Z_OK:
-                break;
-            case JZlib.Z_NEED_DICT:
-                needsDictionary = true;
-                break;
-            case JZlib.Z_STREAM_END:
-                finished = true;
-                break;
-            default:
-                throw new TDataFormatException("Error occurred: " + errCode);
-        }
-
-        if (needsDictionary && neededDict) {
-            throw new TDataFormatException();
-        }
-
-        inRead += impl.total_in - lastInSize;
-        return (int) (impl.total_out - lastOutSize);
+        return ensureDecoder().inflate(buf, off, nbytes);
     }
 
     public boolean needsDictionary() {
-        return needsDictionary;
+        return decoder != null && decoder.needsDictionary();
     }
 
     public boolean needsInput() {
-        return inRead == inLength;
+        return getRemaining() == 0;
     }
 
     public void reset() {
-        if (impl == null) {
+        if (decoder == null) {
             throw new NullPointerException();
         }
-        finished = false;
-        needsDictionary = false;
-        inLength = 0;
-        inRead = 0;
-        impl.init(nowrap);
+        decoder.reset();
     }
 
-    private native void resetImpl(long handle);
-
     public void setDictionary(byte[] buf) {
         setDictionary(buf, 0, buf.length);
     }
 
     public void setDictionary(byte[] buf, int off, int nbytes) {
-        if (impl == null) {
-            throw new IllegalStateException();
-        }
+        TInflateDecoder impl = ensureDecoder();
         // avoid int overflow, check null buf
         if (off <= buf.length && nbytes >= 0 && off >= 0 && buf.length - off >= nbytes) {
-            if (off > 0) {
-                buf = Arrays.copyOfRange(buf, off, buf.length);
-            }
-            impl.setDictionary(buf, nbytes);
+            impl.setDictionary(buf, off, nbytes);
         } else {
             throw new ArrayIndexOutOfBoundsException();
         }
     }
+
     public void setInput(byte[] buf) {
         setInput(buf, 0, buf.length);
     }
 
     public void setInput(byte[] buf, int off, int nbytes) {
-        if (impl == null) {
-            throw new IllegalStateException();
-        }
+        TInflateDecoder impl = ensureDecoder();
         // avoid int overflow, check null buf
         if (off <= buf.length && nbytes >= 0 && off >= 0 && buf.length - off >= nbytes) {
-            inRead = 0;
-            inLength = nbytes;
-            impl.setInput(buf, off, nbytes, false);
+            impl.setInput(buf, off, nbytes);
         } else {
             throw new ArrayIndexOutOfBoundsException();
         }
     }
 
+    private TInflateDecoder ensureDecoder() {
+        if (decoder == null) {
+            throw new IllegalStateException();
+        }
+        return decoder;
+    }
+
     @Override
     public void close() throws Exception {
         end();
@@ -0,0 +1,123 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.impl.regex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.Random;
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+public class RegexDfaCompilerTest {
+    private static final String[] ATOMS = { "a", "b", "c", "1", " ", "-", "\\.", "\\d", "\\w", "\\s", "\\D", "\\W",
+            "\\S", ".", "[abc]", "[^a-c]", "[a-c1]", "[\\d_]", "[^\\s]", "\\n", "\\u00e9" };
+    private static final String[] QUANTIFIERS = { "*", "+", "?", "{2}", "{1,3}", "{2,}", "*?", "+?", "??",
+            "{0,2}?" };
+    private static final char[] INPUT_CHARS = { 'a', 'b', 'c', '1', '9', ' ', '-', '.', '_', '\n', '\r', '\t',
+            '\u00e9', '\u2028', '\u0085', 'Z' };
+
+    @Test
+    public void matchesLikePattern() {
+        var random = new Random(1234);
+        int compiledCount = 0;
+        int patternCount = 5000;
+        for (int i = 0; i < patternCount; ++i) {
+            var regex = generatePattern(random, 3);
+            var automaton = RegexDfaCompiler.compile(regex);
+            if (automaton == null) {
+                continue;
+            }
+            ++compiledCount;
+            for (int j = 0; j < 40; ++j) {
+                var input = generateInput(random);
+                assertEquals("Pattern " + regex + " on input '" + input + "'", Pattern.matches(regex, input),
+                        CompiledRegex.matches(automaton, regex, input));
+            }
+        }
+        assertTrue("Too few patterns compiled: " + compiledCount, compiledCount > patternCount / 2);
+    }
+
+    @Test
+    public void matchesKnownPatterns() {
+        assertMatches("[a-z]+\\d{2,3}", "abc123", "abc1234", "123", "a12");
+        assertMatches("(a|b)*abb", "babb", "abba", "abb", "");
+        assertMatches("a.c", "abc", "a\nc", "a\rc", "a\u2028c");
+        assertMatches("\\w+@\\w+\\.com", "me@example.com", "me@example.org", "@example.com");
+        assertMatches("(ab){2,}?c?", "abab", "ababab", "ababc", "abc");
+        assertMatches("[^\\d\\s]*", "abc", "ab c", "", "a1");
+    }
+
+    @Test
+    public void supportsSurrogatesInInput() {
+        assertMatches("x.", "x\uD83D\uDE00", "x\uD83D", "xy");
+    }
+
+    @Test
+    public void givesUpOnUnsupportedConstructs() {
+        assertNull(RegexDfaCompiler.compile("^a"));
+        assertNull(RegexDfaCompiler.compile("a$"));
+        assertNull(RegexDfaCompiler.compile("(a)\\1"));
+        assertNull(RegexDfaCompiler.compile("a(?=b)b"));
+        assertNull(RegexDfaCompiler.compile("a*+"));
+        assertNull(RegexDfaCompiler.compile("(?i)a"));
+        assertNull(RegexDfaCompiler.compile("\\ba"));
+        assertNull(RegexDfaCompiler.compile("[a"));
+    }
+
+    private static void assertMatches(String regex, String... inputs) {
+        var automaton = RegexDfaCompiler.compile(regex);
+        assertNotNull(regex, automaton);
+        for (var input : inputs) {
+            assertEquals("Pattern " + regex + " on input '" + input + "'", Pattern.matches(regex, input),
+                    CompiledRegex.matches(automaton, regex, input));
+        }
+    }
+
+    private static String generatePattern(Random random, int depth) {
+        var sb = new StringBuilder();
+        int length = 1 + random.nextInt(4);
+        for (int i = 0; i < length; ++i) {
+            if (depth > 0 && random.nextInt(4) == 0) {
+                sb.append(random.nextBoolean() ? "(" : "(?:");
+                sb.append(generatePattern(random, depth - 1));
+                if (random.nextInt(3) == 0) {
+                    sb.append('|').append(generatePattern(random, depth - 1));
+                }
+                sb.append(')');
+            } else {
+                sb.append(ATOMS[random.nextInt(ATOMS.length)]);
+            }
+            if (random.nextInt(3) == 0) {
+                sb.append(QUANTIFIERS[random.nextInt(QUANTIFIERS.length)]);
+            }
+        }
+        if (depth == 3 && random.nextInt(5) == 0) {
+            sb.append('|').append(generatePattern(random, depth - 1));
+        }
+        return sb.toString();
+    }
+
+    private static String generateInput(Random random) {
+        var sb = new StringBuilder();
+        int length = random.nextInt(9);
+        for (int i = 0; i < length; ++i) {
+            sb.append(INPUT_CHARS[random.nextInt(INPUT_CHARS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.teavm.model.MethodReference;
+
+class Chunk {
+    private MethodReference splitPoint;
+    Set<MethodReference> methods = new LinkedHashSet<>();
+    Set<String> classes = new LinkedHashSet<>();
+    private Set<MethodReference> readonlyMethods = Collections.unmodifiableSet(methods);
+    private Set<String> readonlyClasses = Collections.unmodifiableSet(classes);
+
+    Chunk(MethodReference splitPoint) {
+        this.splitPoint = splitPoint;
+    }
+
+    /**
+     * Returns method that leads to this chunk, or {@code null} for the startup chunk.
+     */
+    MethodReference getSplitPoint() {
+        return splitPoint;
+    }
+
+    Set<MethodReference> getMethods() {
+        return readonlyMethods;
+    }
+
+    /**
+     * Returns classes all reachable methods of which belong to this chunk.
+     */
+    Set<String> getClasses() {
+        return readonlyClasses;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.teavm.callgraph.CallGraph;
+import org.teavm.common.DominatorTree;
+import org.teavm.common.Graph;
+import org.teavm.common.GraphBuilder;
+import org.teavm.common.GraphUtils;
+import org.teavm.dependency.DependencyInfo;
+import org.teavm.model.MethodReference;
+
+/**
+ * <p>Partitions reachable methods into chunks that are only needed after some method is called for the first
+ * time. A method belongs to the chunk of split point <i>S</i> if every call path from entry points to this method
+ * passes through <i>S</i>, i.e. <i>S</i> dominates it in the call graph. Methods that are never called from
+ * the program itself are considered entry points, since they can be called by runtime or by JavaScript code.</p>
+ *
+ * <p>Split points are chosen as topmost methods that dominate at least {@link #setMinChunkSize(int) given number}
+ * of methods.</p>
+ *
+ * <p>The JavaScript target does not emit chunks yet, it only reports them along with other statistics when
+ * {@code teavm.js.stats} system property is set, to estimate how much code could be loaded lazily.</p>
+ */
+class ChunkPartitioner {
+    private DependencyInfo dependency;
+    private int minChunkSize = 50;
+
+    ChunkPartitioner(DependencyInfo dependency) {
+        this.dependency = dependency;
+    }
+
+    void setMinChunkSize(int minChunkSize) {
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * Partitions reachable methods into chunks.
+     *
+     * @param entryPoints methods that are called when program starts.
+     * @return list of chunks, where the first chunk is the startup chunk.
+     */
+    List<Chunk> partition(Collection<MethodReference> entryPoints) {
+        CallGraph callGraph = dependency.getCallGraph();
+        var methods = new ArrayList<MethodReference>();
+        Map<MethodReference, Integer> indexes = new HashMap<>();
+        for (var method : dependency.getReachableMethods()) {
+            if (callGraph.getNode(method) != null) {
+                indexes.put(method, methods.size() + 1);
+                methods.add(method);
+            }
+        }
+
+        var graph = buildGraph(callGraph, methods, indexes, entryPoints);
+        var domTree = GraphUtils.buildDominatorTree(graph);
+        var nodes = IntStream.range(1, graph.size()).boxed()
+                .sorted(Comparator.comparingInt(domTree::levelOf))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        var splitPoints = findSplitPoints(graph.size(), domTree, nodes);
+
+        var chunkByNode = new int[graph.size()];
+        var chunks = new ArrayList<Chunk>();
+        chunks.add(new Chunk(null));
+        for (var node : nodes) {
+            if (splitPoints[node]) {
+                chunkByNode[node] = chunks.size();
+                chunks.add(new Chunk(methods.get(node - 1)));
+            } else {
+                chunkByNode[node] = chunkByNode[domTree.immediateDominatorOf(node)];
+            }
+        }
+
+        Map<String, Integer> chunkByClass = new HashMap<>();
+        for (int i = 0; i < methods.size(); ++i) {
+            var method = methods.get(i);
+            var chunk = chunkByNode[i + 1];
+            chunks.get(chunk).methods.add(method);
+            chunkByClass.merge(method.getClassName(), chunk, (a, b) -> a.equals(b) ? a : 0);
+        }
+        for (var className : dependency.getReachableClasses()) {
+            chunks.get(chunkByClass.getOrDefault(className, 0)).classes.add(className);
+        }
+
+        return chunks;
+    }
+
+    private Graph buildGraph(CallGraph callGraph, List<MethodReference> methods,
+            Map<MethodReference, Integer> indexes, Collection<MethodReference> entryPoints) {
+        var builder = new GraphBuilder(methods.size() + 1);
+        for (var entryPoint : entryPoints) {
+            var index = indexes.get(entryPoint);
+            if (index != null) {
+                builder.addEdge(0, index);
+            }
+        }
+        for (int i = 0; i < methods.size(); ++i) {
+            var node = callGraph.getNode(methods.get(i));
+            if (node.getCallerCallSites().isEmpty()) {
+                builder.addEdge(0, i + 1);
+            }
+            for (var callSite : node.getCallSites()) {
+                for (var callee : callSite.getCalledMethods()) {
+                    var calleeIndex = indexes.get(callee.getMethod());
+                    if (calleeIndex != null) {
+                        builder.addEdge(i + 1, calleeIndex);
+                    }
+                }
+            }
+        }
+
+        // Methods that are only called from cycles nobody calls still need to be reachable from the root
+        var graph = builder.build();
+        var visited = new boolean[graph.size()];
+        var queue = new ArrayDeque<Integer>();
+        visit(graph, 0, visited, queue);
+        for (int i = 1; i < graph.size(); ++i) {
+            if (!visited[i]) {
+                builder.addEdge(0, i);
+                visit(graph, i, visited, queue);
+            }
+        }
+        return builder.build();
+    }
+
+    private static void visit(Graph graph, int start, boolean[] visited, ArrayDeque<Integer> queue) {
+        visited[start] = true;
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            for (int next : graph.outgoingEdges(node)) {
+                if (!visited[next]) {
+                    visited[next] = true;
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    private boolean[] findSplitPoints(int size, DominatorTree domTree, int[] nodes) {
+        var dominatedCount = new int[size];
+        Arrays.fill(dominatedCount, 1);
+        for (int i = nodes.length - 1; i >= 0; --i) {
+            int node = nodes[i];
+            int dominator = domTree.immediateDominatorOf(node);
+            if (dominator > 0) {
+                dominatedCount[dominator] += dominatedCount[node];
+            }
+        }
+
+        var result = new boolean[size];
+        var blocked = new boolean[size];
+        for (var node : nodes) {
+            int dominator = domTree.immediateDominatorOf(node);
+            if (dominator == 0) {
+                continue;
+            }
+            if (blocked[dominator] || result[dominator]) {
+                blocked[node] = true;
+            } else if (dominatedCount[node] >= minChunkSize) {
+                result[node] = true;
+            }
+        }
+        return result;
+    }
+}
@@ -41,6 +41,7 @@ import java.util.function.Function;
 import org.teavm.ast.ControlFlowEntry;
 import org.teavm.backend.javascript.codegen.DefaultAliasProvider;
 import org.teavm.backend.javascript.codegen.DefaultNamingStrategy;
+import org.teavm.backend.javascript.codegen.HotSwapFragments;
 import org.teavm.backend.javascript.codegen.MinifyingAliasProvider;
 import org.teavm.backend.javascript.codegen.OutputSourceWriter;
 import org.teavm.backend.javascript.codegen.OutputSourceWriterBuilder;
@@ -141,6 +142,8 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
     private JSModuleType moduleType = JSModuleType.UMD;
     private List<ExportedDeclaration> exports = new ArrayList<>();
     private int maxTopLevelNames = 80_000;
+    private boolean hotSwapEnabled;
+    private HotSwapFragments hotSwapFragments;
 
     private ReflectionDependencyListener reflection;
 
@@ -246,6 +249,22 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
         this.maxTopLevelNames = maxTopLevelNames;
     }
 
+    /**
+     * Specifies whether generated code should allow to replace method bodies in a running program.
+     * When enabled, virtual methods call their implementations by name, the program exposes
+     * {@code $teavm_hotSwap} function in global scope, which evaluates given code in the scope of the program,
+     * and {@link #getHotSwapFragments()} returns pieces of generated code that allow to produce such patches.
+     *
+     * @param hotSwapEnabled whether hot swap should be supported.
+     */
+    public void setHotSwapEnabled(boolean hotSwapEnabled) {
+        this.hotSwapEnabled = hotSwapEnabled;
+    }
+
+    public HotSwapFragments getHotSwapFragments() {
+        return hotSwapFragments;
+    }
+
     @Override
     public List<TeaVMHostExtension> getHostExtensions() {
         return Collections.singletonList(this);
@@ -398,6 +417,7 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
             }
         };
         renderingContext.setMinifying(obfuscated);
+        renderingContext.setHotSwapEnabled(hotSwapEnabled);
         new ReflectionIntrinsics(methodInjectors, methodGenerators, classes, reflection,
                 controller.getDependencyInfo()).apply();
 
@@ -407,6 +427,8 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
 
         var builder = new OutputSourceWriterBuilder(naming);
         builder.setMinified(obfuscated);
+        builder.setHotSwapFragmentsCollected(hotSwapEnabled);
+        builder.setHotSwapVolatileSection(Renderer.SECTION_STRING_POOL);
 
         for (var className : classes.getClassNames()) {
             var cls = classes.get(className);
@@ -491,9 +513,14 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
         metadata.write(sourceWriter, 0);
         runtimeEpilogue.write(sourceWriter, 0);
         epilogue.write(sourceWriter, 0);
+        if (hotSwapEnabled) {
+            sourceWriter.appendGlobal("globalThis").append(".$teavm_hotSwap").ws().append("=").ws()
+                    .append("code").ws().append("=>").ws().append("eval(code);").softNewLine();
+        }
 
         printModuleEnd(sourceWriter);
         sourceWriter.finish();
+        hotSwapFragments = sourceWriter.getHotSwapFragments();
 
         int totalSize = sourceWriter.getOffset() - start;
         printStats(sourceWriter, totalSize);
@@ -724,6 +751,20 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
             System.out.println("Package '" + packageName + "' size: "
                     + getSizeWithPercentage(packageSizeMap.get(packageName), totalSize));
         }
+
+        var partitioner = new ChunkPartitioner(controller.getDependencyInfo());
+        var entryPoint = new MethodReference(controller.getEntryPoint(), TeaVM.MAIN_METHOD_DESC);
+        var chunks = partitioner.partition(List.of(entryPoint));
+        for (var chunk : chunks) {
+            int size = 0;
+            for (var className : chunk.getClasses()) {
+                size += writer.getClassSize(className);
+            }
+            var name = chunk.getSplitPoint() != null ? "Chunk '" + chunk.getSplitPoint() + "'" : "Startup chunk";
+            System.out.println(name + ": " + STATS_NUM_FORMAT.format(chunk.getMethods().size()) + " methods, "
+                    + STATS_NUM_FORMAT.format(chunk.getClasses().size()) + " classes, size: "
+                    + getSizeWithPercentage(size, totalSize));
+        }
     }
 
     private String getSizeWithPercentage(int size, int totalSize) {
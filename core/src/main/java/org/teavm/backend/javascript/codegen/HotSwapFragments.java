@@ -0,0 +1,87 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript.codegen;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.teavm.model.MethodReference;
+
+/**
+ * <p>Splits generated JavaScript into pieces that allow to patch a running program instead of reloading it.</p>
+ *
+ * <p>Every method body is kept as a standalone statement which assigns new function to the existing top-level
+ * binding. Text of volatile sections (like string pool) can be safely re-evaluated, everything else is
+ * considered as program structure. If structure of two consecutive builds is the same, the difference
+ * between them can be applied by evaluating changed methods within the scope of the running program.</p>
+ */
+public class HotSwapFragments {
+    private final Map<MethodReference, String> methods = new LinkedHashMap<>();
+    private final StringBuilder structure = new StringBuilder();
+    private final StringBuilder volatileText = new StringBuilder();
+
+    public Map<MethodReference, String> getMethods() {
+        return Collections.unmodifiableMap(methods);
+    }
+
+    public String getStructure() {
+        return structure.toString();
+    }
+
+    public String getVolatileText() {
+        return volatileText.toString();
+    }
+
+    /**
+     * Checks whether difference between previous version and this one is limited to method bodies.
+     */
+    public boolean isCompatibleWith(HotSwapFragments previous) {
+        return methods.keySet().equals(previous.methods.keySet())
+                && structure.toString().contentEquals(previous.structure);
+    }
+
+    /**
+     * Produces code that turns previous version of the program into this one. Volatile text is included
+     * whenever something changed, since changed methods may refer to it, and a changed string literal
+     * may be the only difference.
+     *
+     * @return code to evaluate in the scope of running program or empty string if nothing was changed.
+     */
+    public String diff(HotSwapFragments previous) {
+        var sb = new StringBuilder();
+        for (var entry : methods.entrySet()) {
+            if (!entry.getValue().equals(previous.methods.get(entry.getKey()))) {
+                sb.append(entry.getValue()).append('\n');
+            }
+        }
+        if (sb.length() == 0 && volatileText.toString().contentEquals(previous.volatileText)) {
+            return "";
+        }
+        return volatileText + "\n" + sb;
+    }
+
+    void putMethod(MethodReference method, String text) {
+        methods.put(method, text);
+    }
+
+    StringBuilder structure() {
+        return structure;
+    }
+
+    StringBuilder volatileText() {
+        return volatileText;
+    }
+}
@@ -30,7 +30,7 @@ import org.teavm.model.MethodReference;
 
 public class OutputSourceWriter extends SourceWriter implements LocationProvider {
     private static final int LET_SEQUENCE_LIMIT = 50;
-    private final Appendable innerWriter;
+    private Appendable innerWriter;
     private int indentSize;
     private final NamingStrategy naming;
     private boolean lineStart;
@@ -49,6 +49,10 @@ public class OutputSourceWriter extends SourceWriter implements LocationProvider
     private DeclarationType currentDeclarationType;
     private boolean expectingDeclarationName;
     private int letSequenceSize;
+    private HotSwapFragments hotSwapFragments;
+    private int hotSwapVolatileSection = -1;
+    private MethodReference methodMarkMethod;
+    private StringBuilder methodMarkText;
 
     OutputSourceWriter(NamingStrategy naming, Appendable innerWriter, int lineWidth) {
         this.naming = naming;
@@ -65,6 +69,16 @@ public class OutputSourceWriter extends SourceWriter implements LocationProvider
         this.minified = minified;
     }
 
+    void collectHotSwapFragments(int volatileSection) {
+        hotSwapFragments = new HotSwapFragments();
+        hotSwapVolatileSection = volatileSection;
+        innerWriter = new HotSwapAppendable(innerWriter);
+    }
+
+    public HotSwapFragments getHotSwapFragments() {
+        return hotSwapFragments;
+    }
+
     public void finish() {
         finishLet();
     }
@@ -483,6 +497,35 @@ public class OutputSourceWriter extends SourceWriter implements LocationProvider
         }
     }
 
+    @Override
+    public void markMethodStart(MethodReference method) {
+        if (hotSwapFragments == null) {
+            return;
+        }
+        methodMarkMethod = method;
+        methodMarkText = new StringBuilder();
+        var name = naming.methodName(method);
+        if (name.scoped) {
+            methodMarkText.append(naming.additionalScopeName()).append('.');
+        }
+        methodMarkText.append(name.name).append(" = ");
+        if (currentDeclarationType == DeclarationType.FUNCTION) {
+            methodMarkText.append("function");
+            if (!name.scoped) {
+                methodMarkText.append(' ').append(name.name);
+            }
+        }
+    }
+
+    @Override
+    public void markMethodEnd() {
+        if (methodMarkMethod != null) {
+            hotSwapFragments.putMethod(methodMarkMethod, methodMarkText.append(';').toString());
+            methodMarkMethod = null;
+            methodMarkText = null;
+        }
+    }
+
     public Collection<String> getClassesInStats() {
         var result = new ArrayList<String>();
         for (var cursor : classSizes.keys()) {
@@ -499,6 +542,45 @@ public class OutputSourceWriter extends SourceWriter implements LocationProvider
         return sectionSizes.get(sectionId);
     }
 
+    private StringBuilder hotSwapBuffer() {
+        if (methodMarkText != null) {
+            return methodMarkText;
+        }
+        if (sectionMarkSection >= 0 && sectionMarkSection == hotSwapVolatileSection) {
+            return hotSwapFragments.volatileText();
+        }
+        return hotSwapFragments.structure();
+    }
+
+    private class HotSwapAppendable implements Appendable {
+        private final Appendable target;
+
+        HotSwapAppendable(Appendable target) {
+            this.target = target;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            target.append(csq);
+            hotSwapBuffer().append(csq);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            target.append(csq, start, end);
+            hotSwapBuffer().append(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            target.append(c);
+            hotSwapBuffer().append(c);
+            return this;
+        }
+    }
+
     private enum DeclarationType {
         FUNCTION,
         VARIABLE,
@@ -19,6 +19,8 @@ public class OutputSourceWriterBuilder {
     private NamingStrategy naming;
     private boolean minified;
     private int lineWidth = 512;
+    private boolean hotSwapFragmentsCollected;
+    private int hotSwapVolatileSection = -1;
 
     public OutputSourceWriterBuilder(NamingStrategy naming) {
         this.naming = naming;
@@ -36,9 +38,20 @@ public class OutputSourceWriterBuilder {
         this.lineWidth = lineWidth;
     }
 
+    public void setHotSwapFragmentsCollected(boolean hotSwapFragmentsCollected) {
+        this.hotSwapFragmentsCollected = hotSwapFragmentsCollected;
+    }
+
+    public void setHotSwapVolatileSection(int hotSwapVolatileSection) {
+        this.hotSwapVolatileSection = hotSwapVolatileSection;
+    }
+
     public OutputSourceWriter build(Appendable innerWriter) {
         var writer = new OutputSourceWriter(naming, innerWriter, lineWidth);
         writer.setMinified(minified);
+        if (hotSwapFragmentsCollected) {
+            writer.collectHotSwapFragments(hotSwapVolatileSection);
+        }
         return writer;
     }
 }
@@ -273,6 +273,19 @@ public class RememberedSource implements SourceFragment {
                         sink.markSectionEnd();
                     }
                     break;
+
+                case RememberingSourceWriter.MARK_METHOD_START:
+                    if ((filter & FILTER_STATS) != 0) {
+                        sink.markMethodStart(methods[intArgs[intArgIndex]]);
+                    }
+                    intArgIndex++;
+                    break;
+
+                case RememberingSourceWriter.MARK_METHOD_END:
+                    if ((filter & FILTER_STATS) != 0) {
+                        sink.markMethodEnd();
+                    }
+                    break;
             }
         }
     }
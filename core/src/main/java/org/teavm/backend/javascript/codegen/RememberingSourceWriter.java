@@ -57,6 +57,8 @@ public class RememberingSourceWriter extends SourceWriter {
     static final byte MARK_CLASS_END = 23;
     static final byte MARK_SECTION_START = 24;
     static final byte MARK_SECTION_END = 25;
+    static final byte MARK_METHOD_START = 31;
+    static final byte MARK_METHOD_END = 32;
 
     private boolean debug;
 
@@ -384,6 +386,19 @@ public class RememberingSourceWriter extends SourceWriter {
         commands.add(MARK_SECTION_END);
     }
 
+    @Override
+    public void markMethodStart(MethodReference method) {
+        flush();
+        commands.add(MARK_METHOD_START);
+        appendMethodArg(method);
+    }
+
+    @Override
+    public void markMethodEnd() {
+        flush();
+        commands.add(MARK_METHOD_END);
+    }
+
     public void flush() {
         if (lastWrittenChar == sb.length()) {
             return;
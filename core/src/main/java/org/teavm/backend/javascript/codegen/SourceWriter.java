@@ -170,4 +170,10 @@ public abstract class SourceWriter implements Appendable, SourceWriterSink {
 
     @Override
     public abstract void markSectionEnd();
+
+    @Override
+    public abstract void markMethodStart(MethodReference method);
+
+    @Override
+    public abstract void markMethodEnd();
 }
@@ -141,4 +141,10 @@ public interface SourceWriterSink {
 
     default void markSectionEnd() {
     }
+
+    default void markMethodStart(MethodReference method) {
+    }
+
+    default void markMethodEnd() {
+    }
 }
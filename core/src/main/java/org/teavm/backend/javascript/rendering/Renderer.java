@@ -789,10 +789,16 @@ public class Renderer implements RenderingManager {
     private void emitVirtualFunctionWrapper(MethodReference method) {
         var forced = context.isForcedFunction(method);
         if (forced) {
-            writer.appendFunction("$rt_wrapFunctionVararg").append("(").appendMethod(method).append(")");
+            writer.appendFunction("$rt_wrapFunctionVararg").append("(");
+            if (context.isHotSwapEnabled()) {
+                writer.append("(...args)").ws().append("=>").ws().appendMethod(method).append("(...args)");
+            } else {
+                writer.appendMethod(method);
+            }
+            writer.append(")");
             return;
         }
-        if (method.parameterCount() <= 4 && !forced) {
+        if (method.parameterCount() <= 4 && !context.isHotSwapEnabled()) {
             writer.appendFunction("$rt_wrapFunction" + method.parameterCount());
             writer.append("(").appendMethod(method).append(")");
             return;
@@ -826,6 +832,7 @@ public class Renderer implements RenderingManager {
         writer.emitMethod(ref.getDescriptor());
 
         writer.appendMethod(ref);
+        writer.markMethodStart(ref);
         if (method.hasModifier(ElementModifier.NATIVE)) {
             renderNativeBody(method, classSource, isFunction);
         } else {
@@ -833,6 +840,7 @@ public class Renderer implements RenderingManager {
         }
 
         writer.outdent().append("}");
+        writer.markMethodEnd();
         writer.emitMethod(null);
     }
 
@@ -59,6 +59,7 @@ public abstract class RenderingContext {
     private final List<String> readonlyStringPool = Collections.unmodifiableList(stringPool);
     private final Map<MethodReference, InjectorHolder> injectorMap = new HashMap<>();
     private boolean minifying;
+    private boolean hotSwapEnabled;
     private ClassInitializerInfo classInitializerInfo;
     private boolean strict;
 
@@ -142,6 +143,18 @@ public abstract class RenderingContext {
         return minifying;
     }
 
+    public void setHotSwapEnabled(boolean hotSwapEnabled) {
+        this.hotSwapEnabled = hotSwapEnabled;
+    }
+
+    /**
+     * Whether methods should be referenced by name at call sites rather than captured by value,
+     * so that they can be replaced in a running program.
+     */
+    public boolean isHotSwapEnabled() {
+        return hotSwapEnabled;
+    }
+
     public int lookupString(String string) {
         return stringPoolMap.computeIfAbsent(string, key -> {
             stringPool.add(key);
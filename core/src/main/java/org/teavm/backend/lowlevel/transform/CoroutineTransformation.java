@@ -416,7 +416,9 @@ public class CoroutineTransformation {
                 break;
             }
         }
-        return method;
+        // a method inherited from a superinterface, e.g. Future.get() called on ScheduledFuture
+        MethodReader inherited = classSource.resolve(method);
+        return inherited != null ? inherited.getReference() : method;
     }
 
     private void createReturnInstructions(TextLocation location, BasicBlock block) {
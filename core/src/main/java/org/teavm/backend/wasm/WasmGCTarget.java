@@ -60,6 +60,7 @@ import org.teavm.backend.wasm.model.WasmType;
 import org.teavm.backend.wasm.model.expression.WasmGetLocal;
 import org.teavm.backend.wasm.model.expression.WasmStructGet;
 import org.teavm.backend.wasm.model.expression.WasmStructSet;
+import org.teavm.backend.wasm.optimization.WasmPassManager;
 import org.teavm.backend.wasm.optimization.WasmUsageCounter;
 import org.teavm.backend.wasm.render.WasmBinaryRenderer;
 import org.teavm.backend.wasm.render.WasmBinaryStatsCollector;
@@ -96,6 +97,7 @@ import org.teavm.reflection.AnnotationGenerationHelper;
 import org.teavm.reflection.ReflectionDependencyListener;
 import org.teavm.runtime.heap.Heap;
 import org.teavm.vm.BuildTarget;
+import org.teavm.vm.TeaVMOptimizationLevel;
 import org.teavm.vm.TeaVMTarget;
 import org.teavm.vm.TeaVMTargetController;
 import org.teavm.vm.spi.TeaVMHostExtension;
@@ -113,6 +115,7 @@ public class WasmGCTarget implements TeaVMTarget, TeaVMWasmGCHost {
     private WasmDebugInfoLocation debugLocation = WasmDebugInfoLocation.EXTERNAL;
     private WasmDebugInfoLevel debugLevel = WasmDebugInfoLevel.FULL;
     private int bufferHeapMinSize = 1024 * 1024 * 2;
+    private WasmPassManager passManager;
     private List<WasmGCIntrinsicFactory> intrinsicFactories = new ArrayList<>();
     private Map<MethodReference, WasmGCIntrinsic> customIntrinsics = new HashMap<>();
     private List<WasmGCCustomTypeMapperFactory> customTypeMapperFactories = new ArrayList<>();
@@ -166,6 +169,15 @@ public class WasmGCTarget implements TeaVMTarget, TeaVMWasmGCHost {
         this.compactMode = compactMode;
     }
 
+    /**
+     * Sets passes that are run over generated module before it's rendered. By default,
+     * {@link WasmPassManager#createDefault() default passes} are run unless optimization level is
+     * {@link TeaVMOptimizationLevel#SIMPLE}.
+     */
+    public void setPassManager(WasmPassManager passManager) {
+        this.passManager = passManager;
+    }
+
     @Override
     public void addIntrinsicFactory(WasmGCIntrinsicFactory intrinsicFactory) {
         intrinsicFactories.add(intrinsicFactory);
@@ -508,7 +520,6 @@ public class WasmGCTarget implements TeaVMTarget, TeaVMWasmGCHost {
 
     private void emitWasmFile(WasmModule module, BuildTarget buildTarget, String outputName,
             GCDebugInfoBuilder debugInfoBuilder) throws IOException {
-        var binaryWriter = new WasmBinaryWriter();
         DebugLines debugLines = null;
         if (debugInfo) {
             if (sourceMapBuilder != null) {
@@ -528,14 +539,15 @@ public class WasmGCTarget implements TeaVMTarget, TeaVMWasmGCHost {
             var sourceMapSection = new WasmCustomSection("sourceMappingURL", sourceMapBinding.getData());
             module.add(sourceMapSection);
         }
-        var binaryRenderer = new WasmBinaryRenderer(binaryWriter, WasmBinaryVersion.V_0x1, obfuscated,
-                null, null, debugLines, null, WasmBinaryStatsCollector.EMPTY);
+        optimizeModule(module);
         optimizeIndexes(module);
         module.prepareForRendering();
-        binaryRenderer.render(module, customSections(debugInfoBuilder, module));
-        var data = binaryWriter.getData();
         try (var output = buildTarget.createResource(outputName)) {
-            output.write(data);
+            var binaryWriter = new WasmBinaryWriter(output);
+            var binaryRenderer = new WasmBinaryRenderer(binaryWriter, WasmBinaryVersion.V_0x1, obfuscated,
+                    null, null, debugLines, null, WasmBinaryStatsCollector.EMPTY);
+            binaryRenderer.render(module, customSections(debugInfoBuilder, module));
+            binaryWriter.flush();
         }
         if (debugLocation == WasmDebugInfoLocation.EXTERNAL && debugInfo) {
             var debugInfoData = ExternalDebugFile.write(debugInfoBuilder.build());
@@ -591,6 +603,17 @@ public class WasmGCTarget implements TeaVMTarget, TeaVMWasmGCHost {
         return writer.toString().getBytes(StandardCharsets.UTF_8);
     }
 
+    private void optimizeModule(WasmModule module) {
+        var passManagerToUse = passManager;
+        if (passManagerToUse == null) {
+            if (controller.getOptimizationLevel() == TeaVMOptimizationLevel.SIMPLE) {
+                return;
+            }
+            passManagerToUse = WasmPassManager.createDefault();
+        }
+        passManagerToUse.run(module);
+    }
+
     private void optimizeIndexes(WasmModule module) {
         var usageCounter = new WasmUsageCounter();
         usageCounter.applyToModule(module);
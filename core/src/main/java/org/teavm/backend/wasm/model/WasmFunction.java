@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 import org.teavm.backend.wasm.model.expression.WasmExpression;
 import org.teavm.model.MethodReference;
 
@@ -111,6 +112,18 @@ public class WasmFunction extends WasmEntity {
         localVariables.add(local);
     }
 
+    public void removeLocals(Predicate<WasmLocal> predicate) {
+        var index = 0;
+        for (var local : localVariables) {
+            if (predicate.test(local)) {
+                local.function = null;
+            } else {
+                local.index = index++;
+            }
+        }
+        localVariables.removeIf(local -> local.function == null);
+    }
+
     public MethodReference getJavaMethod() {
         return javaMethod;
     }
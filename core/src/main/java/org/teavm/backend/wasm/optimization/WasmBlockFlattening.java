@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.expression.WasmBlock;
+import org.teavm.backend.wasm.model.expression.WasmBranch;
+import org.teavm.backend.wasm.model.expression.WasmBreak;
+import org.teavm.backend.wasm.model.expression.WasmCastBranch;
+import org.teavm.backend.wasm.model.expression.WasmConditional;
+import org.teavm.backend.wasm.model.expression.WasmDefaultExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmNullBranch;
+import org.teavm.backend.wasm.model.expression.WasmSwitch;
+import org.teavm.backend.wasm.model.expression.WasmTry;
+
+/**
+ * Replaces blocks that produce no value and are not targets of any branch by their contents.
+ */
+public class WasmBlockFlattening extends WasmFunctionPass {
+    @Override
+    protected void apply(WasmFunction function) {
+        var targets = new BranchTargets();
+        targets.visitMany(function.getBody());
+
+        var flattening = new Flattening(targets.blocks);
+        flattening.visitMany(function.getBody());
+        flattening.flatten(function.getBody());
+    }
+
+    private static class BranchTargets extends WasmDefaultExpressionVisitor {
+        final Set<WasmBlock> blocks = new HashSet<>();
+
+        @Override
+        public void visit(WasmBreak expression) {
+            super.visit(expression);
+            blocks.add(expression.getTarget());
+        }
+
+        @Override
+        public void visit(WasmBranch expression) {
+            super.visit(expression);
+            blocks.add(expression.getTarget());
+        }
+
+        @Override
+        public void visit(WasmNullBranch expression) {
+            super.visit(expression);
+            blocks.add(expression.getTarget());
+        }
+
+        @Override
+        public void visit(WasmCastBranch expression) {
+            super.visit(expression);
+            blocks.add(expression.getTarget());
+        }
+
+        @Override
+        public void visit(WasmSwitch expression) {
+            super.visit(expression);
+            blocks.addAll(expression.getTargets());
+            blocks.add(expression.getDefaultTarget());
+        }
+    }
+
+    private static class Flattening extends WasmDefaultExpressionVisitor {
+        private final Set<WasmBlock> targets;
+
+        Flattening(Set<WasmBlock> targets) {
+            this.targets = targets;
+        }
+
+        @Override
+        public void visit(WasmBlock expression) {
+            super.visit(expression);
+            flatten(expression.getBody());
+        }
+
+        @Override
+        public void visit(WasmConditional expression) {
+            super.visit(expression);
+            flatten(expression.getThenBlock().getBody());
+            flatten(expression.getElseBlock().getBody());
+        }
+
+        @Override
+        public void visit(WasmTry expression) {
+            super.visit(expression);
+            flatten(expression.getBody());
+            for (var catchClause : expression.getCatches()) {
+                flatten(catchClause.getBody());
+            }
+        }
+
+        void flatten(List<WasmExpression> expressions) {
+            for (var i = 0; i < expressions.size(); ++i) {
+                if (!(expressions.get(i) instanceof WasmBlock)) {
+                    continue;
+                }
+                var block = (WasmBlock) expressions.get(i);
+                if (!block.isLoop() && block.getType() == null && !targets.contains(block)) {
+                    expressions.remove(i);
+                    expressions.addAll(i, block.getBody());
+                    i += block.getBody().size() - 1;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import org.teavm.backend.wasm.model.WasmArray;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmStructure;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmArrayNewDefault;
+import org.teavm.backend.wasm.model.expression.WasmArrayNewFixed;
+import org.teavm.backend.wasm.model.expression.WasmBaseReplacingExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmCast;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmNullConstant;
+import org.teavm.backend.wasm.model.expression.WasmStructNew;
+import org.teavm.backend.wasm.model.expression.WasmStructNewDefault;
+
+/**
+ * Removes <code>ref.cast</code> instructions that never fail, i.e. casts of freshly allocated objects and
+ * nulls, and merges chains of casts into a single cast to the most specific type.
+ */
+public class WasmCastFolding extends WasmFunctionPass {
+    @Override
+    protected void apply(WasmFunction function) {
+        new Folder().replace(function);
+    }
+
+    private static class Folder extends WasmBaseReplacingExpressionVisitor {
+        @Override
+        public void visit(WasmCast expression) {
+            super.visit(expression);
+            var value = expression.getValue();
+            var targetType = expression.getTargetType();
+            if (value instanceof WasmCast) {
+                var innerCast = (WasmCast) value;
+                if (isSubtype(innerCast.getTargetType(), targetType)) {
+                    replaceCurrent(innerCast);
+                } else if (isSubtype(targetType, innerCast.getTargetType())) {
+                    expression.setValue(innerCast.getValue());
+                }
+            } else if (value instanceof WasmNullConstant) {
+                if (targetType.isNullable()) {
+                    var constant = new WasmNullConstant(targetType);
+                    constant.setLocation(value.getLocation());
+                    replaceCurrent(constant);
+                }
+            } else {
+                var type = allocatedType(value);
+                if (type != null && isSubtype(type, targetType)) {
+                    replaceCurrent(value);
+                }
+            }
+        }
+
+        private static WasmType.Reference allocatedType(WasmExpression expression) {
+            if (expression instanceof WasmStructNew) {
+                return ((WasmStructNew) expression).getType().getNonNullReference();
+            } else if (expression instanceof WasmStructNewDefault) {
+                return ((WasmStructNewDefault) expression).getType().getNonNullReference();
+            } else if (expression instanceof WasmArrayNewDefault) {
+                return ((WasmArrayNewDefault) expression).getType().getNonNullReference();
+            } else if (expression instanceof WasmArrayNewFixed) {
+                return ((WasmArrayNewFixed) expression).getType().getNonNullReference();
+            }
+            return null;
+        }
+    }
+
+    static boolean isSubtype(WasmType.Reference type, WasmType.Reference supertype) {
+        if (type.isNullable() && !supertype.isNullable()) {
+            return false;
+        }
+        if (supertype instanceof WasmType.SpecialReference) {
+            var kind = ((WasmType.SpecialReference) supertype).kind;
+            if (type instanceof WasmType.SpecialReference) {
+                return ((WasmType.SpecialReference) type).kind == kind;
+            }
+            var composite = ((WasmType.CompositeReference) type).composite;
+            switch (kind) {
+                case ANY:
+                case EQ:
+                    return composite instanceof WasmStructure || composite instanceof WasmArray;
+                case STRUCT:
+                    return composite instanceof WasmStructure;
+                case ARRAY:
+                    return composite instanceof WasmArray;
+                case FUNC:
+                    return composite instanceof WasmFunctionType;
+                default:
+                    return false;
+            }
+        }
+        if (!(type instanceof WasmType.CompositeReference)) {
+            return false;
+        }
+        var composite = ((WasmType.CompositeReference) type).composite;
+        var superComposite = ((WasmType.CompositeReference) supertype).composite;
+        if (composite == superComposite) {
+            return true;
+        }
+        if (composite instanceof WasmStructure && superComposite instanceof WasmStructure) {
+            return ((WasmStructure) superComposite).isSupertypeOf((WasmStructure) composite);
+        }
+        return false;
+    }
+}
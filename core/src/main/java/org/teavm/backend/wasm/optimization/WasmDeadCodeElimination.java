@@ -0,0 +1,320 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import org.teavm.backend.wasm.model.WasmArray;
+import org.teavm.backend.wasm.model.WasmBlockType;
+import org.teavm.backend.wasm.model.WasmCompositeType;
+import org.teavm.backend.wasm.model.WasmCompositeTypeVisitor;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmGlobal;
+import org.teavm.backend.wasm.model.WasmModule;
+import org.teavm.backend.wasm.model.WasmStructure;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmArrayCopy;
+import org.teavm.backend.wasm.model.expression.WasmArrayGet;
+import org.teavm.backend.wasm.model.expression.WasmArrayNewDefault;
+import org.teavm.backend.wasm.model.expression.WasmArrayNewFixed;
+import org.teavm.backend.wasm.model.expression.WasmArraySet;
+import org.teavm.backend.wasm.model.expression.WasmBlock;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmCallReference;
+import org.teavm.backend.wasm.model.expression.WasmCast;
+import org.teavm.backend.wasm.model.expression.WasmCastBranch;
+import org.teavm.backend.wasm.model.expression.WasmConditional;
+import org.teavm.backend.wasm.model.expression.WasmDefaultExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmFunctionReference;
+import org.teavm.backend.wasm.model.expression.WasmGetGlobal;
+import org.teavm.backend.wasm.model.expression.WasmIndirectCall;
+import org.teavm.backend.wasm.model.expression.WasmNullConstant;
+import org.teavm.backend.wasm.model.expression.WasmPop;
+import org.teavm.backend.wasm.model.expression.WasmSetGlobal;
+import org.teavm.backend.wasm.model.expression.WasmStructGet;
+import org.teavm.backend.wasm.model.expression.WasmStructNew;
+import org.teavm.backend.wasm.model.expression.WasmStructNewDefault;
+import org.teavm.backend.wasm.model.expression.WasmStructSet;
+import org.teavm.backend.wasm.model.expression.WasmTest;
+import org.teavm.backend.wasm.model.expression.WasmTry;
+
+/**
+ * Removes functions, globals and types that are not reachable from exported or imported entities,
+ * start function, function table and tags.
+ */
+public class WasmDeadCodeElimination implements WasmOptimizationPass {
+    @Override
+    public void apply(WasmModule module) {
+        var reachability = new Reachability();
+        for (var function : module.functions) {
+            if (function.getImportName() != null || function.getExportName() != null) {
+                reachability.add(function);
+            }
+        }
+        if (module.getStartFunction() != null) {
+            reachability.add(module.getStartFunction());
+        }
+        for (var function : module.getFunctionTable()) {
+            reachability.add(function);
+        }
+        for (var global : module.globals) {
+            if (global.getImportName() != null || global.getExportName() != null) {
+                reachability.add(global);
+            }
+        }
+        for (var tag : module.tags) {
+            reachability.add(tag.getType());
+        }
+        reachability.complete();
+
+        module.functions.removeIf(function -> !reachability.functions.contains(function));
+        module.globals.removeIf(global -> !reachability.globals.contains(global));
+        module.types.removeIf(type -> !reachability.types.contains(type));
+    }
+
+    private static class Reachability extends WasmDefaultExpressionVisitor implements WasmCompositeTypeVisitor {
+        final Set<WasmFunction> functions = new HashSet<>();
+        final Set<WasmGlobal> globals = new HashSet<>();
+        final Set<WasmCompositeType> types = new HashSet<>();
+        private Queue<WasmFunction> functionQueue = new ArrayDeque<>();
+        private Queue<WasmGlobal> globalQueue = new ArrayDeque<>();
+        private Queue<WasmCompositeType> typeQueue = new ArrayDeque<>();
+
+        void complete() {
+            while (!functionQueue.isEmpty() || !globalQueue.isEmpty() || !typeQueue.isEmpty()) {
+                while (!functionQueue.isEmpty()) {
+                    var function = functionQueue.remove();
+                    add(function.getType());
+                    for (var local : function.getLocalVariables()) {
+                        add(local.getType());
+                    }
+                    visitMany(function.getBody());
+                }
+                while (!globalQueue.isEmpty()) {
+                    var global = globalQueue.remove();
+                    add(global.getType());
+                    if (global.getInitialValue() != null) {
+                        global.getInitialValue().acceptVisitor(this);
+                    }
+                }
+                while (!typeQueue.isEmpty()) {
+                    typeQueue.remove().acceptVisitor(this);
+                }
+            }
+        }
+
+        void add(WasmFunction function) {
+            if (functions.add(function)) {
+                functionQueue.add(function);
+            }
+        }
+
+        void add(WasmGlobal global) {
+            if (globals.add(global)) {
+                globalQueue.add(global);
+            }
+        }
+
+        void add(WasmCompositeType type) {
+            if (type != null && types.add(type)) {
+                typeQueue.add(type);
+            }
+        }
+
+        private void add(WasmType type) {
+            if (type instanceof WasmType.CompositeReference) {
+                add(((WasmType.CompositeReference) type).composite);
+            }
+        }
+
+        private void add(WasmBlockType type) {
+            if (type instanceof WasmBlockType.Function) {
+                add(((WasmBlockType.Function) type).ref);
+            } else if (type instanceof WasmBlockType.Value) {
+                add(((WasmBlockType.Value) type).type);
+            }
+        }
+
+        @Override
+        public void visit(WasmStructure type) {
+            add(type.getSupertype());
+            for (var field : type.getFields()) {
+                add(field.getUnpackedType());
+            }
+        }
+
+        @Override
+        public void visit(WasmArray type) {
+            add(type.getElementType().asUnpackedType());
+        }
+
+        @Override
+        public void visit(WasmFunctionType type) {
+            for (var supertype : type.getSupertypes()) {
+                add(supertype);
+            }
+            for (var ret : type.getReturnTypes()) {
+                add(ret);
+            }
+            for (var param : type.getParameterTypes()) {
+                add(param);
+            }
+        }
+
+        @Override
+        public void visit(WasmCall expression) {
+            super.visit(expression);
+            add(expression.getFunction());
+        }
+
+        @Override
+        public void visit(WasmFunctionReference expression) {
+            super.visit(expression);
+            add(expression.getFunction());
+        }
+
+        @Override
+        public void visit(WasmGetGlobal expression) {
+            super.visit(expression);
+            add(expression.getGlobal());
+        }
+
+        @Override
+        public void visit(WasmSetGlobal expression) {
+            super.visit(expression);
+            add(expression.getGlobal());
+        }
+
+        @Override
+        public void visit(WasmBlock expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmConditional expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmTry expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmPop expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmNullConstant expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmCastBranch expression) {
+            super.visit(expression);
+            add(expression.getSourceType());
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmCallReference expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmIndirectCall expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmCast expression) {
+            super.visit(expression);
+            add(expression.getTargetType());
+        }
+
+        @Override
+        public void visit(WasmTest expression) {
+            super.visit(expression);
+            add(expression.getTestType());
+        }
+
+        @Override
+        public void visit(WasmStructNew expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmStructNewDefault expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmStructGet expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmStructSet expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmArrayNewDefault expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmArrayNewFixed expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmArrayGet expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmArraySet expression) {
+            super.visit(expression);
+            add(expression.getType());
+        }
+
+        @Override
+        public void visit(WasmArrayCopy expression) {
+            super.visit(expression);
+            add(expression.getSourceArrayType());
+            add(expression.getTargetArrayType());
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import com.carrotsearch.hppc.ObjectIntHashMap;
+import com.carrotsearch.hppc.ObjectIntMap;
+import java.util.List;
+import java.util.function.Consumer;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmLocal;
+import org.teavm.backend.wasm.model.expression.WasmArrayGet;
+import org.teavm.backend.wasm.model.expression.WasmArrayLength;
+import org.teavm.backend.wasm.model.expression.WasmArraySet;
+import org.teavm.backend.wasm.model.expression.WasmBlock;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmCast;
+import org.teavm.backend.wasm.model.expression.WasmConditional;
+import org.teavm.backend.wasm.model.expression.WasmConversion;
+import org.teavm.backend.wasm.model.expression.WasmDefaultExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmDrop;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmFloat32Constant;
+import org.teavm.backend.wasm.model.expression.WasmFloat64Constant;
+import org.teavm.backend.wasm.model.expression.WasmFloatBinary;
+import org.teavm.backend.wasm.model.expression.WasmFloatUnary;
+import org.teavm.backend.wasm.model.expression.WasmGetGlobal;
+import org.teavm.backend.wasm.model.expression.WasmGetLocal;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmInt64Constant;
+import org.teavm.backend.wasm.model.expression.WasmIntBinary;
+import org.teavm.backend.wasm.model.expression.WasmIntUnary;
+import org.teavm.backend.wasm.model.expression.WasmIsNull;
+import org.teavm.backend.wasm.model.expression.WasmNullConstant;
+import org.teavm.backend.wasm.model.expression.WasmReferencesEqual;
+import org.teavm.backend.wasm.model.expression.WasmReturn;
+import org.teavm.backend.wasm.model.expression.WasmSetGlobal;
+import org.teavm.backend.wasm.model.expression.WasmSetLocal;
+import org.teavm.backend.wasm.model.expression.WasmStructGet;
+import org.teavm.backend.wasm.model.expression.WasmStructSet;
+import org.teavm.backend.wasm.model.expression.WasmTest;
+import org.teavm.backend.wasm.model.expression.WasmTry;
+
+/**
+ * <p>Removes redundant <code>local.get</code>/<code>local.set</code> pairs. Following patterns are recognized:</p>
+ *
+ * <ul>
+ *   <li>assignment of a local to itself;</li>
+ *   <li>assignment to a local that is never read, which is replaced by <code>drop</code> of the value
+ *     or removed completely when the value has no side effects;</li>
+ *   <li>assignment to a local that is read exactly once by the operand evaluated first in the next
+ *     instruction, in which case the value is moved right to the place where it's read.</li>
+ * </ul>
+ *
+ * <p>Finally, locals that are no longer used are removed from function.
+ * Locals that have names are left intact, since they are reported to debugger.</p>
+ */
+public class WasmLocalOptimization extends WasmFunctionPass {
+    @Override
+    protected void apply(WasmFunction function) {
+        var usages = new LocalUsages();
+        usages.visitMany(function.getBody());
+
+        var optimizer = new Optimizer(function, usages);
+        optimizer.visitMany(function.getBody());
+        optimizer.optimize(function.getBody());
+
+        var remainingUsages = new LocalUsages();
+        remainingUsages.visitMany(function.getBody());
+        function.removeLocals(local -> optimizer.isTemporary(local) && remainingUsages.reads.get(local) == 0
+                && remainingUsages.writes.get(local) == 0);
+    }
+
+    private static class LocalUsages extends WasmDefaultExpressionVisitor {
+        final ObjectIntMap<WasmLocal> reads = new ObjectIntHashMap<>();
+        final ObjectIntMap<WasmLocal> writes = new ObjectIntHashMap<>();
+
+        @Override
+        public void visit(WasmGetLocal expression) {
+            super.visit(expression);
+            reads.addTo(expression.getLocal(), 1);
+        }
+
+        @Override
+        public void visit(WasmSetLocal expression) {
+            super.visit(expression);
+            writes.addTo(expression.getLocal(), 1);
+        }
+    }
+
+    private static class Optimizer extends WasmDefaultExpressionVisitor {
+        private final int parameterCount;
+        private final LocalUsages usages;
+
+        Optimizer(WasmFunction function, LocalUsages usages) {
+            parameterCount = function.getType().getParameterTypes().size();
+            this.usages = usages;
+        }
+
+        boolean isTemporary(WasmLocal local) {
+            return local.getIndex() >= parameterCount && local.getName() == null;
+        }
+
+        @Override
+        public void visit(WasmBlock expression) {
+            super.visit(expression);
+            optimize(expression.getBody());
+        }
+
+        @Override
+        public void visit(WasmConditional expression) {
+            super.visit(expression);
+            optimize(expression.getThenBlock().getBody());
+            optimize(expression.getElseBlock().getBody());
+        }
+
+        @Override
+        public void visit(WasmTry expression) {
+            super.visit(expression);
+            optimize(expression.getBody());
+            for (var catchClause : expression.getCatches()) {
+                optimize(catchClause.getBody());
+            }
+        }
+
+        void optimize(List<WasmExpression> expressions) {
+            for (var i = 0; i < expressions.size(); ++i) {
+                if (!(expressions.get(i) instanceof WasmSetLocal)) {
+                    continue;
+                }
+                var assignment = (WasmSetLocal) expressions.get(i);
+                var local = assignment.getLocal();
+                var value = assignment.getValue();
+                if (value instanceof WasmGetLocal && ((WasmGetLocal) value).getLocal() == local) {
+                    usages.reads.addTo(local, -1);
+                    usages.writes.addTo(local, -1);
+                    expressions.remove(i--);
+                } else if (isTemporary(local) && usages.reads.get(local) == 0) {
+                    usages.writes.addTo(local, -1);
+                    if (hasSideEffects(value)) {
+                        var drop = new WasmDrop(value);
+                        drop.setLocation(assignment.getLocation());
+                        expressions.set(i, drop);
+                    } else {
+                        expressions.remove(i--);
+                    }
+                } else if (isTemporary(local) && usages.reads.get(local) == 1 && usages.writes.get(local) == 1
+                        && i + 1 < expressions.size() && moveToFirstRead(expressions.get(i + 1), local, value)) {
+                    usages.reads.addTo(local, -1);
+                    usages.writes.addTo(local, -1);
+                    expressions.remove(i--);
+                }
+            }
+        }
+
+        private static boolean hasSideEffects(WasmExpression expression) {
+            return !(expression instanceof WasmGetLocal || expression instanceof WasmGetGlobal
+                    || expression instanceof WasmInt32Constant || expression instanceof WasmInt64Constant
+                    || expression instanceof WasmFloat32Constant || expression instanceof WasmFloat64Constant
+                    || expression instanceof WasmNullConstant);
+        }
+
+        private static boolean moveToFirstRead(WasmExpression expression, WasmLocal local, WasmExpression value) {
+            while (true) {
+                var operand = firstOperand(expression);
+                if (operand == null) {
+                    return false;
+                }
+                if (operand.value instanceof WasmGetLocal && ((WasmGetLocal) operand.value).getLocal() == local) {
+                    operand.setter.accept(value);
+                    return true;
+                }
+                expression = operand.value;
+            }
+        }
+
+        private static Operand firstOperand(WasmExpression expression) {
+            if (expression instanceof WasmSetLocal) {
+                var setLocal = (WasmSetLocal) expression;
+                return new Operand(setLocal.getValue(), setLocal::setValue);
+            } else if (expression instanceof WasmSetGlobal) {
+                var setGlobal = (WasmSetGlobal) expression;
+                return new Operand(setGlobal.getValue(), setGlobal::setValue);
+            } else if (expression instanceof WasmDrop) {
+                var drop = (WasmDrop) expression;
+                return new Operand(drop.getOperand(), drop::setOperand);
+            } else if (expression instanceof WasmReturn) {
+                var ret = (WasmReturn) expression;
+                return ret.getValue() != null ? new Operand(ret.getValue(), ret::setValue) : null;
+            } else if (expression instanceof WasmConditional) {
+                var conditional = (WasmConditional) expression;
+                return new Operand(conditional.getCondition(), conditional::setCondition);
+            } else if (expression instanceof WasmIntBinary) {
+                var binary = (WasmIntBinary) expression;
+                return new Operand(binary.getFirst(), binary::setFirst);
+            } else if (expression instanceof WasmFloatBinary) {
+                var binary = (WasmFloatBinary) expression;
+                return new Operand(binary.getFirst(), binary::setFirst);
+            } else if (expression instanceof WasmReferencesEqual) {
+                var binary = (WasmReferencesEqual) expression;
+                return new Operand(binary.getFirst(), binary::setFirst);
+            } else if (expression instanceof WasmIntUnary) {
+                var unary = (WasmIntUnary) expression;
+                return new Operand(unary.getOperand(), unary::setOperand);
+            } else if (expression instanceof WasmFloatUnary) {
+                var unary = (WasmFloatUnary) expression;
+                return new Operand(unary.getOperand(), unary::setOperand);
+            } else if (expression instanceof WasmConversion) {
+                var conversion = (WasmConversion) expression;
+                return new Operand(conversion.getOperand(), conversion::setOperand);
+            } else if (expression instanceof WasmIsNull) {
+                var isNull = (WasmIsNull) expression;
+                return new Operand(isNull.getValue(), isNull::setValue);
+            } else if (expression instanceof WasmCast) {
+                var cast = (WasmCast) expression;
+                return new Operand(cast.getValue(), cast::setValue);
+            } else if (expression instanceof WasmTest) {
+                var test = (WasmTest) expression;
+                return new Operand(test.getValue(), test::setValue);
+            } else if (expression instanceof WasmCall) {
+                var arguments = ((WasmCall) expression).getArguments();
+                return !arguments.isEmpty() ? new Operand(arguments.get(0), arg -> arguments.set(0, arg)) : null;
+            } else if (expression instanceof WasmStructGet) {
+                var structGet = (WasmStructGet) expression;
+                return new Operand(structGet.getInstance(), structGet::setInstance);
+            } else if (expression instanceof WasmStructSet) {
+                var structSet = (WasmStructSet) expression;
+                return new Operand(structSet.getInstance(), structSet::setInstance);
+            } else if (expression instanceof WasmArrayGet) {
+                var arrayGet = (WasmArrayGet) expression;
+                return new Operand(arrayGet.getInstance(), arrayGet::setInstance);
+            } else if (expression instanceof WasmArraySet) {
+                var arraySet = (WasmArraySet) expression;
+                return new Operand(arraySet.getInstance(), arraySet::setInstance);
+            } else if (expression instanceof WasmArrayLength) {
+                var arrayLength = (WasmArrayLength) expression;
+                return new Operand(arrayLength.getInstance(), arrayLength::setInstance);
+            }
+            return null;
+        }
+    }
+
+    private static class Operand {
+        final WasmExpression value;
+        final Consumer<WasmExpression> setter;
+
+        Operand(WasmExpression value, Consumer<WasmExpression> setter) {
+            this.value = value;
+            this.setter = setter;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.teavm.backend.wasm.model.WasmModule;
+
+/**
+ * Runs a sequence of optimization passes over Wasm module right before it's rendered to binary.
+ * Passes are applied in order of their addition.
+ */
+public class WasmPassManager {
+    private List<WasmOptimizationPass> passes = new ArrayList<>();
+    private List<WasmOptimizationPass> readonlyPasses = Collections.unmodifiableList(passes);
+
+    public static WasmPassManager createDefault() {
+        var manager = new WasmPassManager();
+        manager.add(new WasmCastFolding());
+        manager.add(new WasmLocalOptimization());
+        manager.add(new WasmBlockFlattening());
+        manager.add(new WasmDeadCodeElimination());
+        return manager;
+    }
+
+    public void add(WasmOptimizationPass pass) {
+        passes.add(pass);
+    }
+
+    public void remove(Class<? extends WasmOptimizationPass> passClass) {
+        passes.removeIf(passClass::isInstance);
+    }
+
+    public List<WasmOptimizationPass> getPasses() {
+        return readonlyPasses;
+    }
+
+    public void run(WasmModule module) {
+        for (var pass : passes) {
+            pass.apply(module);
+        }
+    }
+}
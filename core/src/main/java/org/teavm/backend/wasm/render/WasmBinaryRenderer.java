@@ -137,7 +137,7 @@ public class WasmBinaryRenderer {
             }
         }
 
-        writeSection(SECTION_TYPE, "type", section.getData());
+        writeSection(SECTION_TYPE, "type", section);
     }
 
     private void renderImports(WasmModule module) {
@@ -209,7 +209,7 @@ public class WasmBinaryRenderer {
             section.writeByte(global.isImmutable() ? 0 : 1);
         }
 
-        writeSection(SECTION_IMPORT, "import", section.getData());
+        writeSection(SECTION_IMPORT, "import", section);
     }
 
     private void renderFunctions(WasmModule module) {
@@ -224,7 +224,7 @@ public class WasmBinaryRenderer {
             section.writeLEB(module.types.indexOf(function.getType()));
         }
 
-        writeSection(SECTION_FUNCTION, "function", section.getData());
+        writeSection(SECTION_FUNCTION, "function", section);
     }
 
     private void renderTable(WasmModule module) {
@@ -239,7 +239,7 @@ public class WasmBinaryRenderer {
         section.writeByte(0);
         section.writeLEB(module.functions.size());
 
-        writeSection(SECTION_TABLE, "table", section.getData());
+        writeSection(SECTION_TABLE, "table", section);
     }
 
     private void renderMemory(WasmModule module) {
@@ -255,7 +255,7 @@ public class WasmBinaryRenderer {
             section.writeLEB(module.getMaxMemorySize());
         }
 
-        writeSection(SECTION_MEMORY, "memory", section.getData());
+        writeSection(SECTION_MEMORY, "memory", section);
     }
 
     private void renderGlobals(WasmModule module) {
@@ -276,7 +276,7 @@ public class WasmBinaryRenderer {
             section.writeByte(0x0b);
         }
 
-        writeSection(SECTION_GLOBAL, "global", section.getData());
+        writeSection(SECTION_GLOBAL, "global", section);
     }
 
     private void renderExport(WasmModule module) {
@@ -336,7 +336,7 @@ public class WasmBinaryRenderer {
             section.writeLEB(0);
         }
 
-        writeSection(SECTION_EXPORT, "export", section.getData());
+        writeSection(SECTION_EXPORT, "export", section);
     }
 
     private void renderStart(WasmModule module) {
@@ -347,7 +347,7 @@ public class WasmBinaryRenderer {
         WasmBinaryWriter section = new WasmBinaryWriter();
         section.writeLEB(module.functions.indexOf(module.getStartFunction()));
 
-        writeSection(SECTION_START, "start", section.getData());
+        writeSection(SECTION_START, "start", section);
     }
 
     private void renderElement(WasmModule module) {
@@ -386,39 +386,51 @@ public class WasmBinaryRenderer {
             }
         }
 
-        writeSection(SECTION_ELEMENT, "element", section.getData());
+        writeSection(SECTION_ELEMENT, "element", section);
     }
 
     private void renderCode(WasmModule module) {
-        var section = new WasmBinaryWriter();
-
         var functions = module.functions.stream()
                 .filter(function -> function.getImportName() == null)
                 .collect(Collectors.toList());
 
-        section.writeLEB(functions.size());
+        var header = new WasmBinaryWriter();
+        header.writeLEB(functions.size());
         var sectionOffset = output.getPosition() + 4;
+        var code = new WasmBinaryWriter();
+        var bodies = new ArrayList<byte[]>(functions.size());
+        var sectionSize = header.getPosition();
         for (var function : functions) {
-            var body = renderFunction(module, function, section.getPosition() + 4, sectionOffset);
-            var startPos = section.getPosition();
-            section.writeLEB4(body.length);
-            section.writeBytes(body);
-            var size = section.getPosition() - startPos;
+            code.reset();
+            renderFunction(module, function, code, sectionSize + 4, sectionOffset);
+            var body = code.getData();
+            bodies.add(body);
+            var size = 4 + body.length;
+            sectionSize += size;
             if (function.getJavaMethod() != null) {
                 statsCollector.addClassCodeSize(function.getJavaMethod().getClassName(), size);
             }
         }
 
         if (dwarfGenerator != null) {
-            dwarfGenerator.setCodeSize(section.getPosition());
+            dwarfGenerator.setCodeSize(sectionSize);
         }
 
-        writeSection(SECTION_CODE, "code", section.getData(), true);
+        // section size is known in advance, so function bodies go right to output, without copying
+        // them into a single section buffer
+        var start = writeSectionHeader(SECTION_CODE, "code", sectionSize, true);
+        output.writeBytes(header);
+        for (var i = 0; i < bodies.size(); ++i) {
+            var body = bodies.get(i);
+            bodies.set(i, null);
+            output.writeLEB4(body.length);
+            output.writeBytes(body);
+        }
+        statsCollector.addSectionSize("code", output.getPosition() - start);
     }
 
-    private byte[] renderFunction(WasmModule module, WasmFunction function, int offset, int sectionOffset) {
-        var code = new WasmBinaryWriter();
-
+    private void renderFunction(WasmModule module, WasmFunction function, WasmBinaryWriter code, int offset,
+            int sectionOffset) {
         var dwarfSubprogram = dwarfClassGen != null ? dwarfClassGen.getSubprogram(function.getName()) : null;
         if (dwarfSubprogram != null) {
             dwarfSubprogram.startOffset = offset - 4;
@@ -481,8 +493,6 @@ public class WasmBinaryRenderer {
         if (debugVariables != null) {
             writeDebugVariables(function, offset + sectionOffset, code.getPosition());
         }
-
-        return code.getData();
     }
 
     private void writeDebugVariables(WasmFunction function, int offset, int size) {
@@ -522,7 +532,7 @@ public class WasmBinaryRenderer {
             }
         }
 
-        writeSection(SECTION_DATA, "data", section.getData());
+        writeSection(SECTION_DATA, "data", section);
     }
 
     private void renderTags(WasmModule module) {
@@ -537,7 +547,7 @@ public class WasmBinaryRenderer {
             section.writeLEB(module.types.indexOf(tag.getType()));
         }
 
-        writeSection(SECTION_TAGS, "tags", section.getData());
+        writeSection(SECTION_TAGS, "tags", section);
     }
 
     private void renderNames(WasmModule module) {
@@ -642,7 +652,7 @@ public class WasmBinaryRenderer {
             section.writeBytes(payload);
         }
 
-        writeSection(SECTION_UNKNOWN, "name", section.getData());
+        writeSection(SECTION_UNKNOWN, "name", section);
     }
 
     private void renderCustomSections(WasmModule module,
@@ -671,13 +681,20 @@ public class WasmBinaryRenderer {
     }
 
     private void writeSection(int id, String name, byte[] data) {
-        writeSection(id, name, data, false);
+        var start = writeSectionHeader(id, name, data.length, false);
+        output.writeBytes(data);
+        statsCollector.addSectionSize(name, output.getPosition() - start);
+    }
+
+    private void writeSection(int id, String name, WasmBinaryWriter data) {
+        var start = writeSectionHeader(id, name, data.getPosition(), false);
+        output.writeBytes(data);
+        statsCollector.addSectionSize(name, output.getPosition() - start);
     }
 
-    private void writeSection(int id, String name, byte[] data, boolean constantSizeLength) {
+    private int writeSectionHeader(int id, String name, int length, boolean constantSizeLength) {
         var start = output.getPosition();
         output.writeByte(id);
-        int length = data.length;
         if (id == 0) {
             length += name.length() + 1;
         }
@@ -689,9 +706,6 @@ public class WasmBinaryRenderer {
         if (id == 0) {
             output.writeAsciiString(name);
         }
-
-        output.writeBytes(data);
-
-        statsCollector.addSectionSize(name, output.getPosition() - start);
+        return start;
     }
 }
@@ -15,14 +15,32 @@
  */
 package org.teavm.backend.wasm.render;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import org.teavm.backend.wasm.model.WasmModule;
 import org.teavm.backend.wasm.model.WasmNumType;
 import org.teavm.backend.wasm.model.WasmType;
 
 public class WasmBinaryWriter {
-    private byte[] data = new byte[1024];
+    private static final int STREAM_BUFFER_SIZE = 65536;
+    private byte[] data;
     private int pointer;
+    private OutputStream stream;
+    private int flushedBytes;
+
+    public WasmBinaryWriter() {
+        data = new byte[1024];
+    }
+
+    /**
+     * Creates writer that passes data to the given stream every time its buffer gets full,
+     * so that the whole binary is never kept in memory. Call {@link #flush()} to write remaining data.
+     */
+    public WasmBinaryWriter(OutputStream stream) {
+        this.stream = stream;
+        data = new byte[STREAM_BUFFER_SIZE];
+    }
 
     public void writeByte(int v) {
         alloc(1);
@@ -104,13 +122,57 @@ public class WasmBinaryWriter {
     }
 
     public int getPosition() {
-        return pointer;
+        return flushedBytes + pointer;
     }
 
     public void writeBytes(byte[] bytes) {
-        alloc(bytes.length);
-        System.arraycopy(bytes, 0, data, pointer, bytes.length);
-        pointer += bytes.length;
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    public void writeBytes(byte[] bytes, int offset, int length) {
+        if (stream != null && length > data.length) {
+            flush();
+            write(bytes, offset, length);
+            return;
+        }
+        alloc(length);
+        System.arraycopy(bytes, offset, data, pointer, length);
+        pointer += length;
+    }
+
+    public void writeBytes(WasmBinaryWriter writer) {
+        writer.ensureNotStreaming();
+        writeBytes(writer.data, 0, writer.pointer);
+    }
+
+    /**
+     * Discards all written data, so that the writer can be reused without reallocating its buffer.
+     */
+    public void reset() {
+        ensureNotStreaming();
+        pointer = 0;
+    }
+
+    public void flush() {
+        if (stream != null && pointer > 0) {
+            write(data, 0, pointer);
+            pointer = 0;
+        }
+    }
+
+    private void write(byte[] bytes, int offset, int length) {
+        try {
+            stream.write(bytes, offset, length);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        flushedBytes += length;
+    }
+
+    private void ensureNotStreaming() {
+        if (stream != null) {
+            throw new IllegalStateException("Writer passes its data to stream");
+        }
     }
 
     public void writeAsciiString(String str) {
@@ -224,6 +286,12 @@ public class WasmBinaryWriter {
 
     private void alloc(int size) {
         if (data.length - pointer < size) {
+            if (stream != null) {
+                flush();
+                if (data.length >= size) {
+                    return;
+                }
+            }
             int newLength = data.length * 2;
             if (newLength < pointer + size) {
                 newLength = (pointer + size) * 2;
@@ -233,6 +301,7 @@ public class WasmBinaryWriter {
     }
 
     public byte[] getData() {
+        ensureNotStreaming();
         return Arrays.copyOf(data, pointer);
     }
 }
@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.teavm.model.ClassReader;
+import org.teavm.model.ReferenceCache;
+
+/**
+ * <p>Writes parsed classes into a single snapshot file, which can be shipped along with the original class files
+ * and then read by {@link SnapshotClassReaderSource} instead of parsing these class files again.</p>
+ *
+ * <p>Snapshot consists of symbol tables, an index that maps class name to the original class file
+ * and position of class data, followed by class data in the format of {@link ClassIO}.</p>
+ */
+public class ClassSnapshotWriter {
+    private final long propertiesChecksum;
+    private final InMemorySymbolTable symbolTable = new InMemorySymbolTable();
+    private final InMemorySymbolTable fileTable = new InMemorySymbolTable();
+    private final InMemorySymbolTable variableTable = new InMemorySymbolTable();
+    private final ClassIO classIO;
+    private final List<Entry> entries = new ArrayList<>();
+    private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+    /**
+     * @param propertiesChecksum checksum of class mapping properties that were used to parse classes,
+     *                           see {@link SnapshotClassReaderSource#propertiesChecksum}.
+     */
+    public ClassSnapshotWriter(ReferenceCache referenceCache, long propertiesChecksum) {
+        this.propertiesChecksum = propertiesChecksum;
+        classIO = new ClassIO(referenceCache, symbolTable, fileTable, variableTable);
+    }
+
+    /**
+     * Adds class to the snapshot.
+     *
+     * @param cls parsed class.
+     * @param originalResource name of the class file resource class was parsed from.
+     * @param originalChecksum checksum of the class file, see {@link SnapshotClassReaderSource#checksum}.
+     */
+    public void add(ClassReader cls, String originalResource, long originalChecksum) throws IOException {
+        int offset = data.size();
+        classIO.writeClass(data, cls);
+        entries.add(new Entry(cls.getName(), originalResource, originalChecksum, offset, data.size() - offset));
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        var output = new VarDataOutput(stream);
+        output.writeUnsigned(SnapshotClassReaderSource.MAGIC);
+        output.writeUnsigned(SnapshotClassReaderSource.VERSION);
+        output.writeUnsigned(propertiesChecksum);
+        writeSymbols(output, symbolTable);
+        writeSymbols(output, fileTable);
+        writeSymbols(output, variableTable);
+        output.writeUnsigned(entries.size());
+        for (var entry : entries) {
+            output.write(entry.name);
+            output.write(entry.originalResource);
+            output.writeUnsigned(entry.originalChecksum);
+            output.writeUnsigned(entry.offset);
+            output.writeUnsigned(entry.length);
+        }
+        output.writeUnsigned(data.size());
+        data.writeTo(stream);
+    }
+
+    private static void writeSymbols(VarDataOutput output, InMemorySymbolTable table) throws IOException {
+        output.writeUnsigned(table.size());
+        for (int i = 0; i < table.size(); ++i) {
+            output.write(table.at(i));
+        }
+    }
+
+    private static class Entry {
+        final String name;
+        final String originalResource;
+        final long originalChecksum;
+        final int offset;
+        final int length;
+
+        Entry(String name, String originalResource, long originalChecksum, int offset, int length) {
+            this.name = name;
+            this.originalResource = originalResource;
+            this.originalChecksum = originalChecksum;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -23,28 +23,42 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import org.teavm.model.ClassHolderSource;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import org.teavm.model.ClassReader;
 import org.teavm.model.ClassReaderSource;
 import org.teavm.model.MethodReference;
 import org.teavm.model.ReferenceCache;
 import org.teavm.parsing.ClassDateProvider;
+import org.teavm.parsing.ClassHashProvider;
 
 public class DiskCachedClassReaderSource implements ClassReaderSource, CacheStatus {
+    private static String defaultCompilerVersion;
     private File directory;
-    private ClassHolderSource innerSource;
+    private ClassReaderSource innerSource;
     private ClassDateProvider classDateProvider;
+    private ClassHashProvider classHashProvider;
     private Map<String, Item> cache = new LinkedHashMap<>();
     private Set<String> newClasses = new HashSet<>();
     private ClassIO classIO;
+    private String compilerVersion;
 
     public DiskCachedClassReaderSource(File directory, ReferenceCache referenceCache, SymbolTable symbolTable,
-            SymbolTable fileTable, SymbolTable variableTable, ClassHolderSource innerSource,
+            SymbolTable fileTable, SymbolTable variableTable, ClassReaderSource innerSource,
             ClassDateProvider classDateProvider) {
         this.directory = directory;
         this.innerSource = innerSource;
@@ -52,6 +66,70 @@ public class DiskCachedClassReaderSource implements ClassReaderSource, CacheStat
         classIO = new ClassIO(referenceCache, symbolTable, fileTable, variableTable);
     }
 
+    /**
+     * Makes cache decide whether a cached class is up-to-date by comparing hash of its class file with
+     * the hash stored along with the cached class, instead of comparing modification dates. Since cache
+     * contains neither dates nor absolute paths in this mode, it can be restored on another machine or after
+     * a fresh checkout, and only classes which have actually changed are considered stale.
+     */
+    public void setClassHashProvider(ClassHashProvider classHashProvider) {
+        this.classHashProvider = classHashProvider;
+        if (compilerVersion == null) {
+            compilerVersion = defaultCompilerVersion();
+        }
+    }
+
+    void setCompilerVersion(String compilerVersion) {
+        this.compilerVersion = compilerVersion;
+    }
+
+    /**
+     * Identifies the compiler which produced a content-hashed cache entry. Release jars carry no
+     * reliable version attribute and snapshot builds share one, so this is a hash of the jar (or of the class
+     * directory) which this class was loaded from.
+     */
+    static synchronized String defaultCompilerVersion() {
+        if (defaultCompilerVersion == null) {
+            try {
+                defaultCompilerVersion = computeCompilerVersion();
+            } catch (IOException | URISyntaxException | RuntimeException e) {
+                // Can't identify compiler, so don't let anyone else reuse the cache
+                defaultCompilerVersion = UUID.randomUUID().toString();
+            }
+        }
+        return defaultCompilerVersion;
+    }
+
+    private static String computeCompilerVersion() throws IOException, URISyntaxException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        var location = Path.of(DiskCachedClassReaderSource.class.getProtectionDomain().getCodeSource()
+                .getLocation().toURI());
+        if (Files.isDirectory(location)) {
+            List<Path> files;
+            try (var stream = Files.walk(location)) {
+                files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (var file : files) {
+                digest.update(location.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                digest.update(Files.readAllBytes(file));
+            }
+        } else {
+            try (var input = new DigestInputStream(Files.newInputStream(location), digest)) {
+                input.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        var sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
     @Override
     public ClassReader get(String name) {
         return getItemFromCache(name).cls;
@@ -72,8 +150,13 @@ public class DiskCachedClassReaderSource implements ClassReaderSource, CacheStat
         if (item == null) {
             item = new Item();
             cache.put(name, item);
-            File classFile = new File(directory, name.replace('.', '/') + ".teavm-cls");
-            if (classFile.exists()) {
+            File classFile = getClassFile(name);
+            if (classHashProvider != null) {
+                item.hash = classHashProvider.getContentHash(name);
+                if (item.hash != null && classFile.exists()) {
+                    item.cls = readHashedClass(classFile, name, item.hash);
+                }
+            } else if (classFile.exists()) {
                 Date classDate = classDateProvider.getModificationDate(name);
                 if (classDate != null && classDate.before(new Date(classFile.lastModified()))) {
                     try (InputStream input = new BufferedInputStream(new FileInputStream(classFile))) {
@@ -93,8 +176,27 @@ public class DiskCachedClassReaderSource implements ClassReaderSource, CacheStat
         return item;
     }
 
+    private ClassReader readHashedClass(File classFile, String name, String expectedHash) {
+        try (InputStream input = new BufferedInputStream(new FileInputStream(classFile))) {
+            var header = new VarDataInput(input);
+            if (!Objects.equals(header.read(), compilerVersion) || !expectedHash.equals(header.read())) {
+                return null;
+            }
+            return classIO.readClass(input, name);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private File getClassFile(String className) {
+        return new File(directory, className.replace('.', '/') + (classHashProvider != null
+                ? ".teavm-hcls"
+                : ".teavm-cls"));
+    }
+
     private static class Item {
         ClassReader cls;
+        String hash;
         boolean dirty;
     }
 
@@ -102,9 +204,14 @@ public class DiskCachedClassReaderSource implements ClassReaderSource, CacheStat
         for (String className : newClasses) {
             Item item = cache.get(className);
             if (item.cls != null) {
-                File classFile = new File(directory, className.replace('.', '/') + ".teavm-cls");
+                File classFile = getClassFile(className);
                 classFile.getParentFile().mkdirs();
                 try (OutputStream output = new BufferedOutputStream(new FileOutputStream(classFile))) {
+                    if (classHashProvider != null) {
+                        var header = new VarDataOutput(output);
+                        header.write(compilerVersion);
+                        header.write(item.hash);
+                    }
                     classIO.writeClass(output, item.cls);
                 }
             }
@@ -0,0 +1,291 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Stores binary entries identified by string keys in a single append-only pack file, accompanied by
+ * an index file that maps keys to entry positions. Pack file is read through a memory-mapped buffer,
+ * and an entry is not touched until it is requested.</p>
+ *
+ * <p>New entries are appended to the end of the pack file, and the index is rewritten afterwards,
+ * so an interrupted flush never leaves an index that points to wrong data. When space occupied by replaced
+ * or removed entries exceeds space of live entries, pack is compacted, i.e. live entries are written to a pack
+ * file of the next generation, which the index refers to.</p>
+ *
+ * <p>A mapped file can't be truncated, replaced or deleted on some platforms (namely, on Windows) until
+ * the mapping is garbage collected, so pack file is never shrunk or replaced while it is mapped. Leftovers of
+ * an interrupted flush are cut before the file is mapped, and packs of previous generations are deleted
+ * when possible, i.e. next time the pack is loaded at the latest.</p>
+ */
+class PackFile {
+    private static final int INDEX_MAGIC = 0x54564958;
+    private static final int INDEX_VERSION = 2;
+    private static final String PACK_SUFFIX = ".teavm-pack";
+    private final File directory;
+    private final String name;
+    private final File indexFile;
+    private int generation;
+    private boolean loaded;
+    private MappedByteBuffer buffer;
+    private long packSize;
+    private long liveSize;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final Map<String, byte[]> newEntries = new LinkedHashMap<>();
+    private final Set<String> usedKeys = new HashSet<>();
+
+    PackFile(File directory, String name) {
+        this.directory = directory;
+        this.name = name;
+        indexFile = new File(directory, name + ".teavm-index");
+    }
+
+    private File packFile(int generation) {
+        return new File(directory, name + "." + generation + PACK_SUFFIX);
+    }
+
+    ByteBuffer get(String key) {
+        ensureLoaded();
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        usedKeys.add(key);
+        ByteBuffer result = buffer.duplicate();
+        result.position(entry.offset);
+        result.limit(entry.offset + entry.length);
+        return result.slice();
+    }
+
+    void put(String key, byte[] data) {
+        ensureLoaded();
+        remove(key);
+        newEntries.put(key, data);
+        usedKeys.add(key);
+    }
+
+    void remove(String key) {
+        ensureLoaded();
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            liveSize -= entry.length;
+        }
+    }
+
+    /**
+     * Removes entries that were neither read nor written since the pack was loaded or flushed last time,
+     * so that entries of methods that are not part of the program anymore don't stay in the pack forever.
+     */
+    void removeUnused() {
+        ensureLoaded();
+        for (var key : entries.keySet().toArray(new String[0])) {
+            if (!usedKeys.contains(key)) {
+                remove(key);
+            }
+        }
+    }
+
+    void flush() throws IOException {
+        ensureLoaded();
+        if (newEntries.isEmpty() && liveSize == packSize) {
+            return;
+        }
+        long newSize = 0;
+        for (byte[] data : newEntries.values()) {
+            newSize += data.length;
+        }
+        if (packSize - liveSize > liveSize + newSize || packSize + newSize > Integer.MAX_VALUE) {
+            compact();
+        } else {
+            append();
+        }
+        writeIndex();
+        newEntries.clear();
+        load();
+    }
+
+    private void append() throws IOException {
+        directory.mkdirs();
+        long offset = packSize;
+        try (FileChannel channel = FileChannel.open(packFile(generation).toPath(), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE);
+                OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel))) {
+            channel.position(offset);
+            for (var newEntry : newEntries.entrySet()) {
+                byte[] data = newEntry.getValue();
+                output.write(data);
+                entries.put(newEntry.getKey(), new Entry((int) offset, data.length));
+                offset += data.length;
+            }
+        }
+        packSize = offset;
+    }
+
+    private void compact() throws IOException {
+        directory.mkdirs();
+        File newFile = packFile(generation + 1);
+        var compactedEntries = new LinkedHashMap<String, Entry>();
+        long offset = 0;
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(newFile))) {
+            var chunk = new byte[8192];
+            for (var oldEntry : entries.entrySet()) {
+                var entry = oldEntry.getValue();
+                ByteBuffer data = buffer.duplicate();
+                data.position(entry.offset);
+                data.limit(entry.offset + entry.length);
+                while (data.hasRemaining()) {
+                    int size = Math.min(chunk.length, data.remaining());
+                    data.get(chunk, 0, size);
+                    output.write(chunk, 0, size);
+                }
+                compactedEntries.put(oldEntry.getKey(), new Entry((int) offset, entry.length));
+                offset += entry.length;
+            }
+            for (var newEntry : newEntries.entrySet()) {
+                byte[] data = newEntry.getValue();
+                output.write(data);
+                compactedEntries.put(newEntry.getKey(), new Entry((int) offset, data.length));
+                offset += data.length;
+            }
+        }
+        buffer = null;
+        generation++;
+        entries.clear();
+        entries.putAll(compactedEntries);
+        packSize = offset;
+    }
+
+    private void writeIndex() throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(indexFile)))) {
+            output.writeInt(INDEX_MAGIC);
+            output.writeInt(INDEX_VERSION);
+            output.writeInt(generation);
+            output.writeLong(packSize);
+            output.writeInt(entries.size());
+            for (var entry : entries.entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeInt(entry.getValue().offset);
+                output.writeInt(entry.getValue().length);
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            load();
+        }
+    }
+
+    private void load() {
+        loaded = true;
+        entries.clear();
+        usedKeys.clear();
+        buffer = null;
+        generation = 0;
+        packSize = 0;
+        liveSize = 0;
+        try {
+            readIndex();
+        } catch (IOException e) {
+            // we could not read index, just start with an empty pack
+            entries.clear();
+            buffer = null;
+            packSize = 0;
+            liveSize = 0;
+        }
+        deleteOtherGenerations();
+    }
+
+    private void deleteOtherGenerations() {
+        var current = packFile(generation).getName();
+        var files = directory.listFiles((dir, fileName) -> fileName.startsWith(name + ".")
+                && fileName.endsWith(PACK_SUFFIX) && !fileName.equals(current));
+        if (files != null) {
+            for (var file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    private void readIndex() throws IOException {
+        if (!indexFile.exists()) {
+            return;
+        }
+        File packFile;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(indexFile)))) {
+            if (input.readInt() != INDEX_MAGIC || input.readInt() != INDEX_VERSION) {
+                return;
+            }
+            int indexGeneration = input.readInt();
+            packFile = packFile(indexGeneration);
+            long size = input.readLong();
+            if (indexGeneration < 0 || size > Integer.MAX_VALUE || packFile.length() < size) {
+                return;
+            }
+            int count = input.readInt();
+            for (int i = 0; i < count; ++i) {
+                String key = input.readUTF();
+                int offset = input.readInt();
+                int length = input.readInt();
+                if (offset < 0 || length < 0 || offset + (long) length > size) {
+                    throw new IOException("Corrupted pack index " + indexFile);
+                }
+                entries.put(key, new Entry(offset, length));
+                liveSize += length;
+            }
+            generation = indexGeneration;
+            packSize = size;
+        }
+        try (FileChannel channel = FileChannel.open(packFile.toPath(), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            if (channel.size() > packSize) {
+                // drop leftovers of a flush that was interrupted before index was written
+                channel.truncate(packSize);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, packSize);
+        }
+    }
+
+    static class Entry {
+        final int offset;
+        final int length;
+
+        Entry(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- *  Copyright 2018 Alexey Andreev.
+ *  Copyright 2026 Alexey Andreev.
  *
  *  Licensed under the Apache License, Version 2.0 (the "License");
  *  you may not use this file except in compliance with the License.
@@ -15,15 +15,12 @@
  */
 package org.teavm.cache;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -33,17 +30,17 @@ import org.teavm.ast.RegularMethodNode;
 import org.teavm.model.MethodReference;
 import org.teavm.model.ReferenceCache;
 
-public class DiskMethodNodeCache implements MethodNodeCache {
-    private final File directory;
+public class PackedMethodNodeCache implements MethodNodeCache {
+    private final PackFile pack;
     private final AstIO astIO;
     private final Map<MethodReference, Item> cache = new HashMap<>();
     private final Map<MethodReference, AsyncItem> asyncCache = new HashMap<>();
-    private final Set<MethodReference> newMethods = new HashSet<>();
-    private final Set<MethodReference> newAsyncMethods = new HashSet<>();
+    private final Set<MethodReference> newMethods = new LinkedHashSet<>();
+    private final Set<MethodReference> newAsyncMethods = new LinkedHashSet<>();
 
-    public DiskMethodNodeCache(File directory, ReferenceCache referenceCache, SymbolTable symbolTable,
+    public PackedMethodNodeCache(File directory, ReferenceCache referenceCache, SymbolTable symbolTable,
             SymbolTable fileTable, SymbolTable variableTable) {
-        this.directory = directory;
+        pack = new PackFile(directory, "ast");
         astIO = new AstIO(referenceCache, symbolTable, fileTable, variableTable);
     }
 
@@ -53,17 +50,21 @@ public class DiskMethodNodeCache implements MethodNodeCache {
         if (item == null) {
             item = new Item();
             cache.put(methodReference, item);
-            File file = getMethodFile(methodReference, false);
-            if (file.exists()) {
-                try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
-                    VarDataInput input = new VarDataInput(stream);
-                    if (!checkIfDependenciesChanged(input, cacheStatus)) {
+            String key = getKey(methodReference, false);
+            ByteBuffer data = pack.get(key);
+            if (data != null) {
+                try {
+                    VarDataInput input = new VarDataInput(new ByteBufferInputStream(data));
+                    if (!PackedProgramCache.checkIfDependenciesChanged(input, cacheStatus)) {
                         RegularMethodNode node = astIO.read(input, methodReference);
                         ControlFlowEntry[] cfg = astIO.readControlFlow(input);
                         item.entry = new AstCacheEntry(node, cfg);
+                    } else {
+                        pack.remove(key);
                     }
                 } catch (IOException e) {
                     // we could not read program, just leave it empty
+                    pack.remove(key);
                 }
             }
         }
@@ -85,71 +86,74 @@ public class DiskMethodNodeCache implements MethodNodeCache {
         if (item == null) {
             item = new AsyncItem();
             asyncCache.put(methodReference, item);
-            File file = getMethodFile(methodReference, true);
-            if (file.exists()) {
-                try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
-                    VarDataInput input = new VarDataInput(stream);
-                    if (!checkIfDependenciesChanged(input, cacheStatus)) {
+            String key = getKey(methodReference, true);
+            ByteBuffer data = pack.get(key);
+            if (data != null) {
+                try {
+                    VarDataInput input = new VarDataInput(new ByteBufferInputStream(data));
+                    if (!PackedProgramCache.checkIfDependenciesChanged(input, cacheStatus)) {
                         item.node = astIO.readAsync(input, methodReference);
+                    } else {
+                        pack.remove(key);
                     }
                 } catch (IOException e) {
                     // we could not read program, just leave it empty
+                    pack.remove(key);
                 }
             }
         }
         return item.node;
     }
 
-    private boolean checkIfDependenciesChanged(VarDataInput input, CacheStatus cacheStatus) throws IOException {
-        int depCount = input.readUnsigned();
-        for (int i = 0; i < depCount; ++i) {
-            String depClass = input.read();
-            if (cacheStatus.isStaleClass(depClass)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     @Override
-    public void storeAsync(MethodReference methodReference, AsyncMethodNode node, Supplier<String[]> depenencies) {
+    public void storeAsync(MethodReference methodReference, AsyncMethodNode node, Supplier<String[]> dependencies) {
         AsyncItem item = new AsyncItem();
         item.node = node;
-        item.dependencies = depenencies.get().clone();
+        item.dependencies = dependencies.get().clone();
         asyncCache.put(methodReference, item);
         newAsyncMethods.add(methodReference);
     }
 
+    /**
+     * Makes next {@link #flush()} drop cached ASTs of methods that were neither requested nor stored
+     * since this cache was created. Should only be called after a complete build.
+     */
+    public void removeUnused() {
+        pack.removeUnused();
+    }
+
     public void flush() throws IOException {
         for (MethodReference method : newMethods) {
-            File file = getMethodFile(method, true);
             Item item = cache.get(method);
-            try (VarDataOutput output = new VarDataOutput(new BufferedOutputStream(new FileOutputStream(file)))) {
-                output.writeUnsigned(item.dependencies.length);
-                for (String dependency : item.dependencies) {
-                    output.write(dependency);
-                }
-                astIO.write(output, item.entry.method);
-                astIO.write(output, item.entry.cfg);
-            }
+            var bytes = new ByteArrayOutputStream();
+            VarDataOutput output = new VarDataOutput(bytes);
+            writeDependencies(output, item.dependencies);
+            astIO.write(output, item.entry.method);
+            astIO.write(output, item.entry.cfg);
+            pack.put(getKey(method, false), bytes.toByteArray());
         }
         for (MethodReference method : newAsyncMethods) {
-            File file = getMethodFile(method, true);
             AsyncItem item = asyncCache.get(method);
-            try (VarDataOutput output = new VarDataOutput(new BufferedOutputStream(new FileOutputStream(file)))) {
-                output.writeUnsigned(item.dependencies.length);
-                for (String dependency : item.dependencies) {
-                    output.write(dependency);
-                }
-                astIO.writeAsync(output, item.node);
-            }
+            var bytes = new ByteArrayOutputStream();
+            VarDataOutput output = new VarDataOutput(bytes);
+            writeDependencies(output, item.dependencies);
+            astIO.writeAsync(output, item.node);
+            pack.put(getKey(method, true), bytes.toByteArray());
+        }
+        newMethods.clear();
+        newAsyncMethods.clear();
+        pack.flush();
+    }
+
+    private static void writeDependencies(VarDataOutput output, String[] dependencies) throws IOException {
+        output.writeUnsigned(dependencies.length);
+        for (String dependency : dependencies) {
+            output.write(dependency);
         }
     }
 
-    private File getMethodFile(MethodReference method, boolean async) {
-        File dir = new File(directory, method.getClassName().replace('.', '/'));
-        return new File(dir, FileNameEncoder.encodeFileName(method.getDescriptor().toString()) + ".teavm-ast"
-                + (async ? "-async" : ""));
+    private static String getKey(MethodReference method, boolean async) {
+        return async ? "async:" + method : method.toString();
     }
 
     private static class Item {
@@ -0,0 +1,117 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Program;
+import org.teavm.model.ProgramCache;
+import org.teavm.model.ReferenceCache;
+
+public class PackedProgramCache implements ProgramCache {
+    private PackFile pack;
+    private ProgramIO programIO;
+    private Map<MethodReference, Item> cache = new HashMap<>();
+    private Set<MethodReference> newMethods = new LinkedHashSet<>();
+
+    public PackedProgramCache(File directory, ReferenceCache referenceCache, SymbolTable symbolTable,
+            SymbolTable fileTable, SymbolTable variableTable) {
+        pack = new PackFile(directory, "programs");
+        programIO = new ProgramIO(referenceCache, symbolTable, fileTable, variableTable);
+    }
+
+    @Override
+    public Program get(MethodReference method, CacheStatus cacheStatus) {
+        Item item = cache.get(method);
+        if (item == null) {
+            item = new Item();
+            cache.put(method, item);
+            String key = method.toString();
+            ByteBuffer data = pack.get(key);
+            if (data != null) {
+                try {
+                    VarDataInput input = new VarDataInput(new ByteBufferInputStream(data));
+                    if (!checkIfDependenciesChanged(input, cacheStatus)) {
+                        item.program = programIO.read(input);
+                    } else {
+                        pack.remove(key);
+                    }
+                } catch (IOException e) {
+                    // we could not read program, just leave it empty
+                    pack.remove(key);
+                }
+            }
+        }
+        return item.program;
+    }
+
+    static boolean checkIfDependenciesChanged(VarDataInput input, CacheStatus cacheStatus) throws IOException {
+        int depCount = input.readUnsigned();
+        for (int i = 0; i < depCount; ++i) {
+            String depClass = input.read();
+            if (cacheStatus.isStaleClass(depClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void store(MethodReference method, Program program, Supplier<String[]> dependencies) {
+        Item item = new Item();
+        cache.put(method, item);
+        item.program = program;
+        item.dependencies = dependencies.get().clone();
+        newMethods.add(method);
+    }
+
+    /**
+     * Makes next {@link #flush()} drop cached programs of methods that were neither requested nor stored
+     * since this cache was created. Should only be called after a complete build.
+     */
+    public void removeUnused() {
+        pack.removeUnused();
+    }
+
+    public void flush() throws IOException {
+        for (MethodReference method : newMethods) {
+            Item item = cache.get(method);
+            var bytes = new ByteArrayOutputStream();
+            VarDataOutput output = new VarDataOutput(bytes);
+            output.writeUnsigned(item.dependencies.length);
+            for (String dependency : item.dependencies) {
+                output.write(dependency);
+            }
+            programIO.write(item.program, output);
+            pack.put(method.toString(), bytes.toByteArray());
+        }
+        newMethods.clear();
+        pack.flush();
+    }
+
+    static class Item {
+        Program program;
+        String[] dependencies;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.zip.CRC32;
+import org.teavm.model.ClassReader;
+import org.teavm.model.ClassReaderSource;
+import org.teavm.model.ReferenceCache;
+import org.teavm.parsing.resource.ResourceProvider;
+import org.teavm.vm.spi.ElementFilter;
+
+/**
+ * <p>Reads classes from snapshots produced by {@link ClassSnapshotWriter} and found among resources,
+ * falling back to another class source for classes that are missing from snapshots.</p>
+ *
+ * <p>Snapshot is only used when it was built with the same class mapping properties as present in the
+ * resource provider. Every class is taken from snapshot only if the class file that would be parsed otherwise
+ * is exactly the same as the one snapshot was built from, so snapshot never hides classes that override
+ * library classes or come from a different library version. Class data is decoded on demand.</p>
+ */
+public class SnapshotClassReaderSource implements ClassReaderSource {
+    public static final String RESOURCE_NAME = "META-INF/teavm/classes.teavm-snapshot";
+    static final int MAGIC = 0x5456534E;
+    static final int VERSION = 1;
+    private final ResourceProvider resourceProvider;
+    private final ClassReaderSource fallback;
+    private final List<Snapshot> snapshots;
+    private final Map<String, ClassReader> cache = new HashMap<>();
+
+    private SnapshotClassReaderSource(ResourceProvider resourceProvider, ClassReaderSource fallback,
+            List<Snapshot> snapshots) {
+        this.resourceProvider = resourceProvider;
+        this.fallback = fallback;
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Creates class source that reads classes from snapshots available in given resource provider.
+     *
+     * @return new class source or {@code fallback}, if there are no applicable snapshots.
+     */
+    public static ClassReaderSource wrap(ResourceProvider resourceProvider, ReferenceCache referenceCache,
+            ClassReaderSource fallback) {
+        if (ServiceLoader.load(ElementFilter.class).iterator().hasNext()) {
+            return fallback;
+        }
+        var snapshots = new ArrayList<Snapshot>();
+        long propertiesChecksum = propertiesChecksum(resourceProvider);
+        for (var iter = resourceProvider.getResources(RESOURCE_NAME); iter.hasNext();) {
+            var resource = iter.next();
+            try (var input = resource.open()) {
+                var snapshot = Snapshot.read(ByteBuffer.wrap(input.readAllBytes()), referenceCache);
+                if (snapshot != null && snapshot.propertiesChecksum == propertiesChecksum) {
+                    snapshots.add(snapshot);
+                }
+            } catch (IOException e) {
+                // Snapshot is corrupted, just parse class files instead
+            }
+        }
+        return !snapshots.isEmpty() ? new SnapshotClassReaderSource(resourceProvider, fallback, snapshots) : fallback;
+    }
+
+    @Override
+    public ClassReader get(String name) {
+        var cls = cache.get(name);
+        if (cls == null && !cache.containsKey(name)) {
+            cls = getFromSnapshot(name);
+            if (cls == null) {
+                cls = fallback.get(name);
+            }
+            cache.put(name, cls);
+        }
+        return cls;
+    }
+
+    private ClassReader getFromSnapshot(String name) {
+        for (var snapshot : snapshots) {
+            var entry = snapshot.entries.get(name);
+            if (entry == null || !isOriginalResourceUnchanged(entry)) {
+                continue;
+            }
+            var data = snapshot.data.duplicate();
+            data.position(entry.offset);
+            data.limit(entry.offset + entry.length);
+            try {
+                return snapshot.classIO.readClass(new ByteBufferInputStream(data.slice()), name);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private boolean isOriginalResourceUnchanged(Entry entry) {
+        var resource = resourceProvider.getResource(entry.originalResource);
+        if (resource == null) {
+            return false;
+        }
+        try (var input = resource.open()) {
+            return checksum(input) == entry.originalChecksum;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static long propertiesChecksum(ResourceProvider resourceProvider) {
+        var crc = new CRC32();
+        for (var iter = resourceProvider.getResources("META-INF/teavm.properties"); iter.hasNext();) {
+            try (var input = iter.next().open()) {
+                crc.update(input.readAllBytes());
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+        return crc.getValue();
+    }
+
+    public static long checksum(InputStream input) throws IOException {
+        var crc = new CRC32();
+        var buffer = new byte[4096];
+        while (true) {
+            int bytesRead = input.read(buffer);
+            if (bytesRead < 0) {
+                break;
+            }
+            crc.update(buffer, 0, bytesRead);
+        }
+        return crc.getValue();
+    }
+
+    private static class Snapshot {
+        long propertiesChecksum;
+        ClassIO classIO;
+        Map<String, Entry> entries = new HashMap<>();
+        ByteBuffer data;
+
+        static Snapshot read(ByteBuffer buffer, ReferenceCache referenceCache) throws IOException {
+            var input = new VarDataInput(new ByteBufferInputStream(buffer));
+            if (input.readUnsigned() != MAGIC || input.readUnsigned() != VERSION) {
+                return null;
+            }
+            var snapshot = new Snapshot();
+            snapshot.propertiesChecksum = input.readUnsignedLong();
+            var symbolTable = readSymbols(input);
+            var fileTable = readSymbols(input);
+            var variableTable = readSymbols(input);
+            snapshot.classIO = new ClassIO(referenceCache, symbolTable, fileTable, variableTable);
+            int entryCount = input.readUnsigned();
+            for (int i = 0; i < entryCount; ++i) {
+                var entry = new Entry();
+                var name = input.read();
+                entry.originalResource = input.read();
+                entry.originalChecksum = input.readUnsignedLong();
+                entry.offset = input.readUnsigned();
+                entry.length = input.readUnsigned();
+                snapshot.entries.put(name, entry);
+            }
+            int dataLength = input.readUnsigned();
+            if (buffer.remaining() != dataLength) {
+                return null;
+            }
+            snapshot.data = buffer.slice();
+            return snapshot;
+        }
+
+        private static SymbolTable readSymbols(VarDataInput input) throws IOException {
+            var table = new InMemorySymbolTable();
+            int count = input.readUnsigned();
+            for (int i = 0; i < count; ++i) {
+                table.lookup(input.read());
+            }
+            return table;
+        }
+    }
+
+    private static class Entry {
+        String originalResource;
+        long originalChecksum;
+        int offset;
+        int length;
+    }
+}
@@ -887,12 +887,12 @@ public abstract class DependencyAnalyzer implements DependencyInfo {
             } else if (superType instanceof ValueType.Object) {
                 var superClass = (ValueType.Object) superType;
                 if (superClass.getClassName().equals("java.lang.Object")) {
-                    result = t -> true;
+                    result = TrivialTypeFilter.ANY;
                 } else {
                     result = new SuperClassFilter(this, superClass.getClassName());
                 }
             } else {
-                result = t -> false;
+                result = TrivialTypeFilter.NONE;
             }
             superClassFilters.put(superType, result);
         }
@@ -21,6 +21,7 @@ import com.carrotsearch.hppc.cursors.ObjectCursor;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -32,6 +33,7 @@ import org.teavm.model.MethodReference;
 import org.teavm.model.ValueType;
 
 public class DependencyNode implements ValueDependencyInfo {
+    static final int MASK_THRESHOLD = 16;
     DependencyAnalyzer dependencyAnalyzer;
     List<DependencyConsumer> followers;
     TypeSet typeSet;
@@ -150,10 +152,25 @@ public class DependencyNode implements ValueDependencyInfo {
             action.run();
         }
 
+        BitSet newTypeSet = newTypes.length >= MASK_THRESHOLD ? toBitSet(newTypes) : null;
         for (ObjectCursor<Transition> cursor : transitions) {
             Transition transition = cursor.value;
             DependencyType[] typesToPropagate = newTypes;
-            if (transition.source.typeFilter != null || transition.filter != null) {
+            boolean filtered = transition.source.typeFilter != null || transition.filter != null;
+            DependencyType[] maskedTypes = null;
+            if (filtered && newTypeSet != null && transition.pendingTypes == null) {
+                maskedTypes = filterByMask(newTypes, newTypeSet, transition.source.getFilter(), transition.filter);
+            }
+            if (maskedTypes != null) {
+                if (maskedTypes.length == 0) {
+                    continue;
+                }
+                if (maskedTypes.length == 1) {
+                    dependencyAnalyzer.schedulePropagation(transition, maskedTypes[0]);
+                    continue;
+                }
+                typesToPropagate = maskedTypes;
+            } else if (filtered) {
                 int j = 0;
                 for (int i = 0; i < typesToPropagate.length; ++i) {
                     DependencyType type = typesToPropagate[i];
@@ -180,7 +197,16 @@ public class DependencyNode implements ValueDependencyInfo {
         for (ConsumerWithNode entry : consumerEntries) {
             DependencyType[] filteredTypes = newTypes;
             DependencyNode node = entry.node;
-            if (node.typeFilter != null) {
+            DependencyType[] maskedTypes = null;
+            if (node.typeFilter != null && newTypeSet != null) {
+                maskedTypes = filterByMask(newTypes, newTypeSet, node.getFilter());
+            }
+            if (maskedTypes != null) {
+                if (maskedTypes.length == 0) {
+                    continue;
+                }
+                filteredTypes = maskedTypes;
+            } else if (node.typeFilter != null) {
                 int j = 0;
                 for (int i = 0; i < filteredTypes.length; ++i) {
                     DependencyType type = filteredTypes[i];
@@ -205,6 +231,58 @@ public class DependencyNode implements ValueDependencyInfo {
         }
     }
 
+    /**
+     * Filters new types that are not known to this node yet and that pass both the given filter and the filter
+     * of this node. Returns {@code null} if filters can't be applied to a set of types at once.
+     */
+    DependencyType[] filterNewTypes(DependencyType[] types, DependencyTypeFilter filter) {
+        var typeSet = toBitSet(types);
+        if (this.typeSet != null) {
+            this.typeSet.removeKnownTypes(typeSet);
+        }
+        return filterByMask(types, typeSet, getFilter(), filter);
+    }
+
+    private static BitSet toBitSet(DependencyType[] types) {
+        var result = new BitSet();
+        for (DependencyType type : types) {
+            result.set(type.index);
+        }
+        return result;
+    }
+
+    /**
+     * Keeps types from the given array that belong to the set and pass all the given filters, preserving
+     * their order. Returns {@code null} if some of the filters can't be applied to a set of types at once,
+     * or the original array if all types pass.
+     */
+    private static DependencyType[] filterByMask(DependencyType[] types, BitSet typeSet,
+            DependencyTypeFilter... filters) {
+        BitSet mask = typeSet;
+        for (DependencyTypeFilter filter : filters) {
+            if (filter == null) {
+                continue;
+            }
+            if (!(filter instanceof MaskTypeFilter)) {
+                return null;
+            }
+            mask = ((MaskTypeFilter) filter).mask(mask);
+        }
+
+        int count = mask.cardinality();
+        if (count == types.length) {
+            return types;
+        }
+        var result = new DependencyType[count];
+        int j = 0;
+        for (DependencyType type : types) {
+            if (mask.get(type.index)) {
+                result[j++] = type;
+            }
+        }
+        return result;
+    }
+
     boolean filter(DependencyType type) {
         if (typeFilter == null) {
             return true;
@@ -216,7 +294,7 @@ public class DependencyNode implements ValueDependencyInfo {
     DependencyTypeFilter getFilter() {
         if (cachedTypeFilter == null) {
             if (typeFilter == null) {
-                cachedTypeFilter = t -> true;
+                cachedTypeFilter = TrivialTypeFilter.ANY;
             } else {
                 cachedTypeFilter = dependencyAnalyzer.getSuperClassFilter(typeFilter);
             }
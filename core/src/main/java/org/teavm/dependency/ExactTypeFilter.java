@@ -18,7 +18,7 @@ package org.teavm.dependency;
 import java.util.BitSet;
 import org.teavm.model.ValueType;
 
-class ExactTypeFilter implements DependencyTypeFilter {
+class ExactTypeFilter implements MaskTypeFilter {
     private static final int[] EMPTY = new int[0];
     ValueType valueType;
     int cache = -1;
@@ -45,4 +45,13 @@ class ExactTypeFilter implements DependencyTypeFilter {
     public int[] tryExtract(BitSet types) {
         return types.get(index) ? new int[] { index } : EMPTY;
     }
+
+    @Override
+    public BitSet mask(BitSet types) {
+        var result = new BitSet();
+        if (types.get(index)) {
+            result.set(index);
+        }
+        return result;
+    }
 }
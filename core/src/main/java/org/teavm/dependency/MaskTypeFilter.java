@@ -0,0 +1,34 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.dependency;
+
+import java.util.BitSet;
+
+/**
+ * Type filter that can be applied to a whole set of type indexes at once, using word-parallel
+ * bit set operations instead of matching types one by one.
+ */
+interface MaskTypeFilter extends DependencyTypeFilter {
+    /**
+     * Returns subset of the given types that match this filter. The given set is not modified.
+     */
+    BitSet mask(BitSet types);
+
+    @Override
+    default int[] tryExtract(BitSet types) {
+        return mask(types).stream().toArray();
+    }
+}
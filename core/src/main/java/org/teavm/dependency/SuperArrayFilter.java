@@ -18,7 +18,7 @@ package org.teavm.dependency;
 import java.util.BitSet;
 import org.teavm.model.ValueType;
 
-class SuperArrayFilter implements DependencyTypeFilter {
+class SuperArrayFilter implements MaskTypeFilter {
     private DependencyAnalyzer analyzer;
     private DependencyTypeFilter itemTypeFilter;
     private BitSet knownTypes = new BitSet();
@@ -50,16 +50,18 @@ class SuperArrayFilter implements DependencyTypeFilter {
     }
 
     @Override
-    public int[] tryExtract(BitSet types) {
-        int[] result = itemTypeFilter.tryExtract(types);
-        if (result == null) {
-            return null;
+    public BitSet mask(BitSet types) {
+        var unknownTypes = (BitSet) types.clone();
+        unknownTypes.andNot(knownTypes);
+        for (int index = unknownTypes.nextSetBit(0); index >= 0; index = unknownTypes.nextSetBit(index + 1)) {
+            if (matchCacheMiss(analyzer.types.get(index))) {
+                cache.set(index);
+            }
         }
+        knownTypes.or(unknownTypes);
 
-        for (int i = 0; i < result.length; ++i) {
-            var valueType = analyzer.types.get(i).getValueType();
-            result[i] = analyzer.getType(ValueType.arrayOf(valueType)).index;
-        }
+        var result = (BitSet) types.clone();
+        result.and(cache);
         return result;
     }
 }
@@ -20,14 +20,16 @@ import java.util.BitSet;
 import org.teavm.common.OptionalPredicate;
 import org.teavm.model.ValueType;
 
-class SuperClassFilter implements DependencyTypeFilter {
+class SuperClassFilter implements MaskTypeFilter {
     private static final int SMALL_CACHE_THRESHOLD = 16;
+    private DependencyAnalyzer dependencyAnalyzer;
     private OptionalPredicate<ValueType> predicate;
     private IntIntHashMap smallCache;
     private BitSet knownTypes;
     private BitSet cache;
 
     SuperClassFilter(DependencyAnalyzer dependencyAnalyzer, String superClass) {
+        this.dependencyAnalyzer = dependencyAnalyzer;
         predicate = dependencyAnalyzer.getClassHierarchy().getSuperclassPredicate(superClass);
     }
 
@@ -55,8 +57,15 @@ class SuperClassFilter implements DependencyTypeFilter {
         var value = predicate.test(type.getValueType(), false);
         smallCache.put(type.index, value ? 1 : 0);
         if (smallCache.size() > SMALL_CACHE_THRESHOLD) {
-            knownTypes = new BitSet();
-            cache = new BitSet();
+            switchToBitSets();
+        }
+        return value;
+    }
+
+    private void switchToBitSets() {
+        knownTypes = new BitSet();
+        cache = new BitSet();
+        if (smallCache != null) {
             for (var entry : smallCache) {
                 knownTypes.set(entry.key);
                 if (entry.value != 0) {
@@ -65,6 +74,24 @@ class SuperClassFilter implements DependencyTypeFilter {
             }
             smallCache = null;
         }
-        return value;
+    }
+
+    @Override
+    public BitSet mask(BitSet types) {
+        if (knownTypes == null) {
+            switchToBitSets();
+        }
+        var unknownTypes = (BitSet) types.clone();
+        unknownTypes.andNot(knownTypes);
+        for (int index = unknownTypes.nextSetBit(0); index >= 0; index = unknownTypes.nextSetBit(index + 1)) {
+            if (predicate.test(dependencyAnalyzer.types.get(index).getValueType(), false)) {
+                cache.set(index);
+            }
+        }
+        knownTypes.or(unknownTypes);
+
+        var result = (BitSet) types.clone();
+        result.and(cache);
+        return result;
     }
 }
@@ -111,6 +111,18 @@ class Transition {
     }
 
     void consume(DependencyType[] types) {
+        if (types.length >= DependencyNode.MASK_THRESHOLD && pendingTypes == null) {
+            DependencyType[] newTypes = destination.filterNewTypes(types, filter);
+            if (newTypes != null) {
+                if (newTypes.length == 1) {
+                    propagate(newTypes[0]);
+                } else if (newTypes.length > 1) {
+                    propagate(newTypes);
+                }
+                return;
+            }
+        }
+
         int j = 0;
         boolean copied = false;
 
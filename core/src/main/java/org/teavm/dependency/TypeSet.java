@@ -194,6 +194,16 @@ class TypeSet {
         return types != null && types.get(type.index);
     }
 
+    void removeKnownTypes(BitSet typeSet) {
+        if (types != null) {
+            typeSet.andNot(types);
+        } else if (smallTypes != null) {
+            for (int type : smallTypes) {
+                typeSet.clear(type);
+            }
+        }
+    }
+
     boolean hasAnyType() {
         return types != null || smallTypes != null;
     }
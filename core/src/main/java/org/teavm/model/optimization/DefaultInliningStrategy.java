@@ -15,9 +15,12 @@
  */
 package org.teavm.model.optimization;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.teavm.model.BasicBlockReader;
 import org.teavm.model.MethodReference;
 import org.teavm.model.ProgramReader;
@@ -29,12 +32,12 @@ import org.teavm.model.instructions.InvocationType;
 import org.teavm.model.instructions.SwitchTableEntryReader;
 
 public class DefaultInliningStrategy implements InliningStrategy {
+    private static final int MAX_COMPLEXITY_DEPTH = 10;
     private final int complexityThreshold;
     private final int depthThreshold;
     private final int totalComplexityThreshold;
     private final boolean onceUsedOnly;
-    private int getComplexityDepth;
-    private Map<MethodReference, Complexity> complexityCache = new HashMap<>();
+    private Map<MethodReference, Complexity> complexityCache = new ConcurrentHashMap<>();
 
     public DefaultInliningStrategy(int complexityThreshold, int depthThreshold, int totalComplexityThreshold,
             boolean onceUsedOnly) {
@@ -46,7 +49,7 @@ public class DefaultInliningStrategy implements InliningStrategy {
 
     @Override
     public InliningStep start(MethodReference method, ProgramReader program) {
-        Complexity complexity = getComplexity(program, null);
+        Complexity complexity = getComplexity(program, null, null);
         if (complexity.score > totalComplexityThreshold) {
             return null;
         }
@@ -61,18 +64,37 @@ public class DefaultInliningStrategy implements InliningStrategy {
         complexityCache.remove(method);
     }
 
-    private Complexity getComplexity(MethodReference methodRef, InliningContext context) {
+    /*
+     * Complexity of a method must not depend on the order in which methods are inlined, otherwise
+     * concurrent inlining would not produce the same result as sequential one. Nested computations
+     * are cut at cycles of calls to used-once methods and at MAX_COMPLEXITY_DEPTH. Results affected by
+     * such cuts are never cached, and cached results are only reused at depths where recomputation
+     * would not reach the limit.
+     */
+    private Complexity getComplexity(MethodReference methodRef, InliningContext context,
+            ComplexityComputation computation) {
+        int position = computation != null ? computation.depth() : 0;
         var result = complexityCache.get(methodRef);
+        if (result != null && position + result.height > MAX_COMPLEXITY_DEPTH + 1) {
+            result = null;
+        }
         if (result == null) {
-            result = getComplexity(context.getProgram(methodRef), context);
-            complexityCache.put(methodRef, result);
+            if (computation == null) {
+                computation = new ComplexityComputation();
+            }
+            computation.enter(methodRef);
+            result = getComplexity(context.getProgram(methodRef), context, computation);
+            if (computation.leave(methodRef, position)) {
+                complexityCache.put(methodRef, result);
+            }
         }
         return result;
     }
 
-    private Complexity getComplexity(ProgramReader program, InliningContext context) {
+    private Complexity getComplexity(ProgramReader program, InliningContext context,
+            ComplexityComputation computation) {
         int complexity = 0;
-        ComplexityCounter counter = new ComplexityCounter(context);
+        ComplexityCounter counter = new ComplexityCounter(context, computation);
         for (int i = 0; i < program.basicBlockCount(); ++i) {
             BasicBlockReader block = program.basicBlockAt(i);
             counter.complexity = 0;
@@ -82,6 +104,7 @@ public class DefaultInliningStrategy implements InliningStrategy {
         Complexity result = new Complexity();
         result.score = complexity;
         result.callsToUsedOnceMethods = counter.callsToUsedOnceMethods;
+        result.height = counter.height;
         return result;
     }
 
@@ -98,7 +121,7 @@ public class DefaultInliningStrategy implements InliningStrategy {
                 return null;
             }
 
-            Complexity complexity = getComplexity(method, context);
+            Complexity complexity = getComplexity(method, context, null);
             if (onceUsedOnly && !context.isUsedOnce(method)) {
                 if (complexity.callsToUsedOnceMethods || complexity.score > 1) {
                     return null;
@@ -119,13 +142,60 @@ public class DefaultInliningStrategy implements InliningStrategy {
         int complexity;
     }
 
+    static class ComplexityComputation {
+        private List<MethodReference> stack = new ArrayList<>();
+        private Set<MethodReference> methodsInProgress = new HashSet<>();
+        private int lowestCycleEntry = Integer.MAX_VALUE;
+
+        int depth() {
+            return stack.size();
+        }
+
+        void enter(MethodReference method) {
+            stack.add(method);
+            methodsInProgress.add(method);
+        }
+
+        boolean isTooDeep() {
+            if (stack.size() <= MAX_COMPLEXITY_DEPTH + 1) {
+                return false;
+            }
+            lowestCycleEntry = 0;
+            return true;
+        }
+
+        boolean isInProgress(MethodReference method) {
+            if (!methodsInProgress.contains(method)) {
+                return false;
+            }
+            lowestCycleEntry = Math.min(lowestCycleEntry, stack.lastIndexOf(method));
+            return true;
+        }
+
+        boolean leave(MethodReference method, int position) {
+            stack.remove(position);
+            methodsInProgress.remove(method);
+            if (lowestCycleEntry < position) {
+                return false;
+            }
+            boolean cacheable = lowestCycleEntry == Integer.MAX_VALUE;
+            if (lowestCycleEntry == position) {
+                lowestCycleEntry = Integer.MAX_VALUE;
+            }
+            return cacheable;
+        }
+    }
+
     class ComplexityCounter extends AbstractInstructionReader {
         InliningContext context;
+        ComplexityComputation computation;
         int complexity;
         boolean callsToUsedOnceMethods;
+        int height;
 
-        ComplexityCounter(InliningContext context) {
+        ComplexityCounter(InliningContext context, ComplexityComputation computation) {
             this.context = context;
+            this.computation = computation;
         }
 
         @Override
@@ -149,12 +219,14 @@ public class DefaultInliningStrategy implements InliningStrategy {
         }
 
         private boolean isTrivialCall(MethodReference methodRef) {
-            if (context.getProgram(methodRef) == null || getComplexityDepth > 10) {
-               return false;
+            if (context.getProgram(methodRef) == null) {
+                return false;
+            }
+            if (computation.isTooDeep() || computation.isInProgress(methodRef)) {
+                return false;
             }
-            getComplexityDepth++;
-            Complexity complexity = getComplexity(methodRef, context);
-            getComplexityDepth--;
+            Complexity complexity = getComplexity(methodRef, context, computation);
+            height = Math.max(height, complexity.height + 1);
             return complexity.score <= 1 && !complexity.callsToUsedOnceMethods;
         }
 
@@ -195,5 +267,6 @@ public class DefaultInliningStrategy implements InliningStrategy {
     static class Complexity {
         int score;
         boolean callsToUsedOnceMethods;
+        int height;
     }
 }
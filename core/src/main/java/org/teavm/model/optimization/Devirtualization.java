@@ -22,6 +22,7 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import org.teavm.dependency.DependencyInfo;
 import org.teavm.dependency.MethodDependencyInfo;
 import org.teavm.dependency.ValueDependencyInfo;
@@ -41,6 +42,7 @@ public class Devirtualization {
     static final boolean shouldLog = System.getProperty("org.teavm.logDevirtualization", "false").equals("true");
     private DependencyInfo dependency;
     private ClassHierarchy hierarchy;
+    private Object dependencyLock;
     private Set<MethodReference> virtualMethods = new HashSet<>();
     private Set<? extends MethodReference> readonlyVirtualMethods = Collections.unmodifiableSet(virtualMethods);
     private Map<ValueDependencyInfo, Map<MethodReference, Set<MethodReference>>> implementationCache =
@@ -52,8 +54,36 @@ public class Devirtualization {
     private int eliminatedCasts;
 
     public Devirtualization(DependencyInfo dependency, ClassHierarchy hierarchy) {
+        this(dependency, hierarchy, new Object());
+    }
+
+    /**
+     * Creates devirtualization that accesses dependency information under the given lock. Class sources
+     * of hierarchies passed to {@link #fork(ClassHierarchy)} should be guarded by the same lock.
+     */
+    public Devirtualization(DependencyInfo dependency, ClassHierarchy hierarchy, Object dependencyLock) {
         this.dependency = dependency;
         this.hierarchy = hierarchy;
+        this.dependencyLock = dependencyLock;
+    }
+
+    /**
+     * Creates devirtualization that can be applied concurrently with this instance and its other forks.
+     * Caches and statistics of a fork are confined to it, while dependency information is accessed under a lock
+     * shared by all forks. Use {@link #join(Devirtualization)} to collect results of a fork.
+     *
+     * @param hierarchy class hierarchy that is only used by the fork's thread.
+     */
+    public Devirtualization fork(ClassHierarchy hierarchy) {
+        return new Devirtualization(dependency, hierarchy, dependencyLock);
+    }
+
+    public void join(Devirtualization fork) {
+        virtualMethods.addAll(fork.virtualMethods);
+        virtualCallSites += fork.virtualCallSites;
+        directCallSites += fork.directCallSites;
+        remainingCasts += fork.remainingCasts;
+        eliminatedCasts += fork.eliminatedCasts;
     }
 
     public int getVirtualCallSites() {
@@ -73,7 +103,10 @@ public class Devirtualization {
     }
 
     public void apply(MethodHolder method) {
-        MethodDependencyInfo methodDep = dependency.getMethod(method.getReference());
+        MethodDependencyInfo methodDep;
+        synchronized (dependencyLock) {
+            methodDep = dependency.getMethod(method.getReference());
+        }
         if (methodDep == null) {
             return;
         }
@@ -103,7 +136,10 @@ public class Devirtualization {
         if (invoke.getType() != InvocationType.VIRTUAL) {
             return;
         }
-        ValueDependencyInfo var = methodDep.getVariable(invoke.getInstance().getIndex());
+        ValueDependencyInfo var;
+        synchronized (dependencyLock) {
+            var = methodDep.getVariable(invoke.getInstance().getIndex());
+        }
         Set<MethodReference> implementations = getImplementations(var, invoke.getMethod());
         if (implementations.size() == 1) {
             MethodReference resolvedImplementation = implementations.iterator().next();
@@ -153,7 +189,10 @@ public class Devirtualization {
     }
 
     private void applyToCast(MethodDependencyInfo methodDep, CastInstruction cast) {
-        ValueDependencyInfo var = methodDep.getVariable(cast.getValue().getIndex());
+        ValueDependencyInfo var;
+        synchronized (dependencyLock) {
+            var = methodDep.getVariable(cast.getValue().getIndex());
+        }
         if (var == null) {
             return;
         }
@@ -194,7 +233,7 @@ public class Devirtualization {
     }
 
     private ValueType computeCastFailType(ValueDependencyInfo node, ValueType targetType) {
-        for (var type : node.getTypes()) {
+        for (var type : getTypes(node)) {
             if (castCanFail(type, targetType)) {
                 return type;
             }
@@ -208,15 +247,34 @@ public class Devirtualization {
 
     private Set<MethodReference> getImplementations(ValueDependencyInfo value, MethodReference ref) {
         if (dependency.isPrecise()) {
-            return implementations(hierarchy, dependency, value.getTypes(), ref);
+            return implementations(hierarchy, this::getMethodImplementation, getTypes(value), ref);
         } else {
             var map = implementationCache.computeIfAbsent(value, v -> new HashMap<>());
-            return map.computeIfAbsent(ref, m -> implementations(hierarchy, dependency, value.getTypes(), m));
+            return map.computeIfAbsent(ref, m -> implementations(hierarchy, this::getMethodImplementation,
+                    getTypes(value), m));
+        }
+    }
+
+    private ValueType[] getTypes(ValueDependencyInfo value) {
+        synchronized (dependencyLock) {
+            return value.getTypes();
+        }
+    }
+
+    private MethodDependencyInfo getMethodImplementation(MethodReference method) {
+        synchronized (dependencyLock) {
+            return dependency.getMethodImplementation(method);
         }
     }
 
     public static Set<MethodReference> implementations(ClassHierarchy hierarchy, DependencyInfo dependency,
             ValueType[] types, MethodReference ref) {
+        return implementations(hierarchy, dependency::getMethodImplementation, types, ref);
+    }
+
+    private static Set<MethodReference> implementations(ClassHierarchy hierarchy,
+            Function<MethodReference, MethodDependencyInfo> implementationResolver, ValueType[] types,
+            MethodReference ref) {
         var isSuperclass = hierarchy.getSuperclassPredicate(ref.getClassName());
         Set<MethodReference> methods = new LinkedHashSet<>();
         var arrayEncountered = false;
@@ -240,7 +298,7 @@ public class Devirtualization {
             if (cls == null) {
                 continue;
             }
-            MethodDependencyInfo methodDep = dependency.getMethodImplementation(new MethodReference(
+            MethodDependencyInfo methodDep = implementationResolver.apply(new MethodReference(
                     className, ref.getDescriptor()));
             if (methodDep != null) {
                 methods.add(methodDep.getReference());
@@ -16,6 +16,7 @@
 package org.teavm.model.optimization;
 
 import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.IntStack;
 import com.carrotsearch.hppc.ObjectIntHashMap;
 import com.carrotsearch.hppc.ObjectIntMap;
 import com.carrotsearch.hppc.cursors.ObjectCursor;
@@ -30,6 +31,11 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import org.teavm.callgraph.CallGraphNode;
+import org.teavm.callgraph.CallSite;
+import org.teavm.common.Graph;
+import org.teavm.common.GraphBuilder;
+import org.teavm.common.GraphUtils;
 import org.teavm.dependency.DependencyInfo;
 import org.teavm.model.BasicBlock;
 import org.teavm.model.BasicBlockReader;
@@ -74,6 +80,8 @@ public class Inlining {
     private boolean devirtualization;
     private ClassInference classInference;
     private InliningFilterFactory filterFactory;
+    private Object dependencyLock = new Object();
+    private List<UsageChange> pendingUsageChanges;
 
     public Inlining(ClassHierarchy hierarchy, DependencyInfo dependencyInfo, InliningStrategy strategy,
             ListableClassReaderSource classes, Predicate<MethodReference> externalMethods,
@@ -106,6 +114,41 @@ public class Inlining {
         }
     }
 
+    private Inlining(Inlining parent) {
+        hierarchy = parent.hierarchy;
+        classes = parent.classes;
+        dependencyInfo = parent.dependencyInfo;
+        strategy = parent.strategy;
+        devirtualization = parent.devirtualization;
+        usageCounter = parent.usageCounter;
+        methodsUsedOnce = parent.methodsUsedOnce;
+        dependencyLock = parent.dependencyLock;
+        var parentFilterFactory = parent.filterFactory;
+        filterFactory = method -> {
+            InliningFilter filter;
+            synchronized (dependencyLock) {
+                filter = parentFilterFactory.createFilter(method);
+            }
+            return invokedMethod -> {
+                synchronized (dependencyLock) {
+                    return filter.apply(invokedMethod);
+                }
+            };
+        };
+        pendingUsageChanges = new ArrayList<>();
+    }
+
+    /**
+     * <p>Creates inlining that can process methods concurrently with other forks.
+     * Fork does not modify usage counters directly, instead it records changes that should be
+     * later passed to {@link #applyUsageChanges(List)} of the original inlining.</p>
+     *
+     * <p>Only methods of the same wave (see {@link #getWaves()}) can be processed concurrently.</p>
+     */
+    public Inlining fork() {
+        return new Inlining(this);
+    }
+
     public List<MethodReference> getOrder() {
         List<MethodReference> order = new ArrayList<>();
         Set<MethodReference> visited = new HashSet<>();
@@ -134,8 +177,179 @@ public class Inlining {
         order.add(method);
     }
 
+    /**
+     * <p>Splits methods returned by {@link #getOrder()} into waves. Waves must be processed one after another,
+     * while methods of a wave are independent: none of them can inline, devirtualize or change usages
+     * of another one, so they can be processed concurrently.</p>
+     *
+     * <p>Each wave keeps methods in the order of {@link #getOrder()}, and each method is placed after all
+     * preceding methods it depends on or that depend on it. Therefore processing waves one after another
+     * and applying usage changes of each wave in the given order produces the same result
+     * as processing methods sequentially.</p>
+     */
+    public List<List<MethodReference>> getWaves() {
+        var order = getOrder();
+        var indexes = new ObjectIntHashMap<MethodReference>();
+        for (int i = 0; i < order.size(); ++i) {
+            indexes.put(order.get(i), i);
+        }
+
+        var graphBuilder = new GraphBuilder(order.size());
+        for (int i = 0; i < order.size(); ++i) {
+            var method = order.get(i);
+            Set<MethodReference> invokedMethods = usageCounter.methodDependencies.get(method);
+            if (invokedMethods != null) {
+                for (MethodReference invokedMethod : invokedMethods) {
+                    addDependency(graphBuilder, i, invokedMethod, indexes);
+                }
+            }
+            if (devirtualization) {
+                // Virtual calls can be devirtualized and then inlined, so take possible
+                // implementations from call graph
+                CallGraphNode node = dependencyInfo.getCallGraph().getNode(method);
+                if (node != null) {
+                    for (CallSite callSite : node.getCallSites()) {
+                        for (CallGraphNode calledMethod : callSite.getCalledMethods()) {
+                            addDependency(graphBuilder, i, calledMethod.getMethod(), indexes);
+                        }
+                    }
+                }
+            }
+        }
+        Graph graph = graphBuilder.build();
+
+        // Methods depend on each other when there's a path between them, so compute
+        // dependencies between strongly connected components instead of methods
+        int[] componentByMethod = new int[order.size()];
+        Arrays.fill(componentByMethod, -1);
+        int componentCount = 0;
+        for (int[] component : GraphUtils.findStronglyConnectedComponents(graph)) {
+            for (int method : component) {
+                componentByMethod[method] = componentCount;
+            }
+            componentCount++;
+        }
+        for (int i = 0; i < order.size(); ++i) {
+            if (componentByMethod[i] < 0) {
+                componentByMethod[i] = componentCount++;
+            }
+        }
+        var componentGraphBuilder = new GraphBuilder(componentCount);
+        for (int i = 0; i < order.size(); ++i) {
+            for (int successor : graph.outgoingEdges(i)) {
+                if (componentByMethod[i] != componentByMethod[successor]) {
+                    componentGraphBuilder.addEdge(componentByMethod[i], componentByMethod[successor]);
+                }
+            }
+        }
+        var componentGraph = componentGraphBuilder.build();
+
+        // Last wave of already placed methods from components that reach given component
+        // and from components reachable from given component
+        int[] callerWaves = new int[componentCount];
+        int[] calleeWaves = new int[componentCount];
+        Arrays.fill(callerWaves, -1);
+        Arrays.fill(calleeWaves, -1);
+        var waves = new ArrayList<List<MethodReference>>();
+        for (int i = 0; i < order.size(); ++i) {
+            int component = componentByMethod[i];
+            int wave = Math.max(callerWaves[component], calleeWaves[component]) + 1;
+            if (wave == waves.size()) {
+                waves.add(new ArrayList<>());
+            }
+            waves.get(wave).add(order.get(i));
+            raiseWave(componentGraph, component, wave, callerWaves, true);
+            raiseWave(componentGraph, component, wave, calleeWaves, false);
+        }
+        return waves;
+    }
+
+    private static void addDependency(GraphBuilder graphBuilder, int caller, MethodReference callee,
+            ObjectIntMap<MethodReference> indexes) {
+        int index = indexes.getOrDefault(callee, -1);
+        if (index >= 0) {
+            graphBuilder.addEdge(caller, index);
+        }
+    }
+
+    private static void raiseWave(Graph graph, int start, int wave, int[] waves, boolean forward) {
+        if (waves[start] >= wave) {
+            return;
+        }
+        waves[start] = wave;
+        var stack = new IntStack();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            for (int next : forward ? graph.outgoingEdges(node) : graph.incomingEdges(node)) {
+                if (waves[next] < wave) {
+                    waves[next] = wave;
+                    stack.push(next);
+                }
+            }
+        }
+    }
+
     public boolean hasUsages(MethodReference method) {
-        return usageCounter.methodUsageCount.getOrDefault(method, -1) != 0;
+        int usageCount = usageCounter.methodUsageCount.getOrDefault(method, -1);
+        if (pendingUsageChanges != null) {
+            for (UsageChange change : pendingUsageChanges) {
+                if (change.method.equals(method)) {
+                    usageCount = change.apply(usageCount);
+                }
+            }
+        }
+        return usageCount != 0;
+    }
+
+    /**
+     * Returns usage changes recorded by a fork since the last call and forgets them.
+     */
+    public List<UsageChange> takeUsageChanges() {
+        var result = pendingUsageChanges;
+        pendingUsageChanges = new ArrayList<>();
+        return result;
+    }
+
+    public void applyUsageChanges(List<UsageChange> changes) {
+        for (UsageChange change : changes) {
+            applyUsageChange(change);
+        }
+    }
+
+    private void changeUsage(MethodReference method, boolean increment) {
+        var change = new UsageChange(method, increment);
+        if (pendingUsageChanges != null) {
+            pendingUsageChanges.add(change);
+        } else {
+            applyUsageChange(change);
+        }
+    }
+
+    private void applyUsageChange(UsageChange change) {
+        int usageCount = usageCounter.methodUsageCount.getOrDefault(change.method, -1);
+        int newUsageCount = change.apply(usageCount);
+        if (newUsageCount != usageCount) {
+            usageCounter.methodUsageCount.put(change.method, newUsageCount);
+        }
+    }
+
+    public static final class UsageChange {
+        final MethodReference method;
+        final boolean increment;
+
+        UsageChange(MethodReference method, boolean increment) {
+            this.method = method;
+            this.increment = increment;
+        }
+
+        int apply(int usageCount) {
+            if (increment) {
+                return usageCount >= 0 ? usageCount + 1 : usageCount;
+            } else {
+                return usageCount > 0 ? usageCount - 1 : usageCount;
+            }
+        }
     }
 
     public void removeUsages(Program program) {
@@ -150,10 +364,7 @@ public class Inlining {
                     continue;
                 }
 
-                int usageCount = usageCounter.methodUsageCount.getOrDefault(invoke.getMethod(), -1);
-                if (usageCount > 0) {
-                    usageCounter.methodUsageCount.put(invoke.getMethod(), usageCount - 1);
-                }
+                changeUsage(invoke.getMethod(), false);
             }
         }
     }
@@ -167,7 +378,9 @@ public class Inlining {
 
         if (devirtualization) {
             while (applyOnce(program, method)) {
-                devirtualize(program, method, dependencyInfo);
+                synchronized (dependencyLock) {
+                    devirtualize(program, method, dependencyInfo);
+                }
             }
         } else {
             applyOnce(program, method);
@@ -199,10 +412,7 @@ public class Inlining {
     }
 
     private void execPlanEntry(Program program, PlanEntry planEntry, int offset) {
-        int usageCount = usageCounter.methodUsageCount.getOrDefault(planEntry.method, -1);
-        if (usageCount > 0) {
-            usageCounter.methodUsageCount.put(planEntry.method, usageCount - 1);
-        }
+        changeUsage(planEntry.method, false);
 
         BasicBlock block = program.basicBlockAt(planEntry.targetBlock + offset);
         InvokeInstruction invoke = (InvokeInstruction) planEntry.targetInstruction;
@@ -246,10 +456,7 @@ public class Inlining {
                 if (insn instanceof InvokeInstruction) {
                     InvokeInstruction invokeInsn = (InvokeInstruction) insn;
                     if (invokeInsn.getType() == InvocationType.SPECIAL) {
-                        usageCount = usageCounter.methodUsageCount.getOrDefault(invokeInsn.getMethod(), -1);
-                        if (usageCount >= 0) {
-                            usageCounter.methodUsageCount.put(invokeInsn.getMethod(), usageCount + 1);
-                        }
+                        changeUsage(invokeInsn.getMethod(), true);
                     }
                 }
 
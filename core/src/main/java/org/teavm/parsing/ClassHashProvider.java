@@ -0,0 +1,28 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.parsing;
+
+/**
+ * Provides hashes of class files, which allow to decide whether a cached class is up-to-date without
+ * relying on modification dates, which change on every fresh checkout.
+ */
+public interface ClassHashProvider {
+    /**
+     * Returns hash of the content the class with the given name is parsed from, including everything else that
+     * affects parsing result, or {@code null} if there's no such class.
+     */
+    String getContentHash(String className);
+}
@@ -23,7 +23,7 @@ import org.teavm.parsing.resource.MapperClassHolderSource;
 import org.teavm.parsing.resource.ResourceClassHolderMapper;
 import org.teavm.parsing.resource.ResourceProvider;
 
-public class ClasspathClassHolderSource implements ClassHolderSource, ClassDateProvider {
+public class ClasspathClassHolderSource implements ClassHolderSource, ClassDateProvider, ClassHashProvider {
     private MapperClassHolderSource innerClassSource;
     private RenamingResourceMapper classPathMapper;
 
@@ -46,4 +46,9 @@ public class ClasspathClassHolderSource implements ClassHolderSource, ClassDateP
     public Date getModificationDate(String className) {
         return classPathMapper.getModificationDate(className);
     }
+
+    @Override
+    public String getContentHash(String className) {
+        return classPathMapper.getContentHash(className);
+    }
 }
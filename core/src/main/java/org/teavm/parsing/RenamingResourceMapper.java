@@ -15,7 +15,11 @@
  */
 package org.teavm.parsing;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -36,7 +40,8 @@ import org.teavm.parsing.substitution.OrderedProperties;
 import org.teavm.parsing.substitution.PrefixMapping;
 import org.teavm.vm.spi.ElementFilter;
 
-public class RenamingResourceMapper implements Function<String, ClassHolder>, ClassDateProvider {
+public class RenamingResourceMapper implements Function<String, ClassHolder>, ClassDateProvider,
+        ClassHashProvider {
     private static final String STRIP_PREFIX_FROM_PREFIX = "stripPrefixFrom";
     private static final String STRIP_PREFIX_FROM_PACKAGE_HIERARCHY_PREFIX =
             STRIP_PREFIX_FROM_PREFIX + "PackageHierarchyClasses";
@@ -54,6 +59,8 @@ public class RenamingResourceMapper implements Function<String, ClassHolder>, Cl
     private ClassRefsRenamer renamer;
     private ResourceProvider resourceProvider;
     private Map<String, Date> modificationDates = new HashMap<>();
+    private Map<String, String> contentHashes = new HashMap<>();
+    private MessageDigest configurationDigest = createDigest();
     private List<ElementFilter> elementFilters = new ArrayList<>();
     private ClassMappings classMappings = new ClassMappings();
     private PrefixMapping prefixMapping = new PrefixMapping();
@@ -69,9 +76,12 @@ public class RenamingResourceMapper implements Function<String, ClassHolder>, Cl
             for (var iter = resourceProvider.getResources("META-INF/teavm.properties"); iter.hasNext();) {
                 var resource = iter.next();
                 Properties properties = new OrderedProperties();
+                byte[] bytes;
                 try (var input = resource.open()) {
-                    properties.load(input);
+                    bytes = input.readAllBytes();
                 }
+                configurationDigest.update(bytes);
+                properties.load(new ByteArrayInputStream(bytes));
                 loadProperties(properties);
             }
         } catch (IOException e) {
@@ -81,6 +91,7 @@ public class RenamingResourceMapper implements Function<String, ClassHolder>, Cl
 
         for (ElementFilter elementFilter : ServiceLoader.load(ElementFilter.class)) {
             elementFilters.add(elementFilter);
+            configurationDigest.update(elementFilter.getClass().getName().getBytes(StandardCharsets.UTF_8));
         }
 
         this.resourceProvider = resourceProvider;
@@ -162,6 +173,23 @@ public class RenamingResourceMapper implements Function<String, ClassHolder>, Cl
         return mdate == VOID_DATE ? null : mdate;
     }
 
+    @Override
+    public String getContentHash(String className) {
+        String hash = contentHashes.get(className);
+        if (hash == null) {
+            hash = getOriginalContentHash(toUnmappedClassName(className));
+            contentHashes.put(className, hash);
+        }
+        return hash.isEmpty() ? null : hash;
+    }
+
+    /**
+     * Returns name under which class parsed from class file with given name is visible to the compiler.
+     */
+    public String mapClassName(String originalName) {
+        return toUnmappedClassName(originalName);
+    }
+
     private String toUnmappedClassName(String name) {
         if (classExclusions.apply(name)) {
             return name;
@@ -184,6 +212,40 @@ public class RenamingResourceMapper implements Function<String, ClassHolder>, Cl
         return res == null ? null : res.getModificationDate();
     }
 
+    private String getOriginalContentHash(String className) {
+        if (resourceProvider == null) {
+            return "";
+        }
+        var res = resourceProvider.getResource(className.replace('.', '/') + ".class");
+        if (res == null) {
+            return "";
+        }
+        MessageDigest digest;
+        try {
+            digest = (MessageDigest) configurationDigest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        try (var input = res.open()) {
+            digest.update(input.readAllBytes());
+        } catch (IOException e) {
+            return "";
+        }
+        var sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private void loadProperties(Properties properties) {
         for (String propertyName : properties.stringPropertyNames()) {
             final String[] instruction = propertyName.split("\\|", 2);
@@ -17,6 +17,7 @@ package org.teavm.vm;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -29,6 +30,11 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -169,9 +175,12 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
     private int compileProgressValue;
     private ClassSourcePacker classSourcePacker;
     private ClassInitializerInfo classInitializerInfo;
+    private final int optimizationThreadCount;
+    private OptimizationWorkers workers;
 
     TeaVM(TeaVMBuilder builder) {
         target = builder.target;
+        optimizationThreadCount = builder.optimizationThreadCount;
         classLoader = builder.classLoader;
         resourceProvider = builder.resourceProvider;
         classSourcePacker = builder.classSourcePacker;
@@ -451,7 +460,17 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
             classSet = lazyPipeline();
         } else {
             initCompileProgress(500);
-            classSet = eagerPipeline();
+            if (optimizationThreadCount > 1) {
+                workers = new OptimizationWorkers();
+            }
+            try {
+                classSet = eagerPipeline();
+            } finally {
+                if (workers != null) {
+                    workers.pool.shutdownNow();
+                    workers = null;
+                }
+            }
             if (wasCancelled()) {
                 return;
             }
@@ -621,6 +640,10 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         if (wasCancelled()) {
             return cutClasses;
         }
+        if (workers != null) {
+            linkConcurrently(dependency, linker, cutClasses);
+            return cutClasses;
+        }
 
         for (String className : dependency.getReachableClasses()) {
             ClassReader clsReader = dependency.getClassSource().get(className);
@@ -637,6 +660,38 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         return cutClasses;
     }
 
+    /**
+     * Copies and links reachable classes on a pool of worker threads. Class readers are obtained and their
+     * lazy programs are resolved on the calling thread, since dependency class source is not thread-safe.
+     * Classes are put into the resulting source in the same order as in sequential linking.
+     */
+    private void linkConcurrently(DependencyAnalyzer dependency, Linker linker,
+            MutableClassHolderSource cutClasses) {
+        workers.run(dependency.getReachableClasses(), className -> {
+            ClassReader clsReader = dependency.getClassSource().get(className);
+            if (clsReader != null) {
+                for (MethodReader method : clsReader.getMethods()) {
+                    method.getProgram();
+                }
+            }
+            return () -> copyAndLink(linker, clsReader);
+        }, cls -> {
+            if (cls != null) {
+                cutClasses.putClassHolder(cls);
+            }
+            reportCompileProgress(++compileProgressValue);
+        });
+    }
+
+    private static ClassHolder copyAndLink(Linker linker, ClassReader clsReader) {
+        if (clsReader == null) {
+            return null;
+        }
+        ClassHolder cls = ModelUtils.copyClass(clsReader);
+        linker.link(cls);
+        return cls;
+    }
+
     private void reportPhase(TeaVMPhase phase, int progressLimit) {
         if (progressListener.phaseStarted(phase, progressLimit) == TeaVMProgressFeedback.CANCEL) {
             cancelled = true;
@@ -664,18 +719,20 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
             System.out.println("Running devirtualization");
         }
 
-        var devirtualization = new Devirtualization(dependencyAnalyzer, dependencyAnalyzer.getClassHierarchy());
-        for (String className : classes.getClassNames()) {
-            ClassHolder cls = classes.get(className);
-            for (MethodHolder method : cls.getMethods()) {
-                if (method.getProgram() != null) {
-                    devirtualization.apply(method);
+        Devirtualization devirtualization;
+        if (workers != null) {
+            devirtualization = new Devirtualization(dependencyAnalyzer, dependencyAnalyzer.getClassHierarchy(),
+                    workers.dependencyLock);
+            devirtualizeConcurrently(classes, devirtualization);
+        } else {
+            devirtualization = new Devirtualization(dependencyAnalyzer, dependencyAnalyzer.getClassHierarchy());
+            for (String className : classes.getClassNames()) {
+                devirtualizeClass(classes.get(className), devirtualization);
+                reportCompileProgress(++compileProgressValue);
+                if (wasCancelled()) {
+                    break;
                 }
             }
-            reportCompileProgress(++compileProgressValue);
-            if (wasCancelled()) {
-                break;
-            }
         }
         virtualMethods = devirtualization.getVirtualMethods();
 
@@ -686,6 +743,42 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         }
     }
 
+    private static void devirtualizeClass(ClassHolder cls, Devirtualization devirtualization) {
+        for (MethodHolder method : cls.getMethods()) {
+            if (method.getProgram() != null) {
+                devirtualization.apply(method);
+            }
+        }
+    }
+
+    /**
+     * Devirtualizes classes on a pool of worker threads. Each worker thread uses its own fork of
+     * devirtualization, so caches and call site statistics are never shared between threads.
+     * Statistics of all forks are joined into the given devirtualization when all classes are processed.
+     */
+    private void devirtualizeConcurrently(ListableClassHolderSource classes, Devirtualization devirtualization) {
+        var forks = new ConcurrentLinkedQueue<Devirtualization>();
+        var threadForks = ThreadLocal.withInitial(() -> {
+            var fork = devirtualization.fork(workers.hierarchies.get());
+            forks.add(fork);
+            return fork;
+        });
+
+        workers.run(classes.getClassNames(), className -> {
+            ClassHolder cls = classes.get(className);
+            return () -> {
+                devirtualizeClass(cls, threadForks.get());
+                return null;
+            };
+        }, result -> reportCompileProgress(++compileProgressValue));
+        if (wasCancelled()) {
+            return;
+        }
+        for (var fork : forks) {
+            devirtualization.join(fork);
+        }
+    }
+
     private void inline(ListableClassHolderSource classes) {
         if (optimizationLevel == TeaVMOptimizationLevel.SIMPLE) {
             return;
@@ -701,36 +794,95 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         Inlining inlining = new Inlining(new ClassHierarchy(classes), dependencyAnalyzer, inliningStrategy,
                 classes, this::isExternal, optimizationLevel == TeaVMOptimizationLevel.FULL,
                 target.getInliningFilter());
+        if (workers != null) {
+            inlineConcurrently(classes, inlining);
+            return;
+        }
         var methodReferences = inlining.getOrder();
         int classCount = classes.getClassNames().size();
         int initialValue = compileProgressValue;
         for (int i = 0; i < methodReferences.size(); i++) {
-            MethodReference methodReference = methodReferences.get(i);
-            ClassHolder cls = classes.get(methodReference.getClassName());
-            if (cls == null) {
-                continue;
-            }
-            MethodHolder method = cls.getMethod(methodReference.getDescriptor());
-            if (method == null) {
-                continue;
+            inlineMethod(classes, inlining, methodReferences.get(i));
+
+            int newProgress = initialValue + classCount * i / methodReferences.size();
+            if (newProgress > compileProgressValue) {
+                compileProgressValue = newProgress;
+                reportCompileProgress(++compileProgressValue);
+                if (wasCancelled()) {
+                    break;
+                }
             }
+        }
+    }
 
-            if (method.getProgram() != null) {
-                if (!inlining.hasUsages(methodReference)) {
-                    inlining.removeUsages(method.getProgram());
-                    method.setProgram(null);
-                } else {
-                    Program program = method.getProgram();
-                    var context = new MethodOptimizationContextImpl(method);
-                    inlining.apply(program, method.getReference());
-                    new UnusedVariableElimination().optimize(context, program);
+    private void inlineMethod(ListableClassHolderSource classes, Inlining inlining,
+            MethodReference methodReference) {
+        ClassHolder cls = classes.get(methodReference.getClassName());
+        if (cls == null) {
+            return;
+        }
+        MethodHolder method = cls.getMethod(methodReference.getDescriptor());
+        if (method == null || method.getProgram() == null) {
+            return;
+        }
+
+        if (!inlining.hasUsages(methodReference)) {
+            inlining.removeUsages(method.getProgram());
+            method.setProgram(null);
+        } else {
+            Program program = method.getProgram();
+            var context = new MethodOptimizationContextImpl(method);
+            inlining.apply(program, method.getReference());
+            new UnusedVariableElimination().optimize(context, program);
+        }
+    }
+
+    /**
+     * Inlines methods wave by wave. Methods of a wave are split into batches processed on a pool of worker threads,
+     * changes of usage counters are applied after the whole wave completes in the same order
+     * as {@link Inlining#getOrder()} does, so the result is the same as of sequential inlining.
+     */
+    private void inlineConcurrently(ListableClassHolderSource classes, Inlining inlining) {
+        var waves = inlining.getWaves();
+        int methodCount = 0;
+        for (var wave : waves) {
+            methodCount += wave.size();
+        }
+        if (methodCount == 0) {
+            return;
+        }
+
+        var forks = ThreadLocal.withInitial(inlining::fork);
+        int batchCount = optimizationThreadCount * 4;
+        int classCount = classes.getClassNames().size();
+        int initialValue = compileProgressValue;
+        int processedMethods = 0;
+        for (var wave : waves) {
+            var batches = new ArrayList<List<MethodReference>>();
+            int batchSize = (wave.size() + batchCount - 1) / batchCount;
+            for (int i = 0; i < wave.size(); i += batchSize) {
+                batches.add(wave.subList(i, Math.min(wave.size(), i + batchSize)));
+            }
+            var usageChanges = new ArrayList<List<Inlining.UsageChange>>();
+            workers.run(batches, batch -> () -> {
+                var fork = forks.get();
+                for (var methodReference : batch) {
+                    inlineMethod(classes, fork, methodReference);
                 }
+                return fork.takeUsageChanges();
+            }, usageChanges::add);
+            if (wasCancelled()) {
+                break;
+            }
+            for (var changes : usageChanges) {
+                inlining.applyUsageChanges(changes);
             }
 
-            int newProgress = initialValue + classCount * i / methodReferences.size();
+            processedMethods += wave.size();
+            int newProgress = initialValue + (int) ((long) classCount * processedMethods / methodCount);
             if (newProgress > compileProgressValue) {
                 compileProgressValue = newProgress;
-                reportCompileProgress(++compileProgressValue);
+                reportCompileProgress(compileProgressValue);
                 if (wasCancelled()) {
                     break;
                 }
@@ -739,6 +891,10 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
     }
 
     private void optimize(ListableClassHolderSource classSource) {
+        if (workers != null) {
+            optimizeConcurrently(classSource);
+            return;
+        }
         for (String className : classSource.getClassNames()) {
             ClassHolder cls = classSource.get(className);
             for (MethodHolder method : cls.getMethods()) {
@@ -756,23 +912,82 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
             return;
         }
 
-        Program optimizedProgram = !cacheStatus.isStaleMethod(method.getReference())
-                ? programCache.get(method.getReference(), cacheStatus)
-                : null;
+        Program optimizedProgram = getCachedProgram(method);
         if (optimizedProgram == null) {
             optimizedProgram = optimizeMethodCacheMiss(method, ProgramUtils.copy(method.getProgram()));
-            Program finalProgram = optimizedProgram;
-            programCache.store(method.getReference(), finalProgram,
-                    () -> programDependencyExtractor.extractDependencies(finalProgram));
+            storeOptimizedProgram(method, optimizedProgram);
         }
         method.setProgram(optimizedProgram);
     }
 
+    private Program getCachedProgram(MethodHolder method) {
+        return !cacheStatus.isStaleMethod(method.getReference())
+                ? programCache.get(method.getReference(), cacheStatus)
+                : null;
+    }
+
+    private void storeOptimizedProgram(MethodHolder method, Program program) {
+        programCache.store(method.getReference(), program,
+                () -> programDependencyExtractor.extractDependencies(program));
+    }
+
+    /**
+     * Optimizes classes on a pool of worker threads. Only the fixpoint optimization loop and register
+     * allocation run on workers. Cache access, progress reporting and installation of optimized programs
+     * happen on the calling thread in the same order as in {@link #optimize(ListableClassHolderSource)}.
+     */
+    private void optimizeConcurrently(ListableClassHolderSource classSource) {
+        workers.run(classSource.getClassNames(), className -> {
+            var pendingMethods = new ArrayList<PendingOptimization>();
+            for (MethodHolder method : classSource.get(className).getMethods()) {
+                if (method.getProgram() == null) {
+                    continue;
+                }
+                Program cachedProgram = getCachedProgram(method);
+                if (cachedProgram != null) {
+                    method.setProgram(cachedProgram);
+                    continue;
+                }
+                pendingMethods.add(new PendingOptimization(method, ProgramUtils.copy(method.getProgram())));
+            }
+            return () -> {
+                for (var pending : pendingMethods) {
+                    var context = new ConcurrentMethodOptimizationContext(pending.method);
+                    pending.program = optimizeMethodCacheMiss(pending.method, pending.program, context);
+                }
+                return pendingMethods;
+            };
+        }, pendingMethods -> {
+            for (var pending : pendingMethods) {
+                storeOptimizedProgram(pending.method, pending.program);
+                pending.method.setProgram(pending.program);
+            }
+            reportCompileProgress(++compileProgressValue);
+        });
+    }
+
+    static class PendingOptimization {
+        final MethodHolder method;
+        Program program;
+
+        PendingOptimization(MethodHolder method, Program program) {
+            this.method = method;
+            this.program = program;
+        }
+    }
+
     private Program optimizeMethodCacheMiss(MethodHolder method, Program optimizedProgram) {
-        target.beforeOptimizations(optimizedProgram, method);
+        return optimizeMethodCacheMiss(method, optimizedProgram, new MethodOptimizationContextImpl(method));
+    }
+
+    private Program optimizeMethodCacheMiss(MethodHolder method, Program optimizedProgram,
+            MethodOptimizationContext context) {
+        // Targets are not required to be thread-safe, so their hooks never run concurrently
+        synchronized (target) {
+            target.beforeOptimizations(optimizedProgram, method);
+        }
 
         if (optimizedProgram.basicBlockCount() > 0) {
-            var context = new MethodOptimizationContextImpl(method);
             boolean changed;
             do {
                 changed = false;
@@ -794,7 +1009,9 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
                 }
             } while (changed);
 
-            target.afterOptimizations(optimizedProgram, method);
+            synchronized (target) {
+                target.afterOptimizations(optimizedProgram, method);
+            }
             var categoryProvider = target.variableCategoryProvider();
             if (categoryProvider != null) {
                 var allocator = new RegisterAllocator(categoryProvider);
@@ -834,6 +1051,75 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         }
     }
 
+    class ConcurrentMethodOptimizationContext extends MethodOptimizationContextImpl {
+        ConcurrentMethodOptimizationContext(MethodReader method) {
+            super(method);
+        }
+
+        @Override
+        public ClassReaderSource getClassSource() {
+            return workers.classSource;
+        }
+
+        @Override
+        public ClassHierarchy getHierarchy() {
+            return workers.hierarchies.get();
+        }
+    }
+
+    /**
+     * Worker pool that concurrent phases of a single build share, along with views of dependency analyzer's
+     * class source, which is not thread-safe, that can be used by worker threads.
+     */
+    class OptimizationWorkers {
+        final ForkJoinPool pool = new ForkJoinPool(optimizationThreadCount);
+        final Object dependencyLock = new Object();
+        final ClassReaderSource classSource;
+        final ThreadLocal<ClassHierarchy> hierarchies;
+
+        OptimizationWorkers() {
+            var unsafeClassSource = dependencyAnalyzer.getClassSource();
+            classSource = name -> {
+                synchronized (dependencyLock) {
+                    return unsafeClassSource.get(name);
+                }
+            };
+            hierarchies = ThreadLocal.withInitial(() -> new ClassHierarchy(classSource));
+        }
+
+        /**
+         * Processes items on worker threads. For each item {@code submit} is called on the calling thread and
+         * returns a task to run on a worker thread, results of tasks are passed to {@code install}
+         * on the calling thread in the order of items. Number of pending tasks is bounded, processing stops
+         * as soon as the build is cancelled.
+         */
+        <T, R> void run(Iterable<T> items, Function<T, Callable<R>> submit, Consumer<R> install) {
+            var pendingTasks = new ArrayDeque<ForkJoinTask<R>>();
+            int pendingTaskLimit = optimizationThreadCount * 8;
+            try {
+                for (var item : items) {
+                    pendingTasks.add(pool.submit(submit.apply(item)));
+                    if (pendingTasks.size() >= pendingTaskLimit) {
+                        install.accept(pendingTasks.remove().join());
+                        if (wasCancelled()) {
+                            return;
+                        }
+                    }
+                }
+                while (!pendingTasks.isEmpty()) {
+                    install.accept(pendingTasks.remove().join());
+                    if (wasCancelled()) {
+                        return;
+                    }
+                }
+            } finally {
+                for (var task : pendingTasks) {
+                    task.cancel(false);
+                }
+            }
+        }
+    }
+
     private List<MethodOptimization> getOptimizations() {
         List<MethodOptimization> optimizations = new ArrayList<>();
         optimizations.add(new RedundantJumpElimination());
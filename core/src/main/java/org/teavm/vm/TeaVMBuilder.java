@@ -35,6 +35,7 @@ public class TeaVMBuilder {
     ClassSourcePacker classSourcePacker = (src, names) -> src;
     boolean obfuscated;
     boolean strict;
+    int optimizationThreadCount = 1;
 
     public TeaVMBuilder(TeaVMTarget target) {
         this.target = target;
@@ -101,6 +102,18 @@ public class TeaVMBuilder {
         return this;
     }
 
+    /**
+     * Sets number of worker threads used to optimize methods. With the default value of 1
+     * all methods are optimized sequentially in the calling thread.
+     */
+    public TeaVMBuilder setOptimizationThreadCount(int optimizationThreadCount) {
+        if (optimizationThreadCount < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + optimizationThreadCount);
+        }
+        this.optimizationThreadCount = optimizationThreadCount;
+        return this;
+    }
+
     public TeaVM build() {
         return new TeaVM(this);
     }
@@ -47,6 +47,61 @@ let $rt_fastStringToCharArray = string => {
     }
     return new $rt_charArrayCls(array);
 }
+let $rt_textDecoders = null;
+let $rt_decodeBytes = (array, offset, count, encoding) => {
+    if (encoding === 4) {
+        let bytes = new teavm_globals.Uint8Array(array.buffer, array.byteOffset, array.length);
+        return $rt_charArrayToString(bytes, offset, count);
+    }
+    if (typeof teavm_globals.TextDecoder === "undefined") {
+        return null;
+    }
+    if ($rt_textDecoders === null) {
+        $rt_textDecoders = [];
+    }
+    let decoder = $rt_textDecoders[encoding];
+    if (typeof decoder === "undefined") {
+        let label = encoding === 1 ? "utf-8" : encoding === 2 ? "utf-16le" : "utf-16be";
+        try {
+            decoder = new teavm_globals.TextDecoder(label, { ignoreBOM: true });
+        } catch (e) {
+            decoder = null;
+        }
+        $rt_textDecoders[encoding] = decoder;
+    }
+    if (decoder === null) {
+        return null;
+    }
+    return decoder.decode(new teavm_globals.Uint8Array(array.buffer, array.byteOffset + offset, count));
+}
+let $rt_textEncoder = null;
+let $rt_encodeUtf8 = string => {
+    if (typeof teavm_globals.TextEncoder === "undefined" || !$rt_isWellFormed(string)) {
+        return null;
+    }
+    if ($rt_textEncoder === null) {
+        $rt_textEncoder = new teavm_globals.TextEncoder();
+    }
+    let bytes = $rt_textEncoder.encode(string);
+    return new $rt_byteArrayCls(new teavm_globals.Int8Array(bytes.buffer, bytes.byteOffset, bytes.length));
+}
+let $rt_isWellFormed = string => {
+    if (typeof string.isWellFormed === "function") {
+        return string.isWellFormed();
+    }
+    for (let i = 0; i < string.length; i = (i + 1) | 0) {
+        let c = string.charCodeAt(i) & 0xFC00;
+        if (c === 0xD800) {
+            if ((string.charCodeAt(i + 1) & 0xFC00) !== 0xDC00) {
+                return false;
+            }
+            i = (i + 1) | 0;
+        } else if (c === 0xDC00) {
+            return false;
+        }
+    }
+    return true;
+}
 let $rt_substring = (string, start, end) => {
     if (start === 0 && end === string.length) {
         return string;
@@ -0,0 +1,300 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.teavm.callgraph.CallGraph;
+import org.teavm.callgraph.CallGraphNode;
+import org.teavm.callgraph.CallSite;
+import org.teavm.callgraph.FieldAccessSite;
+import org.teavm.dependency.ClassDependencyInfo;
+import org.teavm.dependency.DependencyInfo;
+import org.teavm.dependency.FieldDependencyInfo;
+import org.teavm.dependency.MethodDependencyInfo;
+import org.teavm.model.ClassReaderSource;
+import org.teavm.model.FieldReference;
+import org.teavm.model.MethodReference;
+import org.teavm.model.TextLocation;
+import org.teavm.model.ValueType;
+
+public class ChunkPartitionerTest {
+    private static final MethodReference MAIN = method("Main", "main");
+
+    private ProgramGraph graph = new ProgramGraph();
+
+    @Test
+    public void splitsLargeDominatedSubgraph() {
+        var feature = method("Feature", "run");
+        graph.call(MAIN, feature);
+        graph.call(MAIN, method("Main", "helper"));
+        var featureMethods = callMany(feature, "Feature", 60);
+
+        var chunks = partition();
+
+        assertEquals(2, chunks.size());
+        assertNull(chunks.get(0).getSplitPoint());
+        assertEquals(Set.of(MAIN, method("Main", "helper")), chunks.get(0).getMethods());
+        assertEquals(feature, chunks.get(1).getSplitPoint());
+        assertEquals(61, chunks.get(1).getMethods().size());
+        assertTrue(chunks.get(1).getMethods().containsAll(featureMethods));
+        assertEquals(Set.of("Main"), chunks.get(0).getClasses());
+        assertEquals(Set.of("Feature"), chunks.get(1).getClasses());
+    }
+
+    @Test
+    public void keepsSmallSubgraphInStartupChunk() {
+        var feature = method("Feature", "run");
+        graph.call(MAIN, feature);
+        callMany(feature, "Feature", 10);
+
+        var chunks = partition();
+
+        assertEquals(1, chunks.size());
+        assertEquals(12, chunks.get(0).getMethods().size());
+    }
+
+    @Test
+    public void keepsMethodsCalledFromOutsideInStartupChunk() {
+        var feature = method("Feature", "run");
+        var shared = method("Shared", "run");
+        graph.call(MAIN, feature);
+        graph.call(MAIN, shared);
+        var featureMethods = callMany(feature, "Feature", 60);
+        graph.call(featureMethods.get(0), shared);
+
+        var chunks = partition();
+
+        assertEquals(2, chunks.size());
+        assertTrue(chunks.get(0).getMethods().contains(shared));
+        assertTrue(!chunks.get(1).getMethods().contains(shared));
+    }
+
+    @Test
+    public void treatsUncalledMethodsAsEntryPoints() {
+        var callback = method("Callback", "run");
+        graph.call(MAIN, method("Main", "helper"));
+        graph.call(callback, method("Main", "helper"));
+        var callbackMethods = callMany(callback, "Callback", 60);
+
+        var chunks = partition();
+
+        assertEquals(1, chunks.size());
+        assertTrue(chunks.get(0).getMethods().contains(callback));
+        assertTrue(chunks.get(0).getMethods().containsAll(callbackMethods));
+    }
+
+    @Test
+    public void doesNotSplitNestedSubgraph() {
+        var feature = method("Feature", "run");
+        var nested = method("Nested", "run");
+        graph.call(MAIN, feature);
+        graph.call(feature, nested);
+        callMany(nested, "Nested", 60);
+
+        var chunks = partition();
+
+        assertEquals(2, chunks.size());
+        assertEquals(feature, chunks.get(1).getSplitPoint());
+        assertEquals(62, chunks.get(1).getMethods().size());
+    }
+
+    @Test
+    public void classWithMethodsInDifferentChunksGoesToStartupChunk() {
+        var feature = method("Feature", "run");
+        graph.call(MAIN, feature);
+        graph.call(MAIN, method("Feature", "startup"));
+        callMany(feature, "Helper", 60);
+
+        var chunks = partition();
+
+        assertEquals(2, chunks.size());
+        assertEquals(Set.of("Main", "Feature"), chunks.get(0).getClasses());
+        assertEquals(Set.of("Helper"), chunks.get(1).getClasses());
+    }
+
+    private List<Chunk> partition() {
+        return new ChunkPartitioner(graph).partition(List.of(MAIN));
+    }
+
+    private List<MethodReference> callMany(MethodReference caller, String className, int count) {
+        var result = new ArrayList<MethodReference>();
+        for (int i = 0; i < count; ++i) {
+            var callee = method(className, "m" + i);
+            graph.call(caller, callee);
+            result.add(callee);
+        }
+        return result;
+    }
+
+    private static MethodReference method(String className, String name) {
+        return new MethodReference(className, name, ValueType.VOID);
+    }
+
+    static class ProgramGraph implements DependencyInfo, CallGraph {
+        private Map<MethodReference, Node> nodes = new LinkedHashMap<>();
+
+        void call(MethodReference caller, MethodReference callee) {
+            var callSite = new Site(node(caller), node(callee));
+            callSite.caller.callSites.add(callSite);
+            callSite.callee.callerCallSites.add(callSite);
+        }
+
+        private Node node(MethodReference method) {
+            return nodes.computeIfAbsent(method, m -> new Node(this, m));
+        }
+
+        @Override
+        public ClassReaderSource getClassSource() {
+            return null;
+        }
+
+        @Override
+        public ClassLoader getClassLoader() {
+            return null;
+        }
+
+        @Override
+        public Collection<MethodReference> getReachableMethods() {
+            return nodes.keySet();
+        }
+
+        @Override
+        public Collection<FieldReference> getReachableFields() {
+            return List.of();
+        }
+
+        @Override
+        public Collection<String> getReachableClasses() {
+            var result = new LinkedHashSet<String>();
+            for (var method : nodes.keySet()) {
+                result.add(method.getClassName());
+            }
+            return result;
+        }
+
+        @Override
+        public FieldDependencyInfo getField(FieldReference fieldRef) {
+            return null;
+        }
+
+        @Override
+        public MethodDependencyInfo getMethod(MethodReference methodRef) {
+            return null;
+        }
+
+        @Override
+        public MethodDependencyInfo getMethodImplementation(MethodReference methodRef) {
+            return null;
+        }
+
+        @Override
+        public ClassDependencyInfo getClass(String className) {
+            return null;
+        }
+
+        @Override
+        public CallGraph getCallGraph() {
+            return this;
+        }
+
+        @Override
+        public boolean isPrecise() {
+            return true;
+        }
+
+        @Override
+        public CallGraphNode getNode(MethodReference method) {
+            return nodes.get(method);
+        }
+
+        @Override
+        public Collection<? extends FieldAccessSite> getFieldAccess(FieldReference reference) {
+            return List.of();
+        }
+    }
+
+    static class Node implements CallGraphNode {
+        private ProgramGraph graph;
+        private MethodReference method;
+        private List<Site> callSites = new ArrayList<>();
+        private List<Site> callerCallSites = new ArrayList<>();
+
+        Node(ProgramGraph graph, MethodReference method) {
+            this.graph = graph;
+            this.method = method;
+        }
+
+        @Override
+        public CallGraph getGraph() {
+            return graph;
+        }
+
+        @Override
+        public MethodReference getMethod() {
+            return method;
+        }
+
+        @Override
+        public Collection<? extends CallSite> getCallSites() {
+            return callSites;
+        }
+
+        @Override
+        public Collection<? extends CallSite> getCallerCallSites() {
+            return callerCallSites;
+        }
+
+        @Override
+        public Collection<? extends FieldAccessSite> getFieldAccessSites() {
+            return List.of();
+        }
+    }
+
+    static class Site implements CallSite {
+        private Node caller;
+        private Node callee;
+
+        Site(Node caller, Node callee) {
+            this.caller = caller;
+            this.callee = callee;
+        }
+
+        @Override
+        public Collection<? extends TextLocation> getLocations(CallGraphNode caller) {
+            return List.of();
+        }
+
+        @Override
+        public Collection<? extends CallGraphNode> getCalledMethods() {
+            return List.of(callee);
+        }
+
+        @Override
+        public Collection<? extends CallGraphNode> getCallers() {
+            return List.of(caller);
+        }
+    }
+}
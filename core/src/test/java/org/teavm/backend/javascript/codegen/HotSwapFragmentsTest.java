@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.teavm.model.MethodReference;
+import org.teavm.model.ValueType;
+
+public class HotSwapFragmentsTest {
+    private static final MethodReference FOO = new MethodReference("Test", "foo", ValueType.VOID);
+    private static final MethodReference BAR = new MethodReference("Test", "bar", ValueType.VOID);
+
+    @Test
+    public void diffContainsChangedMethods() {
+        var previous = fragments("pool(['a']);", "foo = () => 1;", "bar = () => 2;");
+        var current = fragments("pool(['a']);", "foo = () => 1;", "bar = () => 3;");
+
+        assertTrue(current.isCompatibleWith(previous));
+        assertEquals("pool(['a']);\nbar = () => 3;\n", current.diff(previous));
+    }
+
+    @Test
+    public void diffContainsChangedVolatileText() {
+        var previous = fragments("pool(['a']);", "foo = () => 1;", "bar = () => 2;");
+        var current = fragments("pool(['b']);", "foo = () => 1;", "bar = () => 2;");
+
+        assertTrue(current.isCompatibleWith(previous));
+        assertEquals("pool(['b']);\n", current.diff(previous));
+    }
+
+    @Test
+    public void emptyDiffWhenNothingChanged() {
+        var previous = fragments("pool(['a']);", "foo = () => 1;", "bar = () => 2;");
+        var current = fragments("pool(['a']);", "foo = () => 1;", "bar = () => 2;");
+
+        assertEquals("", current.diff(previous));
+    }
+
+    @Test
+    public void incompatibleWhenStructureChanged() {
+        var previous = fragments("pool(['a']);", "foo = () => 1;", "bar = () => 2;");
+        var current = fragments("pool(['a']);", "foo = () => 1;", "bar = () => 2;");
+        current.structure().append("let baz;");
+
+        assertFalse(current.isCompatibleWith(previous));
+    }
+
+    @Test
+    public void incompatibleWhenMethodRemoved() {
+        var previous = fragments("pool(['a']);", "foo = () => 1;", "bar = () => 2;");
+        var current = new HotSwapFragments();
+        current.volatileText().append("pool(['a']);");
+        current.putMethod(FOO, "foo = () => 1;");
+
+        assertFalse(current.isCompatibleWith(previous));
+    }
+
+    private static HotSwapFragments fragments(String volatileText, String foo, String bar) {
+        var fragments = new HotSwapFragments();
+        fragments.structure().append("let foo, bar;");
+        fragments.volatileText().append(volatileText);
+        fragments.putMethod(FOO, foo);
+        fragments.putMethod(BAR, bar);
+        return fragments;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmModule;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmBlock;
+import org.teavm.backend.wasm.model.expression.WasmBranch;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmDrop;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+
+public class WasmBlockFlatteningTest {
+    private final WasmModule module = new WasmModule();
+    private final WasmFunction function = new WasmFunction(new WasmFunctionType("test", List.of(), List.of()));
+
+    public WasmBlockFlatteningTest() {
+        module.functions.add(function);
+    }
+
+    @Test
+    public void flattensVoidBlock() {
+        var block = new WasmBlock(false);
+        var first = new WasmCall(function);
+        var second = new WasmCall(function);
+        block.getBody().add(first);
+        block.getBody().add(second);
+        function.getBody().add(block);
+
+        new WasmBlockFlattening().apply(module);
+
+        assertEquals(List.of(first, second), function.getBody());
+    }
+
+    @Test
+    public void keepsBranchTarget() {
+        var block = new WasmBlock(false);
+        block.getBody().add(new WasmBranch(new WasmInt32Constant(1), block));
+        block.getBody().add(new WasmCall(function));
+        function.getBody().add(block);
+
+        new WasmBlockFlattening().apply(module);
+
+        assertEquals(1, function.getBody().size());
+        assertSame(block, function.getBody().get(0));
+    }
+
+    @Test
+    public void keepsLoopAndValueBlock() {
+        var loop = new WasmBlock(true);
+        loop.getBody().add(new WasmCall(function));
+        var valueBlock = new WasmBlock(false);
+        valueBlock.setType(WasmType.INT32.asBlock());
+        valueBlock.getBody().add(new WasmInt32Constant(1));
+        function.getBody().add(loop);
+        function.getBody().add(new WasmDrop(valueBlock));
+
+        new WasmBlockFlattening().apply(module);
+
+        assertEquals(2, function.getBody().size());
+        assertSame(loop, function.getBody().get(0));
+        assertSame(valueBlock, ((WasmDrop) function.getBody().get(1)).getOperand());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmLocal;
+import org.teavm.backend.wasm.model.WasmModule;
+import org.teavm.backend.wasm.model.WasmStructure;
+import org.teavm.backend.wasm.model.expression.WasmCast;
+import org.teavm.backend.wasm.model.expression.WasmDrop;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmGetLocal;
+import org.teavm.backend.wasm.model.expression.WasmNullConstant;
+import org.teavm.backend.wasm.model.expression.WasmStructNewDefault;
+
+public class WasmCastFoldingTest {
+    private final WasmModule module = new WasmModule();
+    private final WasmFunction function = new WasmFunction(new WasmFunctionType("test", List.of(), List.of()));
+    private final WasmStructure base = new WasmStructure("Base");
+    private final WasmStructure derived = new WasmStructure("Derived");
+    private final WasmLocal local = new WasmLocal(base.getReference());
+
+    public WasmCastFoldingTest() {
+        derived.setSupertype(base);
+        module.functions.add(function);
+        function.add(local);
+    }
+
+    @Test
+    public void keepsNonNullCastOfNullableCast() {
+        var value = new WasmGetLocal(local);
+        var result = fold(new WasmCast(new WasmCast(value, derived.getReference()), derived.getNonNullReference()));
+
+        var cast = (WasmCast) result;
+        assertFalse(cast.getTargetType().isNullable());
+        assertSame(value, cast.getValue());
+    }
+
+    @Test
+    public void keepsNonNullCastOfNullableCastToSupertype() {
+        var value = new WasmGetLocal(local);
+        var result = fold(new WasmCast(new WasmCast(value, derived.getReference()), base.getNonNullReference()));
+
+        var cast = (WasmCast) result;
+        assertFalse(cast.getTargetType().isNullable());
+        assertTrue(cast.getValue() instanceof WasmCast);
+    }
+
+    @Test
+    public void removesNullableCastOfNonNullCast() {
+        var inner = new WasmCast(new WasmGetLocal(local), derived.getNonNullReference());
+        var result = fold(new WasmCast(inner, base.getReference()));
+
+        assertSame(inner, result);
+    }
+
+    @Test
+    public void keepsNonNullCastOfNull() {
+        var result = fold(new WasmCast(new WasmNullConstant(base.getReference()), derived.getNonNullReference()));
+
+        var cast = (WasmCast) result;
+        assertFalse(cast.getTargetType().isNullable());
+        assertTrue(cast.getValue() instanceof WasmNullConstant);
+    }
+
+    @Test
+    public void replacesNullableCastOfNullWithNull() {
+        var result = fold(new WasmCast(new WasmNullConstant(base.getReference()), derived.getReference()));
+
+        assertTrue(result instanceof WasmNullConstant);
+        assertSame(derived.getReference(), ((WasmNullConstant) result).getType());
+    }
+
+    @Test
+    public void removesCastOfAllocation() {
+        var allocation = new WasmStructNewDefault(derived);
+        var result = fold(new WasmCast(allocation, base.getNonNullReference()));
+
+        assertSame(allocation, result);
+    }
+
+    private WasmExpression fold(WasmExpression expression) {
+        var drop = new WasmDrop(expression);
+        function.getBody().add(drop);
+        new WasmCastFolding().apply(module);
+        return drop.getOperand();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import static org.junit.Assert.assertEquals;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.teavm.backend.wasm.model.WasmCompositeType;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmModule;
+import org.teavm.backend.wasm.model.WasmStructure;
+import org.teavm.backend.wasm.model.WasmTag;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+
+public class WasmDeadCodeEliminationTest {
+    private final WasmModule module = new WasmModule();
+    private final WasmFunctionType voidType = new WasmFunctionType("void", List.of(), List.of());
+
+    @Test
+    public void keepsEntryPointsAndWhatTheyCall() {
+        module.types.add(voidType);
+        var exported = function("exported");
+        exported.setExportName("main");
+        var calledFromExport = function("calledFromExport");
+        exported.getBody().add(new WasmCall(calledFromExport));
+
+        var imported = function("imported");
+        imported.setImportName("foo");
+        imported.setImportModule("bar");
+
+        var start = function("start");
+        module.setStartFunction(start);
+        var calledFromStart = function("calledFromStart");
+        start.getBody().add(new WasmCall(calledFromStart));
+
+        var inTable = function("inTable");
+        module.getFunctionTable().add(inTable);
+        var calledFromTable = function("calledFromTable");
+        inTable.getBody().add(new WasmCall(calledFromTable));
+
+        var unused = function("unused");
+        var calledFromUnused = function("calledFromUnused");
+        unused.getBody().add(new WasmCall(calledFromUnused));
+
+        new WasmDeadCodeElimination().apply(module);
+
+        assertEquals(Set.of("exported", "calledFromExport", "imported", "start", "calledFromStart", "inTable",
+                "calledFromTable"), functionNames());
+    }
+
+    @Test
+    public void keepsTypesOfTags() {
+        var exceptionType = new WasmStructure("Exception");
+        var unusedType = new WasmStructure("Unused");
+        var tagType = new WasmFunctionType("tag", List.of(), List.of(exceptionType.getReference()));
+        module.types.add(exceptionType);
+        module.types.add(unusedType);
+        module.types.add(tagType);
+        module.tags.add(new WasmTag(tagType));
+
+        new WasmDeadCodeElimination().apply(module);
+
+        assertEquals(Set.of("Exception", "tag"), module.types.stream().map(WasmCompositeType::getName)
+                .collect(Collectors.toSet()));
+        assertEquals(1, module.tags.size());
+    }
+
+    private WasmFunction function(String name) {
+        var function = new WasmFunction(voidType);
+        function.setName(name);
+        module.functions.add(function);
+        return function;
+    }
+
+    private Set<String> functionNames() {
+        return module.functions.stream().map(WasmFunction::getName).collect(Collectors.toSet());
+    }
+}
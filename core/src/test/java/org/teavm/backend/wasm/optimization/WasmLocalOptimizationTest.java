@@ -0,0 +1,113 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmLocal;
+import org.teavm.backend.wasm.model.WasmModule;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmConditional;
+import org.teavm.backend.wasm.model.expression.WasmDrop;
+import org.teavm.backend.wasm.model.expression.WasmGetLocal;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmIntBinary;
+import org.teavm.backend.wasm.model.expression.WasmIntBinaryOperation;
+import org.teavm.backend.wasm.model.expression.WasmIntType;
+import org.teavm.backend.wasm.model.expression.WasmSetLocal;
+
+public class WasmLocalOptimizationTest {
+    private final WasmModule module = new WasmModule();
+    private final WasmFunction producer = new WasmFunction(new WasmFunctionType("producer", WasmType.INT32,
+            List.of()));
+    private final WasmFunction consumer = new WasmFunction(new WasmFunctionType("consumer", List.of(),
+            List.of(WasmType.INT32, WasmType.INT32)));
+    private final WasmFunction function = new WasmFunction(new WasmFunctionType("test", List.of(), List.of()));
+    private final WasmLocal temp = new WasmLocal(WasmType.INT32);
+
+    public WasmLocalOptimizationTest() {
+        module.functions.add(producer);
+        module.functions.add(consumer);
+        module.functions.add(function);
+        function.add(temp);
+    }
+
+    @Test
+    public void movesValueToReadInNextInstruction() {
+        var value = new WasmCall(producer);
+        var add = new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.ADD, new WasmGetLocal(temp),
+                new WasmInt32Constant(1));
+        function.getBody().add(new WasmSetLocal(temp, value));
+        function.getBody().add(new WasmDrop(add));
+
+        new WasmLocalOptimization().apply(module);
+
+        assertEquals(1, function.getBody().size());
+        assertSame(value, add.getFirst());
+        assertTrue(function.getLocalVariables().isEmpty());
+    }
+
+    @Test
+    public void doesNotMoveValueBehindSideEffect() {
+        // consumer(producer(), temp): producer() is called between assignment and read of temp
+        var call = new WasmCall(consumer, new WasmCall(producer), new WasmGetLocal(temp));
+        function.getBody().add(new WasmSetLocal(temp, new WasmCall(producer)));
+        function.getBody().add(call);
+
+        new WasmLocalOptimization().apply(module);
+
+        assertUnchanged();
+        assertTrue(call.getArguments().get(1) instanceof WasmGetLocal);
+    }
+
+    @Test
+    public void doesNotMoveValueToNextButOneInstruction() {
+        function.getBody().add(new WasmSetLocal(temp, new WasmCall(producer)));
+        function.getBody().add(new WasmCall(producer));
+        function.getBody().add(new WasmDrop(new WasmGetLocal(temp)));
+
+        new WasmLocalOptimization().apply(module);
+
+        assertEquals(3, function.getBody().size());
+        assertTrue(function.getBody().get(0) instanceof WasmSetLocal);
+        assertEquals(List.of(temp), function.getLocalVariables());
+    }
+
+    @Test
+    public void doesNotMoveValueIntoBranch() {
+        var conditional = new WasmConditional(new WasmInt32Constant(1));
+        conditional.getThenBlock().getBody().add(new WasmDrop(new WasmGetLocal(temp)));
+        function.getBody().add(new WasmSetLocal(temp, new WasmCall(producer)));
+        function.getBody().add(conditional);
+
+        new WasmLocalOptimization().apply(module);
+
+        assertUnchanged();
+        assertTrue(((WasmDrop) conditional.getThenBlock().getBody().get(0)).getOperand() instanceof WasmGetLocal);
+    }
+
+    private void assertUnchanged() {
+        assertEquals(2, function.getBody().size());
+        assertTrue(function.getBody().get(0) instanceof WasmSetLocal);
+        assertEquals(List.of(temp), function.getLocalVariables());
+    }
+}
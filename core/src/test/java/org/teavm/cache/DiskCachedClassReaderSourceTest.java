@@ -0,0 +1,165 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.teavm.model.ReferenceCache;
+import org.teavm.parsing.ClasspathClassHolderSource;
+import org.teavm.parsing.resource.Resource;
+import org.teavm.parsing.resource.ResourceProvider;
+
+public class DiskCachedClassReaderSourceTest {
+    private final Map<String, byte[]> resources = new HashMap<>();
+    private final Map<String, Date> dates = new HashMap<>();
+    private final SymbolTable symbolTable = new InMemorySymbolTable();
+    private final SymbolTable fileTable = new InMemorySymbolTable();
+    private final SymbolTable variableTable = new InMemorySymbolTable();
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("teavm-cache").toFile();
+    }
+
+    @After
+    public void deleteDirectory() {
+        delete(directory);
+    }
+
+    @Test
+    public void compilerVersionIsKnown() {
+        var version = DiskCachedClassReaderSource.defaultCompilerVersion();
+        assertEquals(64, version.length());
+        assertEquals(version, DiskCachedClassReaderSource.defaultCompilerVersion());
+    }
+
+    @Test
+    public void survivesTouchedClassFile() throws IOException {
+        putClass("foo/Bar.class", 1);
+        build("1");
+        dates.put("foo/Bar.class", new Date(System.currentTimeMillis() + 3_600_000));
+
+        assertFalse(build("1"));
+    }
+
+    @Test
+    public void invalidatedByChangedClassFile() throws IOException {
+        putClass("foo/Bar.class", 1);
+        build("1");
+        putClass("foo/Bar.class", 2);
+
+        assertTrue(build("1"));
+        assertFalse(build("1"));
+    }
+
+    @Test
+    public void invalidatedByChangedProperties() throws IOException {
+        putClass("foo/Bar.class", 1);
+        resources.put("META-INF/teavm.properties", "mapPackage|qux=baz".getBytes(StandardCharsets.UTF_8));
+        build("1");
+        resources.put("META-INF/teavm.properties", "mapPackage|qux=quux".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(build("1"));
+        assertFalse(build("1"));
+    }
+
+    @Test
+    public void invalidatedByDifferentCompiler() throws IOException {
+        putClass("foo/Bar.class", 1);
+        build("1");
+
+        assertTrue(build("2"));
+        assertFalse(build("2"));
+    }
+
+    private boolean build(String compilerVersion) throws IOException {
+        var referenceCache = new ReferenceCache();
+        var innerSource = new ClasspathClassHolderSource(provider(), referenceCache);
+        var source = new DiskCachedClassReaderSource(directory, referenceCache, symbolTable, fileTable,
+                variableTable, innerSource, innerSource);
+        source.setCompilerVersion(compilerVersion);
+        source.setClassHashProvider(innerSource);
+        var cls = source.get("foo.Bar");
+        assertEquals(1, cls.getFields().size());
+        source.flush();
+        return source.isStaleClass("foo.Bar");
+    }
+
+    private void putClass(String resourceName, int initialValue) {
+        var writer = new ClassWriter(0);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, "foo/Bar", null, "java/lang/Object", null);
+        writer.visitField(Opcodes.ACC_PUBLIC, "value", "I", null, initialValue).visitEnd();
+        writer.visitEnd();
+        resources.put(resourceName, writer.toByteArray());
+        dates.put(resourceName, new Date(0));
+    }
+
+    private ResourceProvider provider() {
+        return new ResourceProvider() {
+            @Override
+            public Iterator<Resource> getResources(String name) {
+                var data = resources.get(name);
+                if (data == null) {
+                    return List.<Resource>of().iterator();
+                }
+                var date = dates.get(name);
+                return List.<Resource>of(new Resource() {
+                    @Override
+                    public InputStream open() {
+                        return new ByteArrayInputStream(data);
+                    }
+
+                    @Override
+                    public Date getModificationDate() {
+                        return date;
+                    }
+                }).iterator();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private static void delete(File file) {
+        var children = file.listFiles();
+        if (children != null) {
+            for (var child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PackFileTest {
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("teavm-pack").toFile();
+    }
+
+    @After
+    public void deleteDirectory() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void readsFlushedEntries() throws IOException {
+        PackFile pack = new PackFile(directory, "test");
+        pack.put("a", bytes("foo"));
+        pack.put("b", bytes("bar"));
+        pack.flush();
+
+        pack = new PackFile(directory, "test");
+        assertEquals("foo", string(pack.get("a")));
+        assertEquals("bar", string(pack.get("b")));
+        assertNull(pack.get("c"));
+    }
+
+    @Test
+    public void appendsEntries() throws IOException {
+        PackFile pack = new PackFile(directory, "test");
+        pack.put("a", bytes("foo"));
+        pack.flush();
+        long size = packFile().length();
+
+        pack = new PackFile(directory, "test");
+        pack.put("b", bytes("bar"));
+        pack.flush();
+
+        assertEquals(size + 3, packFile().length());
+        pack = new PackFile(directory, "test");
+        assertEquals("foo", string(pack.get("a")));
+        assertEquals("bar", string(pack.get("b")));
+    }
+
+    @Test
+    public void compactsReplacedEntries() throws IOException {
+        PackFile pack = new PackFile(directory, "test");
+        pack.put("a", bytes("foo"));
+        pack.put("b", bytes("bar"));
+        pack.flush();
+        for (int i = 0; i < 10; ++i) {
+            pack.put("a", bytes("foo" + i));
+            pack.flush();
+        }
+
+        assertTrue(packFile().length() <= 2 * (4 + 3));
+        pack = new PackFile(directory, "test");
+        assertEquals("foo9", string(pack.get("a")));
+        assertEquals("bar", string(pack.get("b")));
+    }
+
+    @Test
+    public void removesEntries() throws IOException {
+        PackFile pack = new PackFile(directory, "test");
+        pack.put("a", bytes("foo"));
+        pack.put("b", bytes("bar"));
+        pack.flush();
+        pack.remove("a");
+        pack.flush();
+
+        pack = new PackFile(directory, "test");
+        assertNull(pack.get("a"));
+        assertEquals("bar", string(pack.get("b")));
+    }
+
+    @Test
+    public void ignoresCorruptedIndex() throws IOException {
+        PackFile pack = new PackFile(directory, "test");
+        pack.put("a", bytes("foo"));
+        pack.flush();
+        try (var output = new FileOutputStream(new File(directory, "test.teavm-index"))) {
+            output.write(bytes("garbage"));
+        }
+
+        pack = new PackFile(directory, "test");
+        assertNull(pack.get("a"));
+        pack.put("b", bytes("bar"));
+        pack.flush();
+
+        pack = new PackFile(directory, "test");
+        assertArrayEquals(bytes("bar"), array(pack.get("b")));
+    }
+
+    @Test
+    public void appendsWithoutReplacingMappedPack() throws IOException {
+        PackFile pack = new PackFile(directory, "test");
+        pack.put("a", bytes("foo"));
+        pack.flush();
+        File mappedFile = packFile();
+        var mappedData = pack.get("a");
+
+        pack.put("b", bytes("bar"));
+        pack.flush();
+
+        assertEquals(mappedFile, packFile());
+        assertEquals(6, mappedFile.length());
+        assertEquals("foo", string(mappedData));
+        pack = new PackFile(directory, "test");
+        assertEquals("foo", string(pack.get("a")));
+        assertEquals("bar", string(pack.get("b")));
+    }
+
+    @Test
+    public void compactsToNewPackAndReopens() throws IOException {
+        PackFile pack = new PackFile(directory, "test");
+        pack.put("a", bytes("foo"));
+        pack.put("b", bytes("bar"));
+        pack.flush();
+        File mappedFile = packFile();
+        var mappedData = pack.get("b");
+
+        pack.remove("a");
+        pack.put("b", bytes("baz"));
+        pack.flush();
+
+        assertNotEquals(mappedFile, packFile());
+        assertTrue(!mappedFile.exists());
+        assertEquals(3, packFile().length());
+        assertEquals("bar", string(mappedData));
+        assertEquals("baz", string(pack.get("b")));
+
+        pack = new PackFile(directory, "test");
+        assertNull(pack.get("a"));
+        assertEquals("baz", string(pack.get("b")));
+        pack.put("c", bytes("qux"));
+        pack.flush();
+
+        pack = new PackFile(directory, "test");
+        assertEquals("baz", string(pack.get("b")));
+        assertEquals("qux", string(pack.get("c")));
+    }
+
+    @Test
+    public void cutsLeftoversOfInterruptedFlush() throws IOException {
+        PackFile pack = new PackFile(directory, "test");
+        pack.put("a", bytes("foo"));
+        pack.flush();
+        Files.write(packFile().toPath(), bytes("garbage"), StandardOpenOption.APPEND);
+
+        pack = new PackFile(directory, "test");
+        assertEquals("foo", string(pack.get("a")));
+        assertEquals(3, packFile().length());
+        pack.put("b", bytes("bar"));
+        pack.flush();
+
+        pack = new PackFile(directory, "test");
+        assertEquals("foo", string(pack.get("a")));
+        assertEquals("bar", string(pack.get("b")));
+        assertEquals(6, packFile().length());
+    }
+
+    @Test
+    public void removesEntriesUnusedSinceLoad() throws IOException {
+        PackFile pack = new PackFile(directory, "test");
+        pack.put("a", bytes("foo"));
+        pack.put("b", bytes("bar"));
+        pack.put("c", bytes("baz"));
+        pack.flush();
+
+        pack = new PackFile(directory, "test");
+        assertEquals("foo", string(pack.get("a")));
+        pack.put("d", bytes("qux"));
+        pack.removeUnused();
+        pack.flush();
+
+        pack = new PackFile(directory, "test");
+        assertEquals("foo", string(pack.get("a")));
+        assertNull(pack.get("b"));
+        assertNull(pack.get("c"));
+        assertEquals("qux", string(pack.get("d")));
+        assertEquals(12, packFile().length());
+
+        pack.removeUnused();
+        pack.flush();
+        pack = new PackFile(directory, "test");
+        assertEquals("foo", string(pack.get("a")));
+        assertEquals("qux", string(pack.get("d")));
+    }
+
+    private File packFile() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".teavm-pack"));
+        assertEquals(1, files.length);
+        return files[0];
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] array(ByteBuffer buffer) {
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        return result;
+    }
+
+    private static String string(ByteBuffer buffer) {
+        return new String(array(buffer), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.teavm.model.BasicBlock;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassReader;
+import org.teavm.model.ClassReaderSource;
+import org.teavm.model.FieldHolder;
+import org.teavm.model.MethodDescriptor;
+import org.teavm.model.MethodHolder;
+import org.teavm.model.Program;
+import org.teavm.model.ReferenceCache;
+import org.teavm.model.ValueType;
+import org.teavm.model.instructions.ExitInstruction;
+import org.teavm.parsing.resource.Resource;
+import org.teavm.parsing.resource.ResourceProvider;
+
+public class SnapshotClassReaderSourceTest {
+    private final Map<String, byte[]> resources = new HashMap<>();
+    private final ReferenceCache referenceCache = new ReferenceCache();
+    private final Map<String, ClassHolder> fallbackClasses = new HashMap<>();
+    private final List<String> fallbackRequests = new ArrayList<>();
+    private final ClassReaderSource fallback = name -> {
+        fallbackRequests.add(name);
+        return fallbackClasses.get(name);
+    };
+
+    @Test
+    public void readsClassFromSnapshot() throws IOException {
+        resources.put("foo/TBar.class", bytes("bar"));
+        writeSnapshot(createClass("foo.Bar"), "foo/TBar.class");
+
+        var source = SnapshotClassReaderSource.wrap(provider(), referenceCache, fallback);
+        var cls = source.get("foo.Bar");
+
+        assertNotNull(cls);
+        assertEquals("java.lang.Object", cls.getParent());
+        assertNotNull(cls.getField("value"));
+        var method = cls.getMethod(new MethodDescriptor("run", ValueType.VOID));
+        assertNotNull(method);
+        assertEquals(1, method.getProgram().basicBlockCount());
+        assertSame(cls, source.get("foo.Bar"));
+        assertEquals(List.of(), fallbackRequests);
+    }
+
+    @Test
+    public void fallsBackWhenClassFileChanged() throws IOException {
+        resources.put("foo/TBar.class", bytes("bar"));
+        writeSnapshot(createClass("foo.Bar"), "foo/TBar.class");
+        resources.put("foo/TBar.class", bytes("baz"));
+        var replacement = new ClassHolder("foo.Bar");
+        fallbackClasses.put("foo.Bar", replacement);
+
+        var source = SnapshotClassReaderSource.wrap(provider(), referenceCache, fallback);
+
+        assertSame(replacement, source.get("foo.Bar"));
+        assertNull(source.get("foo.Baz"));
+        assertEquals(List.of("foo.Bar", "foo.Baz"), fallbackRequests);
+    }
+
+    @Test
+    public void ignoresSnapshotBuiltWithDifferentProperties() throws IOException {
+        resources.put("foo/TBar.class", bytes("bar"));
+        writeSnapshot(createClass("foo.Bar"), "foo/TBar.class");
+        resources.put("META-INF/teavm.properties", bytes("mapPackage|foo=bar"));
+
+        assertSame(fallback, SnapshotClassReaderSource.wrap(provider(), referenceCache, fallback));
+    }
+
+    private ClassHolder createClass(String name) {
+        var cls = new ClassHolder(name);
+        cls.setParent("java.lang.Object");
+        cls.addField(new FieldHolder("value"));
+        cls.getField("value").setType(ValueType.INTEGER);
+
+        var method = new MethodHolder("run", ValueType.VOID);
+        var program = new Program();
+        BasicBlock block = program.createBasicBlock();
+        block.add(new ExitInstruction());
+        method.setProgram(program);
+        cls.addMethod(method);
+        return cls;
+    }
+
+    private void writeSnapshot(ClassReader cls, String originalResource) throws IOException {
+        var writer = new ClassSnapshotWriter(referenceCache, SnapshotClassReaderSource.propertiesChecksum(
+                provider()));
+        writer.add(cls, originalResource, SnapshotClassReaderSource.checksum(
+                new ByteArrayInputStream(resources.get(originalResource))));
+        var output = new ByteArrayOutputStream();
+        writer.write(output);
+        resources.put(SnapshotClassReaderSource.RESOURCE_NAME, output.toByteArray());
+    }
+
+    private ResourceProvider provider() {
+        return new ResourceProvider() {
+            @Override
+            public Iterator<Resource> getResources(String name) {
+                var data = resources.get(name);
+                if (data == null) {
+                    return List.<Resource>of().iterator();
+                }
+                return List.<Resource>of(new Resource() {
+                    @Override
+                    public InputStream open() {
+                        return new ByteArrayInputStream(data);
+                    }
+
+                    @Override
+                    public Date getModificationDate() {
+                        return null;
+                    }
+                }).iterator();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
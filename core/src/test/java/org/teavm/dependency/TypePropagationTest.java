@@ -0,0 +1,144 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.dependency;
+
+import static org.junit.Assert.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.Test;
+import org.teavm.diagnostics.AccumulationDiagnostics;
+import org.teavm.model.AccessLevel;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.MutableClassHolderSource;
+import org.teavm.model.ReferenceCache;
+import org.teavm.model.ValueType;
+
+public class TypePropagationTest {
+    private static final int CLASS_COUNT = 20;
+    private DependencyAnalyzer analyzer = createAnalyzer();
+
+    @Test
+    public void largeTypeSetConnectedToArrayNode() {
+        var source = analyzer.createNode();
+        source.propagate(allTypes());
+
+        var objectArrays = analyzer.createNode(ValueType.arrayOf(ValueType.object("java.lang.Object")));
+        var baseArrays = analyzer.createNode(ValueType.arrayOf(ValueType.object("test.Base")));
+        source.connect(objectArrays);
+        source.connect(baseArrays);
+        analyzer.processDependencies();
+
+        assertEquals(expectedObjectArrays(), typeNames(objectArrays));
+        assertEquals(expectedBaseArrays(), typeNames(baseArrays));
+    }
+
+    @Test
+    public void largeTypeSetPropagatedToArrayNode() {
+        var source = analyzer.createNode();
+        var objectArrays = analyzer.createNode(ValueType.arrayOf(ValueType.object("java.lang.Object")));
+        var baseArrays = analyzer.createNode(ValueType.arrayOf(ValueType.object("test.Base")));
+        source.connect(objectArrays);
+        source.connect(baseArrays);
+        source.propagate(allTypes());
+        analyzer.processDependencies();
+
+        assertEquals(expectedObjectArrays(), typeNames(objectArrays));
+        assertEquals(expectedBaseArrays(), typeNames(baseArrays));
+    }
+
+    @Test
+    public void largeTypeSetConnectedWithArrayFilter() {
+        var source = analyzer.createNode();
+        source.propagate(allTypes());
+
+        var objectArrays = analyzer.createNode();
+        source.connect(objectArrays, analyzer.getSuperClassFilter(ValueType.arrayOf(
+                ValueType.object("java.lang.Object"))));
+        var baseArrays = analyzer.createNode();
+        source.connect(baseArrays, analyzer.getSuperClassFilter(ValueType.arrayOf(ValueType.object("test.Base"))));
+        analyzer.processDependencies();
+
+        assertEquals(expectedObjectArrays(), typeNames(objectArrays));
+        assertEquals(expectedBaseArrays(), typeNames(baseArrays));
+    }
+
+    private DependencyType[] allTypes() {
+        List<DependencyType> types = new ArrayList<>();
+        for (int i = 0; i < CLASS_COUNT; ++i) {
+            types.add(analyzer.getType(ValueType.object(implName(i))));
+            types.add(analyzer.getType(ValueType.arrayOf(ValueType.object(implName(i)))));
+            types.add(analyzer.getType(ValueType.arrayOf(ValueType.object(otherName(i)))));
+        }
+        types.add(analyzer.getType(ValueType.arrayOf(ValueType.arrayOf(ValueType.object(implName(0))))));
+        return types.toArray(new DependencyType[0]);
+    }
+
+    private Set<String> expectedObjectArrays() {
+        Set<String> result = new TreeSet<>();
+        for (int i = 0; i < CLASS_COUNT; ++i) {
+            result.add("[L" + implName(i).replace('.', '/') + ";");
+            result.add("[L" + otherName(i).replace('.', '/') + ";");
+        }
+        result.add("[[L" + implName(0).replace('.', '/') + ";");
+        return result;
+    }
+
+    private Set<String> expectedBaseArrays() {
+        Set<String> result = new TreeSet<>();
+        for (int i = 0; i < CLASS_COUNT; ++i) {
+            result.add("[L" + implName(i).replace('.', '/') + ";");
+        }
+        return result;
+    }
+
+    private static Set<String> typeNames(DependencyNode node) {
+        var result = new TreeSet<String>();
+        for (var type : node.getTypes()) {
+            result.add(type.toString());
+        }
+        return result;
+    }
+
+    private static DependencyAnalyzer createAnalyzer() {
+        var classSource = new MutableClassHolderSource();
+        classSource.putClassHolder(createClass("java.lang.Object", null));
+        classSource.putClassHolder(createClass("java.lang.Class", "java.lang.Object"));
+        classSource.putClassHolder(createClass("test.Base", "java.lang.Object"));
+        for (int i = 0; i < CLASS_COUNT; ++i) {
+            classSource.putClassHolder(createClass(implName(i), "test.Base"));
+            classSource.putClassHolder(createClass(otherName(i), "java.lang.Object"));
+        }
+        return new PreciseDependencyAnalyzer(classSource, null, TypePropagationTest.class.getClassLoader(), null,
+                new AccumulationDiagnostics(), new ReferenceCache(), new String[0]);
+    }
+
+    private static ClassHolder createClass(String name, String parent) {
+        var cls = new ClassHolder(name);
+        cls.setLevel(AccessLevel.PUBLIC);
+        cls.setParent(parent);
+        return cls;
+    }
+
+    private static String implName(int index) {
+        return "test.Impl" + index;
+    }
+
+    private static String otherName(int index) {
+        return "test.Other" + index;
+    }
+}
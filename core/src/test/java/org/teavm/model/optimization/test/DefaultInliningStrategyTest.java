@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.model.optimization.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.teavm.model.BasicBlock;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Program;
+import org.teavm.model.ProgramReader;
+import org.teavm.model.ValueType;
+import org.teavm.model.instructions.ExitInstruction;
+import org.teavm.model.instructions.InvocationType;
+import org.teavm.model.instructions.InvokeInstruction;
+import org.teavm.model.optimization.DefaultInliningStrategy;
+import org.teavm.model.optimization.InliningContext;
+import org.teavm.model.optimization.InliningStep;
+
+public class DefaultInliningStrategyTest {
+    private static final MethodReference ROOT = new MethodReference("Test", "root", ValueType.VOID);
+    private final Map<MethodReference, Program> programs = new HashMap<>();
+
+    @Test
+    public void deepChainOfUsedOnceMethods() {
+        var chain = createChain("deep", 100000);
+        var strategy = createStrategy();
+
+        assertNull(tryInline(strategy, chain.get(0)));
+        assertNotNull(tryInline(strategy, chain.get(chain.size() - 2)));
+    }
+
+    @Test
+    public void resultDoesNotDependOnOrder() {
+        int length = 30;
+        var chain = createChain("chain", length);
+
+        var strategy = createStrategy();
+        var topDown = new ArrayList<Boolean>();
+        for (int i = 0; i < length; ++i) {
+            topDown.add(tryInline(strategy, chain.get(i)) != null);
+        }
+
+        strategy = createStrategy();
+        var bottomUp = new ArrayList<Boolean>();
+        for (int i = length - 1; i >= 0; --i) {
+            bottomUp.add(0, tryInline(strategy, chain.get(i)) != null);
+        }
+
+        assertEquals(topDown, bottomUp);
+        assertTrue(topDown.contains(true));
+        assertTrue(topDown.contains(false));
+    }
+
+    private DefaultInliningStrategy createStrategy() {
+        return new DefaultInliningStrategy(20, 7, 300, true);
+    }
+
+    private InliningStep tryInline(DefaultInliningStrategy strategy, MethodReference method) {
+        var step = strategy.start(ROOT, createProgram(null));
+        return step.tryInline(method, programs.get(method), new InliningContext() {
+            @Override
+            public boolean isUsedOnce(MethodReference method) {
+                return method.getName().startsWith("usedOnce");
+            }
+
+            @Override
+            public ProgramReader getProgram(MethodReference method) {
+                return programs.get(method);
+            }
+
+            @Override
+            public int getDepth() {
+                return 0;
+            }
+        });
+    }
+
+    /*
+     * Creates methods that are called several times, each calling the head of a chain of methods
+     * that are called once. Complexity of each entry method depends on how deep its chain is.
+     */
+    private List<MethodReference> createChain(String name, int length) {
+        var entries = new ArrayList<MethodReference>();
+        MethodReference next = null;
+        for (int i = length - 1; i >= 0; --i) {
+            var method = new MethodReference("Test", "usedOnce" + name + i, ValueType.VOID);
+            programs.put(method, createProgram(next));
+            next = method;
+            var entry = new MethodReference("Test", name + i, ValueType.VOID);
+            programs.put(entry, createProgram(method));
+            entries.add(0, entry);
+        }
+        return entries;
+    }
+
+    private static Program createProgram(MethodReference callee) {
+        var program = new Program();
+        BasicBlock block = program.createBasicBlock();
+        if (callee != null) {
+            var invoke = new InvokeInstruction();
+            invoke.setType(InvocationType.SPECIAL);
+            invoke.setMethod(callee);
+            block.add(invoke);
+        }
+        block.add(new ExitInstruction());
+        return program;
+    }
+}
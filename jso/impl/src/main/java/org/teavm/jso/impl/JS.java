@@ -250,8 +250,9 @@ public final class JS {
         }
         var result = new Int8Array(array.length);
         if (PlatformDetector.isWebAssemblyGC()) {
-            for (var i = 0; i < array.length; i += WasmBufferUtil.BUFFER_SIZE) {
-                var upper = Math.min(array.length, i + WasmBufferUtil.BUFFER_SIZE);
+            var count = WasmBufferUtil.reserve(array.length, 1);
+            for (var i = 0; i < array.length; i += count) {
+                var upper = Math.min(array.length, i + count);
                 var sz = upper - i;
                 var ptr = WasmBufferUtil.buffer;
                 for (var j = 0; j < sz; ++j) {
@@ -280,7 +281,7 @@ public final class JS {
         }
         var result = new Int16Array(array.length);
         if (PlatformDetector.isWebAssemblyGC()) {
-            var count = WasmBufferUtil.BUFFER_SIZE / 2;
+            var count = WasmBufferUtil.reserve(array.length, 2);
             for (var i = 0; i < array.length; i += count) {
                 var upper = Math.min(array.length, i + count);
                 var sz = upper - i;
@@ -311,7 +312,7 @@ public final class JS {
         }
         var result = new Uint16Array(array.length);
         if (PlatformDetector.isWebAssemblyGC()) {
-            var count = WasmBufferUtil.BUFFER_SIZE / 2;
+            var count = WasmBufferUtil.reserve(array.length, 2);
             for (var i = 0; i < array.length; i += count) {
                 var upper = Math.min(array.length, i + count);
                 var sz = upper - i;
@@ -342,7 +343,7 @@ public final class JS {
         }
         var result = new Int32Array(array.length);
         if (PlatformDetector.isWebAssemblyGC()) {
-            var count = WasmBufferUtil.BUFFER_SIZE / 4;
+            var count = WasmBufferUtil.reserve(array.length, 4);
             for (var i = 0; i < array.length; i += count) {
                 var upper = Math.min(array.length, i + count);
                 var sz = upper - i;
@@ -373,7 +374,7 @@ public final class JS {
         }
         var result = new BigInt64Array(array.length);
         if (PlatformDetector.isWebAssemblyGC()) {
-            var count = WasmBufferUtil.BUFFER_SIZE / 8;
+            var count = WasmBufferUtil.reserve(array.length, 8);
             for (var i = 0; i < array.length; i += count) {
                 var upper = Math.min(array.length, i + count);
                 var sz = upper - i;
@@ -420,7 +421,7 @@ public final class JS {
         }
         var result = new Float32Array(array.length);
         if (PlatformDetector.isWebAssemblyGC()) {
-            var count = WasmBufferUtil.BUFFER_SIZE / 4;
+            var count = WasmBufferUtil.reserve(array.length, 4);
             for (var i = 0; i < array.length; i += count) {
                 var upper = Math.min(array.length, i + count);
                 var sz = upper - i;
@@ -451,7 +452,7 @@ public final class JS {
         }
         var result = new Float64Array(array.length);
         if (PlatformDetector.isWebAssemblyGC()) {
-            var count = WasmBufferUtil.BUFFER_SIZE / 8;
+            var count = WasmBufferUtil.reserve(array.length, 8);
             for (var i = 0; i < array.length; i += count) {
                 var upper = Math.min(array.length, i + count);
                 var sz = upper - i;
@@ -517,8 +518,9 @@ public final class JS {
         boolean[] result = new boolean[array.getLength()];
         if (PlatformDetector.isWebAssemblyGC() && array instanceof Int8Array) {
             var typedArray = (Int8Array) array;
-            for (int i = 0; i < result.length; i += WasmBufferUtil.BUFFER_SIZE) {
-                var upper = Math.min(i + WasmBufferUtil.BUFFER_SIZE, result.length);
+            var elemCount = WasmBufferUtil.reserve(result.length, 1);
+            for (int i = 0; i < result.length; i += elemCount) {
+                var upper = Math.min(i + elemCount, result.length);
                 var sz = upper - i;
                 var part = new Int8Array(typedArray.getBuffer(), typedArray.getByteOffset() + i, sz);
                 var ptr = WasmBufferUtil.buffer;
@@ -547,8 +549,9 @@ public final class JS {
         byte[] result = new byte[array.getLength()];
         if (PlatformDetector.isWebAssemblyGC() && array instanceof Int8Array) {
             var typedArray = (Int8Array) array;
-            for (int i = 0; i < result.length; i += WasmBufferUtil.BUFFER_SIZE) {
-                var upper = Math.min(i + WasmBufferUtil.BUFFER_SIZE, result.length);
+            var elemCount = WasmBufferUtil.reserve(result.length, 1);
+            for (int i = 0; i < result.length; i += elemCount) {
+                var upper = Math.min(i + elemCount, result.length);
                 var sz = upper - i;
                 var part = new Int8Array(typedArray.getBuffer(), typedArray.getByteOffset() + i, sz);
                 var ptr = WasmBufferUtil.buffer;
@@ -577,7 +580,7 @@ public final class JS {
         short[] result = new short[array.getLength()];
         if (PlatformDetector.isWebAssemblyGC() && array instanceof Int16Array) {
             var typedArray = (Int16Array) array;
-            var elemCount = WasmBufferUtil.BUFFER_SIZE / 2;
+            var elemCount = WasmBufferUtil.reserve(result.length, 2);
             for (int i = 0; i < result.length; i += elemCount) {
                 var upper = Math.min(i + elemCount, result.length);
                 var sz = upper - i;
@@ -608,7 +611,7 @@ public final class JS {
         int[] result = new int[array.getLength()];
         if (PlatformDetector.isWebAssemblyGC() && array instanceof Int32Array) {
             var typedArray = (Int32Array) array;
-            var elemCount = WasmBufferUtil.BUFFER_SIZE / 4;
+            var elemCount = WasmBufferUtil.reserve(result.length, 4);
             for (int i = 0; i < result.length; i += elemCount) {
                 var upper = Math.min(i + elemCount, result.length);
                 var sz = upper - i;
@@ -639,7 +642,7 @@ public final class JS {
         var result = new long[array.getLength()];
         if (PlatformDetector.isWebAssemblyGC() && array instanceof BigInt64Array) {
             var typedArray = (BigInt64Array) array;
-            var elemCount = WasmBufferUtil.BUFFER_SIZE / 8;
+            var elemCount = WasmBufferUtil.reserve(result.length, 8);
             for (int i = 0; i < result.length; i += elemCount) {
                 var upper = Math.min(i + elemCount, result.length);
                 var sz = upper - i;
@@ -670,7 +673,7 @@ public final class JS {
         char[] result = new char[array.getLength()];
         if (PlatformDetector.isWebAssemblyGC() && array instanceof Uint16Array) {
             var typedArray = (Uint16Array) array;
-            var elemCount = WasmBufferUtil.BUFFER_SIZE / 2;
+            var elemCount = WasmBufferUtil.reserve(result.length, 2);
             for (int i = 0; i < result.length; i += elemCount) {
                 var upper = Math.min(i + elemCount, result.length);
                 var sz = upper - i;
@@ -701,7 +704,7 @@ public final class JS {
         float[] result = new float[array.getLength()];
         if (PlatformDetector.isWebAssemblyGC() && array instanceof Float32Array) {
             var typedArray = (Float32Array) array;
-            var elemCount = WasmBufferUtil.BUFFER_SIZE / 4;
+            var elemCount = WasmBufferUtil.reserve(result.length, 4);
             for (int i = 0; i < result.length; i += elemCount) {
                 var upper = Math.min(i + elemCount, result.length);
                 var sz = upper - i;
@@ -732,7 +735,7 @@ public final class JS {
         double[] result = new double[array.getLength()];
         if (PlatformDetector.isWebAssemblyGC() && array instanceof Float64Array) {
             var typedArray = (Float64Array) array;
-            var elemCount = WasmBufferUtil.BUFFER_SIZE / 8;
+            var elemCount = WasmBufferUtil.reserve(result.length, 8);
             for (int i = 0; i < result.length; i += elemCount) {
                 var upper = Math.min(i + elemCount, result.length);
                 var sz = upper - i;
@@ -22,7 +22,9 @@ import org.teavm.runtime.heap.Heap;
 
 final class WasmBufferUtil {
     static final int BUFFER_SIZE = 4096;
-    static final Address buffer;
+    static final int MAX_BUFFER_SIZE = 1 << 20;
+    static Address buffer;
+    private static int bufferSize;
 
     private WasmBufferUtil() {
     }
@@ -32,8 +34,28 @@ final class WasmBufferUtil {
         if (buffer.toInt() == 0) {
             throw new RuntimeException("Could not initialize buffer");
         }
+        bufferSize = BUFFER_SIZE;
     }
 
+    /**
+     * Grows buffer so that it can hold given number of elements, but not beyond {@link #MAX_BUFFER_SIZE}.
+     * Large arrays are transferred in few big chunks rather than in many small ones,
+     * since every chunk costs several calls to JS.
+     *
+     * @return how many elements fit into the buffer.
+     */
+    static int reserve(int count, int elementSize) {
+        var size = (int) Math.min((long) count * elementSize, MAX_BUFFER_SIZE);
+        if (size > bufferSize) {
+            var newBuffer = Heap.alloc(size);
+            if (newBuffer.toInt() != 0) {
+                Heap.release(buffer);
+                buffer = newBuffer;
+                bufferSize = size;
+            }
+        }
+        return bufferSize / elementSize;
+    }
 
     @Import(module = "teavmMemory", name = "linearMemory")
     static native ArrayBuffer getLinearMemory();
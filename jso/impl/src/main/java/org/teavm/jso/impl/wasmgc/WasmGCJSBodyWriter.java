@@ -185,4 +185,12 @@ class WasmGCJSBodyWriter extends SourceWriter {
     @Override
     public void markSectionEnd() {
     }
+
+    @Override
+    public void markMethodStart(MethodReference method) {
+    }
+
+    @Override
+    public void markMethodEnd() {
+    }
 }
@@ -56,6 +56,8 @@ include("hello")
 include("async")
 include("benchmark")
 include("pi")
+include("sort-benchmark")
+include("zip-benchmark")
 include("promise")
 include("kotlin")
 include("kotlin-coroutines")
@@ -0,0 +1,177 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.samples.sort;
+
+/**
+ * Bottom-up merge sort that was used by TeaVM class library for primitive arrays, kept here as a baseline.
+ */
+final class MergeSort {
+    private MergeSort() {
+    }
+
+    static void sort(int[] a) {
+        if (a.length == 0) {
+            return;
+        }
+        int[] first = a;
+        int[] second = new int[a.length];
+        int chunkSize = 1;
+        while (chunkSize < a.length) {
+            for (int i = 0; i < first.length; i += chunkSize * 2) {
+                merge(first, second, i, Math.min(first.length, i + chunkSize),
+                        Math.min(first.length, i + 2 * chunkSize));
+            }
+            int[] tmp = first;
+            first = second;
+            second = tmp;
+            chunkSize *= 2;
+        }
+        if (first != a) {
+            for (int i = 0; i < first.length; ++i) {
+                second[i] = first[i];
+            }
+        }
+    }
+
+    private static void merge(int[] a, int[] b, int from, int split, int to) {
+        int index = from;
+        int from2 = split;
+        while (true) {
+            if (from == split) {
+                while (from2 < to) {
+                    b[index++] = a[from2++];
+                }
+                break;
+            } else if (from2 == to) {
+                while (from < split) {
+                    b[index++] = a[from++];
+                }
+                break;
+            }
+            int p = a[from];
+            int q = a[from2];
+            if (p <= q) {
+                b[index++] = p;
+                ++from;
+            } else {
+                b[index++] = q;
+                ++from2;
+            }
+        }
+    }
+
+    static void sort(double[] a) {
+        if (a.length == 0) {
+            return;
+        }
+        double[] first = a;
+        double[] second = new double[a.length];
+        int chunkSize = 1;
+        while (chunkSize < a.length) {
+            for (int i = 0; i < first.length; i += chunkSize * 2) {
+                merge(first, second, i, Math.min(first.length, i + chunkSize),
+                        Math.min(first.length, i + 2 * chunkSize));
+            }
+            double[] tmp = first;
+            first = second;
+            second = tmp;
+            chunkSize *= 2;
+        }
+        if (first != a) {
+            for (int i = 0; i < first.length; ++i) {
+                second[i] = first[i];
+            }
+        }
+    }
+
+    private static void merge(double[] a, double[] b, int from, int split, int to) {
+        int index = from;
+        int from2 = split;
+        while (true) {
+            if (from == split) {
+                while (from2 < to) {
+                    b[index++] = a[from2++];
+                }
+                break;
+            } else if (from2 == to) {
+                while (from < split) {
+                    b[index++] = a[from++];
+                }
+                break;
+            }
+            double p = a[from];
+            double q = a[from2];
+            if (Double.compare(p, q) <= 0) {
+                b[index++] = p;
+                ++from;
+            } else {
+                b[index++] = q;
+                ++from2;
+            }
+        }
+    }
+
+    static void sort(char[] a) {
+        if (a.length == 0) {
+            return;
+        }
+        char[] first = a;
+        char[] second = new char[a.length];
+        int chunkSize = 1;
+        while (chunkSize < a.length) {
+            for (int i = 0; i < first.length; i += chunkSize * 2) {
+                merge(first, second, i, Math.min(first.length, i + chunkSize),
+                        Math.min(first.length, i + 2 * chunkSize));
+            }
+            char[] tmp = first;
+            first = second;
+            second = tmp;
+            chunkSize *= 2;
+        }
+        if (first != a) {
+            for (int i = 0; i < first.length; ++i) {
+                second[i] = first[i];
+            }
+        }
+    }
+
+    private static void merge(char[] a, char[] b, int from, int split, int to) {
+        int index = from;
+        int from2 = split;
+        while (true) {
+            if (from == split) {
+                while (from2 < to) {
+                    b[index++] = a[from2++];
+                }
+                break;
+            } else if (from2 == to) {
+                while (from < split) {
+                    b[index++] = a[from++];
+                }
+                break;
+            }
+            char p = a[from];
+            char q = a[from2];
+            if (p <= q) {
+                b[index++] = p;
+                ++from;
+            } else {
+                b[index++] = q;
+                ++from2;
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.samples.sort;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public final class SortBenchmark {
+    private static final int ROUNDS = 5;
+
+    private SortBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        var random = new Random(42);
+
+        var randomInts = new int[size];
+        for (int i = 0; i < size; ++i) {
+            randomInts[i] = random.nextInt();
+        }
+        benchmark("int, random", randomInts);
+
+        var fewDistinctInts = new int[size];
+        for (int i = 0; i < size; ++i) {
+            fewDistinctInts[i] = random.nextInt(16);
+        }
+        benchmark("int, 16 distinct values", fewDistinctInts);
+
+        var almostSortedInts = new int[size];
+        for (int i = 0; i < size; ++i) {
+            almostSortedInts[i] = i % 100 == 0 ? random.nextInt(size) : i;
+        }
+        benchmark("int, almost sorted", almostSortedInts);
+
+        var randomDoubles = new double[size];
+        for (int i = 0; i < size; ++i) {
+            randomDoubles[i] = random.nextDouble() - 0.5;
+        }
+        benchmark("double, random", randomDoubles);
+
+        var randomChars = new char[size];
+        for (int i = 0; i < size; ++i) {
+            randomChars[i] = (char) random.nextInt(Character.MAX_VALUE + 1);
+        }
+        benchmark("char, random", randomChars);
+    }
+
+    private static void benchmark(String name, int[] data) {
+        double mergeSortTime = Double.MAX_VALUE;
+        double arraysSortTime = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; ++round) {
+            var copy = data.clone();
+            long start = System.nanoTime();
+            MergeSort.sort(copy);
+            mergeSortTime = Math.min(mergeSortTime, millisSince(start));
+
+            var otherCopy = data.clone();
+            start = System.nanoTime();
+            Arrays.sort(otherCopy);
+            arraysSortTime = Math.min(arraysSortTime, millisSince(start));
+
+            if (!Arrays.equals(copy, otherCopy)) {
+                throw new IllegalStateException("Results differ for " + name);
+            }
+        }
+        report(name, mergeSortTime, arraysSortTime);
+    }
+
+    private static void benchmark(String name, double[] data) {
+        double mergeSortTime = Double.MAX_VALUE;
+        double arraysSortTime = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; ++round) {
+            var copy = data.clone();
+            long start = System.nanoTime();
+            MergeSort.sort(copy);
+            mergeSortTime = Math.min(mergeSortTime, millisSince(start));
+
+            var otherCopy = data.clone();
+            start = System.nanoTime();
+            Arrays.sort(otherCopy);
+            arraysSortTime = Math.min(arraysSortTime, millisSince(start));
+
+            if (!Arrays.equals(copy, otherCopy)) {
+                throw new IllegalStateException("Results differ for " + name);
+            }
+        }
+        report(name, mergeSortTime, arraysSortTime);
+    }
+
+    private static void benchmark(String name, char[] data) {
+        double mergeSortTime = Double.MAX_VALUE;
+        double arraysSortTime = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; ++round) {
+            var copy = data.clone();
+            long start = System.nanoTime();
+            MergeSort.sort(copy);
+            mergeSortTime = Math.min(mergeSortTime, millisSince(start));
+
+            var otherCopy = data.clone();
+            start = System.nanoTime();
+            Arrays.sort(otherCopy);
+            arraysSortTime = Math.min(arraysSortTime, millisSince(start));
+
+            if (!Arrays.equals(copy, otherCopy)) {
+                throw new IllegalStateException("Results differ for " + name);
+            }
+        }
+        report(name, mergeSortTime, arraysSortTime);
+    }
+
+    private static double millisSince(long start) {
+        return (System.nanoTime() - start) / 1000000.0;
+    }
+
+    private static void report(String name, double mergeSortTime, double arraysSortTime) {
+        System.out.println(name + ": merge sort " + format(mergeSortTime) + " ms, Arrays.sort "
+                + format(arraysSortTime) + " ms, speedup " + format(mergeSortTime / arraysSortTime) + "x");
+    }
+
+    private static String format(double value) {
+        return String.valueOf(Math.round(value * 100) / 100.0);
+    }
+}
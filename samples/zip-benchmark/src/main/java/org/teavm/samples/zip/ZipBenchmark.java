@@ -0,0 +1,176 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.samples.zip;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+public final class ZipBenchmark {
+    private static final int ROUNDS = 5;
+    private static final String[] WORDS = { "the", "of", "and", "to", "in", "is", "that", "for", "it", "as", "was",
+            "with", "be", "by", "on", "not", "he", "this", "are", "or", "his", "from", "at", "which", "but", "have",
+            "compiler", "bytecode", "method", "class", "virtual", "machine", "browser", "module", "runtime",
+            "optimization", "allocation", "reference", "exception", "interface", "generator", "dependency" };
+
+    private ZipBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, DataFormatException {
+        int size = (args.length > 0 ? Integer.parseInt(args[0]) : 4096) * 1024;
+        var random = new Random(42);
+
+        benchmark("English-like text", text(random, size));
+        benchmark("JSON records", json(random, size));
+        var noise = new byte[size];
+        random.nextBytes(noise);
+        benchmark("random bytes", noise);
+    }
+
+    private static byte[] text(Random random, int size) {
+        var sb = new StringBuilder();
+        while (sb.length() < size) {
+            int sentenceLength = 5 + random.nextInt(15);
+            for (int i = 0; i < sentenceLength; ++i) {
+                String word = WORDS[Math.min(random.nextInt(WORDS.length), random.nextInt(WORDS.length))];
+                if (i == 0) {
+                    sb.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+                } else {
+                    sb.append(' ').append(word);
+                }
+            }
+            sb.append(random.nextInt(8) == 0 ? ".\n" : ". ");
+        }
+        return Arrays.copyOf(sb.toString().getBytes(StandardCharsets.UTF_8), size);
+    }
+
+    private static byte[] json(Random random, int size) {
+        var sb = new StringBuilder("[");
+        int id = 0;
+        while (sb.length() < size) {
+            sb.append("{\"id\":").append(id++)
+                    .append(",\"name\":\"").append(WORDS[random.nextInt(WORDS.length)]).append('_')
+                    .append(random.nextInt(1000)).append('"')
+                    .append(",\"score\":").append(random.nextInt(100000) / 100.0)
+                    .append(",\"active\":").append(random.nextBoolean())
+                    .append(",\"tags\":[\"").append(WORDS[random.nextInt(WORDS.length)]).append("\",\"")
+                    .append(WORDS[random.nextInt(WORDS.length)]).append("\"]},\n");
+        }
+        return Arrays.copyOf(sb.toString().getBytes(StandardCharsets.UTF_8), size);
+    }
+
+    private static void benchmark(String name, byte[] data) throws IOException, DataFormatException {
+        byte[] deflated = deflate(data);
+        byte[] gzipped = gzip(data);
+        double inflaterTime = Double.MAX_VALUE;
+        double gzipTime = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; ++round) {
+            long start = System.nanoTime();
+            byte[] inflated = inflate(deflated, data.length);
+            inflaterTime = Math.min(inflaterTime, millisSince(start));
+            if (!Arrays.equals(data, inflated)) {
+                throw new IllegalStateException("Inflater produced wrong result for " + name);
+            }
+
+            start = System.nanoTime();
+            byte[] gunzipped = gunzip(gzipped);
+            gzipTime = Math.min(gzipTime, millisSince(start));
+            if (!Arrays.equals(data, gunzipped)) {
+                throw new IllegalStateException("GZIPInputStream produced wrong result for " + name);
+            }
+        }
+        System.out.println(name + ": " + data.length / 1024 + " KiB, compressed to " + deflated.length / 1024
+                + " KiB, Inflater " + format(inflaterTime) + " ms (" + format(data.length, inflaterTime)
+                + " MiB/s), GZIPInputStream " + format(gzipTime) + " ms ("
+                + format(data.length, gzipTime) + " MiB/s)");
+    }
+
+    private static byte[] deflate(byte[] data) {
+        var deflater = new Deflater();
+        deflater.setInput(data);
+        deflater.finish();
+        var output = new ByteArrayOutputStream();
+        var buffer = new byte[65536];
+        while (!deflater.finished()) {
+            int count = deflater.deflate(buffer);
+            output.write(buffer, 0, count);
+        }
+        deflater.end();
+        return output.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        var output = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(output)) {
+            gzip.write(data);
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] data, int size) throws DataFormatException {
+        var inflater = new Inflater();
+        // feed input in chunks, as streams do
+        var result = new byte[size];
+        int offset = 0;
+        int position = 0;
+        while (!inflater.finished()) {
+            if (inflater.needsInput()) {
+                int count = Math.min(8192, data.length - position);
+                inflater.setInput(data, position, count);
+                position += count;
+            }
+            offset += inflater.inflate(result, offset, result.length - offset);
+        }
+        inflater.end();
+        return result;
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        var output = new ByteArrayOutputStream();
+        var buffer = new byte[16384];
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            while (true) {
+                int count = input.read(buffer);
+                if (count < 0) {
+                    break;
+                }
+                output.write(buffer, 0, count);
+            }
+        }
+        return output.toByteArray();
+    }
+
+    private static double millisSince(long start) {
+        return (System.nanoTime() - start) / 1000000.0;
+    }
+
+    private static String format(double value) {
+        return String.valueOf(Math.round(value * 100) / 100.0);
+    }
+
+    private static String format(int size, double millis) {
+        return format(size / 1048576.0 / (millis / 1000));
+    }
+}
@@ -52,6 +52,7 @@ include("tools:maven:webapp")
 include("tools:maven:webapp-wasm-gc")
 include("tools:classlib-comparison-gen")
 include("tools:wasm-disassembly")
+include("tools:compiler-benchmark")
 include("tests")
 include("extras-slf4j")
 
@@ -63,6 +63,7 @@ dependencies {
 
 tasks.test {
     systemProperty("teavm.junit.target", layout.buildDirectory.dir("teavm-tests").get().asFile.absolutePath)
+    systemProperty("teavm.junit.threads", providers.gradleProperty("teavm.tests.threads").orElse("1").get())
     val browser = providers.gradleProperty("teavm.tests.browser").orElse("browser-chrome").get()
 
     systemProperty("teavm.junit.js", providers.gradleProperty("teavm.tests.js").orElse("true").get())
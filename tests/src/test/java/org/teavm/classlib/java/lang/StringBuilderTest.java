@@ -287,4 +287,52 @@ public class StringBuilderTest {
                 new char[] { (char) 56972, (char) 56178 }).codePoints().toArray());
         assertArrayEquals(new int[] { 56178 }, new StringBuilder().append((char) 56178).codePoints().toArray());
     }
+
+    @Test
+    public void largeContentAppended() {
+        var chunk = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            chunk.append((char) ('a' + i % 26));
+        }
+        var chunkString = chunk.toString();
+        var largeString = chunkString.repeat(20);
+
+        var sb = new StringBuilder();
+        for (int i = 0; i < 50; ++i) {
+            sb.append(i).append(':').append(chunkString);
+            if (i % 10 == 0) {
+                sb.append(largeString);
+            }
+        }
+        int expectedLength = 90 + 50 * (chunkString.length() + 1) + 5 * largeString.length();
+        assertEquals(expectedLength, sb.length());
+        assertEquals("0:abc", sb.substring(0, 5));
+        assertEquals('a', sb.charAt(2 + chunkString.length() + largeString.length() + 2));
+
+        var first = sb.toString();
+        assertEquals(expectedLength, first.length());
+        assertEquals(first, sb.toString());
+        assertEquals(first.substring(first.length() - 10), sb.substring(sb.length() - 10));
+
+        sb.insert(1, "!");
+        sb.append("end");
+        assertEquals("0!:", sb.substring(0, 3));
+        assertEquals("end", sb.substring(sb.length() - 3));
+        assertEquals(expectedLength + 4, sb.toString().length());
+    }
+
+    @Test
+    public void largeContentAppendedToItself() {
+        var chunk = "0123456789".repeat(10);
+        var sb = new StringBuilder();
+        for (int i = 0; i < 200; ++i) {
+            sb.append(chunk);
+        }
+        assertEquals('0', sb.charAt(0));
+        for (int i = 0; i < 200; ++i) {
+            sb.append(chunk);
+        }
+        sb.append(sb);
+        assertEquals(chunk.repeat(800), sb.toString());
+    }
 }
@@ -21,7 +21,9 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -297,6 +299,22 @@ public class StringTest {
         assertEquals(-69, bytes[16383]);
     }
 
+    @Test
+    public void createdFromByteArrayRangeInStandardCharsets() {
+        byte[] bytes = { 0, 65, -62, -69, 0, 66, 0 };
+        assertEquals("A\u00BB", new String(bytes, 1, 3, StandardCharsets.UTF_8));
+        assertEquals("AB", new String(new byte[] { 65, 0, 66, 0 }, StandardCharsets.UTF_16LE));
+        assertEquals("A\u00C2\u00BB", new String(bytes, 1, 3, StandardCharsets.ISO_8859_1));
+        assertEquals("B", new String(bytes, 4, 2, StandardCharsets.UTF_16BE));
+        assertEquals("\uFEFFA", new String(new byte[] { -17, -69, -65, 65 }, StandardCharsets.UTF_8));
+        try {
+            new String(bytes, 5, 3, StandardCharsets.UTF_8);
+            fail("Exception expected");
+        } catch (IndexOutOfBoundsException e) {
+            // ok
+        }
+    }
+
     @Test
     public void createsStringFromCodePoints() {
         int[] codePoints = { 97, 98, 969356, 99, 969356, 99, 100 };
@@ -36,6 +36,8 @@ import org.teavm.junit.TeaVMTestRunner;
 
 @RunWith(TeaVMTestRunner.class)
 public class ArrayListTest {
+    private List<Integer> storedIntList;
+
     @Test
     public void elementsAdded() {
         List<Integer> list = new ArrayList<>();
@@ -382,4 +384,81 @@ public class ArrayListTest {
             // ok
         }
     }
+
+    @Test
+    public void localIntList() {
+        // list does not escape this method and has only boxed int elements, so it's compiled as primitive-specialized
+        var list = new ArrayList<Integer>();
+        for (int i = 0; i < 100; ++i) {
+            list.add(i * 3);
+        }
+        list.add(0, -1);
+        int sum = 0;
+        for (int i = 0; i < list.size(); ++i) {
+            sum += list.get(i);
+        }
+        assertEquals(14849, sum);
+        assertEquals(-1, (int) list.set(0, 5));
+        assertEquals(5, (int) list.get(0));
+        assertTrue(list.contains(297));
+        assertFalse(list.contains(298));
+        assertEquals(2, list.indexOf(3));
+        try {
+            list.get(101);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // ok
+        }
+    }
+
+    @Test
+    public void localIntListPassedToMethod() {
+        var list = new ArrayList<Integer>();
+        list.add(1);
+        list.add(2);
+        addNegated(list);
+        assertEquals(List.of(1, 2, -1, -2), list);
+    }
+
+    private static void addNegated(List<Integer> list) {
+        int size = list.size();
+        for (int i = 0; i < size; ++i) {
+            list.add(-list.get(i));
+        }
+    }
+
+    @Test
+    public void localIntListStoredInField() {
+        var list = new ArrayList<Integer>();
+        storedIntList = list;
+        list.add(1);
+        list.add(2);
+        assertEquals(2, storedIntList.size());
+        storedIntList.add(3);
+        assertEquals(3, (int) list.get(2));
+        storedIntList = null;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void localIntListCast() {
+        var list = new ArrayList<Integer>();
+        list.add(1);
+        Object object = list;
+        assertTrue(object instanceof ArrayList);
+        ((List<Integer>) object).add(2);
+        assertEquals(2, list.size());
+        assertEquals(ArrayList.class, list.getClass());
+    }
+
+    @Test
+    public void localIntListElementIdentityPreserved() {
+        var list = new ArrayList<Integer>();
+        list.add(1000);
+        list.add(1000);
+        assertSame(list.get(0), list.get(0));
+        assertTrue(list.get(1) == list.get(1));
+        Integer old = list.set(1, 2000);
+        assertEquals(1000, (int) old);
+    }
 }
@@ -73,6 +73,52 @@ public class ArraysTest {
                 Arrays.equals(fSpecials2, fSorted));
     }
 
+    @Test
+    public void largePrimitiveArraySorted() {
+        int[] ints = new int[5000];
+        long[] longs = new long[ints.length];
+        char[] chars = new char[ints.length];
+        double[] doubles = new double[ints.length];
+        int seed = 1;
+        for (int i = 0; i < ints.length; ++i) {
+            seed = seed * 1103515245 + 12345;
+            ints[i] = i % 3 == 0 ? seed % 10 : seed;
+            longs[i] = (long) seed * seed;
+            chars[i] = (char) seed;
+            doubles[i] = i % 100 == 0 ? Double.NaN : i % 50 == 0 ? -0d : seed / 7.0;
+        }
+        Arrays.sort(ints);
+        Arrays.sort(longs);
+        Arrays.sort(chars);
+        Arrays.sort(doubles);
+        for (int i = 1; i < ints.length; ++i) {
+            assertTrue(ints[i - 1] <= ints[i]);
+            assertTrue(longs[i - 1] <= longs[i]);
+            assertTrue(chars[i - 1] <= chars[i]);
+            assertTrue(Double.compare(doubles[i - 1], doubles[i]) <= 0);
+        }
+    }
+
+    @Test
+    public void primitiveArrayRangeSorted() {
+        int[] array = { 9, 8, 7, 6, 5, 4, 3, 2, 1, 0 };
+        Arrays.sort(array, 2, 7);
+        assertEquals("[9, 8, 3, 4, 5, 6, 7, 2, 1, 0]", Arrays.toString(array));
+    }
+
+    @Test
+    public void parallelOperations() {
+        int[] array = new int[6];
+        Arrays.parallelSetAll(array, i -> 6 - i);
+        assertEquals("[6, 5, 4, 3, 2, 1]", Arrays.toString(array));
+        Arrays.parallelSort(array);
+        assertEquals("[1, 2, 3, 4, 5, 6]", Arrays.toString(array));
+        Arrays.parallelPrefix(array, Integer::sum);
+        assertEquals("[1, 3, 6, 10, 15, 21]", Arrays.toString(array));
+        Arrays.parallelPrefix(array, 3, 5, (a, b) -> b - a);
+        assertEquals("[1, 3, 6, 10, 5, 21]", Arrays.toString(array));
+    }
+
     @Test
     public void binarySearchWorks() {
         Integer[] array = { 2, 4, 6, 8, 10, 12, 14, 16 };
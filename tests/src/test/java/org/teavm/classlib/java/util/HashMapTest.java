@@ -48,6 +48,8 @@ public class HashMapTest {
 
     private HashMap<String, String> htfull;
 
+    private Map<Integer, String> storedIntKeyedMap;
+
     private List<String> keyList;
 
     private List<String> elmList;
@@ -951,6 +953,80 @@ public class HashMapTest {
         }
     }
 
+    @Test
+    public void localIntKeyedMap() {
+        // map does not escape this method and has only boxed int keys, so it's compiled as primitive-specialized
+        var map = new HashMap<Integer, String>();
+        for (int i = -100; i <= 100; i += 2) {
+            map.put(i, "v" + i);
+        }
+        assertEquals(101, map.size());
+        assertEquals("v0", map.get(0));
+        assertEquals("v-100", map.get(-100));
+        assertNull(map.get(1));
+        assertTrue(map.containsKey(100));
+        assertFalse(map.containsKey(101));
+        assertEquals("v0", map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertNull(map.putIfAbsent(0, null));
+        assertTrue(map.containsKey(0));
+        assertNull(map.putIfAbsent(0, "q"));
+        assertEquals("q", map.putIfAbsent(0, "w"));
+        assertEquals("d", map.getOrDefault(1, "d"));
+        for (int i = -100; i <= 100; i += 2) {
+            map.remove(i);
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void localIntKeyedMapPassedToMethod() {
+        var map = new HashMap<Integer, String>();
+        map.put(1, "a");
+        putAll(map);
+        assertEquals(3, map.size());
+        assertEquals("c", map.get(3));
+    }
+
+    private static void putAll(Map<Integer, String> map) {
+        map.put(2, "b");
+        map.put(3, "c");
+    }
+
+    @Test
+    public void localIntKeyedMapStoredInField() {
+        var map = new HashMap<Integer, String>();
+        storedIntKeyedMap = map;
+        map.put(1, "a");
+        storedIntKeyedMap.put(2, "b");
+        assertEquals("b", map.get(2));
+        assertEquals(2, storedIntKeyedMap.size());
+        storedIntKeyedMap = null;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void localIntKeyedMapCast() {
+        var map = new HashMap<Integer, String>();
+        map.put(1, "a");
+        Object object = map;
+        assertTrue(object instanceof HashMap);
+        ((Map<Integer, String>) object).put(2, "b");
+        assertEquals("b", map.get(2));
+        assertSame(object, map);
+    }
+
+    @Test
+    public void localIntKeyedMapKeyIdentityPreserved() {
+        var map = new HashMap<Integer, String>();
+        Integer key = 1000;
+        map.put(key, "a");
+        assertSame(key, map.keySet().iterator().next());
+        var value = new String("v");
+        map.put(1000, value);
+        assertSame(value, map.get(1000));
+    }
+
     @SuppressWarnings("unchecked")
     protected <K, V> HashMap<K, V> hashMapClone(HashMap<K, V> s) {
         return (HashMap<K, V>) s.clone();
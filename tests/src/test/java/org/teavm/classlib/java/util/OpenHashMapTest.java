@@ -0,0 +1,235 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMProperties;
+import org.teavm.junit.TeaVMProperty;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+@TeaVMProperties(@TeaVMProperty(key = "java.util.HashMap.openAddressing", value = "true"))
+public class OpenHashMapTest {
+    @Test
+    public void putRemoveChurn() {
+        var map = new HashMap<Integer, Integer>();
+        var expected = new TreeMap<Integer, Integer>();
+        int seed = 1;
+        for (int i = 0; i < 20000; ++i) {
+            seed = seed * 1103515245 + 12345;
+            int key = (seed >>> 16) % 300;
+            if ((seed & 0x300) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = 0; key < 300; ++key) {
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        assertEquals(expected, new TreeMap<>(map));
+    }
+
+    @Test
+    public void iteratorRemovesCollidingKeys() {
+        for (int hash = 0; hash < 64; ++hash) {
+            var map = new HashMap<Key, Integer>();
+            for (int i = 0; i < 12; ++i) {
+                map.put(new Key(i, hash + i / 8), i);
+            }
+
+            var visited = new TreeSet<Integer>();
+            var remaining = new TreeSet<Integer>();
+            for (Iterator<Key> iter = map.keySet().iterator(); iter.hasNext();) {
+                var key = iter.next();
+                assertTrue("Key " + key.id + " visited twice", visited.add(key.id));
+                if (key.id % 2 == 0) {
+                    iter.remove();
+                } else {
+                    remaining.add(key.id);
+                }
+            }
+
+            assertEquals(range(12), visited);
+            assertEquals(remaining, ids(map.keySet()));
+            for (int i = 0; i < 12; ++i) {
+                assertEquals(i % 2 == 0 ? null : (Integer) i, map.get(new Key(i, hash + i / 8)));
+            }
+
+            visited.clear();
+            for (var iter = map.entrySet().iterator(); iter.hasNext();) {
+                var entry = iter.next();
+                assertEquals(entry.getKey().id, (int) entry.getValue());
+                assertTrue("Key " + entry.getKey().id + " visited twice", visited.add(entry.getKey().id));
+                iter.remove();
+            }
+            assertEquals(remaining, visited);
+            assertTrue(map.isEmpty());
+        }
+    }
+
+    @Test
+    public void nullKeysAndValues() {
+        var map = new HashMap<String, String>();
+        assertNull(map.put(null, "a"));
+        assertNull(map.put("b", null));
+        map.put("c", "c");
+
+        assertTrue(map.containsKey(null));
+        assertEquals("a", map.get(null));
+        assertTrue(map.containsKey("b"));
+        assertNull(map.get("b"));
+        assertTrue(map.containsValue(null));
+        assertFalse(map.containsKey("d"));
+        assertEquals("a", map.put(null, "d"));
+        assertEquals(3, map.size());
+
+        List<String> keys = new ArrayList<>();
+        for (var entry : map.entrySet()) {
+            keys.add(entry.getKey());
+            if (entry.getKey() == null) {
+                assertEquals("d", entry.setValue("e"));
+            }
+        }
+        assertEquals(3, keys.size());
+        assertTrue(keys.contains(null));
+        assertTrue(keys.contains("b"));
+        assertTrue(keys.contains("c"));
+        assertEquals("e", map.get(null));
+
+        for (var iter = map.keySet().iterator(); iter.hasNext();) {
+            if (iter.next() == null) {
+                iter.remove();
+            }
+        }
+        assertFalse(map.containsKey(null));
+        assertNull(map.remove(null));
+        assertNull(map.remove("b"));
+        assertFalse(map.containsKey("b"));
+        assertFalse(map.containsValue(null));
+        assertEquals(Map.of("c", "c"), map);
+    }
+
+    @Test
+    public void resizeDuringIterationDetected() {
+        var map = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 10; ++i) {
+            map.put(i, i);
+        }
+
+        var iter = map.entrySet().iterator();
+        var entry = iter.next();
+        for (int i = 10; i < 100; ++i) {
+            map.put(i, i);
+        }
+        try {
+            iter.next();
+            fail("Iterator should detect modification");
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+
+        entry.setValue(-1);
+        assertEquals(-1, (int) map.get(entry.getKey()));
+
+        try {
+            map.keySet().forEach(key -> map.put(key + 1000, key));
+            fail("forEach should detect modification");
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void cloneIsIndependent() {
+        var map = new HashMap<String, Integer>();
+        for (int i = 0; i < 20; ++i) {
+            map.put("k" + i, i);
+        }
+        map.put(null, -1);
+        assertEquals(21, map.keySet().size());
+
+        var copy = (HashMap<String, Integer>) map.clone();
+        assertEquals(map, copy);
+
+        map.remove("k0");
+        map.put("k100", 100);
+        copy.put("k1", 1000);
+        copy.keySet().remove(null);
+
+        assertTrue(copy.containsKey("k0"));
+        assertFalse(copy.containsKey("k100"));
+        assertEquals(1000, (int) copy.get("k1"));
+        assertEquals(20, copy.size());
+        assertEquals(1, (int) map.get("k1"));
+        assertEquals(-1, (int) map.get(null));
+        assertEquals(21, map.size());
+    }
+
+    private static Set<Integer> range(int count) {
+        var result = new TreeSet<Integer>();
+        for (int i = 0; i < count; ++i) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    private static Set<Integer> ids(Set<Key> keys) {
+        var result = new TreeSet<Integer>();
+        for (var key : keys) {
+            result.add(key.id);
+        }
+        return result;
+    }
+
+    private static final class Key {
+        final int id;
+        private final int hash;
+
+        Key(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+public class CompletableFutureTest {
+    @Test
+    public void longChainCompleted() {
+        var source = new CompletableFuture<Integer>();
+        CompletableFuture<Integer> future = source;
+        for (int i = 0; i < 1000; ++i) {
+            future = future.thenApply(x -> x + 1);
+        }
+        assertFalse(future.isDone());
+        source.complete(0);
+        assertEquals(1000, (int) future.join());
+    }
+
+    @Test
+    public void allDependentsRun() {
+        int[] counter = new int[1];
+        var future = new CompletableFuture<String>();
+        future.thenAccept(x -> counter[0] += x.length());
+        future.thenRun(() -> counter[0] += 10);
+        future.thenApply(String::length).thenAccept(x -> counter[0] += x * 100);
+        future.complete("a");
+        assertEquals(111, counter[0]);
+    }
+
+    @Test
+    public void exceptionPropagated() throws InterruptedException {
+        var future = new CompletableFuture<Integer>();
+        var result = future.thenApply(x -> x * 2).handle((x, e) -> e.getCause().getMessage());
+        future.completeExceptionally(new IllegalStateException("expected"));
+        assertEquals("expected", result.join());
+        try {
+            future.thenApply(x -> x).join();
+            fail("Exception expected");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        try {
+            future.get();
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void combined() {
+        var first = new CompletableFuture<Integer>();
+        var second = new CompletableFuture<Integer>();
+        var sum = first.thenCombine(second, Integer::sum);
+        var either = first.applyToEither(second, x -> x * 10);
+        var all = CompletableFuture.allOf(first, second);
+        second.complete(2);
+        assertFalse(sum.isDone());
+        assertFalse(all.isDone());
+        assertEquals(20, (int) either.join());
+        first.complete(3);
+        assertEquals(5, (int) sum.join());
+        assertTrue(all.isDone());
+    }
+
+    @Test
+    public void composed() {
+        var inner = new CompletableFuture<Integer>();
+        var result = CompletableFuture.completedFuture(1).thenCompose(x -> inner).thenApply(x -> x + 1);
+        assertFalse(result.isDone());
+        inner.complete(41);
+        assertEquals(42, (int) result.join());
+    }
+
+    @Test
+    public void asyncStagesCompleted() {
+        var result = CompletableFuture.supplyAsync(() -> 2)
+                .thenApplyAsync(x -> x * 3)
+                .thenCompose(x -> CompletableFuture.supplyAsync(() -> x + 1));
+        assertEquals(7, (int) result.join());
+    }
+
+    @Test
+    public void timeoutReported() {
+        var result = new CompletableFuture<Integer>()
+                .orTimeout(10, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> e instanceof TimeoutException ? -1 : -2);
+        assertEquals(-1, (int) result.join());
+        var defaultValue = new CompletableFuture<Integer>().completeOnTimeout(5, 10, TimeUnit.MILLISECONDS);
+        assertEquals(5, (int) defaultValue.join());
+    }
+
+    @Test
+    public void executorServiceRunsTasks() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        var first = executor.submit(() -> 1);
+        var second = executor.submit(() -> {
+            Thread.sleep(10);
+            return 2;
+        });
+        assertEquals(1, (int) first.get());
+        assertEquals(2, (int) second.get());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void taskWaitsForTaskSubmittedToSamePool() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        var outer = executor.submit(() -> {
+            var inner = executor.submit(() -> 2);
+            return inner.get() + 1;
+        });
+        assertEquals(3, (int) outer.get());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void asyncStageJoinsNestedAsyncStage() {
+        var result = CompletableFuture.supplyAsync(() -> CompletableFuture.supplyAsync(() -> 2).join() + 1);
+        assertEquals(3, (int) result.join());
+        var deeper = CompletableFuture.supplyAsync(() -> CompletableFuture.supplyAsync(
+                () -> CompletableFuture.supplyAsync(() -> 1).join() + 1).join() + 1);
+        assertEquals(3, (int) deeper.join());
+    }
+
+    @Test
+    public void scheduledExecutorRunsTasks() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        var sb = new StringBuilder();
+        executor.schedule(() -> sb.append("b"), 20, TimeUnit.MILLISECONDS);
+        var first = executor.schedule(() -> sb.append("a"), 10, TimeUnit.MILLISECONDS);
+        int[] counter = new int[1];
+        var periodic = executor.scheduleAtFixedRate(() -> counter[0]++, 0, 5, TimeUnit.MILLISECONDS);
+        first.get();
+        Thread.sleep(30);
+        periodic.cancel(false);
+        assertEquals("ab", sb.toString());
+        assertTrue(counter[0] > 1);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+}
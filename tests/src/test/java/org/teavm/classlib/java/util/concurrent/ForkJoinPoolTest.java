@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+public class ForkJoinPoolTest {
+    @Test
+    public void recursiveTaskComputed() {
+        assertEquals(6765, (int) ForkJoinPool.commonPool().invoke(new Fibonacci(20)));
+    }
+
+    @Test
+    public void recursiveActionComputed() {
+        int[] array = new int[1000];
+        new Fill(array, 0, array.length).invoke();
+        for (int i = 0; i < array.length; ++i) {
+            assertEquals(i * 2, array[i]);
+        }
+    }
+
+    @Test
+    public void exceptionPropagated() {
+        var task = new RecursiveAction() {
+            @Override
+            protected void compute() {
+                throw new IllegalStateException("expected");
+            }
+        };
+        try {
+            task.fork().join();
+            fail("Exception expected");
+        } catch (IllegalStateException e) {
+            // JDK rethrows a copy of an exception that comes from another thread, with the original as the cause
+            Throwable original = e.getCause() instanceof IllegalStateException ? e.getCause() : e;
+            assertEquals("expected", original.getMessage());
+        }
+        assertTrue(task.isCompletedAbnormally());
+    }
+
+    static class Fibonacci extends RecursiveTask<Integer> {
+        private final int n;
+
+        Fibonacci(int n) {
+            this.n = n;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (n <= 1) {
+                return n;
+            }
+            var f1 = new Fibonacci(n - 1);
+            f1.fork();
+            var f2 = new Fibonacci(n - 2);
+            return f2.compute() + f1.join();
+        }
+    }
+
+    static class Fill extends RecursiveAction {
+        private final int[] array;
+        private final int from;
+        private final int to;
+
+        Fill(int[] array, int from, int to) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 16) {
+                for (int i = from; i < to; ++i) {
+                    array[i] = i * 2;
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Fill(array, from, middle), new Fill(array, middle, to));
+        }
+    }
+}
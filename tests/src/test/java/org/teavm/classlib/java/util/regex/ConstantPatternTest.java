@@ -0,0 +1,68 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.regex;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.regex.Pattern;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMProperties;
+import org.teavm.junit.TeaVMProperty;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+@TeaVMProperties(@TeaVMProperty(key = "java.util.regex.Pattern.precompile", value = "true"))
+public class ConstantPatternTest {
+    @Test
+    public void matchesCompiledToAutomaton() {
+        assertTrue("abc123".matches("[a-z]+\\d{2,3}"));
+        assertFalse("abc1234".matches("[a-z]+\\d{2,3}"));
+        assertTrue(Pattern.matches("(a|b)*abb", "babb"));
+        assertFalse(Pattern.matches("(a|b)*abb", "abba"));
+        assertTrue("me@example.com".matches("\\w+@\\w+\\.com"));
+        assertFalse("a\nc".matches("a.c"));
+        assertTrue("".matches("[^\\d\\s]*"));
+    }
+
+    @Test
+    public void matchesWithSurrogates() {
+        assertTrue("x\uD83D\uDE00".matches("x."));
+        assertFalse("x\uD83D\uDE00y".matches("x."));
+    }
+
+    @Test
+    public void matchesNotSupportedByAutomaton() {
+        assertFalse("ab".matches("^a"));
+        assertTrue("abab".matches("(ab)\\1"));
+        assertTrue("ABC".matches("(?i)abc"));
+        assertTrue(Pattern.matches("a(?=b)b", "ab"));
+    }
+
+    @Test
+    public void patternsCompiledOnce() {
+        for (int i = 0; i < 3; ++i) {
+            assertArrayEquals(new String[] { "a", "b" }, "a,b".split(","));
+            assertArrayEquals(new String[] { "a", "b,c" }, "a,b,c".split(",", 2));
+            assertEquals("a b", "a  b".replaceAll("\\s+", " "));
+            assertEquals("a-b c", "a b c".replaceFirst("\\s", "-"));
+            assertTrue(Pattern.compile("[^,]+").matcher("ab").matches());
+            assertTrue(Pattern.compile("AB", Pattern.CASE_INSENSITIVE).matcher("ab").matches());
+        }
+    }
+}
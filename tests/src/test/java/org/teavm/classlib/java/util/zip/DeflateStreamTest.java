@@ -15,15 +15,23 @@
  */
 package org.teavm.classlib.java.util.zip;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.teavm.classlib.java.util.zip.ZipTestUtil.readHex;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -81,6 +89,76 @@ public class DeflateStreamTest {
         assertNull(input.getNextEntry());
     }
 
+    @Test
+    public void inflaterRoundTrip() throws DataFormatException {
+        var random = new Random(1);
+        var sb = new StringBuilder();
+        while (sb.length() < 200000) {
+            sb.append(longString, random.nextInt(longString.length() / 2), longString.length());
+            sb.append(random.nextInt());
+        }
+        byte[] text = sb.toString().getBytes(StandardCharsets.UTF_8);
+        var noise = new byte[70000];
+        random.nextBytes(noise);
+
+        for (byte[] data : new byte[][] { new byte[0], Arrays.copyOf(text, 10), text, noise }) {
+            for (int level : new int[] { 0, 1, 9 }) {
+                for (boolean nowrap : new boolean[] { false, true }) {
+                    checkRoundTrip(data, level, nowrap, null, random);
+                    checkRoundTrip(data, level, nowrap, Arrays.copyOf(text, 1000), random);
+                }
+            }
+        }
+    }
+
+    private static void checkRoundTrip(byte[] data, int level, boolean nowrap, byte[] dictionary, Random random)
+            throws DataFormatException {
+        var deflater = new Deflater(level, nowrap);
+        if (dictionary != null) {
+            deflater.setDictionary(dictionary);
+        }
+        deflater.setInput(data);
+        deflater.finish();
+        var compressed = new byte[data.length + data.length / 100 + 100];
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+        deflater.end();
+        int trailingLength = 3;
+
+        var inflater = new Inflater(nowrap);
+        if (nowrap && dictionary != null) {
+            inflater.setDictionary(dictionary);
+        }
+        var result = new byte[data.length];
+        int resultLength = 0;
+        int position = 0;
+        while (!inflater.finished()) {
+            if (inflater.needsDictionary()) {
+                inflater.setDictionary(dictionary);
+            }
+            if (inflater.needsInput()) {
+                int count = Math.min(compressedLength + trailingLength - position, 1 + random.nextInt(300));
+                assertTrue(count > 0);
+                inflater.setInput(compressed, position, count);
+                position += count;
+            }
+            int count = Math.min(result.length - resultLength, random.nextInt(5000));
+            resultLength += inflater.inflate(result, resultLength, count);
+        }
+        assertEquals(data.length, resultLength);
+        assertArrayEquals(data, result);
+        assertEquals(compressedLength, inflater.getBytesRead());
+        assertEquals(compressedLength, position - inflater.getRemaining());
+        if (!nowrap) {
+            var adler = new Adler32();
+            adler.update(data);
+            assertEquals((int) adler.getValue(), inflater.getAdler());
+        }
+        inflater.end();
+    }
+
     private static int readFully(InputStream input, byte[] target) throws IOException {
         int offset = 0;
         while (true) {
@@ -188,6 +188,21 @@ public class ConversionTest {
         assertArrayEquals(array, arrayCopy, 0.1);
     }
 
+    @Test
+    public void convertsHugeArraysToJava() {
+        var floatArray = new float[300000];
+        for (var i = 0; i < floatArray.length; ++i) {
+            floatArray[i] = i;
+        }
+        assertArrayEquals(floatArray, Float32Array.copyFromJavaArray(floatArray).copyToJavaArray(), 0.1f);
+
+        var byteArray = new byte[1200000];
+        for (var i = 0; i < byteArray.length; ++i) {
+            byteArray[i] = (byte) (i * 31);
+        }
+        assertArrayEquals(byteArray, Int8Array.copyFromJavaArray(byteArray).copyToJavaArray());
+    }
+
     @Test
     public void convertsPrimitiveArrays2ToJavaScript() {
         assertEquals("true:2:3:64:4:5.5:6.5:foo:7", combinePrimitiveArrays2(new boolean[][] {{ true }},
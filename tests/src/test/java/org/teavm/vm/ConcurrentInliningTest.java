@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.vm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.javascript.JavaScriptTarget;
+import org.teavm.model.ClassHolderSource;
+import org.teavm.model.ReferenceCache;
+import org.teavm.parsing.ClasspathClassHolderSource;
+import org.teavm.parsing.ClasspathResourceProvider;
+
+public class ConcurrentInliningTest {
+    private final ClassHolderSource classSource = new ClasspathClassHolderSource(new ClasspathResourceProvider(
+            ConcurrentInliningTest.class.getClassLoader()), new ReferenceCache());
+
+    @Test
+    public void sameResultAsSequentialInlining() {
+        var sequential = build(1);
+        var concurrent = build(4);
+
+        assertTrue(sequential.length() > 10000);
+        assertEquals(sequential, concurrent);
+    }
+
+    private String build(int threadCount) {
+        var target = new JavaScriptTarget();
+        target.setObfuscated(false);
+        TeaVM vm = new TeaVMBuilder(target)
+                .setClassLoader(ConcurrentInliningTest.class.getClassLoader())
+                .setClassSource(classSource)
+                .setResourceProvider(new ClasspathResourceProvider(ConcurrentInliningTest.class.getClassLoader()))
+                .setObfuscated(false)
+                .setOptimizationThreadCount(threadCount)
+                .build();
+        vm.setOptimizationLevel(TeaVMOptimizationLevel.FULL);
+        vm.installPlugins();
+        vm.setEntryPoint(Program.class.getName());
+        var buildTarget = new MemoryBuildTarget();
+        vm.build(buildTarget, "classes.js");
+        assertEquals(List.of(), vm.getProblemProvider().getSevereProblems());
+        return new String(buildTarget.getContent("classes.js"), StandardCharsets.UTF_8);
+    }
+
+    static class Program {
+        public static void main(String[] args) {
+            List<Shape> shapes = new ArrayList<>();
+            for (var arg : args) {
+                shapes.add(parse(arg));
+            }
+            double total = 0;
+            for (var shape : shapes) {
+                total += shape.area() * scale(shape);
+            }
+            System.out.println(describe(shapes.size(), total));
+        }
+
+        private static Shape parse(String arg) {
+            return arg.startsWith("c") ? new Circle(length(arg)) : new Square(length(arg));
+        }
+
+        private static int length(String arg) {
+            return arg.length() - 1;
+        }
+
+        private static double scale(Shape shape) {
+            return shape instanceof Circle ? half(((Circle) shape).radius) : 1;
+        }
+
+        private static double half(double value) {
+            return value / 2;
+        }
+
+        private static String describe(int count, double total) {
+            return new StringBuilder().append(count).append(": ").append(total).toString();
+        }
+    }
+
+    interface Shape {
+        double area();
+    }
+
+    static class Circle implements Shape {
+        final double radius;
+
+        Circle(double radius) {
+            this.radius = radius;
+        }
+
+        @Override
+        public double area() {
+            return Math.PI * radius * radius;
+        }
+    }
+
+    static class Square implements Shape {
+        private final double side;
+
+        Square(double side) {
+            this.side = side;
+        }
+
+        @Override
+        public double area() {
+            return side * side;
+        }
+    }
+}
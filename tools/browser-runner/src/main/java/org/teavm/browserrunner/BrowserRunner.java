@@ -58,7 +58,8 @@ public class BrowserRunner {
     private final File baseDir;
     private final String type;
     private final Function<String, Process> browserRunner;
-    private Process browserProcess;
+    private final int pageCount;
+    private List<Process> browserProcesses = new ArrayList<>();
     private Server server;
     private int port;
     private AtomicInteger idGenerator = new AtomicInteger(0);
@@ -67,10 +68,20 @@ public class BrowserRunner {
     private ObjectMapper objectMapper = new ObjectMapper();
 
     public BrowserRunner(File baseDir, String type, Function<String, Process> browserRunner, boolean decodeStack) {
+        this(baseDir, type, browserRunner, decodeStack, 1);
+    }
+
+    /**
+     * Creates runner which opens given number of browser pages. Every page runs one test at a time,
+     * so up to {@code pageCount} calls to {@link #runTest(BrowserRunDescriptor)} can be performed concurrently.
+     */
+    public BrowserRunner(File baseDir, String type, Function<String, Process> browserRunner, boolean decodeStack,
+            int pageCount) {
         this.baseDir = baseDir;
         this.type = type;
         this.browserRunner = browserRunner;
         this.decodeStack = decodeStack;
+        this.pageCount = pageCount;
     }
 
     public static Function<String, Process> pickBrowser(String name) {
@@ -90,7 +101,12 @@ public class BrowserRunner {
 
     public void start() {
         runServer();
-        browserProcess = browserRunner.apply("http://localhost:" + port + "/index.html");
+        for (var i = 0; i < pageCount; ++i) {
+            var browserProcess = browserRunner.apply("http://localhost:" + port + "/index.html");
+            if (browserProcess != null) {
+                browserProcesses.add(browserProcess);
+            }
+        }
     }
 
     public void stop() {
@@ -99,7 +115,7 @@ public class BrowserRunner {
         } catch (Exception e) {
             e.printStackTrace();
         }
-        if (browserProcess != null) {
+        for (var browserProcess : browserProcesses) {
             browserProcess.destroy();
         }
     }
@@ -130,11 +146,13 @@ public class BrowserRunner {
 
     static class CallbackWrapper  {
         private final CountDownLatch latch;
+        private final Session session;
         volatile Throwable error;
         volatile boolean shouldRepeat;
 
-        CallbackWrapper(CountDownLatch latch) {
+        CallbackWrapper(CountDownLatch latch, Session session) {
             this.latch = latch;
+            this.session = session;
         }
 
         void complete() {
@@ -172,7 +190,7 @@ public class BrowserRunner {
         int id = idGenerator.incrementAndGet();
         var latch = new CountDownLatch(1);
 
-        var callbackWrapper = new CallbackWrapper(latch);
+        var callbackWrapper = new CallbackWrapper(latch, ws);
         awaitingRuns.put(id, callbackWrapper);
 
         var nf = objectMapper.getNodeFactory();
@@ -236,8 +254,10 @@ public class BrowserRunner {
     }
 
     public void cleanup() {
-        var ws = wsSessionQueue.peek();
-        if (ws == null) {
+        // only pages that are idle right now are cleaned up, since pages that run tests still need their frames
+        var idleSessions = new ArrayList<Session>();
+        wsSessionQueue.drainTo(idleSessions);
+        if (idleSessions.isEmpty()) {
             return;
         }
         var nf = objectMapper.getNodeFactory();
@@ -245,7 +265,10 @@ public class BrowserRunner {
         node.set("command", nf.textNode("cleanup"));
 
         var message = node.toString();
-        ws.getRemote().sendStringByFuture(message);
+        for (var ws : idleSessions) {
+            ws.getRemote().sendStringByFuture(message);
+            wsSessionQueue.offer(ws);
+        }
     }
 
     class TestCodeServlet extends HttpServlet {
@@ -376,8 +399,11 @@ public class BrowserRunner {
 
         @Override
         public void onWebSocketClose(int statusCode, String reason) {
+            // other pages keep running their tests, so only repeat tests that were sent to the closed page
             for (CallbackWrapper run : awaitingRuns.values()) {
-                run.repeat();
+                if (run.session == getSession()) {
+                    run.repeat();
+                }
             }
         }
 
@@ -434,7 +460,7 @@ public class BrowserRunner {
             params.addAll(Arrays.asList(
                     "--headless",
                     "--disable-gpu",
-                    "--remote-debugging-port=9222",
+                    "--remote-debugging-port=0",
                     "--no-first-run",
                     "--js-flags=--expose-gc",
                     "--user-data-dir=" + profile
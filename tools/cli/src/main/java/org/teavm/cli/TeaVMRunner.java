@@ -106,6 +106,10 @@ public final class TeaVMRunner {
                 .desc("Incremental build cache directory")
                 .longOpt("cachedir")
                 .build());
+        options.addOption(Option.builder()
+                .desc("Detect changed classes in incremental build by content instead of modification date")
+                .longOpt("content-hash-cache")
+                .build());
         options.addOption(Option.builder("w")
                 .desc("Wait for command after compilation, in order to enable hot recompilation")
                 .longOpt("wait")
@@ -317,6 +321,7 @@ public final class TeaVMRunner {
         if (commandLine.hasOption('i')) {
             tool.setIncremental(true);
         }
+        tool.setContentHashCache(commandLine.hasOption("content-hash-cache"));
         if (commandLine.hasOption('c')) {
             tool.setCacheDirectory(new File(commandLine.getOptionValue('c')));
         } else {
@@ -0,0 +1,44 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+plugins {
+    java
+}
+
+description = "JMH benchmarks that measure performance of TeaVM compiler"
+
+dependencies {
+    implementation(project(":core"))
+    implementation(project(":classlib"))
+    implementation(project(":tools:core"))
+    implementation(libs.hppc)
+    implementation(libs.jmh.core)
+    annotationProcessor(libs.jmh.generator)
+}
+
+val benchmark by tasks.register<JavaExec>("benchmark") {
+    group = "benchmark"
+    description = "Runs compiler benchmarks, pass JMH options with -Pjmh.args"
+    dependsOn(tasks.classes)
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    val resultFile = layout.buildDirectory.file("jmh/results.json").get().asFile
+    args("-prof", "gc", "-rf", "json", "-rff", resultFile.absolutePath)
+    providers.gradleProperty("jmh.args").orNull?.let { args(it.split(" ").filter { arg -> arg.isNotEmpty() }) }
+    doFirst {
+        resultFile.parentFile.mkdirs()
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.dependency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.teavm.diagnostics.AccumulationDiagnostics;
+import org.teavm.model.AccessLevel;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassReaderSource;
+import org.teavm.model.MutableClassHolderSource;
+import org.teavm.model.ReferenceCache;
+import org.teavm.model.ValueType;
+
+/**
+ * <p>Measures type propagation on a synthetic megamorphic program, where thousands of implementations of a common
+ * base class flow through collection-like nodes into nodes that are filtered by intermediate superclasses.</p>
+ *
+ * <p>Lives in {@code org.teavm.dependency} package to access typed nodes and superclass filters, which are
+ * not a part of public API of {@link DependencyAnalyzer}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class TypePropagationBenchmark {
+    private static final int GROUP_COUNT = 32;
+    private static final int CLASS_COUNT = 4000;
+    private static final int COLLECTION_COUNT = 64;
+
+    private ClassReaderSource classSource;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        classSource = createHierarchy();
+    }
+
+    @Benchmark
+    public int propagate() {
+        return run(classSource);
+    }
+
+    private static ClassReaderSource createHierarchy() {
+        var classSource = new MutableClassHolderSource();
+        classSource.putClassHolder(createClass("java.lang.Object", null));
+        classSource.putClassHolder(createClass("java.lang.Class", "java.lang.Object"));
+        classSource.putClassHolder(createClass(baseName(), "java.lang.Object"));
+        for (int i = 0; i < GROUP_COUNT; ++i) {
+            classSource.putClassHolder(createClass(groupName(i), baseName()));
+        }
+        for (int i = 0; i < CLASS_COUNT; ++i) {
+            classSource.putClassHolder(createClass(implName(i), groupName(i % GROUP_COUNT)));
+        }
+        return classSource;
+    }
+
+    private static ClassHolder createClass(String name, String parent) {
+        var cls = new ClassHolder(name);
+        cls.setLevel(AccessLevel.PUBLIC);
+        cls.setParent(parent);
+        return cls;
+    }
+
+    private static int run(ClassReaderSource classSource) {
+        var analyzer = new PreciseDependencyAnalyzer(classSource, null,
+                TypePropagationBenchmark.class.getClassLoader(), null, new AccumulationDiagnostics(),
+                new ReferenceCache(), new String[0]);
+
+        var types = new DependencyType[CLASS_COUNT];
+        for (int i = 0; i < CLASS_COUNT; ++i) {
+            types[i] = analyzer.getType(ValueType.object(implName(i)));
+        }
+
+        var source = analyzer.createNode();
+        var half = CLASS_COUNT / 2;
+        var firstHalf = new DependencyType[half];
+        System.arraycopy(types, 0, firstHalf, 0, half);
+        source.propagate(firstHalf);
+
+        List<DependencyNode> targets = new ArrayList<>();
+        for (int i = 0; i < COLLECTION_COUNT; ++i) {
+            var element = analyzer.createNode();
+            source.connect(element);
+
+            var base = analyzer.createNode(ValueType.object(baseName()));
+            element.connect(base);
+            targets.add(base);
+
+            var group = analyzer.createNode(ValueType.object(groupName(i % GROUP_COUNT)));
+            element.connect(group);
+            targets.add(group);
+
+            var filteredGroup = analyzer.createNode();
+            element.connect(filteredGroup, analyzer.getSuperClassFilter(ValueType.object(groupName(
+                    (i + 1) % GROUP_COUNT))));
+            targets.add(filteredGroup);
+        }
+
+        var secondHalf = new DependencyType[CLASS_COUNT - half];
+        System.arraycopy(types, half, secondHalf, 0, secondHalf.length);
+        source.propagate(secondHalf);
+        analyzer.processDependencies();
+
+        int typeCount = 0;
+        for (var target : targets) {
+            typeCount += target.getTypes().length;
+        }
+        return typeCount;
+    }
+
+    private static String baseName() {
+        return "bench.Base";
+    }
+
+    private static String groupName(int index) {
+        return "bench.Group" + index;
+    }
+
+    private static String implName(int index) {
+        return "bench.Impl" + index;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tooling.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.teavm.tooling.TeaVMTargetType;
+import org.teavm.tooling.TeaVMTool;
+import org.teavm.tooling.TeaVMToolException;
+import org.teavm.vm.TeaVMOptimizationLevel;
+import org.teavm.vm.TeaVMPhase;
+import org.teavm.vm.TeaVMProgressFeedback;
+import org.teavm.vm.TeaVMProgressListener;
+
+/**
+ * <p>Measures time that TeaVM takes to compile programs from {@code corpus} package. Every program is compiled
+ * to every target. {@link #dependencyAnalysis()} stops the build as soon as
+ * {@link TeaVMPhase#DEPENDENCY_ANALYSIS} completes, while {@link #fullBuild()} runs all phases,
+ * so time of {@link TeaVMPhase#COMPILING} phase is the difference between these two.</p>
+ *
+ * <p>Run with <code>gradlew :tools:compiler-benchmark:benchmark</code>, which also reports allocation rate
+ * using JMH GC profiler.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class CompilerBenchmark {
+    private static final String CORPUS_PACKAGE = "org.teavm.tooling.benchmark.corpus.";
+
+    @Param({ "CollectionsProgram", "TextProgram", "StreamsProgram" })
+    public String program;
+
+    @Param({ "JAVASCRIPT", "WEBASSEMBLY_GC", "C" })
+    public TeaVMTargetType target;
+
+    private File targetDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        targetDirectory = Files.createTempDirectory("teavm-benchmark").toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.walk(targetDirectory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public TeaVMTool dependencyAnalysis() throws TeaVMToolException {
+        return compile(TeaVMPhase.COMPILING);
+    }
+
+    @Benchmark
+    public TeaVMTool fullBuild() throws TeaVMToolException {
+        return compile(null);
+    }
+
+    private TeaVMTool compile(TeaVMPhase stopPhase) throws TeaVMToolException {
+        var tool = new TeaVMTool();
+        tool.setTargetType(target);
+        tool.setMainClass(CORPUS_PACKAGE + program);
+        tool.setTargetDirectory(new File(targetDirectory, target.name().toLowerCase()));
+        tool.setClassLoader(CompilerBenchmark.class.getClassLoader());
+        tool.setObfuscated(true);
+        tool.setOptimizationLevel(TeaVMOptimizationLevel.ADVANCED);
+        if (stopPhase != null) {
+            tool.setProgressListener(new TeaVMProgressListener() {
+                @Override
+                public TeaVMProgressFeedback phaseStarted(TeaVMPhase phase, int count) {
+                    return phase == stopPhase ? TeaVMProgressFeedback.CANCEL : TeaVMProgressFeedback.CONTINUE;
+                }
+
+                @Override
+                public TeaVMProgressFeedback progressReached(int progress) {
+                    return TeaVMProgressFeedback.CONTINUE;
+                }
+            });
+        }
+        tool.generate();
+        if (stopPhase == null && !tool.getProblemProvider().getSevereProblems().isEmpty()) {
+            throw new IllegalStateException("Program " + program + " was compiled with errors");
+        }
+        return tool;
+    }
+}
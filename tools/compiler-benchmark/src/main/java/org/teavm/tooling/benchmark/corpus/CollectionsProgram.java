@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tooling.benchmark.corpus;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public final class CollectionsProgram {
+    private CollectionsProgram() {
+    }
+
+    public static void main(String[] args) {
+        List<Integer> list = new ArrayList<>();
+        for (var i = 0; i < 1000; ++i) {
+            list.add((i * 7919) % 1009);
+        }
+        Collections.sort(list);
+        Collections.shuffle(list, new Random(42));
+
+        Map<Integer, List<Integer>> groups = new HashMap<>();
+        for (var value : list) {
+            groups.computeIfAbsent(value % 10, k -> new ArrayList<>()).add(value);
+        }
+        var sorted = new TreeMap<>(groups);
+        for (var entry : sorted.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue().size());
+        }
+
+        Set<String> strings = new HashSet<>();
+        var orderedStrings = new TreeSet<String>(Collections.reverseOrder());
+        for (var value : list) {
+            strings.add(Integer.toHexString(value));
+            orderedStrings.add(Integer.toString(value, 36));
+        }
+        System.out.println(strings.size() + " " + orderedStrings.first() + " " + orderedStrings.last());
+
+        var cache = new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > 100;
+            }
+        };
+        for (var value : list) {
+            cache.merge(String.valueOf(value % 150), 1, Integer::sum);
+        }
+        System.out.println(cache.keySet().iterator().next());
+
+        var queue = new PriorityQueue<Integer>(Collections.reverseOrder());
+        queue.addAll(list);
+        var deque = new ArrayDeque<Integer>();
+        var linked = new LinkedList<Integer>();
+        while (queue.size() > 990) {
+            var value = queue.poll();
+            deque.push(value);
+            linked.addFirst(value);
+        }
+        System.out.println(deque + " " + linked.equals(new ArrayList<>(deque)));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tooling.benchmark.corpus;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public final class StreamsProgram {
+    private StreamsProgram() {
+    }
+
+    public static void main(String[] args) {
+        var people = IntStream.range(0, 500)
+                .mapToObj(i -> new Person("person" + i, 18 + i % 60, i % 7 == 0 ? "admin" : "user"))
+                .collect(Collectors.toList());
+
+        var byRole = people.stream()
+                .collect(Collectors.groupingBy(Person::role, Collectors.averagingInt(Person::age)));
+        System.out.println(byRole);
+
+        var names = people.stream()
+                .filter(p -> p.age() > 40)
+                .sorted(Comparator.comparing(Person::age).thenComparing(Person::name, Comparator.reverseOrder()))
+                .map(Person::name)
+                .limit(10)
+                .collect(Collectors.joining(", ", "[", "]"));
+        System.out.println(names);
+
+        var index = people.stream().collect(Collectors.toMap(Person::name, Function.identity()));
+        Optional<Person> oldest = index.values().stream().max(Comparator.comparingInt(Person::age));
+        System.out.println(oldest.map(Person::name).orElse("none"));
+
+        var stats = people.stream().mapToInt(Person::age).summaryStatistics();
+        System.out.println(stats.getMin() + " " + stats.getMax() + " " + stats.getAverage());
+
+        List<int[]> pairs = IntStream.rangeClosed(1, 30).boxed()
+                .flatMap(a -> IntStream.rangeClosed(a, 30).mapToObj(b -> new int[] { a, b }))
+                .filter(pair -> (pair[0] * pair[1]) % 11 == 0)
+                .collect(Collectors.toList());
+        System.out.println(pairs.stream().map(Arrays::toString).collect(Collectors.joining()));
+    }
+
+    private static final class Person {
+        private final String name;
+        private final int age;
+        private final String role;
+
+        Person(String name, int age, String role) {
+            this.name = name;
+            this.age = age;
+            this.role = role;
+        }
+
+        String name() {
+            return name;
+        }
+
+        int age() {
+            return age;
+        }
+
+        String role() {
+            return role;
+        }
+    }
+}
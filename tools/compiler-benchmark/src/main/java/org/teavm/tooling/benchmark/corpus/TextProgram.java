@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tooling.benchmark.corpus;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class TextProgram {
+    private static final Pattern WORD = Pattern.compile("([A-Za-z]+)(\\d*)");
+
+    private TextProgram() {
+    }
+
+    public static void main(String[] args) {
+        var sb = new StringBuilder();
+        for (var i = 0; i < 200; ++i) {
+            sb.append(String.format(Locale.ROOT, "item%d=%.3f;", i, Math.sqrt(i)));
+        }
+        var text = sb.toString();
+
+        var matcher = WORD.matcher(text);
+        var count = 0;
+        while (matcher.find()) {
+            count += matcher.group(2).length();
+        }
+        System.out.println(count);
+
+        var parts = text.split(";");
+        var total = BigDecimal.ZERO;
+        for (var part : parts) {
+            var value = part.substring(part.indexOf('=') + 1);
+            total = total.add(new BigDecimal(value));
+        }
+        System.out.println(total.setScale(2, RoundingMode.HALF_EVEN));
+
+        var factorial = BigInteger.ONE;
+        for (var i = 2; i <= 50; ++i) {
+            factorial = factorial.multiply(BigInteger.valueOf(i));
+        }
+        System.out.println(factorial.toString(16));
+
+        var bytes = text.toUpperCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        var encoded = Base64.getEncoder().encodeToString(bytes);
+        var decoded = new String(Base64.getDecoder().decode(encoded), StandardCharsets.UTF_8);
+        System.out.println(decoded.length() + " " + decoded.hashCode() + " " + Double.parseDouble("1e-7"));
+    }
+}
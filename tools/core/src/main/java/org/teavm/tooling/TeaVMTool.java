@@ -46,10 +46,11 @@ import org.teavm.backend.wasm.render.WasmBinaryVersion;
 import org.teavm.cache.AlwaysStaleCacheStatus;
 import org.teavm.cache.CacheStatus;
 import org.teavm.cache.DiskCachedClassReaderSource;
-import org.teavm.cache.DiskMethodNodeCache;
-import org.teavm.cache.DiskProgramCache;
 import org.teavm.cache.EmptyProgramCache;
 import org.teavm.cache.FileSymbolTable;
+import org.teavm.cache.PackedMethodNodeCache;
+import org.teavm.cache.PackedProgramCache;
+import org.teavm.cache.SnapshotClassReaderSource;
 import org.teavm.debugging.information.DebugInformation;
 import org.teavm.debugging.information.DebugInformationBuilder;
 import org.teavm.debugging.information.SourceMapsWriter;
@@ -57,9 +58,9 @@ import org.teavm.dependency.DependencyInfo;
 import org.teavm.dependency.FastDependencyAnalyzer;
 import org.teavm.dependency.PreciseDependencyAnalyzer;
 import org.teavm.diagnostics.ProblemProvider;
-import org.teavm.model.ClassHolderSource;
 import org.teavm.model.ClassHolderTransformer;
 import org.teavm.model.ClassReader;
+import org.teavm.model.ClassReaderSource;
 import org.teavm.model.PreOptimizingClassHolderSource;
 import org.teavm.model.ReferenceCache;
 import org.teavm.model.transformation.AssertionRemoval;
@@ -91,15 +92,17 @@ public class TeaVMTool {
     private boolean sourceMapsFileGenerated;
     private TeaVMSourceFilePolicy sourceFilePolicy = TeaVMSourceFilePolicy.DO_NOTHING;
     private boolean incremental;
+    private boolean contentHashCache;
     private File cacheDirectory = new File("./teavm-cache");
     private List<String> transformers = new ArrayList<>();
     private List<String> classesToPreserve = new ArrayList<>();
     private TeaVMToolLog log = new EmptyTeaVMToolLog();
     private ClassLoader classLoader = TeaVMTool.class.getClassLoader();
     private List<File> classPath;
+    private ClassReaderSource libraryClassSource;
     private DiskCachedClassReaderSource cachedClassSource;
-    private DiskProgramCache programCache;
-    private DiskMethodNodeCache astCache;
+    private PackedProgramCache programCache;
+    private PackedMethodNodeCache astCache;
     private FileSymbolTable symbolTable;
     private FileSymbolTable fileTable;
     private FileSymbolTable variableTable;
@@ -107,6 +110,7 @@ public class TeaVMTool {
     private TeaVMProgressListener progressListener;
     private TeaVM vm;
     private boolean fastDependencyAnalysis;
+    private int optimizationThreadCount = 1;
     private TeaVMOptimizationLevel optimizationLevel = TeaVMOptimizationLevel.SIMPLE;
     private List<SourceFileProvider> sourceFileProviders = new ArrayList<>();
     private DebugInformationBuilder debugEmitter;
@@ -163,6 +167,19 @@ public class TeaVMTool {
         this.incremental = incremental;
     }
 
+    public boolean isContentHashCache() {
+        return contentHashCache;
+    }
+
+    /**
+     * Makes incremental build decide which classes have changed by hashes of their class files rather
+     * than by modification dates. This way cache directory remains valid after a fresh checkout
+     * or when it's restored on another machine.
+     */
+    public void setContentHashCache(boolean contentHashCache) {
+        this.contentHashCache = contentHashCache;
+    }
+
     public String getMainClass() {
         return mainClass;
     }
@@ -262,6 +279,14 @@ public class TeaVMTool {
         this.fastDependencyAnalysis = fastDependencyAnalysis;
     }
 
+    public int getOptimizationThreadCount() {
+        return optimizationThreadCount;
+    }
+
+    public void setOptimizationThreadCount(int optimizationThreadCount) {
+        this.optimizationThreadCount = optimizationThreadCount;
+    }
+
     public void setMinHeapSize(int minHeapSize) {
         this.minHeapSize = minHeapSize;
     }
@@ -294,6 +319,16 @@ public class TeaVMTool {
         this.classPath = classPath;
     }
 
+    /**
+     * Sets source of classes that come from jar files of class path. When specified, only directories of
+     * class path are parsed by the tool itself, other classes are taken from the given source. This allows
+     * to share parsed libraries between several tool instances, so the source must be thread-safe.
+     * Has no effect unless class path is set via {@link #setClassPath(List)}.
+     */
+    public void setLibraryClassSource(ClassReaderSource libraryClassSource) {
+        this.libraryClassSource = libraryClassSource;
+    }
+
     public WasmBinaryVersion getWasmVersion() {
         return wasmVersion;
     }
@@ -414,7 +449,8 @@ public class TeaVMTool {
     }
 
     public void generate() throws TeaVMToolException {
-        try (var resourceProvider = createResourceProvider()) {
+        try (var resourceProvider = createResourceProvider();
+                var ownResourceProvider = createOwnResourceProvider()) {
             cancelled = false;
             log.info("Running TeaVM");
             referenceCache = new ReferenceCache();
@@ -428,13 +464,18 @@ public class TeaVMTool {
                 variableTable = new FileSymbolTable(new File(cacheDirectory, "variables"));
                 ClasspathClassHolderSource innerClassSource = new ClasspathClassHolderSource(resourceProvider,
                         referenceCache);
-                ClassHolderSource classSource = new PreOptimizingClassHolderSource(innerClassSource);
+                ClassReaderSource classSource = ownResourceProvider != null
+                        ? withLibraryClasses(ownResourceProvider)
+                        : new PreOptimizingClassHolderSource(innerClassSource);
                 cachedClassSource = new DiskCachedClassReaderSource(cacheDirectory, referenceCache, symbolTable,
                         fileTable, variableTable, classSource, innerClassSource);
-                programCache = new DiskProgramCache(cacheDirectory, referenceCache, symbolTable, fileTable,
+                if (contentHashCache) {
+                    cachedClassSource.setClassHashProvider(innerClassSource);
+                }
+                programCache = new PackedProgramCache(cacheDirectory, referenceCache, symbolTable, fileTable,
                         variableTable);
                 if (targetType == TeaVMTargetType.JAVASCRIPT) {
-                    astCache = new DiskMethodNodeCache(cacheDirectory, referenceCache, symbolTable, fileTable,
+                    astCache = new PackedMethodNodeCache(cacheDirectory, referenceCache, symbolTable, fileTable,
                             variableTable);
                     javaScriptTarget.setAstCache(astCache);
                 }
@@ -448,8 +489,15 @@ public class TeaVMTool {
                 vmBuilder.setClassLoader(classLoader).setClassSource(cachedClassSource);
                 cacheStatus = cachedClassSource;
             } else {
-                vmBuilder.setClassLoader(classLoader).setClassSource(new PreOptimizingClassHolderSource(
-                        new ClasspathClassHolderSource(resourceProvider, referenceCache)));
+                ClassReaderSource classSource;
+                if (ownResourceProvider != null) {
+                    classSource = withLibraryClasses(ownResourceProvider);
+                } else {
+                    classSource = SnapshotClassReaderSource.wrap(resourceProvider, referenceCache,
+                            new PreOptimizingClassHolderSource(new ClasspathClassHolderSource(
+                                    resourceProvider, referenceCache)));
+                }
+                vmBuilder.setClassLoader(classLoader).setClassSource(classSource);
                 cacheStatus = AlwaysStaleCacheStatus.INSTANCE;
             }
 
@@ -459,6 +507,7 @@ public class TeaVMTool {
                     : PreciseDependencyAnalyzer::new);
             vmBuilder.setObfuscated(obfuscated);
             vmBuilder.setStrict(strict);
+            vmBuilder.setOptimizationThreadCount(optimizationThreadCount);
 
             vm = vmBuilder.build();
             if (progressListener != null) {
@@ -527,6 +576,12 @@ public class TeaVMTool {
             }
 
             if (incremental) {
+                if (problemProvider.getSevereProblems().isEmpty()) {
+                    programCache.removeUnused();
+                    if (astCache != null) {
+                        astCache.removeUnused();
+                    }
+                }
                 programCache.flush();
                 if (astCache != null) {
                     astCache.flush();
@@ -550,6 +605,28 @@ public class TeaVMTool {
                 : new ClasspathResourceProvider(classLoader);
     }
 
+    private ResourceProvider createOwnResourceProvider() {
+        if (libraryClassSource == null || classPath == null) {
+            return null;
+        }
+        var directories = new ArrayList<File>();
+        for (var entry : classPath) {
+            if (entry.isDirectory()) {
+                directories.add(entry);
+            }
+        }
+        return ResourceProvider.ofClassPath(directories);
+    }
+
+    private ClassReaderSource withLibraryClasses(ResourceProvider ownResourceProvider) {
+        var ownClassSource = new PreOptimizingClassHolderSource(new ClasspathClassHolderSource(
+                ownResourceProvider, referenceCache));
+        return name -> {
+            ClassReader cls = ownClassSource.get(name);
+            return cls != null ? cls : libraryClassSource.get(name);
+        };
+    }
+
     private String getResolvedTargetFileName() {
         if (targetFileName.isEmpty()) {
             switch (targetType) {
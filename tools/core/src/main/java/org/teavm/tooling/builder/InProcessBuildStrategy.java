@@ -51,6 +51,7 @@ public class InProcessBuildStrategy implements BuildStrategy {
     private String targetDirectory;
     private String targetFileName = "";
     private boolean incremental;
+    private boolean contentHashCache;
     private String cacheDirectory;
     private TeaVMOptimizationLevel optimizationLevel = TeaVMOptimizationLevel.ADVANCED;
     private boolean fastDependencyAnalysis;
@@ -155,6 +156,11 @@ public class InProcessBuildStrategy implements BuildStrategy {
         this.incremental = incremental;
     }
 
+    @Override
+    public void setContentHashCache(boolean contentHashCache) {
+        this.contentHashCache = contentHashCache;
+    }
+
     @Override
     public void setProperties(Properties properties) {
         this.properties.clear();
@@ -296,6 +302,7 @@ public class InProcessBuildStrategy implements BuildStrategy {
         tool.setStrict(strict);
         tool.setMaxTopLevelNames(maxTopLevelNames);
         tool.setIncremental(incremental);
+        tool.setContentHashCache(contentHashCache);
         tool.getTransformers().addAll(Arrays.asList(transformers));
         tool.getClassesToPreserve().addAll(Arrays.asList(classesToPreserve));
         tool.setCacheDirectory(cacheDirectory != null ? new File(cacheDirectory) : null);
@@ -123,6 +123,11 @@ public class RemoteBuildStrategy implements BuildStrategy {
         request.incremental = incremental;
     }
 
+    @Override
+    public void setContentHashCache(boolean contentHashCache) {
+        request.contentHashCache = contentHashCache;
+    }
+
     @Override
     public void setProperties(Properties properties) {
         request.properties = new Properties();
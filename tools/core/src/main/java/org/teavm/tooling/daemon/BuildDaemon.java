@@ -33,7 +33,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -51,16 +53,20 @@ public class BuildDaemon extends UnicastRemoteObject implements RemoteBuildServi
     private static final int MAX_PORT = 1 << 16;
     private static final String DAEMON_MESSAGE_PREFIX = "TeaVM daemon port: ";
     private static final String INCREMENTAL_PROPERTY = "teavm.daemon.incremental";
+    private static final String SHARED_CACHE_SIZE_PROPERTY = "teavm.daemon.sharedCacheSize";
     private boolean incremental;
     private int port;
     private Registry registry;
     private File incrementalCache;
-    private ClassLoader lastJarClassLoader;
-    private List<String> lastJarClassPath;
+    private SharedClassPathCache sharedClassPaths;
+    private ConcurrentMap<String, File> projectCacheDirectories = new ConcurrentHashMap<>();
+    private AtomicInteger projectCacheCounter = new AtomicInteger();
+    private ConcurrentMap<File, Object> buildLocks = new ConcurrentHashMap<>();
 
-    BuildDaemon(boolean incremental) throws RemoteException {
+    BuildDaemon(boolean incremental, long sharedCacheSize) throws RemoteException {
         super();
         this.incremental = incremental;
+        sharedClassPaths = new SharedClassPathCache(sharedCacheSize);
         Random random = new Random();
         for (int i = 0; i < 20; ++i) {
             port = random.nextInt(MAX_PORT - MIN_PORT) + MIN_PORT;
@@ -113,7 +119,11 @@ public class BuildDaemon extends UnicastRemoteObject implements RemoteBuildServi
 
     public static void main(String[] args) throws RemoteException {
         boolean incremental = Boolean.parseBoolean(System.getProperty(INCREMENTAL_PROPERTY, "false"));
-        BuildDaemon daemon = new BuildDaemon(incremental);
+        long sharedCacheSize = Long.getLong(SHARED_CACHE_SIZE_PROPERTY, 0) * 1024 * 1024;
+        if (sharedCacheSize <= 0) {
+            sharedCacheSize = Runtime.getRuntime().maxMemory() / 3;
+        }
+        BuildDaemon daemon = new BuildDaemon(incremental, sharedCacheSize);
         System.out.println(DAEMON_MESSAGE_PREFIX + daemon.port);
         if (daemon.incrementalCache != null) {
             System.out.println("Incremental cache set up in " + daemon.incrementalCache);
@@ -122,14 +132,17 @@ public class BuildDaemon extends UnicastRemoteObject implements RemoteBuildServi
 
     @Override
     public RemoteBuildResponse build(RemoteBuildRequest request, RemoteBuildCallback callback) {
-        System.out.println("Build started");
+        System.out.println("Build started: " + request.targetDirectory);
 
         TeaVMTool tool = new TeaVMTool();
         tool.setIncremental(incremental || request.incremental);
+        tool.setContentHashCache(request.contentHashCache);
         if (tool.isIncremental()) {
-            tool.setCacheDirectory(request.cacheDirectory != null
-                    ? new File(request.cacheDirectory)
-                    : incrementalCache);
+            if (request.cacheDirectory != null) {
+                tool.setCacheDirectory(new File(request.cacheDirectory));
+            } else if (incrementalCache != null) {
+                tool.setCacheDirectory(getProjectCacheDirectory(request));
+            }
         }
         tool.setProgressListener(createProgressListener(callback));
         tool.setLog(new RemoteBuildLog(callback));
@@ -144,7 +157,6 @@ public class BuildDaemon extends UnicastRemoteObject implements RemoteBuildServi
         tool.setEntryPointName(request.entryPointName);
         tool.setTargetDirectory(new File(request.targetDirectory));
         tool.setTargetFileName(request.tagetFileName);
-        tool.setClassLoader(buildClassLoader(request.classPath, incremental && request.incremental));
         tool.setClassPath(request.classPath.stream().map(File::new).collect(Collectors.toList()));
 
         tool.setSourceMapsFileGenerated(request.sourceMapsFileGenerated);
@@ -181,61 +193,71 @@ public class BuildDaemon extends UnicastRemoteObject implements RemoteBuildServi
             tool.addSourceFileProvider(new JarSourceFileProvider(new File(sourceJar)));
         }
 
+        System.out.println("Classpath: " + request.classPath);
+        List<String> jarEntries = request.classPath.stream()
+                .filter(entry -> entry.endsWith(".jar"))
+                .collect(Collectors.toList());
+        SharedClassPath sharedClassPath = sharedClassPaths.acquire(jarEntries);
         RemoteBuildResponse response = new RemoteBuildResponse();
         try {
-            tool.generate();
-            System.out.println("Build complete");
-        } catch (TeaVMToolException | RuntimeException | Error e) {
-            response.exception = e;
-        }
+            tool.setClassLoader(buildClassLoader(request.classPath, sharedClassPath.classLoader));
+            if (!hasOwnClassMappings(request.classPath)) {
+                tool.setLibraryClassSource(sharedClassPath);
+            }
 
-        if (response.exception == null) {
-            response.callGraph = tool.getDependencyInfo().getCallGraph();
-            response.problems.addAll(tool.getProblemProvider().getProblems());
-            response.severeProblems.addAll(tool.getProblemProvider().getSevereProblems());
+            // Builds of different projects run concurrently, but builds that write to the same
+            // cache or target directory must not interfere
+            File lockKey = tool.isIncremental() ? tool.getCacheDirectory() : tool.getTargetDirectory();
+            synchronized (buildLocks.computeIfAbsent(lockKey.getAbsoluteFile(), k -> new Object())) {
+                try {
+                    tool.generate();
+                    System.out.println("Build complete: " + request.targetDirectory);
+                } catch (TeaVMToolException | RuntimeException | Error e) {
+                    response.exception = e;
+                }
+
+                if (response.exception == null) {
+                    response.callGraph = tool.getDependencyInfo().getCallGraph();
+                    response.problems.addAll(tool.getProblemProvider().getProblems());
+                    response.severeProblems.addAll(tool.getProblemProvider().getSevereProblems());
+                }
+            }
+        } finally {
+            sharedClassPaths.release(sharedClassPath);
         }
 
         return response;
     }
 
-    private ClassLoader buildClassLoader(List<String> classPathEntries, boolean incremental) {
-        System.out.println("Classpath: " + classPathEntries);
-        Function<String, URL> mapper = entry -> {
-            try {
-                return new File(entry).toURI().toURL();
-            } catch (MalformedURLException e) {
-                throw new RuntimeException(entry);
-            }
-        };
-        List<String> jarEntries = classPathEntries.stream()
-                .filter(entry -> entry.endsWith(".jar"))
-                .collect(Collectors.toList());
-
-        ClassLoader jarClassLoader = null;
+    private File getProjectCacheDirectory(RemoteBuildRequest request) {
+        String key = new File(request.targetDirectory).getAbsolutePath() + File.pathSeparator
+                + request.tagetFileName;
+        return projectCacheDirectories.computeIfAbsent(key, k -> new File(incrementalCache,
+                "project-" + projectCacheCounter.incrementAndGet()));
+    }
 
-        if (incremental) {
-            if (jarEntries.equals(lastJarClassPath) && lastJarClassLoader != null) {
-                jarClassLoader = lastJarClassLoader;
-                System.out.println("Reusing previous class path");
+    private static boolean hasOwnClassMappings(List<String> classPathEntries) {
+        // class renaming rules are collected from the entire class path, so classes parsed for
+        // one set of jars can't be reused when directories contribute their own rules
+        for (String entry : classPathEntries) {
+            File file = new File(entry);
+            if (file.isDirectory() && new File(file, "META-INF/teavm.properties").exists()) {
+                return true;
             }
-        } else {
-            lastJarClassLoader = null;
-            lastJarClassPath = null;
-        }
-        if (jarClassLoader == null) {
-            URL[] jarUrls = jarEntries.stream()
-                    .map(mapper)
-                    .toArray(URL[]::new);
-            jarClassLoader = new URLClassLoader(jarUrls);
-        }
-        if (incremental) {
-            lastJarClassPath = jarEntries;
-            lastJarClassLoader = jarClassLoader;
         }
+        return false;
+    }
 
+    private ClassLoader buildClassLoader(List<String> classPathEntries, ClassLoader jarClassLoader) {
         URL[] urls = classPathEntries.stream()
                 .filter(entry -> !entry.endsWith(".jar"))
-                .map(mapper)
+                .map(entry -> {
+                    try {
+                        return new File(entry).toURI().toURL();
+                    } catch (MalformedURLException e) {
+                        throw new RuntimeException(entry);
+                    }
+                })
                 .toArray(URL[]::new);
 
         return new URLClassLoader(urls, jarClassLoader);
@@ -42,6 +42,7 @@ public class RemoteBuildRequest implements Serializable {
     public boolean debugInformationGenerated;
     public String sourceFilePolicy = TeaVMSourceFilePolicy.DO_NOTHING.name();
     public boolean incremental;
+    public boolean contentHashCache;
     public String cacheDirectory;
     public boolean obfuscated;
     public boolean strict;
@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tooling.daemon;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.teavm.cache.SnapshotClassReaderSource;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassReader;
+import org.teavm.model.ClassReaderSource;
+import org.teavm.model.PreOptimizingClassHolderSource;
+import org.teavm.model.ReferenceCache;
+import org.teavm.model.util.ModelUtils;
+import org.teavm.parsing.ClasspathClassHolderSource;
+import org.teavm.parsing.resource.ResourceProvider;
+
+class SharedClassPath implements ClassReaderSource {
+    final long weight;
+    final URLClassLoader classLoader;
+    private final ResourceProvider resourceProvider;
+    private final ClassReaderSource innerSource;
+    private final ConcurrentMap<String, Optional<ClassReader>> cache = new ConcurrentHashMap<>();
+    int useCount;
+
+    SharedClassPath(List<File> jarFiles, long weight) {
+        this.weight = weight;
+        var urls = new URL[jarFiles.size()];
+        for (var i = 0; i < urls.length; ++i) {
+            try {
+                urls[i] = jarFiles.get(i).toURI().toURL();
+            } catch (MalformedURLException e) {
+                throw new RuntimeException(jarFiles.get(i).toString());
+            }
+        }
+        classLoader = new URLClassLoader(urls);
+        resourceProvider = ResourceProvider.ofClassPath(jarFiles);
+        var referenceCache = new ReferenceCache();
+        innerSource = SnapshotClassReaderSource.wrap(resourceProvider, referenceCache,
+                new PreOptimizingClassHolderSource(new ClasspathClassHolderSource(resourceProvider,
+                        referenceCache)));
+    }
+
+    @Override
+    public ClassReader get(String name) {
+        var result = cache.get(name);
+        if (result == null) {
+            // parser and resource provider are not thread-safe, however once class is parsed,
+            // it's only read by builds, so lock is only held on cache miss
+            synchronized (this) {
+                result = cache.get(name);
+                if (result == null) {
+                    result = Optional.ofNullable(innerSource.get(name)).map(SharedClassPath::decode);
+                    cache.put(name, result);
+                }
+            }
+        }
+        return result.orElse(null);
+    }
+
+    private static ClassReader decode(ClassReader cls) {
+        // Classes taken from snapshot decode method bodies on demand, using reference cache and keeping
+        // them in weak references, neither of which is thread-safe. So bodies are decoded here, under the lock,
+        // and builds only read fully decoded copies.
+        return cls instanceof ClassHolder ? cls : ModelUtils.copyClass(cls);
+    }
+
+    void close() {
+        synchronized (this) {
+            resourceProvider.close();
+        }
+        try {
+            classLoader.close();
+        } catch (IOException e) {
+            e.printStackTrace(System.err);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tooling.daemon;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class SharedClassPathCache {
+    // parsed classes take several times more memory than their compressed representation in a jar file
+    private static final int EXPANSION_FACTOR = 8;
+    private final long budget;
+    private final Map<String, SharedClassPath> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight;
+
+    SharedClassPathCache(long budget) {
+        this.budget = budget;
+    }
+
+    synchronized SharedClassPath acquire(List<String> jarEntries) {
+        var jarFiles = new ArrayList<File>();
+        var keyBuilder = new StringBuilder();
+        long weight = 0;
+        for (var entry : jarEntries) {
+            var file = new File(entry).getAbsoluteFile();
+            jarFiles.add(file);
+            keyBuilder.append(file.getPath()).append('|').append(file.lastModified()).append('|')
+                    .append(file.length()).append('\n');
+            weight += file.length() * EXPANSION_FACTOR;
+        }
+        var key = keyBuilder.toString();
+
+        var classPath = entries.get(key);
+        if (classPath == null) {
+            classPath = new SharedClassPath(jarFiles, weight);
+            entries.put(key, classPath);
+            totalWeight += weight;
+        } else {
+            System.out.println("Reusing shared class path");
+        }
+        classPath.useCount++;
+        return classPath;
+    }
+
+    synchronized void release(SharedClassPath classPath) {
+        classPath.useCount--;
+        evict();
+    }
+
+    private void evict() {
+        // entries are iterated in access order, so least recently used class paths are evicted first.
+        // Class paths used by running builds are kept even if budget is exceeded.
+        for (Iterator<SharedClassPath> iter = entries.values().iterator(); iter.hasNext();) {
+            if (totalWeight <= budget) {
+                break;
+            }
+            var classPath = iter.next();
+            if (classPath.useCount == 0) {
+                iter.remove();
+                totalWeight -= classPath.weight;
+                classPath.close();
+            }
+        }
+    }
+}
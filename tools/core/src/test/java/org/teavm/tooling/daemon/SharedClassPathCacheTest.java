@@ -0,0 +1,196 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tooling.daemon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.teavm.cache.ClassSnapshotWriter;
+import org.teavm.cache.SnapshotClassReaderSource;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassReader;
+import org.teavm.model.ElementModifier;
+import org.teavm.model.FieldReference;
+import org.teavm.model.MethodHolder;
+import org.teavm.model.MethodReader;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Program;
+import org.teavm.model.ReferenceCache;
+import org.teavm.model.ValueType;
+import org.teavm.model.instructions.ExitInstruction;
+import org.teavm.model.instructions.GetFieldInstruction;
+import org.teavm.model.instructions.InvocationType;
+import org.teavm.model.instructions.InvokeInstruction;
+import org.teavm.model.text.ListingBuilder;
+
+public class SharedClassPathCacheTest {
+    private static final int CLASS_COUNT = 200;
+    private static final int METHOD_COUNT = 10;
+    private static final int BUILD_COUNT = 4;
+    private File directory;
+    private File jarFile;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("teavm-shared-cp").toFile();
+        jarFile = new File(directory, "lib.jar");
+    }
+
+    @After
+    public void deleteDirectory() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void concurrentBuildsReadSameClasses() throws Exception {
+        writeJar();
+        var singleBuildCache = new SharedClassPathCache(0);
+        var singleBuildClassPath = singleBuildCache.acquire(List.of(jarFile.getPath()));
+        var expected = listClasses(singleBuildClassPath, 0);
+        singleBuildCache.release(singleBuildClassPath);
+
+        var cache = new SharedClassPathCache(Long.MAX_VALUE);
+        var barrier = new CyclicBarrier(BUILD_COUNT);
+        ExecutorService executor = Executors.newFixedThreadPool(BUILD_COUNT);
+        try {
+            var builds = new ArrayList<Future<List<String>>>();
+            for (int i = 0; i < BUILD_COUNT; ++i) {
+                int offset = i * CLASS_COUNT / BUILD_COUNT;
+                builds.add(executor.submit(() -> {
+                    var classPath = cache.acquire(List.of(jarFile.getPath()));
+                    try {
+                        barrier.await();
+                        return listClasses(classPath, offset);
+                    } finally {
+                        cache.release(classPath);
+                    }
+                }));
+            }
+            for (var build : builds) {
+                assertEquals(expected, build.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void writeJar() throws IOException {
+        var snapshotWriter = new ClassSnapshotWriter(new ReferenceCache(), 0);
+        try (var output = new JarOutputStream(new FileOutputStream(jarFile))) {
+            for (int i = 0; i < CLASS_COUNT; ++i) {
+                var cls = createClass(i);
+
+                // snapshot is only used when original class file is unchanged, its content does not matter
+                var resourceName = "foo/C" + i + ".class";
+                var classFile = ("class " + i).getBytes(StandardCharsets.UTF_8);
+                output.putNextEntry(new JarEntry(resourceName));
+                output.write(classFile);
+                output.closeEntry();
+                snapshotWriter.add(cls, resourceName, SnapshotClassReaderSource.checksum(
+                        new ByteArrayInputStream(classFile)));
+            }
+            var snapshot = new ByteArrayOutputStream();
+            snapshotWriter.write(snapshot);
+            output.putNextEntry(new JarEntry(SnapshotClassReaderSource.RESOURCE_NAME));
+            output.write(snapshot.toByteArray());
+            output.closeEntry();
+        }
+    }
+
+    private static ClassHolder createClass(int index) {
+        var cls = new ClassHolder("foo.C" + index);
+        cls.setParent("java.lang.Object");
+        for (int i = 0; i < METHOD_COUNT; ++i) {
+            var other = "foo.C" + ((index + i + 1) % CLASS_COUNT);
+            var method = new MethodHolder("m" + i, ValueType.object(other), ValueType.INTEGER);
+            method.getModifiers().add(ElementModifier.STATIC);
+
+            var program = new Program();
+            var parameter = program.createVariable();
+            var block = program.createBasicBlock();
+
+            var invoke = new InvokeInstruction();
+            invoke.setType(InvocationType.SPECIAL);
+            invoke.setMethod(new MethodReference(other, "m" + ((i + 1) % METHOD_COUNT),
+                    ValueType.object(cls.getName()), ValueType.INTEGER));
+            invoke.setArguments(parameter);
+            invoke.setReceiver(program.createVariable());
+            block.add(invoke);
+
+            var getField = new GetFieldInstruction();
+            getField.setField(new FieldReference(other, "f" + i));
+            getField.setFieldType(ValueType.INTEGER);
+            getField.setReceiver(program.createVariable());
+            block.add(getField);
+
+            var exit = new ExitInstruction();
+            exit.setValueToReturn(getField.getReceiver());
+            block.add(exit);
+
+            method.setProgram(program);
+            cls.addMethod(method);
+        }
+        return cls;
+    }
+
+    private static List<String> listClasses(SharedClassPath classPath, int offset) {
+        var listings = new ArrayList<String>();
+        for (int i = 0; i < CLASS_COUNT; ++i) {
+            listings.add(null);
+        }
+        // builds walk classes in different order, so that they request and decode the same classes at once
+        for (int i = 0; i < CLASS_COUNT; ++i) {
+            int index = (i + offset) % CLASS_COUNT;
+            var cls = classPath.get("foo.C" + index);
+            assertNotNull(cls);
+            listings.set(index, listClass(cls));
+        }
+        return listings;
+    }
+
+    private static String listClass(ClassReader cls) {
+        var sb = new StringBuilder(cls.getName()).append('\n');
+        var listingBuilder = new ListingBuilder();
+        var methods = new ArrayList<MethodReader>(cls.getMethods());
+        methods.sort(Comparator.comparing(MethodReader::getName));
+        for (var method : methods) {
+            sb.append(method.getDescriptor()).append('\n');
+            sb.append(listingBuilder.buildListing(method.getProgram(), "    "));
+        }
+        return sb.toString();
+    }
+}
@@ -42,6 +42,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -71,6 +72,7 @@ import org.eclipse.jetty.websocket.client.io.UpgradeListener;
 import org.eclipse.jetty.websocket.servlet.WebSocketServletFactory;
 import org.teavm.backend.javascript.JSModuleType;
 import org.teavm.backend.javascript.JavaScriptTarget;
+import org.teavm.backend.javascript.codegen.HotSwapFragments;
 import org.teavm.cache.InMemoryMethodNodeCache;
 import org.teavm.cache.InMemoryProgramCache;
 import org.teavm.cache.InMemorySymbolTable;
@@ -115,6 +117,7 @@ public class CodeServlet extends HttpServlet {
     private boolean indicator;
     private boolean deobfuscateStack;
     private boolean automaticallyReloaded;
+    private boolean hotSwap;
     private int port;
     private int debugPort;
     private String proxyUrl;
@@ -136,6 +139,7 @@ public class CodeServlet extends HttpServlet {
     private InMemoryMethodNodeCache astCache;
     private int lastReachedClasses;
     private boolean firstTime = true;
+    private HotSwapFragments hotSwapFragments;
 
     private final Object contentLock = new Object();
     private final Map<String, byte[]> content = new HashMap<>();
@@ -203,6 +207,10 @@ public class CodeServlet extends HttpServlet {
         this.automaticallyReloaded = automaticallyReloaded;
     }
 
+    public void setHotSwap(boolean hotSwap) {
+        this.hotSwap = hotSwap;
+    }
+
     public void setProxyUrl(String proxyUrl) {
         this.proxyUrl = proxyUrl;
     }
@@ -895,6 +903,7 @@ public class CodeServlet extends HttpServlet {
             jsTarget.setModuleType(jsModuleType);
         }
         jsTarget.setStrict(true);
+        jsTarget.setHotSwapEnabled(hotSwap);
         vm.setOptimizationLevel(TeaVMOptimizationLevel.SIMPLE);
         vm.setCacheStatus(classSource);
         vm.addVirtualMethods(m -> true);
@@ -916,7 +925,7 @@ public class CodeServlet extends HttpServlet {
         addIndicator();
         generateDebug(debugInformationBuilder);
 
-        postBuild(vm, startTime);
+        postBuild(vm, jsTarget.getHotSwapFragments(), startTime);
         reader.close();
     }
 
@@ -985,7 +994,7 @@ public class CodeServlet extends HttpServlet {
         }
     }
 
-    private void postBuild(TeaVM vm, long startTime) {
+    private void postBuild(TeaVM vm, HotSwapFragments newHotSwapFragments, long startTime) {
         if (!vm.wasCancelled()) {
             log.info("Recompiled stale methods: " + programCache.getPendingItemsCount());
             if (vm.getProblemProvider().getSevereProblems().isEmpty()) {
@@ -995,7 +1004,12 @@ public class CodeServlet extends HttpServlet {
                 classSource.commit();
                 programCache.commit();
                 astCache.commit();
-                reportCompilationComplete(true);
+                var hotSwapCode = createHotSwapCode(newHotSwapFragments);
+                if (hotSwapCode != null) {
+                    reportHotSwap(hotSwapCode);
+                } else {
+                    reportCompilationComplete(true);
+                }
             } else {
                 log.info("Build complete with errors");
                 reportCompilationComplete(false);
@@ -1016,6 +1030,19 @@ public class CodeServlet extends HttpServlet {
         cancelRequested = false;
     }
 
+    private String createHotSwapCode(HotSwapFragments newHotSwapFragments) {
+        var previous = hotSwapFragments;
+        hotSwapFragments = newHotSwapFragments;
+        if (previous == null || newHotSwapFragments == null) {
+            return null;
+        }
+        if (!newHotSwapFragments.isCompatibleWith(previous)) {
+            log.info("Program structure changed, hot swap is not possible");
+            return null;
+        }
+        return newHotSwapFragments.diff(previous);
+    }
+
     private void printStats(TeaVM vm, long startTime) {
         if (vm.getWrittenClasses() != null) {
             int classCount = vm.getWrittenClasses().getClassNames().size();
@@ -1104,6 +1131,14 @@ public class CodeServlet extends HttpServlet {
     }
 
     private void reportCompilationComplete(boolean success) {
+        reportCompletion(handler -> handler.complete(success));
+    }
+
+    private void reportHotSwap(String code) {
+        reportCompletion(handler -> handler.hotSwap(code));
+    }
+
+    private void reportCompletion(Consumer<ProgressHandler> action) {
         synchronized (statusLock) {
             if (!compiling) {
                 return;
@@ -1117,7 +1152,7 @@ public class CodeServlet extends HttpServlet {
         }
 
         for (ProgressHandler handler : handlers) {
-            handler.complete(success);
+            action.accept(handler);
         }
     }
 
@@ -15,6 +15,7 @@
  */
 package org.teavm.devserver;
 
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import java.util.HashMap;
 import java.util.Map;
 import org.eclipse.jetty.websocket.api.Session;
@@ -60,5 +61,12 @@ public class CodeWsEndpoint {
         public void complete(boolean success) {
             session.getRemote().sendStringByFuture("{ \"command\": \"complete\", \"success\": " + success + " }");
         }
+
+        @Override
+        public void hotSwap(String code) {
+            var quotedCode = new String(JsonStringEncoder.getInstance().quoteAsString(code));
+            session.getRemote().sendStringByFuture("{ \"command\": \"complete\", \"success\": true, "
+                    + "\"hotSwap\": \"" + quotedCode + "\" }");
+        }
     }
 }
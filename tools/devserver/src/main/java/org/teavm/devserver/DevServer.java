@@ -35,6 +35,7 @@ public class DevServer {
     private boolean indicator;
     private boolean deobfuscateStack;
     private boolean reloadedAutomatically;
+    private boolean hotSwap;
     private boolean fileSystemWatched = true;
     private TeaVMToolLog log;
     private CodeServlet servlet;
@@ -97,6 +98,10 @@ public class DevServer {
         this.reloadedAutomatically = reloadedAutomatically;
     }
 
+    public void setHotSwap(boolean hotSwap) {
+        this.hotSwap = hotSwap;
+    }
+
     public void setFileSystemWatched(boolean fileSystemWatched) {
         this.fileSystemWatched = fileSystemWatched;
     }
@@ -167,6 +172,7 @@ public class DevServer {
         servlet.setIndicator(indicator);
         servlet.setDeobfuscateStack(deobfuscateStack);
         servlet.setAutomaticallyReloaded(reloadedAutomatically);
+        servlet.setHotSwap(hotSwap);
         servlet.setPort(port);
         servlet.setDebugPort(debugPort);
         servlet.setProxyUrl(proxyUrl);
@@ -18,5 +18,15 @@ package org.teavm.devserver;
 public interface ProgressHandler {
     void complete(boolean success);
 
+    /**
+     * Called instead of {@link #complete(boolean)} when compilation succeeded and the only difference
+     * from previous build is bodies of some methods.
+     *
+     * @param code JavaScript code that replaces changed methods, or empty string when nothing changed.
+     */
+    default void hotSwap(String code) {
+        complete(true);
+    }
+
     void progress(double value);
 }
@@ -165,6 +165,22 @@
         main();
     }
 
+    function applyHotSwap(code) {
+        if (code === "") {
+            return true;
+        }
+        if (typeof $teavm_hotSwap !== "function") {
+            return false;
+        }
+        try {
+            $teavm_hotSwap(code);
+            return true;
+        } catch (e) {
+            console.error("Could not replace code, falling back to reload", e);
+            return false;
+        }
+    }
+
     let ws = createWebSocket();
     ws.onmessage = function(event) {
         const message = JSON.parse(event.data);
@@ -176,7 +192,9 @@
             case "complete":
                 if (message.success) {
                     indicator.show("Compilation complete", 10);
-                    if (reload) {
+                    if (typeof message.hotSwap === "string" && !boot && applyHotSwap(message.hotSwap)) {
+                        indicator.show("Code replaced", 10);
+                    } else if (reload) {
                         window.location.reload();
                     } else if (boot) {
                         const scriptElem = document.createElement("script");
@@ -0,0 +1,233 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.devserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.tools.ToolProvider;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.teavm.tooling.EmptyTeaVMToolLog;
+import org.teavm.tooling.builder.BuildResult;
+
+public class HotSwapTest {
+    private static final String SOURCE = ""
+            + "package demo;\n"
+            + "public class Main {\n"
+            + "    public static void main(String[] args) {\n"
+            + "        System.out.println(message(args.length));\n"
+            + "    }\n"
+            + "    static String message(int count) {\n"
+            + "        return EXPRESSION;\n"
+            + "    }\n"
+            + "}\n";
+
+    private File directory;
+    private File classesDirectory;
+    private DevServer server;
+    private WebSocketClient wsClient;
+    private BlockingQueue<BuildResult> buildResults = new LinkedBlockingQueue<>();
+    private BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("teavm-hot-swap").toFile();
+        classesDirectory = new File(directory, "classes");
+        classesDirectory.mkdirs();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (wsClient != null) {
+            wsClient.stop();
+        }
+        if (server != null) {
+            server.stop();
+        }
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void replacesMethodBody() throws Exception {
+        Assume.assumeTrue("Node.js is required to run generated code", isNodeAvailable());
+
+        compile("\"old \" + count");
+        int port = findFreePort();
+        startServer(port);
+
+        // Dev server starts compilation when the first request arrives
+        wsClient = new WebSocketClient();
+        wsClient.start();
+        wsClient.connect(new MessageCollector(), new URI("ws://localhost:" + port + "/classes.js.ws"))
+                .get(30, TimeUnit.SECONDS);
+        assertSuccessfulBuild();
+        JsonNode message = parse(awaitCompletion());
+        assertTrue(message.get("success").asBoolean());
+        assertNull(message.get("hotSwap"));
+
+        File program = new File(directory, "classes.js");
+        try (InputStream input = new URL("http://localhost:" + port + "/classes.js").openStream()) {
+            Files.write(program.toPath(), IOUtils.toByteArray(input));
+        }
+
+        compile("\"new \" + count * 10");
+        assertSuccessfulBuild();
+        String swapMessage = awaitCompletion();
+        assertNotNull("Hot swap code expected", parse(swapMessage).get("hotSwap"));
+
+        // Emulate the page: load program along with indicator script that dev server appends to it,
+        // run main method, pass the message to indicator's socket and run main method again
+        File script = new File(directory, "run.js");
+        Files.write(script.toPath(), List.of(
+                "const stub = new Proxy(function() {}, {",
+                "    get: () => stub, set: () => true, apply: () => stub, construct: () => stub",
+                "});",
+                "let socket;",
+                "globalThis.window = stub;",
+                "globalThis.document = stub;",
+                "globalThis.WebSocket = class { constructor() { socket = this; } close() {} };",
+                "const program = require(" + quote(program.getAbsolutePath()) + ");",
+                "program.main([], () => {",
+                "    socket.onmessage({ data: " + quote(swapMessage) + " });",
+                "    program.main(['a'], () => process.exit(0));",
+                "});"
+        ), StandardCharsets.UTF_8);
+        assertEquals(List.of("old 0", "new 10"), runNode(script));
+    }
+
+    private void compile(String expression) throws IOException {
+        File sourceDirectory = new File(directory, "src/demo");
+        sourceDirectory.mkdirs();
+        File sourceFile = new File(sourceDirectory, "Main.java");
+        Files.write(sourceFile.toPath(), SOURCE.replace("EXPRESSION", expression).getBytes(StandardCharsets.UTF_8));
+        int result = ToolProvider.getSystemJavaCompiler().run(null, null, null, "--release", "11",
+                "-d", classesDirectory.getAbsolutePath(), sourceFile.getAbsolutePath());
+        assertEquals(0, result);
+    }
+
+    private void startServer(int port) {
+        server = new DevServer();
+        server.setMainClass("demo.Main");
+        var classPath = new ArrayList<String>();
+        classPath.add(classesDirectory.getAbsolutePath());
+        classPath.addAll(List.of(System.getProperty("java.class.path").split(File.pathSeparator)));
+        server.setClassPath(classPath.toArray(new String[0]));
+        server.setPort(port);
+        server.setPathToFile("/");
+        server.setFileName("classes.js");
+        server.setHotSwap(true);
+        server.setCompileOnStartup(true);
+        server.setLog(new EmptyTeaVMToolLog());
+        server.addListener(new DevServerListener() {
+            @Override
+            public void compilationStarted() {
+            }
+
+            @Override
+            public void compilationProgress(double progress) {
+            }
+
+            @Override
+            public void compilationComplete(BuildResult result) {
+                if (result != null) {
+                    buildResults.add(result);
+                }
+            }
+
+            @Override
+            public void compilationCancelled() {
+            }
+        });
+        server.start();
+    }
+
+    private void assertSuccessfulBuild() throws InterruptedException {
+        BuildResult result = buildResults.poll(5, TimeUnit.MINUTES);
+        assertNotNull("Build was not completed", result);
+        assertEquals(List.of(), result.getProblems().getSevereProblems());
+    }
+
+    private String awaitCompletion() throws InterruptedException, IOException {
+        while (true) {
+            String text = messages.poll(1, TimeUnit.MINUTES);
+            assertNotNull("Dev server did not report completion", text);
+            if (parse(text).get("command").asText().equals("complete")) {
+                return text;
+            }
+        }
+    }
+
+    private static JsonNode parse(String text) throws IOException {
+        return new ObjectMapper().readTree(text);
+    }
+
+    private static List<String> runNode(File script) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder("node", script.getAbsolutePath()).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(output, 0, process.waitFor());
+        return List.of(output.trim().split("\n"));
+    }
+
+    private static boolean isNodeAvailable() {
+        try {
+            return new ProcessBuilder("node", "--version").start().waitFor() == 0;
+        } catch (IOException | InterruptedException e) {
+            return false;
+        }
+    }
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String quote(String text) throws IOException {
+        return new ObjectMapper().writeValueAsString(text);
+    }
+
+    @WebSocket
+    public class MessageCollector {
+        @OnWebSocketMessage
+        public void onMessage(String message) {
+            messages.add(message);
+        }
+    }
+}
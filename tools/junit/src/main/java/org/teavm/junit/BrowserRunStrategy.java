@@ -33,7 +33,7 @@ class BrowserRunStrategy implements TestRunStrategy {
     BrowserRunStrategy(File baseDir, String type, Function<String, Process> browserRunner) {
         this.baseDir = baseDir;
         runner = new BrowserRunner(baseDir, type, browserRunner,
-                Boolean.parseBoolean(System.getProperty(JS_DECODE_STACK, "true")));
+                Boolean.parseBoolean(System.getProperty(JS_DECODE_STACK, "true")), TestUtil.getThreadCount());
     }
 
     @Override
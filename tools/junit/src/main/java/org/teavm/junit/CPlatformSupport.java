@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.teavm.backend.c.CTarget;
 import org.teavm.backend.c.generate.CNameProvider;
 import org.teavm.model.ClassHolderSource;
@@ -38,8 +39,8 @@ import org.teavm.model.ReferenceCache;
 import org.teavm.vm.TeaVM;
 
 class CPlatformSupport extends TestPlatformSupport<CTarget> {
-    CPlatformSupport(ClassHolderSource classSource, ReferenceCache referenceCache) {
-        super(classSource, referenceCache);
+    CPlatformSupport(ClassHolderSource classSource, Supplier<ReferenceCache> referenceCacheSupplier) {
+        super(classSource, referenceCacheSupplier);
     }
 
     @Override
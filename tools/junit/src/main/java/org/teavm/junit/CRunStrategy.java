@@ -51,14 +51,12 @@ class CRunStrategy implements TestRunStrategy {
             List<String> runtimeOutput = new ArrayList<>();
             List<String> stdout = new ArrayList<>();
             outputFile.setExecutable(true);
-            synchronized (this) {
-                List<String> runCommand = new ArrayList<>();
-                runCommand.add(outputFile.getPath());
-                if (run.getArgument() != null) {
-                    runCommand.add(run.getArgument());
-                }
-                runProcess(new ProcessBuilder(runCommand.toArray(new String[0])).start(), runtimeOutput, stdout);
+            List<String> runCommand = new ArrayList<>();
+            runCommand.add(outputFile.getPath());
+            if (run.getArgument() != null) {
+                runCommand.add(run.getArgument());
             }
+            runProcess(new ProcessBuilder(runCommand.toArray(new String[0])).start(), runtimeOutput, stdout);
             if (!stdout.isEmpty() && stdout.get(stdout.size() - 1).equals("SUCCESS")) {
                 writeLines(runtimeOutput);
             } else {
@@ -77,7 +75,7 @@ class CRunStrategy implements TestRunStrategy {
         return sb.toString();
     }
 
-    private void writeLines(List<String> lines) {
+    private synchronized void writeLines(List<String> lines) {
         for (String line : lines) {
             System.out.println(line);
         }
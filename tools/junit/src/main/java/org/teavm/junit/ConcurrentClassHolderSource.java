@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.junit;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassHolderSource;
+
+class ConcurrentClassHolderSource implements ClassHolderSource {
+    private ClassHolderSource innerSource;
+    private ConcurrentMap<String, Optional<ClassHolder>> cache = new ConcurrentHashMap<>();
+
+    ConcurrentClassHolderSource(ClassHolderSource innerSource) {
+        this.innerSource = innerSource;
+    }
+
+    @Override
+    public ClassHolder get(String name) {
+        var result = cache.get(name);
+        if (result == null) {
+            // inner source parses classes and shares reference cache, neither of which is thread-safe,
+            // so misses are serialized, while already parsed classes are served without locking
+            synchronized (this) {
+                result = cache.get(name);
+                if (result == null) {
+                    result = Optional.ofNullable(innerSource.get(name));
+                    cache.put(name, result);
+                }
+            }
+        }
+        return result.orElse(null);
+    }
+}
@@ -44,8 +44,8 @@ import org.teavm.model.ReferenceCache;
 import org.teavm.vm.TeaVM;
 
 class JSPlatformSupport extends TestPlatformSupport<JavaScriptTarget> {
-    JSPlatformSupport(ClassHolderSource classSource, ReferenceCache referenceCache) {
-        super(classSource, referenceCache);
+    JSPlatformSupport(ClassHolderSource classSource, Supplier<ReferenceCache> referenceCacheSupplier) {
+        super(classSource, referenceCacheSupplier);
     }
 
     @Override
@@ -30,6 +30,7 @@ final class PropertyNames {
     static final String MINIFIED = "teavm.junit.minified";
     static final String OPTIMIZED = "teavm.junit.optimized";
     static final String SOURCE_DIRS = "teavm.junit.sourceDirs";
+    static final String THREADS = "teavm.junit.threads";
 
     private PropertyNames() {
     }
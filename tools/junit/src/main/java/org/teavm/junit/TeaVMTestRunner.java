@@ -38,7 +38,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import junit.framework.TestCase;
@@ -94,6 +102,11 @@ public class TeaVMTestRunner extends Runner implements Filterable {
     private List<TestRun> runsInCurrentClass = new ArrayList<>();
     private static List<TestPlatformSupport<?>> platforms = new ArrayList<>();
     private List<TestPlatformSupport<?>> participatingPlatforms = new ArrayList<>();
+    private static int threadCount = TestUtil.getThreadCount();
+    private static Executor compileExecutor;
+    private static ExecutorService runExecutor;
+    private Map<Method, Future<List<CompiledTest>>> pendingCompilations = new HashMap<>();
+    private Map<TestRun, Future<?>> scheduledRuns = new HashMap<>();
 
     static {
         classLoader = TeaVMTestRunner.class.getClassLoader();
@@ -104,10 +117,23 @@ public class TeaVMTestRunner extends Runner implements Filterable {
             outputDir = new File(outputPath);
         }
 
-        platforms.add(new JSPlatformSupport(classSource, referenceCache));
-        platforms.add(new WebAssemblyGCPlatformSupport(classSource, referenceCache,
+        // With several threads, tests are compiled and run concurrently, while results are still reported
+        // in the JUnit thread in order of tests. Class source is shared between compilations,
+        // but every compilation gets its own reference cache, since reference cache is not thread-safe.
+        Supplier<ReferenceCache> referenceCacheSupplier;
+        if (threadCount > 1) {
+            compileExecutor = Executors.newFixedThreadPool(threadCount, TeaVMTestRunner::daemonThread);
+            runExecutor = Executors.newFixedThreadPool(threadCount, TeaVMTestRunner::daemonThread);
+            referenceCacheSupplier = ReferenceCache::new;
+        } else {
+            compileExecutor = Runnable::run;
+            referenceCacheSupplier = () -> referenceCache;
+        }
+
+        platforms.add(new JSPlatformSupport(classSource, referenceCacheSupplier));
+        platforms.add(new WebAssemblyGCPlatformSupport(classSource, referenceCacheSupplier,
                 Boolean.parseBoolean(System.getProperty(PropertyNames.WASM_GC_DISASM))));
-        platforms.add(new CPlatformSupport(classSource, referenceCache));
+        platforms.add(new CPlatformSupport(classSource, referenceCacheSupplier));
 
         for (var platform : platforms) {
             if (platform.isEnabled() && !platform.getConfigurations().isEmpty()) {
@@ -158,9 +184,18 @@ public class TeaVMTestRunner extends Runner implements Filterable {
         if (isWholeClassCompilation) {
             runWithWholeClassCompilation(children, notifier);
         } else {
+            if (threadCount > 1 && outputDir != null) {
+                for (Method child : children) {
+                    if (!isIgnored(child)) {
+                        pendingCompilations.put(child, CompletableFuture.supplyAsync(() -> compileTest(child),
+                                compileExecutor));
+                    }
+                }
+            }
             for (Method child : children) {
                 runChild(child, notifier);
             }
+            pendingCompilations.clear();
         }
 
         writeRunsDescriptor();
@@ -176,6 +211,15 @@ public class TeaVMTestRunner extends Runner implements Filterable {
 
         var skipJvmForClass = !testClass.isAnnotationPresent(SkipJVM.class);
 
+        for (var child : children) {
+            for (var testsForPlatform : tests) {
+                var runs = testsForPlatform.runs.get(child);
+                if (runs != null) {
+                    scheduleRuns(runs);
+                }
+            }
+        }
+
         for (var child : children) {
             var description = describeChild(child);
 
@@ -209,6 +253,7 @@ public class TeaVMTestRunner extends Runner implements Filterable {
             }
         }
 
+        cancelScheduledRuns();
         for (var testsForPlatform : tests) {
             var runner = runners.get(testsForPlatform.platform.getPlatform());
             runner.cleanup();
@@ -276,9 +321,14 @@ public class TeaVMTestRunner extends Runner implements Filterable {
     }
 
     private List<PlatformClassTests> compileWholeClass(List<Method> children, RunNotifier notifier) {
-        var result = new ArrayList<PlatformClassTests>();
+        var compilations = new ArrayList<PlatformClassCompilation>();
         for (var platformSupport : participatingPlatforms) {
-            var item = compileClassForPlatform(platformSupport, children, testClass, getDescription(), notifier);
+            compilations.add(startClassCompilation(platformSupport, children));
+        }
+
+        var result = new ArrayList<PlatformClassTests>();
+        for (var compilation : compilations) {
+            var item = completeClassCompilation(compilation, testClass, getDescription(), notifier);
             if (item == null) {
                 return null;
             }
@@ -291,19 +341,37 @@ public class TeaVMTestRunner extends Runner implements Filterable {
     }
 
     @SuppressWarnings("unchecked")
-    private PlatformClassTests compileClassForPlatform(TestPlatformSupport<?> platform, List<Method> children,
-            Class<?> cls, Description description, RunNotifier notifier) {
-        var platformClassTests = new PlatformClassTests();
-        var isModule = cls.isAnnotationPresent(JsModuleTest.class);
+    private PlatformClassCompilation startClassCompilation(TestPlatformSupport<?> platform, List<Method> children) {
+        var compilation = new PlatformClassCompilation();
         if (platform.isEnabled() && hasChildrenToRun(children, platform.getPlatform())) {
-            platformClassTests.platform = platform;
-            var path = getOutputPathForClass(platform);
+            compilation.platform = platform;
+            compilation.path = getOutputPathForClass(platform);
             for (var configuration : platform.getConfigurations()) {
                 var castPlatform = (TestPlatformSupport<TeaVMTarget>) platform;
                 var castConfiguration = (TeaVMTestConfiguration<TeaVMTarget>) configuration;
-                var runs = new ArrayList<TestRun>();
-                var result = castPlatform.compile(wholeClass(children, platform.getPlatform(), configuration, runs),
-                        "classTest", castConfiguration, path, testClass);
+                var item = new ConfigurationCompilation();
+                item.configuration = configuration;
+                var processing = wholeClass(children, platform.getPlatform(), configuration, item.runs);
+                item.result = CompletableFuture.supplyAsync(() -> castPlatform.compile(processing, "classTest",
+                        castConfiguration, compilation.path, testClass), compileExecutor);
+                compilation.configurations.add(item);
+            }
+        }
+        return compilation;
+    }
+
+    private PlatformClassTests completeClassCompilation(PlatformClassCompilation compilation, Class<?> cls,
+            Description description, RunNotifier notifier) {
+        var platformClassTests = new PlatformClassTests();
+        var isModule = cls.isAnnotationPresent(JsModuleTest.class);
+        var platform = compilation.platform;
+        if (platform != null) {
+            platformClassTests.platform = platform;
+            var path = compilation.path;
+            for (var item : compilation.configurations) {
+                var configuration = item.configuration;
+                var runs = item.runs;
+                var result = await(item.result);
                 if (!result.success) {
                     notifier.fireTestFailure(createFailure(description, result));
                     return null;
@@ -384,6 +452,7 @@ public class TeaVMTestRunner extends Runner implements Filterable {
 
             try {
                 prepareCompiledTest(child, notifier, runs);
+                scheduleRuns(runs);
 
                 for (var run : runs) {
                     try {
@@ -394,6 +463,7 @@ public class TeaVMTestRunner extends Runner implements Filterable {
                     }
                 }
 
+                cancelScheduledRuns();
                 for (var run : runs) {
                     var strategy = runners.get(run.getGroup().getKind());
                     strategy.cleanup();
@@ -410,32 +480,45 @@ public class TeaVMTestRunner extends Runner implements Filterable {
     }
 
     private void prepareCompiledTest(Method child, RunNotifier notifier, List<TestRun> runs) {
+        try {
+            var pendingCompilation = pendingCompilations.remove(child);
+            var compiledTests = pendingCompilation != null ? await(pendingCompilation) : compileTest(child);
+            for (var compiledTest : compiledTests) {
+                var run = prepareRun(compiledTest.configuration, child, compiledTest.result, notifier,
+                        compiledTest.platform);
+                if (run != null) {
+                    runs.add(run);
+                }
+            }
+        } catch (Throwable e) {
+            notifier.fireTestFailure(new Failure(describeChild(child), e));
+        }
+    }
+
+    private List<CompiledTest> compileTest(Method child) {
         MethodDescriptor descriptor = getDescriptor(child);
         MethodReference reference = new MethodReference(child.getDeclaringClass().getName(), descriptor);
 
-        try {
-            for (var platform : participatingPlatforms) {
-                if (platform.isEnabled() && shouldRunChild(child, platform.getPlatform())) {
-                    File outputPath = getOutputPath(child, platform);
-                    for (var configuration : platform.getConfigurations()) {
-                        @SuppressWarnings("unchecked")
-                        var castPlatform = (TestPlatformSupport<TeaVMTarget>) platform;
-                        @SuppressWarnings("unchecked")
-                        var castConfig = (TeaVMTestConfiguration<TeaVMTarget>) configuration;
-                        var compileResult = castPlatform.compile(singleTest(child), "test", castConfig, outputPath,
-                                child);
-                        var run = prepareRun(configuration, child, compileResult, notifier, platform.getPlatform());
-                        if (run != null) {
-                            runs.add(run);
-                            platform.additionalSingleTestOutput(outputPath, configuration, reference);
-                        }
+        var result = new ArrayList<CompiledTest>();
+        for (var platform : participatingPlatforms) {
+            if (platform.isEnabled() && shouldRunChild(child, platform.getPlatform())) {
+                File outputPath = getOutputPath(child, platform);
+                for (var configuration : platform.getConfigurations()) {
+                    @SuppressWarnings("unchecked")
+                    var castPlatform = (TestPlatformSupport<TeaVMTarget>) platform;
+                    @SuppressWarnings("unchecked")
+                    var castConfig = (TeaVMTestConfiguration<TeaVMTarget>) configuration;
+                    var compileResult = castPlatform.compile(singleTest(child), "test", castConfig, outputPath,
+                            child);
+                    if (compileResult.success) {
+                        platform.additionalSingleTestOutput(outputPath, configuration, reference);
                     }
-                    platform.additionalOutputForAllConfigurations(outputPath, child);
+                    result.add(new CompiledTest(platform.getPlatform(), configuration, compileResult));
                 }
+                platform.additionalOutputForAllConfigurations(outputPath, child);
             }
-        } catch (Throwable e) {
-            notifier.fireTestFailure(new Failure(describeChild(child), e));
         }
+        return result;
     }
 
     static String[] getExpectedExceptions(MethodReader method) {
@@ -800,8 +883,33 @@ public class TeaVMTestRunner extends Runner implements Filterable {
         return new Failure(description, throwable);
     }
 
-    private void submitRun(TestRun run) throws IOException {
+    private void scheduleRuns(List<TestRun> runs) {
+        if (runExecutor == null) {
+            return;
+        }
+        for (var run : runs) {
+            var strategy = runners.get(run.getGroup().getKind());
+            if (strategy != null) {
+                scheduledRuns.put(run, runExecutor.submit(() -> {
+                    strategy.runTest(run);
+                    return null;
+                }));
+            }
+        }
+    }
+
+    private void submitRun(TestRun run) throws Throwable {
         runsInCurrentClass.add(run);
+        var scheduledRun = scheduledRuns.remove(run);
+        if (scheduledRun != null) {
+            try {
+                scheduledRun.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+            return;
+        }
+
         var strategy = runners.get(run.getGroup().getKind());
         if (strategy == null) {
             return;
@@ -810,6 +918,48 @@ public class TeaVMTestRunner extends Runner implements Filterable {
         strategy.runTest(run);
     }
 
+    private void cancelScheduledRuns() {
+        // runs of tests that already failed are not reported, however we should wait for those which
+        // have already started, so that cleanup does not interfere with them
+        for (var scheduledRun : scheduledRuns.values()) {
+            if (!scheduledRun.cancel(false)) {
+                try {
+                    scheduledRun.get();
+                } catch (ExecutionException | CancellationException e) {
+                    // do nothing
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        scheduledRuns.clear();
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static Thread daemonThread(Runnable runnable) {
+        var thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    }
+
     private File getOutputPath(Method method, TestPlatformSupport<?> platform) {
         File path = outputDir;
         path = new File(new File(path, platform.getPath()), testClass.getName().replace('.', '/'));
@@ -908,7 +1058,9 @@ public class TeaVMTestRunner extends Runner implements Filterable {
 
     private static ClassHolderSource getClassSource(ClassLoader classLoader) {
         var resourceProvider = new ClasspathResourceProvider(classLoader);
-        return new PreOptimizingClassHolderSource(new ClasspathClassHolderSource(resourceProvider, referenceCache));
+        ClassHolderSource classSource = new PreOptimizingClassHolderSource(new ClasspathClassHolderSource(
+                resourceProvider, referenceCache));
+        return threadCount > 1 ? new ConcurrentClassHolderSource(classSource) : classSource;
     }
 
     @Override
@@ -1025,4 +1177,28 @@ public class TeaVMTestRunner extends Runner implements Filterable {
         TestPlatformSupport<?> platform;
         LinkedHashMap<Method, List<TestRun>> runs = new LinkedHashMap<>();
     }
+
+    private static class PlatformClassCompilation {
+        TestPlatformSupport<?> platform;
+        File path;
+        List<ConfigurationCompilation> configurations = new ArrayList<>();
+    }
+
+    private static class ConfigurationCompilation {
+        TeaVMTestConfiguration<?> configuration;
+        List<TestRun> runs = new ArrayList<>();
+        Future<CompileResult> result;
+    }
+
+    private static class CompiledTest {
+        final TestPlatform platform;
+        final TeaVMTestConfiguration<?> configuration;
+        final CompileResult result;
+
+        CompiledTest(TestPlatform platform, TeaVMTestConfiguration<?> configuration, CompileResult result) {
+            this.platform = platform;
+            this.configuration = configuration;
+            this.result = result;
+        }
+    }
 }
@@ -41,11 +41,11 @@ import org.teavm.vm.TeaVMTarget;
 
 abstract class TestPlatformSupport<T extends TeaVMTarget> {
     private ClassHolderSource classSource;
-    private ReferenceCache referenceCache;
+    private Supplier<ReferenceCache> referenceCacheSupplier;
 
-    TestPlatformSupport(ClassHolderSource classSource, ReferenceCache referenceCache) {
+    TestPlatformSupport(ClassHolderSource classSource, Supplier<ReferenceCache> referenceCacheSupplier) {
         this.classSource = classSource;
-        this.referenceCache = referenceCache;
+        this.referenceCacheSupplier = referenceCacheSupplier;
     }
 
     abstract boolean isEnabled();
@@ -85,7 +85,7 @@ abstract class TestPlatformSupport<T extends TeaVMTarget> {
                     .setClassLoader(classLoader)
                     .setClassSource(classSource)
                     .setResourceProvider(new ClasspathResourceProvider(classLoader))
-                    .setReferenceCache(referenceCache)
+                    .setReferenceCache(referenceCacheSupplier.get())
                     .setDependencyAnalyzerFactory(dependencyAnalyzerFactory)
                     .setStrict(true)
                     .build();
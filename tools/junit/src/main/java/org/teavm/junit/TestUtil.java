@@ -16,6 +16,7 @@
 package org.teavm.junit;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.teavm.junit.PropertyNames.THREADS;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -31,6 +32,10 @@ final class TestUtil {
     private TestUtil() {
     }
 
+    static int getThreadCount() {
+        return Math.max(1, Integer.getInteger(THREADS, 1));
+    }
+
     static File getOutputFile(File path, String baseName, String suffix, boolean separateDir, String extension) {
         StringBuilder simpleName = new StringBuilder();
         simpleName.append(baseName);
@@ -55,8 +55,9 @@ class WebAssemblyGCPlatformSupport extends TestPlatformSupport<WasmGCTarget> {
     private boolean disassembly;
     private List<SourceFileProvider> sourceFileProviders = new ArrayList<>();
 
-    WebAssemblyGCPlatformSupport(ClassHolderSource classSource, ReferenceCache referenceCache, boolean disassembly) {
-        super(classSource, referenceCache);
+    WebAssemblyGCPlatformSupport(ClassHolderSource classSource, Supplier<ReferenceCache> referenceCacheSupplier,
+            boolean disassembly) {
+        super(classSource, referenceCacheSupplier);
         this.disassembly = disassembly;
         var sourceDirs = System.getProperty(SOURCE_DIRS);
         if (sourceDirs != null) {
@@ -109,6 +109,9 @@ public class TeaVMCompileMojo extends AbstractMojo {
     @Parameter(property = "teavm.incremental", defaultValue = "false")
     private boolean incremental;
 
+    @Parameter(property = "teavm.contentHashCache", defaultValue = "false")
+    private boolean contentHashCache;
+
     @Parameter
     private String[] transformers;
 
@@ -198,6 +201,7 @@ public class TeaVMCompileMojo extends AbstractMojo {
                 builder.setProperties(properties);
             }
             builder.setIncremental(incremental);
+            builder.setContentHashCache(contentHashCache);
             builder.setDebugInformationGenerated(debugInformationGenerated);
             builder.setWasmDebugInfoLocation(wasmDebugInfoLocation);
             builder.setSourceMapsFileGenerated(sourceMapsGenerated);